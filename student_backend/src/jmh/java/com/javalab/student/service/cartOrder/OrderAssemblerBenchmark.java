@@ -0,0 +1,104 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.dto.cartOrder.PaymentRequestDto;
+import com.javalab.student.entity.cartOrder.CartItem;
+import com.javalab.student.entity.cartOrder.Order;
+import com.javalab.student.entity.cartOrder.OrderItem;
+import com.javalab.student.entity.product.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 상품 구성 벤치마크
+ * - 장바구니 아이템 1 / 20 / 200개(B2B 대량 주문)로 OrderItem과 총액을 만드는 비용을 잽니다.
+ * - singlePass는 OrderAssembler(요청 상품 정보를 한 번 색인하고 한 번 순회),
+ *   twoPassLinearSearch는 이전 createOrder 방식(아이템마다 요청 목록을 스트림으로 찾으며 두 번 순회)입니다.
+ * - 요청 목록은 프론트엔드 순서와 장바구니 순서가 다를 수 있으므로 섞어서 둡니다.
+ * - 상품은 fetch join으로 이미 채워진 상태를 가정하므로 DB 비용은 포함하지 않습니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=OrderAssemblerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderAssemblerBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int lines;
+
+    private List<CartItem> cartItems;
+    private List<PaymentRequestDto.CartOrderItemDto> requestItems;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cartItems = new ArrayList<>(lines);
+        requestItems = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = Product.builder()
+                    .id((long) (i + 1))
+                    .name("상품 " + (i + 1))
+                    .price(BigDecimal.valueOf(10_000 + random.nextInt(70_000)))
+                    .stock(1_000)
+                    .active(true)
+                    .build();
+            CartItem cartItem = CartItem.createCartItem(null, product, 1 + random.nextInt(5));
+            cartItem.setId((long) (1_000 + i));
+            cartItems.add(cartItem);
+
+            PaymentRequestDto.CartOrderItemDto requestItem = new PaymentRequestDto.CartOrderItemDto();
+            requestItem.setCartItemId(cartItem.getId());
+            requestItem.setQuantity(cartItem.getQuantity());
+            requestItem.setPrice(product.getPrice());
+            requestItems.add(requestItem);
+        }
+        Collections.shuffle(requestItems, random);
+    }
+
+    @Benchmark
+    public OrderAssembler.Assembly singlePass() {
+        return OrderAssembler.assemble(new Order(), cartItems, requestItems);
+    }
+
+    @Benchmark
+    public BigDecimal twoPassLinearSearch() {
+        Order order = new Order();
+        BigDecimal totalOrderAmount = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            PaymentRequestDto.CartOrderItemDto requestItem = findRequestItem(cartItem);
+            totalOrderAmount = totalOrderAmount.add(requestItem.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+        }
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartItem cartItem : cartItems) {
+            PaymentRequestDto.CartOrderItemDto requestItem = findRequestItem(cartItem);
+            orderItems.add(OrderItem.builder()
+                    .order(order)
+                    .product(cartItem.getProduct())
+                    .orderPrice(requestItem.getPrice())
+                    .count(cartItem.getQuantity())
+                    .build());
+        }
+        order.setOrderItems(orderItems);
+        return totalOrderAmount;
+    }
+
+    private PaymentRequestDto.CartOrderItemDto findRequestItem(CartItem cartItem) {
+        return requestItems.stream()
+                .filter(itemDto -> itemDto.getCartItemId().equals(cartItem.getId()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("CartItemDto not found for cartItemId: " + cartItem.getId()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.constant.ScoreCondition;
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
+import com.javalab.student.entity.healthSurvey.QuestionOption;
+import com.javalab.student.entity.healthSurvey.QuestionOptionIngredient;
+import com.javalab.student.entity.healthSurvey.QuestionOptionRiskWeight;
+import com.javalab.student.entity.healthSurvey.SurveyQuestion;
+import com.javalab.student.entity.healthSurvey.SurveySubCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 위험도/영양 성분 점수 계산 벤치마크
+ * - separateServices: RiskCalculationService + NutrientScoringEngine (응답 목록을 두 번 순회)
+ * - fusedEvaluator: HealthScoreEvaluator (응답 목록을 한 번 순회)
+ * - 합성 설문(옵션 약 970개)에서 50 / 200 / 1000개 응답을 뽑아 측정합니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=HealthScoreEvaluatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HealthScoreEvaluatorBenchmark {
+
+    private static final String[] INGREDIENTS = {
+            "오메가-3", "마그네슘", "비타민B12", "비타민C", "비타민D", "비타민E", "칼슘", "아연", "철분", "엽산",
+            "루테인", "프로바이오틱스", "코엔자임Q10", "비오틴", "밀크씨슬", "홍삼", "글루코사민", "콜라겐",
+            "식이섬유", "크롬", "단백질", "비타민B군", "전해질", "셀레늄", "감마리놀렌산"};
+
+    private static final int QUESTIONS_PER_SUB_CATEGORY = 10;
+    private static final int OPTIONS_PER_QUESTION = 8;
+
+    @Param({"50", "200", "1000"})
+    public int answers;
+
+    private RiskCalculationService riskCalculationService;
+    private NutrientScoringEngine nutrientScoringEngine;
+    private HealthScoreEvaluator healthScoreEvaluator;
+    private List<SurveyAnswer> responses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] ids = {1, 1, 1};
+
+        List<QuestionOption> options = new ArrayList<>();
+        List<QuestionOption> mainSymptomOptions = new ArrayList<>();
+        List<QuestionOptionIngredient> ingredientRules = new ArrayList<>();
+        List<QuestionOptionRiskWeight> riskRules = new ArrayList<>();
+
+        // 주요 증상 옵션: 옵션 텍스트가 증상 서브카테고리 이름
+        SurveyQuestion mainQuestion = question(ids, subCategory(ids, NutrientScoreRules.MAIN_SYMPTOM_SUB_CATEGORY), "주요 증상을 선택하세요");
+        for (String symptom : NutrientScoreRules.SYMPTOM_SUB_CATEGORIES) {
+            QuestionOption option = option(ids, mainQuestion, symptom);
+            options.add(option);
+            mainSymptomOptions.add(option);
+        }
+
+        List<String> subCategories = new ArrayList<>(NutrientScoreRules.SYMPTOM_SUB_CATEGORIES);
+        subCategories.add(NutrientScoreRules.WOMEN_HEALTH_SUB_CATEGORY);
+        subCategories.add(NutrientScoreRules.MEN_HEALTH_SUB_CATEGORY);
+        subCategories.add("생활 습관");
+
+        List<QuestionOption> answerable = new ArrayList<>();
+        for (String name : subCategories) {
+            SurveySubCategory subCategory = subCategory(ids, name);
+            ScoreCondition condition = conditionOf(name);
+            int domainIndex = RiskScoreRules.DOMAIN_SUB_CATEGORIES.indexOf(name);
+            for (int q = 0; q < QUESTIONS_PER_SUB_CATEGORY; q++) {
+                SurveyQuestion question = question(ids, subCategory, name + " 질문 " + q);
+                for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                    QuestionOption option = option(ids, question, name + " 옵션 " + q + "-" + o);
+                    options.add(option);
+                    answerable.add(option);
+
+                    int ruleCount = 1 + random.nextInt(3);
+                    for (int r = 0; r < ruleCount; r++) {
+                        QuestionOptionIngredient rule = new QuestionOptionIngredient();
+                        rule.setQuestionOption(option);
+                        rule.setIngredientName(INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+                        rule.setWeight(1 + random.nextInt(4));
+                        rule.setScoreCondition(condition);
+                        ingredientRules.add(rule);
+                    }
+                    if (domainIndex >= 0) {
+                        QuestionOptionRiskWeight rule = new QuestionOptionRiskWeight();
+                        rule.setQuestionOption(option);
+                        rule.setRiskDomain(RiskScoreRules.DOMAINS.get(domainIndex));
+                        rule.setWeight(1 + random.nextInt(2));
+                        riskRules.add(rule);
+                    }
+                }
+            }
+        }
+
+        ScoringRuleSnapshot snapshot = ScoringRuleStore.compile(1, options, ingredientRules, riskRules);
+        ScoringRuleStore store = new ScoringRuleStore(null, null, null, null) {
+            @Override
+            public ScoringRuleSnapshot getSnapshot() {
+                return snapshot;
+            }
+        };
+        riskCalculationService = new RiskCalculationService(store);
+        nutrientScoringEngine = new NutrientScoringEngine(store);
+        healthScoreEvaluator = new HealthScoreEvaluator(store);
+
+        responses = new ArrayList<>(answers);
+        for (int i = 0; i < 3; i++) {
+            responses.add(response(mainSymptomOptions.get(random.nextInt(mainSymptomOptions.size()))));
+        }
+        while (responses.size() < answers) {
+            responses.add(response(answerable.get(random.nextInt(answerable.size()))));
+        }
+    }
+
+    @Benchmark
+    public void separateServices(Blackhole blackhole) {
+        blackhole.consume(riskCalculationService.calculateAllRisks(45, 26.3, responses));
+        blackhole.consume(nutrientScoringEngine.calculateIngredientScores(responses, 45, 26.3, NutrientScoreRules.FEMALE));
+    }
+
+    @Benchmark
+    public HealthScoreResult fusedEvaluator() {
+        return healthScoreEvaluator.evaluate(responses, 45, 26.3, NutrientScoreRules.FEMALE);
+    }
+
+    private static ScoreCondition conditionOf(String subCategory) {
+        if (NutrientScoreRules.WOMEN_HEALTH_SUB_CATEGORY.equals(subCategory)) return ScoreCondition.FEMALE;
+        if (NutrientScoreRules.MEN_HEALTH_SUB_CATEGORY.equals(subCategory)) return ScoreCondition.MALE;
+        if (NutrientScoreRules.SYMPTOM_SUB_CATEGORIES.contains(subCategory)) return ScoreCondition.MAIN_SYMPTOM;
+        return ScoreCondition.ALWAYS;
+    }
+
+    private static SurveySubCategory subCategory(long[] ids, String name) {
+        return SurveySubCategory.builder().id(ids[0]++).name(name).build();
+    }
+
+    private static SurveyQuestion question(long[] ids, SurveySubCategory subCategory, String text) {
+        return SurveyQuestion.builder().id(ids[1]++).subCategory(subCategory).questionText(text)
+                .questionType("MULTIPLE_CHOICE").questionOrder(1).build();
+    }
+
+    private static QuestionOption option(long[] ids, SurveyQuestion question, String text) {
+        return QuestionOption.builder().id(ids[2]++).question(question).optionText(text).optionOrder(1).build();
+    }
+
+    private static SurveyAnswer response(QuestionOption option) {
+        SurveyQuestion question = option.getQuestion();
+        return new SurveyAnswer(option.getId(), option.getOptionText(), question.getId(),
+                question.getQuestionText(), question.getSubCategory().getName());
+    }
+}
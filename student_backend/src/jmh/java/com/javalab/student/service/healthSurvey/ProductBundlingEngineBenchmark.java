@@ -0,0 +1,71 @@
+package com.javalab.student.service.healthSurvey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 묶음 선택 벤치마크
+ * - 합성 카탈로그 5,000개 상품(영양 성분 80종 중 1~6개 포함)에서 추천 성분 5 / 12 / 30개를 덮는 묶음을 고릅니다.
+ * - 5개는 정확 탐색, 12개와 30개는 후보 수 또는 성분 수가 커서 휴리스틱 경로를 탑니다.
+ * - 실제 서비스에서는 역색인으로 추천 성분을 포함한 상품만 넘기므로 이 벤치마크보다 후보가 적습니다.
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ProductBundlingEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductBundlingEngineBenchmark {
+
+    private static final int CATALOG_SIZE = 5_000;
+    private static final int INGREDIENT_COUNT = 80;
+
+    @Param({"5", "12", "30"})
+    public int recommendedIngredients;
+
+    private ProductBundlingEngine engine;
+    private List<ProductBundlingEngine.Item> items;
+    private BitSet wanted;
+    private int[] weights;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        engine = new ProductBundlingEngine(5, 5, 16, 64);
+
+        items = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            BitSet ingredients = new BitSet(INGREDIENT_COUNT);
+            int count = 1 + random.nextInt(6);
+            for (int j = 0; j < count; j++) {
+                ingredients.set(random.nextInt(INGREDIENT_COUNT));
+            }
+            items.add(new ProductBundlingEngine.Item(i + 1, 10_000 + random.nextInt(70_000), ingredients));
+        }
+
+        wanted = new BitSet(INGREDIENT_COUNT);
+        while (wanted.cardinality() < recommendedIngredients) {
+            wanted.set(random.nextInt(INGREDIENT_COUNT));
+        }
+        weights = new int[INGREDIENT_COUNT];
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            weights[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    @Benchmark
+    public ProductBundlingEngine.Selection select() {
+        return engine.select(items, wanted, weights);
+    }
+}
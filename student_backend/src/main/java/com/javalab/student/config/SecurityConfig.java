@@ -109,6 +109,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/members/register", "/api/members/checkEmail").permitAll()
                 .requestMatchers("/api/email/send", "/api/email/verify").permitAll()
                 .requestMatchers("/members/login").permitAll()
+                // 상품 이미지 업로드는 관리자만 (아래 /api/products/** 공개 규칙보다 먼저 검사)
+                .requestMatchers("/api/products/upload").hasRole("ADMIN")
                 .requestMatchers("/api/products/**").permitAll()
                 .requestMatchers("/api/categories").permitAll()
                 .requestMatchers("/api/ingredients").permitAll()
@@ -129,6 +131,7 @@ public class SecurityConfig {
 
                 // 관리자 전용 엔드포인트
                 .requestMatchers("/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/posts/create").hasRole("ADMIN")  // 게시물 작성
                 .requestMatchers("/api/posts/*/update").hasRole("ADMIN")  // 게시물 수정
                 .requestMatchers("/api/posts/*/delete").hasRole("ADMIN")  // 게시물 삭제
@@ -0,0 +1,35 @@
+package com.javalab.student.config.redis;
+
+import java.util.List;
+
+/**
+ * 2단계 캐시(LayeredCacheManager)에서 사용하는 캐시 이름
+ * - 캐시별 TTL과 L1 최대 크기는 application.properties의 cache.layered.{캐시 이름}.* 로 설정합니다.
+ * - 노드별 메모리 캐시 이름은 ALL에 넣지 않고, 다른 노드에 보내는 무효화 메시지에만 사용합니다.
+ */
+public final class CacheNames {
+
+    /** 상품 카테고리 목록 (/api/categories) */
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+
+    /** 영양 성분 목록 (/api/ingredients) */
+    public static final String PRODUCT_INGREDIENTS = "productIngredients";
+
+    /** 설문 카테고리와 서브카테고리 목록 (/api/survey/categories) */
+    public static final String SURVEY_CATEGORIES = "surveyCategories";
+
+    /** 점수 규칙 스냅샷 (ScoringRuleStore, 노드별 메모리 캐시 - 변경 알림만 Redis로 전달) */
+    public static final String SCORING_RULES = "scoringRules";
+
+    /** 상품 카탈로그와 상품 색인 (ProductCatalogRelay, 노드별 메모리 캐시 - 변경 알림만 Redis로 전달) */
+    public static final String PRODUCT_CATALOG = "productCatalog";
+
+    /** 상품 재고 (ProductCatalogRelay, 재고 변경 알림만 Redis로 전달) */
+    public static final String PRODUCT_STOCK = "productStock";
+
+    /** 애플리케이션 시작 시 미리 만들어 두는 캐시 */
+    public static final List<String> ALL = List.of(PRODUCT_CATEGORIES, PRODUCT_INGREDIENTS, SURVEY_CATEGORIES);
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,249 @@
+package com.javalab.student.config.redis;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 2단계 캐시
+ * - L1: 노드별 힙 메모리 LRU 캐시 (최대 크기와 TTL 제한)
+ * - L2: Redis 캐시 (노드 간 공유)
+ * 조회는 L1 → L2 → 원본 순서로 하고, L2에서 찾은 값은 L1에 채웁니다.
+ * 값을 쓰거나 지우면 L2에 반영한 뒤 다른 노드의 L1에서도 지우도록 무효화 메시지를 발행합니다.
+ * Redis 오류는 캐시 미스로 처리하여 원본 조회로 넘어갑니다.
+ */
+@Slf4j
+public class LayeredCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final int maxSize;
+    private final long ttlMillis;
+    /** 무효화 메시지 발행 (캐시 이름, 키 문자열 - 전체 삭제는 null) */
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    /** L1 저장소 (접근 순서 LRU) */
+    private final LinkedHashMap<String, Entry> entries;
+    /** 같은 키를 여러 요청이 동시에 원본에서 읽지 않도록 하는 잠금 */
+    private final Object loadLock = new Object();
+
+    private final AtomicLong l1Hits = new AtomicLong();
+    private final AtomicLong l2Hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong remoteInvalidations = new AtomicLong();
+    private final AtomicLong redisErrors = new AtomicLong();
+
+    public LayeredCache(String name, Cache redisCache, int maxSize, long ttlSeconds,
+                        BiConsumer<String, String> invalidationPublisher) {
+        super(true);
+        this.name = name;
+        this.redisCache = redisCache;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.invalidationPublisher = invalidationPublisher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > LayeredCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        synchronized (entries) {
+            Entry entry = entries.get(localKey);
+            if (entry != null) {
+                if (entry.expiresAt > System.currentTimeMillis()) {
+                    l1Hits.incrementAndGet();
+                    return entry.storeValue;
+                }
+                entries.remove(localKey);
+            }
+        }
+
+        ValueWrapper wrapper = redisGet(key);
+        if (wrapper != null) {
+            l2Hits.incrementAndGet();
+            Object storeValue = toStoreValue(wrapper.get());
+            putLocal(localKey, storeValue);
+            return storeValue;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        synchronized (loadLock) {
+            cached = get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisPut(key, value);
+        putLocal(localKey(key), toStoreValue(value));
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisEvict(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.accept(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        redisClear();
+        clearLocal();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * 다른 노드에서 받은 무효화 메시지를 L1에만 반영합니다.
+     *
+     * @param localKey 키 문자열 (null이면 전체 삭제)
+     */
+    void invalidateLocal(String localKey) {
+        remoteInvalidations.incrementAndGet();
+        if (localKey == null) {
+            clearLocal();
+        } else {
+            evictLocal(localKey);
+        }
+    }
+
+    /**
+     * 캐시 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        long l1 = l1Hits.get();
+        long l2 = l2Hits.get();
+        long miss = misses.get();
+        long total = l1 + l2 + miss;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("l1Size", entries.size());
+        }
+        stats.put("l1MaxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("l1Hits", l1);
+        stats.put("l2Hits", l2);
+        stats.put("misses", miss);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) (l1 + l2) / total);
+        stats.put("evictions", evictions.get());
+        stats.put("remoteInvalidations", remoteInvalidations.get());
+        stats.put("redisErrors", redisErrors.get());
+        return stats;
+    }
+
+    /** L1과 무효화 메시지에서 사용하는 키 문자열 (L2 Redis 키의 캐시 이름 뒷부분과 같은 형태) */
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private void putLocal(String localKey, Object storeValue) {
+        synchronized (entries) {
+            entries.put(localKey, new Entry(storeValue, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    private void evictLocal(String localKey) {
+        synchronized (entries) {
+            entries.remove(localKey);
+        }
+    }
+
+    private void clearLocal() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private ValueWrapper redisGet(Object key) {
+        try {
+            return redisCache.get(key);
+        } catch (RuntimeException e) {
+            redisErrors.incrementAndGet();
+            log.warn("L2(Redis) 캐시 조회 실패. cache: {}, key: {}, error: {}", name, key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void redisPut(Object key, Object value) {
+        try {
+            redisCache.put(key, value);
+        } catch (RuntimeException e) {
+            redisErrors.incrementAndGet();
+            log.warn("L2(Redis) 캐시 저장 실패. cache: {}, key: {}, error: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void redisEvict(Object key) {
+        try {
+            redisCache.evict(key);
+        } catch (RuntimeException e) {
+            redisErrors.incrementAndGet();
+            log.warn("L2(Redis) 캐시 삭제 실패. cache: {}, key: {}, error: {}", name, key, e.getMessage());
+        }
+    }
+
+    private void redisClear() {
+        try {
+            redisCache.clear();
+        } catch (RuntimeException e) {
+            redisErrors.incrementAndGet();
+            log.warn("L2(Redis) 캐시 전체 삭제 실패. cache: {}, error: {}", name, e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final Object storeValue;
+        private final long expiresAt;
+
+        private Entry(Object storeValue, long expiresAt) {
+            this.storeValue = storeValue;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
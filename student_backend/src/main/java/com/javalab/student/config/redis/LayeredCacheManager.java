@@ -0,0 +1,168 @@
+package com.javalab.student.config.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * L1(노드별 힙 메모리) + L2(Redis) 2단계 CacheManager
+ * - 캐시마다 LayeredCache를 하나씩 만들고, L2에는 RedisCacheManager의 같은 이름 캐시를 사용합니다.
+ * - 캐시별 설정: cache.layered.{캐시 이름}.ttl-seconds / max-size (없으면 cache.layered.default.*)
+ * - 노드 간 L1 무효화는 Redis Pub/Sub(INVALIDATION_CHANNEL)으로 전달하며, 자기 노드가 보낸 메시지는 무시합니다.
+ * - 점수 규칙 스냅샷, 상품 카탈로그처럼 LayeredCache가 아닌 노드별 메모리 캐시도
+ *   addLocalInvalidationListener로 등록하면 같은 채널로 다른 노드의 변경을 전달받습니다.
+ */
+@Slf4j
+public class LayeredCacheManager implements CacheManager, MessageListener {
+
+    /** L1 무효화 메시지 채널 */
+    public static final String INVALIDATION_CHANNEL = "cache_invalidation_channel";
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    /** 이 노드를 구분하는 ID (자기 메시지 무시용) */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, LayeredCache> caches = new ConcurrentHashMap<>();
+    /** 노드별 메모리 캐시 이름 → 무효화 리스너 (키 문자열, 전체는 null) */
+    private final Map<String, Consumer<String>> localListeners = new ConcurrentHashMap<>();
+
+    public LayeredCacheManager(RedisCacheManager redisCacheManager, RedisTemplate<String, String> redisStringTemplate,
+                               ObjectMapper objectMapper, Environment environment) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisStringTemplate = redisStringTemplate;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        CacheNames.ALL.forEach(this::getCache);
+    }
+
+    /** 캐시 이름의 L2 TTL(초). 캐시 설정이 없으면 기본값을 사용합니다. */
+    public static long ttlSeconds(Environment environment, String cacheName) {
+        return environment.getProperty("cache.layered." + cacheName + ".ttl-seconds", Long.class,
+                environment.getProperty("cache.layered.default.ttl-seconds", Long.class, 600L));
+    }
+
+    /** 캐시 이름의 L1 최대 항목 수. 캐시 설정이 없으면 기본값을 사용합니다. */
+    public static int maxSize(Environment environment, String cacheName) {
+        return environment.getProperty("cache.layered." + cacheName + ".max-size", Integer.class,
+                environment.getProperty("cache.layered.default.max-size", Integer.class, 1000));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new LayeredCache(
+                cacheName,
+                redisCacheManager.getCache(cacheName),
+                maxSize(environment, cacheName),
+                ttlSeconds(environment, cacheName),
+                this::publishInvalidation));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * 노드별 메모리 캐시의 무효화 리스너를 등록합니다.
+     * - 다른 노드가 같은 이름으로 publishLocalInvalidation을 호출하면 이 노드에서 리스너가 실행됩니다.
+     *
+     * @param name     캐시 이름 (CacheNames의 노드별 메모리 캐시 이름)
+     * @param listener 무효화할 키 문자열을 받는 리스너 (전체 무효화는 null)
+     */
+    public void addLocalInvalidationListener(String name, Consumer<String> listener) {
+        localListeners.put(name, listener);
+    }
+
+    /**
+     * 다른 노드의 메모리 캐시를 무효화하도록 메시지를 발행합니다. (이 노드의 캐시는 호출한 쪽에서 직접 갱신)
+     *
+     * @param name 캐시 이름
+     * @param key  무효화할 키 (전체 무효화는 null)
+     */
+    public void publishLocalInvalidation(String name, String key) {
+        publishInvalidation(name, key);
+    }
+
+    /**
+     * 캐시별 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        Map<String, Object> cacheStats = new TreeMap<>();
+        caches.forEach((name, cache) -> cacheStats.put(name, cache.getStats()));
+        stats.put("caches", cacheStats);
+        return stats;
+    }
+
+    /**
+     * 다른 노드가 발행한 무효화 메시지를 받아 이 노드의 L1에서 해당 키(또는 전체)를 지웁니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            InvalidationMessage invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), InvalidationMessage.class);
+            if (nodeId.equals(invalidation.getNodeId())) {
+                return;
+            }
+            LayeredCache cache = caches.get(invalidation.getCacheName());
+            if (cache != null) {
+                cache.invalidateLocal(invalidation.getKey());
+                log.debug("원격 캐시 무효화 수신. cache: {}, key: {}", invalidation.getCacheName(), invalidation.getKey());
+                return;
+            }
+            Consumer<String> listener = localListeners.get(invalidation.getCacheName());
+            if (listener != null) {
+                listener.accept(invalidation.getKey());
+                log.debug("원격 메모리 캐시 무효화 수신. cache: {}, key: {}", invalidation.getCacheName(), invalidation.getKey());
+            }
+        } catch (Exception e) {
+            log.error("캐시 무효화 메시지 처리 중 오류 발생", e);
+        }
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            String json = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, cacheName, key));
+            redisStringTemplate.convertAndSend(INVALIDATION_CHANNEL, json);
+        } catch (Exception e) {
+            // 발행에 실패해도 다른 노드의 L1은 TTL이 지나면 L2 값으로 다시 채워짐
+            log.warn("캐시 무효화 메시지 발행 실패. cache: {}, key: {}, error: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /** 노드 간 L1 무효화 메시지 (key가 null이면 캐시 전체 삭제) */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class InvalidationMessage {
+        private String nodeId;
+        private String cacheName;
+        private String key;
+    }
+}
@@ -1,21 +1,30 @@
 package com.javalab.student.config.redis;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.javalab.student.service.webSoket.MessageSubscriberService;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableCaching // Spring의 캐싱 기능 활성화
 public class RedisConfig {
@@ -42,14 +51,32 @@ public class RedisConfig {
     }
 
     /**
-     * 🔹 CacheManager 빈 등록 (기존 코드 유지)
-     * - Spring의 캐싱 기능과 Redis를 연결하는 역할
-     * - RedisCacheManager를 사용하여 Redis를 캐시 저장소로 활용
-     * - CacheManager는 RedisConnectionFactory를 사용하여 Redis와 연결됨
+     * 🔹 CacheManager 빈 등록 (L1 + L2 2단계 캐시)
+     * - L1: 노드별 힙 메모리 캐시 (cache.layered.{캐시 이름}.max-size 만큼 보관)
+     * - L2: RedisCacheManager (값은 JSON으로 저장, 캐시별 TTL은 cache.layered.{캐시 이름}.ttl-seconds)
+     * - 다른 노드의 L1 무효화는 redisMessageListenerContainer에 등록된 cache_invalidation_channel로 전달됨
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory).build();
+    public LayeredCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                            @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                                            ObjectMapper objectMapper,
+                                            Environment environment) {
+        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .entryTtl(Duration.ofSeconds(LayeredCacheManager.ttlSeconds(environment, "default")));
+
+        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        for (String cacheName : CacheNames.ALL) {
+            cacheConfigs.put(cacheName, defaultConfig.entryTtl(Duration.ofSeconds(LayeredCacheManager.ttlSeconds(environment, cacheName))));
+        }
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(defaultConfig)
+                .withInitialCacheConfigurations(cacheConfigs)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new LayeredCacheManager(redisCacheManager, redisStringTemplate, objectMapper, environment);
     }
 
     /**
@@ -72,13 +99,16 @@ public class RedisConfig {
     /**
      * 🔹 Redis Pub/Sub 메시지 리스너 컨테이너 설정
      * - Redis Publisher에서 발행한 "chat_channel"을 MessageSubscriberService에서 구독 가능하도록 설정
+     * - 2단계 캐시의 L1 무효화 채널을 LayeredCacheManager에서 구독
      */
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
-            RedisConnectionFactory connectionFactory, MessageSubscriberService subscriber) {
+            RedisConnectionFactory connectionFactory, MessageSubscriberService subscriber,
+            LayeredCacheManager cacheManager) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(new MessageListenerAdapter(subscriber), new PatternTopic("chat_channel"));
+        container.addMessageListener(cacheManager, new ChannelTopic(LayeredCacheManager.INVALIDATION_CHANNEL));
         return container;
     }
 }
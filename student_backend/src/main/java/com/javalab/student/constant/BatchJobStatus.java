@@ -0,0 +1,11 @@
+package com.javalab.student.constant;
+
+/**
+ * 일괄 작업 상태
+ */
+public enum BatchJobStatus {
+    RUNNING,    // 실행 중
+    STOPPED,    // 중지됨 (이어서 실행 가능)
+    FAILED,     // 실패 (이어서 실행 가능)
+    COMPLETED   // 완료
+}
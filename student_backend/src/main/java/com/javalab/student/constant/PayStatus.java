@@ -2,5 +2,6 @@ package com.javalab.student.constant;
 
 public enum PayStatus {
     PAYMENT,
-    CANCEL
+    CANCEL,
+    REFUND_REQUIRED // 결제 후 주문 반영에 실패했고 결제 대행사 취소도 실패 (수동 환불 필요)
 }
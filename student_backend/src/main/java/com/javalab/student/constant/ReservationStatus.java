@@ -0,0 +1,13 @@
+package com.javalab.student.constant;
+
+/**
+ * 재고 예약 상태
+ * - 주문 생성 시 RESERVED로 재고를 잡아 두고, 결제가 끝나면 CONFIRMED가 됩니다.
+ * - 주문이 취소되면 RELEASED, 결제 없이 예약 시간이 지나면 EXPIRED가 되며 두 경우 모두 재고를 되돌립니다.
+ */
+public enum ReservationStatus {
+    RESERVED,   // 예약 (결제 대기)
+    CONFIRMED,  // 확정 (결제 완료)
+    RELEASED,   // 해제 (주문 취소)
+    EXPIRED     // 만료 (예약 시간 초과)
+}
@@ -0,0 +1,12 @@
+package com.javalab.student.constant;
+
+/**
+ * 설문 옵션 점수 규칙의 반영 조건
+ * - 이 enum이 사용되는 곳은 QuestionOptionIngredient 엔티티이다.
+ */
+public enum ScoreCondition {
+    ALWAYS,        // 조건 없이 반영
+    MAIN_SYMPTOM,  // 옵션의 서브카테고리가 주요 증상으로 선택된 경우에만 반영
+    FEMALE,        // 여성인 경우에만 반영
+    MALE           // 남성인 경우에만 반영
+}
@@ -0,0 +1,123 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.config.redis.LayeredCacheManager;
+import com.javalab.student.service.cartOrder.CartStore;
+import com.javalab.student.service.cartOrder.InventoryService;
+import com.javalab.student.service.cartOrder.PaymentVerifier;
+import com.javalab.student.service.healthSurvey.RecommendationCache;
+import com.javalab.student.service.product.ProductCatalogCache;
+import com.javalab.student.service.product.ProductImageDelivery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 애플리케이션 캐시 관리 API (관리자 전용)
+ * - 캐시 적중률 등 통계를 조회하고, 필요하면 캐시를 수동으로 비웁니다.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheAdminController {
+
+    private final RecommendationCache recommendationCache;
+    private final ProductCatalogCache productCatalogCache;
+    private final LayeredCacheManager layeredCacheManager;
+    private final ProductImageDelivery productImageDelivery;
+    private final CartStore cartStore;
+    private final InventoryService inventoryService;
+    private final PaymentVerifier paymentVerifier;
+
+    /**
+     * 추천 결과 캐시 통계를 조회합니다.
+     */
+    @GetMapping("/recommendation")
+    public ResponseEntity<Map<String, Object>> getRecommendationCacheStats() {
+        return ResponseEntity.ok(recommendationCache.getStats());
+    }
+
+    /**
+     * 추천 결과 캐시를 비웁니다.
+     */
+    @DeleteMapping("/recommendation")
+    public ResponseEntity<Map<String, Object>> clearRecommendationCache() {
+        recommendationCache.invalidateAll();
+        log.info("관리자 요청으로 추천 결과 캐시를 비웠습니다.");
+        return ResponseEntity.ok(recommendationCache.getStats());
+    }
+
+    /**
+     * 상품 카탈로그 캐시 통계를 조회합니다.
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<Map<String, Object>> getCatalogCacheStats() {
+        return ResponseEntity.ok(productCatalogCache.getStats());
+    }
+
+    /**
+     * 상품 카탈로그 캐시를 비웁니다. (DB를 직접 수정한 경우 등)
+     */
+    @DeleteMapping("/catalog")
+    public ResponseEntity<Map<String, Object>> clearCatalogCache() {
+        productCatalogCache.invalidateAll();
+        log.info("관리자 요청으로 상품 카탈로그 캐시를 비웠습니다.");
+        return ResponseEntity.ok(productCatalogCache.getStats());
+    }
+
+    /**
+     * 2단계 캐시(L1 + Redis) 캐시별 통계를 조회합니다. (이 노드의 L1 기준)
+     */
+    @GetMapping("/layered")
+    public ResponseEntity<Map<String, Object>> getLayeredCacheStats() {
+        return ResponseEntity.ok(layeredCacheManager.getStats());
+    }
+
+    /**
+     * 2단계 캐시 하나를 비웁니다. Redis와 모든 노드의 L1에서 함께 지워집니다.
+     */
+    @DeleteMapping("/layered/{cacheName}")
+    public ResponseEntity<Map<String, Object>> clearLayeredCache(@PathVariable("cacheName") String cacheName) {
+        if (!layeredCacheManager.getCacheNames().contains(cacheName)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "존재하지 않는 캐시입니다: " + cacheName));
+        }
+        layeredCacheManager.getCache(cacheName).clear();
+        log.info("관리자 요청으로 2단계 캐시를 비웠습니다. cache: {}", cacheName);
+        return ResponseEntity.ok(layeredCacheManager.getStats());
+    }
+
+    /**
+     * 상품 이미지 제공 통계(304 / 206 응답 수, 전송 바이트)와 이미지 저장소 통계를 조회합니다.
+     */
+    @GetMapping("/images")
+    public ResponseEntity<Map<String, Object>> getImageStats() {
+        return ResponseEntity.ok(productImageDelivery.getStats());
+    }
+
+    /**
+     * Redis 장바구니 저장소 통계(적중 / DB 재적재 수, write-behind 반영 건수, 반영 대기 장바구니 수)를 조회합니다.
+     */
+    @GetMapping("/carts")
+    public ResponseEntity<Map<String, Object>> getCartStoreStats() {
+        return ResponseEntity.ok(cartStore.getStats());
+    }
+
+    /**
+     * 재고 예약 통계(예약 / 거절 / 확정 / 해제 / 만료 건수, 잠금 대기 시간 초과 수)를 조회합니다.
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<Map<String, Object>> getInventoryStats() {
+        return ResponseEntity.ok(inventoryService.getStats());
+    }
+
+    /**
+     * 포트원 결제 검증 통계(회로 상태, 검증 / 시간 초과 / 실패 / 차단 건수, 진행 중인 조회 수)를 조회합니다.
+     */
+    @GetMapping("/payment-verifier")
+    public ResponseEntity<Map<String, Object>> getPaymentVerifierStats() {
+        return ResponseEntity.ok(paymentVerifier.getStats());
+    }
+}
@@ -1,6 +1,7 @@
 package com.javalab.student.controller;
 
 import com.javalab.student.config.jwt.TokenProvider;
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.LoginFormDto;
 import com.javalab.student.dto.MemberFormDto;
 import com.javalab.student.dto.MemberUpdateDto;
@@ -286,6 +287,21 @@ public class MemberController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    /**
+     * 회원 목록 조회 (커서 페이징, 검색 기능 포함)
+     * @param pageRequestDTO - 페이지 크기 및 검색 조건 (page는 사용하지 않음)
+     * @param cursor - 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param approximateCount - true면 전체 회원 수 추정치(approximateTotal)를 함께 반환
+     * @return 회원 목록 및 다음 페이지 커서
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponseDTO<Member>> getMemberListByCursor(
+            PageRequestDTO pageRequestDTO,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "approximateCount", defaultValue = "false") boolean approximateCount) {
+        return ResponseEntity.ok(memberService.getMemberListByCursor(pageRequestDTO, cursor, approximateCount));
+    }
+
     /**
      * [추가] 회원 상태 변경 (활성/탈퇴) API
      * @param memberId - 회원 ID
@@ -0,0 +1,55 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.service.healthSurvey.RecommendationBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 추천 일괄 재계산 작업 API (관리자 전용)
+ * - 점수 규칙이나 상품 카탈로그를 바꾼 뒤 전체 회원의 저장된 추천을 다시 만들 때 사용합니다.
+ */
+@RestController
+@RequestMapping("/api/admin/recommendation-batch")
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationBatchController {
+
+    private final RecommendationBatchService recommendationBatchService;
+
+    /**
+     * 재계산 작업을 시작합니다.
+     *
+     * @param resume true(기본값)면 중지되거나 실패한 최근 작업을 이어서 실행합니다.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(value = "resume", defaultValue = "true") boolean resume) {
+        try {
+            return ResponseEntity.ok(recommendationBatchService.start(resume));
+        } catch (RuntimeException e) {
+            log.warn("추천 재계산 작업 시작 실패: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 실행 중인 재계산 작업에 중지를 요청합니다. (처리 중인 청크까지 저장 후 중지)
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop() {
+        recommendationBatchService.stop();
+        return ResponseEntity.ok(recommendationBatchService.getProgress());
+    }
+
+    /**
+     * 최근 재계산 작업의 진행 상태를 조회합니다.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getProgress() {
+        return ResponseEntity.ok(recommendationBatchService.getProgress());
+    }
+}
@@ -1,15 +1,11 @@
 package com.javalab.student.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.javalab.student.dto.healthSurvey.HealthAnalysisDTO;
 import com.javalab.student.dto.healthSurvey.RecommendationDTO;
 import com.javalab.student.dto.healthSurvey.RecommendedIngredientDTO;
 import com.javalab.student.dto.healthSurvey.RecommendedProductDTO;
-import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.product.ProductImg;
 import com.javalab.student.entity.product.Product;
-import com.javalab.student.entity.healthSurvey.HealthRecord;
 import com.javalab.student.entity.healthSurvey.Recommendation;
 import com.javalab.student.entity.healthSurvey.RecommendedIngredient;
 import com.javalab.student.entity.healthSurvey.RecommendedProduct;
@@ -24,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -66,6 +63,24 @@ public class RecommendationController {
         }
     }
 
+    /**
+     * 현재 로그인한 사용자의 추천 결과를 저장합니다.
+     * 최근에 저장된 추천과 입력이 같으면 새로 저장하지 않고 기존 추천 ID를 반환합니다.
+     *
+     * @return 추천 ID와 새로 저장되었는지 여부를 포함한 ResponseEntity
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<Map<String, Object>> saveRecommendationSnapshot() {
+        try {
+            Map<String, Object> result = recommendationService.saveRecommendationSnapshot();
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("추천 결과 저장 중 오류 발생", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "추천 결과 저장 중 오류가 발생했습니다."));
+        }
+    }
+
     /**
      * 현재 로그인한 사용자의 건강 기록 히스토리를 조회합니다.
      *
@@ -173,69 +188,7 @@ public class RecommendationController {
     public ResponseEntity<List<RecommendationDTO>> getHealthRecords() {
         try {
             Member member = authenticationService.getAuthenticatedMember(); // 현재 로그인한 사용자 정보 가져오기
-            List<HealthRecord> healthRecords = healthRecordService.getHealthHistory(member.getId()); // 건강 기록 조회
-
-            // HealthRecord -> RecommendationDTO 변환
-            List<RecommendationDTO> recommendationDTOs = healthRecords.stream()
-                    .map(healthRecord -> {
-                        RecommendationDTO dto = new RecommendationDTO();
-                        dto.setId(healthRecord.getId());
-                        dto.setMemberId(member.getId());
-                        dto.setCreatedAt(healthRecord.getRecordDate());
-
-                        // HealthAnalysis 정보 추가
-                        HealthAnalysisDTO healthAnalysisDTO = new HealthAnalysisDTO();
-                        healthAnalysisDTO.setName(healthRecord.getName());
-                        healthAnalysisDTO.setGender(healthRecord.getGender());
-                        healthAnalysisDTO.setAge(healthRecord.getAge());
-                        healthAnalysisDTO.setBmi(healthRecord.getBmi());
-                        healthAnalysisDTO.setRiskLevels(healthRecord.getRiskLevels());
-                        healthAnalysisDTO.setOverallAssessment(healthRecord.getOverallAssessment());
-                        dto.setHealthAnalysis(healthAnalysisDTO);
-
-                        // 추천 제품 정보 추가 (JSON 문자열 -> List<ProductRecommendationDTO>)
-                        try {
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            String recommendedProductsJson = healthRecord.getRecommendedProducts(); // JSON 문자열 가져오기
-                            List<ProductRecommendationDTO> productRecommendations = null;
-
-                            if (recommendedProductsJson != null && !recommendedProductsJson.isEmpty()) {
-                                productRecommendations = objectMapper.readValue(
-                                        recommendedProductsJson,
-                                        objectMapper.getTypeFactory().constructCollectionType(List.class, ProductRecommendationDTO.class)
-                                );
-                            } else {
-                                productRecommendations = List.of(); // 빈 문자열인 경우 빈 리스트 반환
-                            }
-                            dto.setProductRecommendations(productRecommendations);
-                        } catch (Exception e) {
-                            log.error("추천 제품 변환 중 오류 발생", e);
-                            dto.setProductRecommendations(List.of()); // 변환 실패 시 빈 리스트
-                        }
-
-                        // 추천 영양 성분 정보 추가 (JSON 문자열 -> List<RecommendedIngredientDTO>)
-                        try {
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            String recommendedIngredientsJson = healthRecord.getRecommendedIngredients(); // JSON 문자열 가져오기
-                            List<RecommendedIngredientDTO> recommendedIngredients = null;
-
-                            if (recommendedIngredientsJson != null && !recommendedIngredientsJson.isEmpty()) {
-                                recommendedIngredients = objectMapper.readValue(
-                                        recommendedIngredientsJson,
-                                        objectMapper.getTypeFactory().constructCollectionType(List.class, RecommendedIngredientDTO.class)
-                                );
-                            } else {
-                                recommendedIngredients = List.of(); // 빈 문자열인 경우 빈 리스트 반환
-                            }
-                            dto.setRecommendedIngredients(recommendedIngredients);
-                        } catch (Exception e) {
-                            log.error("추천 영양 성분 변환 중 오류 발생", e);
-                            dto.setRecommendedIngredients(List.of()); // 변환 실패 시 빈 리스트
-                        }
-
-                        return dto; // DTO 반환
-                    })
-                    .collect(Collectors.toList());
+            List<RecommendationDTO> recommendationDTOs = healthRecordService.getHealthHistoryDTOs(member.getId()); // 건강 기록 조회
 
             return ResponseEntity.ok(recommendationDTOs); // 추천 DTO 리스트 반환
         } catch (Exception e) {
@@ -0,0 +1,91 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.dto.healthSurvey.OptionIngredientWeightDTO;
+import com.javalab.student.dto.healthSurvey.OptionRiskWeightDTO;
+import com.javalab.student.service.healthSurvey.ScoringRuleAdminService;
+import com.javalab.student.service.healthSurvey.ScoringRuleSnapshot;
+import com.javalab.student.service.healthSurvey.ScoringRuleStore;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설문 점수 규칙 관리 API (관리자 전용)
+ * - 규칙을 변경하면 재배포 없이 점수 계산에 바로 반영됩니다.
+ */
+@RestController
+@RequestMapping("/api/admin/scoring-rules")
+@RequiredArgsConstructor
+@Slf4j
+public class ScoringRuleAdminController {
+
+    private final ScoringRuleAdminService scoringRuleAdminService;
+    private final ScoringRuleStore scoringRuleStore;
+
+    /**
+     * 현재 적용 중인 점수 규칙 스냅샷 정보를 조회합니다.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSnapshotInfo() {
+        return ResponseEntity.ok(toInfo(scoringRuleStore.getSnapshot()));
+    }
+
+    /**
+     * DB에서 점수 규칙을 다시 읽어 스냅샷을 교체합니다. (다른 노드도 다시 읽음)
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        return ResponseEntity.ok(toInfo(scoringRuleStore.reloadAndBroadcast()));
+    }
+
+    /**
+     * 옵션의 영양 성분 점수 규칙을 교체합니다.
+     */
+    @PutMapping("/options/{optionId}/ingredients")
+    public ResponseEntity<?> replaceIngredientWeights(@PathVariable("optionId") Long optionId,
+                                                      @RequestBody List<OptionIngredientWeightDTO> weights) {
+        try {
+            scoringRuleAdminService.replaceIngredientWeights(optionId, weights);
+            return ResponseEntity.ok(toInfo(scoringRuleStore.getSnapshot()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            log.warn("영양 성분 점수 규칙 변경 실패. 옵션 ID: {}, 사유: {}", optionId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 옵션의 위험도 점수 규칙을 교체합니다.
+     */
+    @PutMapping("/options/{optionId}/risks")
+    public ResponseEntity<?> replaceRiskWeights(@PathVariable("optionId") Long optionId,
+                                                @RequestBody List<OptionRiskWeightDTO> weights) {
+        try {
+            scoringRuleAdminService.replaceRiskWeights(optionId, weights);
+            return ResponseEntity.ok(toInfo(scoringRuleStore.getSnapshot()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            log.warn("위험도 점수 규칙 변경 실패. 옵션 ID: {}, 사유: {}", optionId, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> toInfo(ScoringRuleSnapshot snapshot) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("version", snapshot.getVersion());
+        info.put("loadedAt", snapshot.getLoadedAt());
+        info.put("optionCount", snapshot.getNutrientTable().getRuleCount());
+        info.put("ingredientCount", snapshot.getNutrientTable().getVocabulary().size());
+        info.put("riskRuleCount", snapshot.getRiskTable().getRuleCount());
+        return info;
+    }
+}
@@ -1,5 +1,6 @@
 package com.javalab.student.controller.board;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.PageRequestDTO;
 import com.javalab.student.dto.PageResponseDTO;
 import com.javalab.student.dto.board.PostDto;
@@ -55,6 +56,16 @@ public class PostController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    // 게시판별 게시글 목록 조회 (커서 페이징, 다음 페이지는 응답의 nextCursor로 요청)
+    @GetMapping("/board/{boardId}/cursor")
+    public ResponseEntity<CursorPageResponseDTO<PostDto>> getPostsByBoardCursor(
+            @PathVariable("boardId") Long boardId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "approximateCount", defaultValue = "false") boolean approximateCount) {
+        return ResponseEntity.ok(postService.getPostsByBoardCursor(boardId, cursor, size, approximateCount));
+    }
+
     // 게시글 검색
     @GetMapping("/search")
     public ResponseEntity<PageResponseDTO<PostDto>> searchPosts(@ModelAttribute PageRequestDTO pageRequestDTO) {
@@ -15,7 +15,6 @@ import org.springframework.web.bind.annotation.*;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
 
 /**
  * 장바구니 관련 API 컨트롤러
@@ -49,17 +48,13 @@ public class CartController {
         }
 
         try {
-            List<Long> cartItemIds = new ArrayList<>();
-            for (CartItemDto cartItemDto : cartItemDtos) {
-                log.debug("처리 중인 상품 ID: {}, 수량: {}", cartItemDto.getProductId(), cartItemDto.getQuantity());
-                if (!cartService.checkStock(cartItemDto.getProductId(), cartItemDto.getQuantity())) {
-                    return ResponseEntity.badRequest().body("재고가 부족합니다. 상품 ID: " + cartItemDto.getProductId());
-                }
-                Long cartItemId = cartService.addCart(cartItemDto, principal.getName());
-                cartItemIds.add(cartItemId);
-                log.info("장바구니 상품 추가 완료 - 카트 아이템 ID: {}", cartItemId);
-            }
+            // 상품 조회, 재고 확인, 장바구니 반영을 한 트랜잭션에서 일괄 처리
+            List<Long> cartItemIds = cartService.addCartItems(cartItemDtos, principal.getName());
+            log.info("장바구니 상품 일괄 추가 완료 - 카트 아이템 ID: {}", cartItemIds);
             return ResponseEntity.ok(cartItemIds);
+        } catch (IllegalStateException e) {
+            log.warn("장바구니 상품 일괄 추가 거부 - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (EntityNotFoundException e) {
             log.error("상품을 찾을 수 없음", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("상품을 찾을 수 없습니다: " + e.getMessage());
@@ -141,11 +136,11 @@ public class CartController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("해당 장바구니 아이템에 접근 권한이 없습니다.");
         }
         try {
-            Long productId = cartService.getItemIdByCartItemId(cartItemId);
+            Long productId = cartService.getItemIdByCartItemId(cartItemId, principal.getName());
             if (!cartService.checkStock(productId, count)) {
                 return ResponseEntity.badRequest().body("재고가 부족합니다.");
             }
-            cartService.updateCartItemCount(cartItemId, count);
+            cartService.updateCartItemCount(cartItemId, count, principal.getName());
             log.info("장바구니 상품 수량 수정 완료 - 카트 아이템 ID: {}", cartItemId);
             return ResponseEntity.ok(cartItemId);
         } catch (Exception e) {
@@ -167,7 +162,7 @@ public class CartController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("해당 장바구니 아이템에 접근 권한이 없습니다.");
         }
         try {
-            cartService.deleteCartItem(cartItemId);
+            cartService.deleteCartItem(cartItemId, principal.getName());
             log.info("장바구니 상품 삭제 완료 - 카트 아이템 ID: {}", cartItemId);
             return ResponseEntity.ok(cartItemId);
         } catch (Exception e) {
@@ -189,7 +184,7 @@ public class CartController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("해당 장바구니 아이템에 접근 권한이 없습니다.");
         }
         try {
-            CartDetailDto cartItem = cartService.getCartItemDetail(cartItemId);
+            CartDetailDto cartItem = cartService.getCartItemDetail(cartItemId, principal.getName());
             return ResponseEntity.ok(cartItem);
         } catch (EntityNotFoundException e) {
             log.error("장바구니 아이템을 찾을 수 없음", e);
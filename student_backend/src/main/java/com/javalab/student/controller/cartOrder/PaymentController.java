@@ -1,7 +1,10 @@
 package com.javalab.student.controller.cartOrder;
 
 import com.javalab.student.config.portone.PortOneProperties;
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.cartOrder.*;
+import com.javalab.student.exception.PaymentGatewayException;
+import com.javalab.student.exception.StockConfirmationException;
 import com.javalab.student.service.subscription.SubscriptionService;
 import com.javalab.student.service.cartOrder.PaymentService;
 import com.javalab.student.repository.MemberRepository;
@@ -66,19 +69,16 @@ public class PaymentController {
         log.info("결제 요청 시작 - 주문 정보: {}, 구매 유형: {}", requestDto, purchaseType);
 
         String email = principal.getName();
-        Member member = memberRepository.findByEmail(email);
-        if (member == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of("message", "사용자를 찾을 수 없습니다."));
-        }
 
         try {
             // 1. 결제 처리: PaymentService를 사용하여 결제를 처리하고 결과를 받습니다.
+            // (포트원 조회 동안 DB 커넥션을 잡지 않도록 요청에서 가장 먼저 호출, 회원이 없으면 장바구니 비우기에서 404)
             Map<String, Object> paymentResult = paymentService.processPayment(requestDto, email, purchaseType);
 
             // 2. 구독 처리 (정기 구독 결제인 경우에만)
             if ("subscription".equals(purchaseType)) {
                 log.info("정기 구독 결제 시작");
+                Member member = memberRepository.findByEmail(email);
 
                 // 3. 사용자가 기존 구독자인지 확인합니다.
                 boolean isSubscribed = false;
@@ -133,6 +133,12 @@ public class PaymentController {
         } catch (EntityNotFoundException e) {
             log.error("결제 처리 중 EntityNotFoundException 발생", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "관련 정보를 찾을 수 없습니다: " + e.getMessage()));
+        } catch (StockConfirmationException e) {
+            log.warn("결제 확정 실패 (재고 예약 확보 불가). 주문 ID: {}, {}", e.getOrderId(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (PaymentGatewayException e) {
+            log.warn("결제 확인 실패 (포트원 장애/지연): {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             log.error("결제 처리 중 예외 발생", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -258,6 +264,27 @@ public class PaymentController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * 관리자 주문 목록 조회 API (커서 페이징)
+     * 깊은 페이지도 OFFSET 없이 조회하며, 첫 페이지는 cursor 없이 요청하고 다음 페이지는 응답의 nextCursor를 넘깁니다.
+     *
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기 (기본값 10, 주문 수 기준)
+     * @param approximateCount true면 전체 주문 수 추정치(approximateTotal)를 함께 반환
+     * @return 관리자 주문 목록과 다음 페이지 커서
+     */
+    @GetMapping("/admin/orders/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponseDTO<AdminOrderDto>> getAdminOrdersByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "memberName", required = false) String memberName,
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(value = "approximateCount", defaultValue = "false") boolean approximateCount) {
+        return ResponseEntity.ok(paymentService.getAdminOrdersByCursor(cursor, size, memberName, startDate, endDate, approximateCount));
+    }
+
     /**
      * 관리자가 주문 상태를 변경하는 API 엔드포인트
      * @param orderId 상태를 변경할 주문 ID
@@ -1,7 +1,7 @@
 package com.javalab.student.controller.product;
 
-import com.javalab.student.entity.product.ProductCategory;
-import com.javalab.student.repository.product.ProductCategoryRepository;
+import com.javalab.student.dto.product.ProductCategoryDto;
+import com.javalab.student.service.product.ProductMetadataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +14,11 @@ import java.util.List;
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class ProductCategoryController {
-    private final ProductCategoryRepository categoryRepository;
+    private final ProductMetadataService productMetadataService;
 
     @GetMapping
-    public ResponseEntity<List<ProductCategory>> getCategories() {
-        List<ProductCategory> categories = categoryRepository.findAllByOrderByIdAsc();
+    public ResponseEntity<List<ProductCategoryDto>> getCategories() {
+        List<ProductCategoryDto> categories = productMetadataService.getCategories(); // 2단계 캐시
         return ResponseEntity.ok(categories);
     }
 }
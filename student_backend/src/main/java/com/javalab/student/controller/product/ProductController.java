@@ -1,18 +1,23 @@
 package com.javalab.student.controller.product;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.product.ProductDto;
+import com.javalab.student.dto.product.ProductFacetResponseDto;
 import com.javalab.student.dto.product.ProductFormDto;
 import com.javalab.student.dto.product.ProductResponseDTO;
 import com.javalab.student.entity.product.Product;
 import com.javalab.student.entity.product.ProductCategory;
 import com.javalab.student.repository.product.ProductCategoryRepository;
 import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.product.ProductCatalogChangedEvent;
+import com.javalab.student.service.product.ProductImageDelivery;
+import com.javalab.student.service.product.ProductImageStorage;
 import com.javalab.student.service.product.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,17 +27,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @Slf4j
 @RestController
@@ -41,15 +40,21 @@ public class ProductController {
     private final ProductRepository productRepository;
     private final ProductService productService;
     private final ProductCategoryRepository productCategoryRepository;
-
-    @Value("${itemImgLocation}")
-    private String itemImgLocation;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductImageStorage productImageStorage;
+    private final ProductImageDelivery productImageDelivery;
 
     public ProductController(ProductRepository productRepository, ProductService productService,
-                             ProductCategoryRepository productCategoryRepository) {
+                             ProductCategoryRepository productCategoryRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             ProductImageStorage productImageStorage,
+                             ProductImageDelivery productImageDelivery) {
         this.productRepository = productRepository;
         this.productService = productService;
         this.productCategoryRepository = productCategoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.productImageStorage = productImageStorage;
+        this.productImageDelivery = productImageDelivery;
     }
 
     /** 특정 상품 상세 정보 조회 */
@@ -106,12 +111,7 @@ public class ProductController {
     @PostMapping("/upload")
     public ResponseEntity<Map<String, String>> uploadImage(@RequestParam("imageFile") MultipartFile file) {
         try {
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            Path filePath = Paths.get(itemImgLocation, fileName);
-            Files.createDirectories(Paths.get(itemImgLocation));
-            Files.write(filePath, file.getBytes());
-
-            String imageUrl = "/api/products/images/" + fileName;
+            String imageUrl = productImageStorage.store(file); // 내용 해시 이름으로 저장, 축소본은 백그라운드에서 생성
 
             Map<String, String> response = new HashMap<>();
             response.put("imageUrl", imageUrl);
@@ -124,30 +124,16 @@ public class ProductController {
         }
     }
 
-    /** 이미지 제공 핸들러 */
+    /**
+     * 이미지 제공 핸들러
+     * variant(thumb / list / detail)를 지정하면 축소본을 제공하고, 축소본이 아직 없으면 원본을 제공합니다.
+     * ETag 조건부 요청(304), Range 요청(206)과 캐시 헤더는 ProductImageDelivery에서 처리합니다.
+     */
     @GetMapping("/images/{filename:.+}")
-    public ResponseEntity<Resource> serveImage(@PathVariable("filename") String filename) {
-        try {
-            Path file = Paths.get(itemImgLocation).resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
-
-            if (resource.exists() || resource.isReadable()) {
-                String contentType = Files.probeContentType(file);
-                if(contentType == null) {
-                    contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
-                }
-
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .body(resource);
-            } else {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found");
-            }
-        } catch (MalformedURLException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found", e);
-        } catch (IOException e){
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not determine file type.", e);
-        }
+    public void serveImage(@PathVariable("filename") String filename,
+                           @RequestParam(value = "variant", required = false) String variant,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        productImageDelivery.serve(filename, variant, request, response);
     }
 
     /** 전체 상품 목록 조회 */
@@ -170,6 +156,26 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /** 검색어 자동 완성 (상품 ID, 상품명) */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Map<String, Object>>> suggestProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggestProducts(query, Math.max(1, Math.min(limit, 50))));
+    }
+
+    /**
+     * 패싯 검색: 카테고리/영양 성분 조건을 모두 만족하는 상품과 필터 사이드바용 패싯별 상품 수
+     * 예) /api/products/facets?categoryIds=1&ingredientIds=3&ingredientIds=5
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetResponseDto> getProductFacets(
+            @RequestParam(value = "categoryIds", required = false) List<Long> categoryIds,
+            @RequestParam(value = "ingredientIds", required = false) List<Long> ingredientIds,
+            @RequestParam(value = "activeOnly", defaultValue = "true") boolean activeOnly) {
+        return ResponseEntity.ok(productService.getProductFacets(categoryIds, ingredientIds, activeOnly));
+    }
+
     /** 카테고리 ID로 상품 필터링 */
     @GetMapping("/filter-by-category")
     public ResponseEntity<List<ProductResponseDTO>> getProductsFilteredByCategory(@RequestParam("categoryId") Long categoryId) {
@@ -225,6 +231,7 @@ public class ProductController {
         List<ProductCategory> categories = productCategoryRepository.findAllById(categoryIds);
         product.setCategories(categories);
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(productId));
         return ResponseEntity.ok().build();
     }
 
@@ -235,9 +242,20 @@ public class ProductController {
             @RequestParam(value = "size", defaultValue = "10") int size) {
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productRepository.findAll(pageable);
-        Page<ProductResponseDTO> responseDTOPage = productPage.map(ProductResponseDTO::fromEntity);
-        return ResponseEntity.ok(responseDTOPage);
+        return ResponseEntity.ok(productService.getProductsPaged(pageable));
+    }
+
+    /**
+     * 전체 상품 목록 조회 (커서 페이징)
+     * - 첫 페이지는 cursor 없이, 다음 페이지는 응답의 nextCursor를 그대로 넘겨 요청합니다.
+     * - approximateCount=true면 전체 상품 수(approximateTotal)를 함께 반환합니다.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponseDTO<ProductResponseDTO>> getAllProductsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "approximateCount", defaultValue = "false") boolean approximateCount) {
+        return ResponseEntity.ok(productService.getProductsByCursor(cursor, size, approximateCount));
     }
 
     /** 새로운 카테고리별 필터링 (페이징 O) */
@@ -248,9 +266,7 @@ public class ProductController {
             @RequestParam(value = "size", defaultValue = "10") int size) {
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productRepository.findByCategories_Id(categoryId, pageable);
-        Page<ProductResponseDTO> responseDTOPage = productPage.map(ProductResponseDTO::fromEntity);
-        return ResponseEntity.ok(responseDTOPage);
+        return ResponseEntity.ok(productService.getProductsByCategoryPaged(categoryId, pageable));
     }
 
     /** 상품 이미지 삭제 핸들러 */
@@ -1,9 +1,9 @@
 package com.javalab.student.controller.product;
 
+import com.javalab.student.dto.product.ProductIngredientDto;
 import com.javalab.student.entity.product.ProductCategory;
-import com.javalab.student.entity.product.ProductIngredient;
 import com.javalab.student.repository.product.ProductIngredientCategoryRepository;
-import com.javalab.student.repository.product.ProductIngredientRepository;
+import com.javalab.student.service.product.ProductMetadataService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,22 +17,22 @@ import java.util.List;
 @Slf4j
 public class ProductIngredientController {
 
-    private final ProductIngredientRepository ingredientRepository;
+    private final ProductMetadataService productMetadataService;
     private final ProductIngredientCategoryRepository ingredientCategoryRepository;
 
-    public ProductIngredientController(ProductIngredientRepository ingredientRepository,
+    public ProductIngredientController(ProductMetadataService productMetadataService,
                                        ProductIngredientCategoryRepository ingredientCategoryRepository) {
-        this.ingredientRepository = ingredientRepository;
+        this.productMetadataService = productMetadataService;
         this.ingredientCategoryRepository = ingredientCategoryRepository;
     }
 
     // ✅ 기존 영양성분 전체 조회 API (유지)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<List<ProductIngredient>> getAllIngredients() {
+    public ResponseEntity<List<ProductIngredientDto>> getAllIngredients() {
         try {
             log.info("영양성분 목록 조회 시작");
-            List<ProductIngredient> ingredients = ingredientRepository.findAll();
+            List<ProductIngredientDto> ingredients = productMetadataService.getIngredients(); // 2단계 캐시
             log.info("조회된 영양성분 수: {}", ingredients.size());
             return ResponseEntity.ok(ingredients);
         } catch (Exception e) {
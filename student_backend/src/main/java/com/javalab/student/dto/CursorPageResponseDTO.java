@@ -0,0 +1,37 @@
+package com.javalab.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 페이징 응답 DTO
+ * - 페이지 번호와 전체 건수 대신 다음 페이지를 요청할 커서(nextCursor)를 돌려줍니다.
+ * - 전체 건수는 COUNT(*)를 피하기 위해 요청한 경우에만 추정치(approximateTotal)로 채웁니다.
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponseDTO<E> {
+
+    // 요청한 페이지 크기
+    private int size;
+
+    // 페이지에 보여줄 목록 데이터
+    private List<E> dtoList;
+
+    // 다음 페이지 커서 (마지막 페이지면 null)
+    private String nextCursor;
+
+    // 다음 페이지 존재 여부
+    private boolean hasNext;
+
+    // 전체 건수 추정치 (요청하지 않았으면 null)
+    private Long approximateTotal;
+}
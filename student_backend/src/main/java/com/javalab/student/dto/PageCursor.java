@@ -0,0 +1,70 @@
+package com.javalab.student.dto;
+
+import com.javalab.student.exception.InvalidCursorException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 커서(keyset) 페이징의 위치 정보
+ * - 마지막으로 보낸 행의 정렬 키(선택)와 ID를 담고, 클라이언트에는 Base64(URL) 문자열로만 전달합니다.
+ * - 다음 페이지는 OFFSET 없이 "이 위치 다음"부터 인덱스를 따라 읽으므로 몇 번째 페이지든 같은 비용이 듭니다.
+ * - 클라이언트는 토큰 내용을 해석하지 말고 받은 그대로 다음 요청에 넘겨야 합니다.
+ */
+@Getter
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /** 정렬 기준 일시 (ID로만 정렬하는 목록은 null) */
+    private final LocalDateTime sortedAt;
+    /** 마지막 행의 ID */
+    private final Long id;
+
+    private PageCursor(LocalDateTime sortedAt, Long id) {
+        this.sortedAt = sortedAt;
+        this.id = id;
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime sortedAt, Long id) {
+        return new PageCursor(sortedAt, id);
+    }
+
+    /** 커서 토큰 문자열로 변환 */
+    public String encode() {
+        String raw = (sortedAt == null ? "" : sortedAt.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 토큰을 해석합니다.
+     *
+     * @return 토큰이 비어 있으면(첫 페이지) null
+     * @throws InvalidCursorException 형식이 잘못된 토큰
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            String sortedAt = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PageCursor(sortedAt.isEmpty() ? null : LocalDateTime.parse(sortedAt), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException, Base64 디코딩 오류 포함
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.javalab.student.dto.healthSurvey;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 회원 ID가 붙은 선택 옵션 설문 응답 프로젝션
+ * - 여러 회원의 최신 응답을 쿼리 한 번으로 조회할 때 사용합니다. (추천 일괄 재계산)
+ */
+@Getter
+@ToString
+public class MemberSurveyAnswer {
+
+    private final Long memberId;
+    private final SurveyAnswer answer;
+
+    public MemberSurveyAnswer(Long memberId, Long optionId, String optionText, Long questionId, String questionText,
+                              String subCategoryName) {
+        this.memberId = memberId;
+        this.answer = new SurveyAnswer(optionId, optionText, questionId, questionText, subCategoryName);
+    }
+}
@@ -0,0 +1,22 @@
+package com.javalab.student.dto.healthSurvey;
+
+import com.javalab.student.constant.ScoreCondition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 설문 옵션 → 영양 성분 점수 규칙 DTO
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OptionIngredientWeightDTO {
+    private String ingredientName;
+    private Integer weight;
+    private ScoreCondition scoreCondition;
+}
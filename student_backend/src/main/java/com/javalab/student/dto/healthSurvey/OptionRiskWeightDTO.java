@@ -0,0 +1,20 @@
+package com.javalab.student.dto.healthSurvey;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 설문 옵션 → 건강 위험도 영역 점수 규칙 DTO
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OptionRiskWeightDTO {
+    private String riskDomain;
+    private Integer weight;
+}
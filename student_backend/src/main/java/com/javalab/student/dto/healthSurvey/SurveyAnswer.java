@@ -0,0 +1,40 @@
+package com.javalab.student.dto.healthSurvey;
+
+import com.javalab.student.entity.healthSurvey.MemberResponseOption;
+import com.javalab.student.entity.healthSurvey.QuestionOption;
+import com.javalab.student.entity.healthSurvey.SurveyQuestion;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 선택 옵션 설문 응답 한 건의 읽기 전용 프로젝션
+ * - MemberResponseOptionRepository.findLatestAnswersByMemberId()가 쿼리 한 번으로 만들어 반환합니다.
+ * - 엔티티 프록시를 거치지 않으므로 점수 계산 중 추가 쿼리가 발생하지 않습니다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SurveyAnswer {
+
+    private final Long optionId;
+    private final String optionText;
+    private final Long questionId;
+    private final String questionText;
+    private final String subCategoryName;
+
+    /**
+     * 이미 로딩된 응답 엔티티를 프로젝션으로 변환합니다.
+     * 지연 로딩 연관관계를 모두 읽으므로, 새로 조회하는 경우에는 findLatestAnswersByMemberId()를 사용하세요.
+     */
+    public static SurveyAnswer from(MemberResponseOption response) {
+        QuestionOption option = response.getOption();
+        SurveyQuestion question = option.getQuestion();
+        return new SurveyAnswer(
+                option.getId(),
+                option.getOptionText(),
+                question != null ? question.getId() : null,
+                question != null ? question.getQuestionText() : null,
+                question != null && question.getSubCategory() != null ? question.getSubCategory().getName() : null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.javalab.student.dto.product;
+
+import com.javalab.student.entity.product.ProductCategory;
+import lombok.*;
+
+/**
+ * ProductCategory DTO (카테고리 목록 캐시용)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCategoryDto {
+    private Long id;
+    private String name;
+
+    public static ProductCategoryDto fromEntity(ProductCategory category) {
+        return ProductCategoryDto.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .build();
+    }
+}
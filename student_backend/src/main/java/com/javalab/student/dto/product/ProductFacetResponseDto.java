@@ -0,0 +1,35 @@
+package com.javalab.student.dto.product;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 패싯 검색 응답 DTO
+ * - 선택한 카테고리/영양 성분 조건을 모두 만족하는 상품과,
+ *   조건에 카테고리/영양 성분을 하나 더 추가했을 때의 상품 수(필터 사이드바용)를 함께 담습니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetResponseDto {
+    private int totalCount;
+    private List<ProductResponseDTO> products;
+    private List<FacetCount> categories;
+    private List<FacetCount> ingredients;
+
+    /** 패싯 값 하나의 상품 수 */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FacetCount {
+        private Long id;
+        private String name;
+        private int count;
+        private boolean selected;
+    }
+}
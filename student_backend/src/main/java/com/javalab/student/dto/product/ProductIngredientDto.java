@@ -0,0 +1,24 @@
+package com.javalab.student.dto.product;
+
+import com.javalab.student.entity.product.ProductIngredient;
+import lombok.*;
+
+/**
+ * ProductIngredient DTO (영양 성분 목록 캐시용, 연관 상품은 포함하지 않음)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductIngredientDto {
+    private Long id;
+    private String ingredientName;
+
+    public static ProductIngredientDto fromEntity(ProductIngredient ingredient) {
+        return ProductIngredientDto.builder()
+                .id(ingredient.getId())
+                .ingredientName(ingredient.getIngredientName())
+                .build();
+    }
+}
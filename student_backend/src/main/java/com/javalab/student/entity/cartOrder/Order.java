@@ -18,7 +18,10 @@ import java.util.stream.Collectors;
  * 주문과 관련된 기본 정보, 주문 상태, 배송 정보 등을 관리합니다.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // 관리자 주문 목록 커서 페이징 (주문일시, ID 내림차순)
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id")
+})
 @Getter
 @Setter
 @Builder
@@ -124,12 +127,10 @@ public class Order {
 
     /**
      * 주문 취소 메소드
+     * (예약된 재고는 InventoryService.release에서 되돌림)
      */
     public void cancelOrder() {
         this.orderStatus = OrderStatus.CANCELED;
-        for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
     }
 
     /**
@@ -47,6 +47,7 @@ public class OrderItem extends BaseEntity {
 
     /**
      * OrderItem 생성 메소드
+     * (재고는 주문 생성 시 InventoryService에서 조건부로 확보하므로 여기서 바꾸지 않음)
      *
      * @param product 상품
      * @param count   수량
@@ -58,7 +59,6 @@ public class OrderItem extends BaseEntity {
                 .count(count)
                 .orderPrice(product.getPrice())
                 .build();
-        product.setStock(product.getStock() - count);
         return orderItem;
     }
 
@@ -71,13 +71,6 @@ public class OrderItem extends BaseEntity {
         return orderPrice.multiply(BigDecimal.valueOf(count));
     }
 
-    /**
-     * 주문 취소 메소드 (재고 증가)
-     */
-    public void cancel() {
-        this.getProduct().setStock(this.getProduct().getStock() + count);
-    }
-
     /**
      * Entity -> Dto 변환
      *
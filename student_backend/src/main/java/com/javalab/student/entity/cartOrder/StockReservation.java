@@ -0,0 +1,55 @@
+package com.javalab.student.entity.cartOrder;
+
+import com.javalab.student.constant.ReservationStatus;
+import com.javalab.student.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상품별 재고 예약 엔티티 클래스.
+ * 행의 추가와 상태 변경은 InventoryService가 JDBC로 처리하며, 상태는 조건부 UPDATE로만 바꿔
+ * 같은 예약이 두 번 해제되지 않도록 합니다.
+ */
+@Entity
+@Table(name = "stock_reservation", indexes = {
+        // 주문별 예약 조회 (결제 확정, 주문 취소)
+        @Index(name = "idx_stock_reservation_order", columnList = "order_id"),
+        // 만료된 예약 정리
+        @Index(name = "idx_stock_reservation_status_expires", columnList = "status, expires_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation extends BaseTimeEntity {
+
+    /** 예약 ID, Primary Key */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reservation_id")
+    private Long id;
+
+    /** 주문 ID */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /** 상품 ID */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /** 예약 수량 */
+    @Column(nullable = false)
+    private int quantity;
+
+    /** 예약 상태 */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    /** 예약 만료 시각 (이때까지 결제가 확정되지 않으면 재고를 되돌림) */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
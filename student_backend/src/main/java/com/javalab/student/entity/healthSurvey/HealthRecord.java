@@ -34,7 +34,10 @@ public class HealthRecord {
     private double bmi;
 
     @Column(columnDefinition = "TEXT")
-    private String riskLevels;
+    private String riskLevels; // 이전 형식(JSON) 기록에서만 사용
+
+    @Column(name = "risk_codes", length = 16)
+    private byte[] riskCodes; // 영역별 위험 수준 코드 (HealthRecordCodec)
 
     @Column(columnDefinition = "TEXT")
     private String overallAssessment;
@@ -42,8 +45,20 @@ public class HealthRecord {
     @Column(columnDefinition = "TEXT")
     private String recommendedIngredients;
 
+    @Column(name = "ingredient_scores", length = 512)
+    private byte[] ingredientScores; // recommendedIngredients와 같은 순서의 성분 점수 (HealthRecordCodec)
+
     @Column(columnDefinition = "TEXT")
-    private String recommendedProducts;
+    private String recommendedProducts; // 이전 형식(JSON) 기록에서만 사용
+
+    @Column(name = "product_ids", length = 512)
+    private byte[] productIds; // 추천 상품 ID (HealthRecordCodec)
+
+    @Column(name = "product_prices", length = 512)
+    private byte[] productPrices; // productIds와 같은 순서의 추천 당시 가격 (HealthRecordCodec)
+
+    @Column(name = "product_names", columnDefinition = "TEXT")
+    private String productNames; // productIds와 같은 순서의 추천 당시 상품 이름 (HealthRecordCodec)
 
     @Column(nullable = false, length = 100)
     private String name; // 사용자 이름
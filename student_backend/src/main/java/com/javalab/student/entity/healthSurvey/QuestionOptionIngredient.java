@@ -1,10 +1,12 @@
 package com.javalab.student.entity.healthSurvey;
 
+import com.javalab.student.constant.ScoreCondition;
 import jakarta.persistence.*;
 import lombok.*;
 
 /**
  * 질문 옵션과 영양 성분 간의 매핑을 나타내는 엔티티
+ * - weight가 있는 행은 영양 성분 점수 규칙으로 사용됩니다. (ScoringRuleStore 참고)
  */
 
 @Entity
@@ -24,5 +26,14 @@ public class QuestionOptionIngredient {
 
     @Column(name = "ingredient_name", nullable = false)
     private String ingredientName;
+
+    /** 옵션 선택 시 영양 성분에 더할 점수 (null이면 점수 규칙이 아닌 단순 매핑) */
+    @Column(name = "weight")
+    private Integer weight;
+
+    /** 점수 반영 조건 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "score_condition", length = 20)
+    private ScoreCondition scoreCondition;
 }
 
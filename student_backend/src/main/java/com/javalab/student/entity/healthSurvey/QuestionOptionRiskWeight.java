@@ -0,0 +1,31 @@
+package com.javalab.student.entity.healthSurvey;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 질문 옵션과 건강 위험도 영역 간의 점수 규칙을 나타내는 엔티티
+ * - 옵션을 선택하면 해당 영역의 위험 점수에 weight가 더해집니다.
+ */
+@Entity
+@Table(name = "question_option_risk_weight")
+@Getter @Setter
+@ToString(exclude = "questionOption")
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionOptionRiskWeight {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id", nullable = false)
+    private QuestionOption questionOption;
+
+    /** 위험도 영역 (예: "혈관·혈액순환", "두뇌") */
+    @Column(name = "risk_domain", nullable = false, length = 50)
+    private String riskDomain;
+
+    @Column(name = "weight", nullable = false)
+    private Integer weight;
+}
@@ -28,6 +28,10 @@ public class Recommendation {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // 추천 입력과 결과의 요약값 (같은 입력으로 중복 저장하지 않기 위해 사용)
+    @Column(name = "input_digest", length = 64)
+    private String inputDigest;
+
     // 추천된 영양 성분 리스트 (1:N 관계)
     @OneToMany(mappedBy = "recommendation", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RecommendedIngredient> recommendedIngredients;
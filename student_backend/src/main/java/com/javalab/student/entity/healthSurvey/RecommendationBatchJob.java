@@ -0,0 +1,65 @@
+package com.javalab.student.entity.healthSurvey;
+
+import com.javalab.student.constant.BatchJobStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 추천 일괄 재계산 작업의 진행 상태 (체크포인트)
+ * - 회원 ID 오름차순으로 처리하며, 청크를 저장할 때마다 같은 트랜잭션에서 마지막 회원 ID와 건수를 갱신합니다.
+ * - 중지되거나 실패한 작업은 lastMemberId 다음 회원부터 이어서 실행할 수 있습니다.
+ */
+@Entity
+@Table(name = "recommendation_batch_job")
+@Getter @Setter
+@NoArgsConstructor
+public class RecommendationBatchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BatchJobStatus status;
+
+    /** 마지막으로 처리(저장)가 끝난 회원 ID */
+    @Column(name = "last_member_id", nullable = false)
+    private Long lastMemberId = 0L;
+
+    /** 작업 시작 시점의 대상 회원 수 (진행률 계산용 추정치) */
+    @Column(name = "total_members", nullable = false)
+    private long totalMembers;
+
+    /** 처리한 회원 수 */
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    /** 새 추천을 저장한 회원 수 */
+    @Column(name = "written_count", nullable = false)
+    private long writtenCount;
+
+    /** 최근 추천과 결과가 같아 저장하지 않은 회원 수 */
+    @Column(name = "unchanged_count", nullable = false)
+    private long unchangedCount;
+
+    /** 계산 중 오류가 난 회원 수 */
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
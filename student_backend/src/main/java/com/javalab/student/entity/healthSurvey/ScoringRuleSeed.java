@@ -0,0 +1,32 @@
+package com.javalab.student.entity.healthSurvey;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 점수 규칙 초기 데이터 저장 기록
+ * - 규칙 종류(seed_name)가 기본 키이므로, 여러 노드가 동시에 기동해도 한 노드만 기록을 남기고 초기 데이터를 저장합니다.
+ * - 초기 데이터를 다시 저장하려면 규칙 테이블을 비운 뒤 해당 행을 지우면 됩니다.
+ */
+@Entity
+@Table(name = "scoring_rule_seed")
+@Getter @Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRuleSeed {
+
+    /** 영양 성분 점수 규칙 */
+    public static final String INGREDIENT = "ingredient";
+    /** 위험도 점수 규칙 */
+    public static final String RISK = "risk";
+
+    @Id
+    @Column(name = "seed_name", length = 30)
+    private String seedName;
+
+    @Column(name = "seeded_at", nullable = false)
+    private LocalDateTime seededAt;
+}
@@ -17,6 +17,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    /**
+     * 이미지 업로드 거부 (크기 초과 413, 지원하지 않는 형식 415)
+     */
+    @ExceptionHandler(ImageUploadException.class)
+    public ResponseEntity<String> handleImageUploadException(ImageUploadException ex) {
+        log.warn("Image upload rejected: {}", ex.getMessage());
+        return ResponseEntity.status(ex.getStatus()).body(ex.getMessage());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception occurred: ", ex);
@@ -35,6 +44,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * 잘못된 페이지 커서 (400)
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn("Invalid page cursor: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * 결제된 주문의 재고 예약을 확보하지 못함 (409)
+     */
+    @ExceptionHandler(StockConfirmationException.class)
+    public ResponseEntity<String> handleStockConfirmationException(StockConfirmationException ex) {
+        log.warn("Stock confirmation failed. orderId: {}, {}", ex.getOrderId(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * 결제 대행사 조회 실패 (503)
+     */
+    @ExceptionHandler(PaymentGatewayException.class)
+    public ResponseEntity<String> handlePaymentGatewayException(PaymentGatewayException ex) {
+        log.warn("Payment gateway unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     /**
      * IllegalStateException 예외 처리기 (주문 취소 실패, 재고 부족 등)
      * - 특정 비즈니스 로직 실패에 대한 예외 처리
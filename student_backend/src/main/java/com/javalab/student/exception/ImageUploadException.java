@@ -0,0 +1,20 @@
+package com.javalab.student.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 이미지 업로드 거부 예외 (크기 초과 413, 지원하지 않는 형식 415)
+ */
+public class ImageUploadException extends CustomException {
+
+    private final HttpStatus status;
+
+    public ImageUploadException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
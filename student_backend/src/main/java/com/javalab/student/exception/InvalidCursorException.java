@@ -0,0 +1,11 @@
+package com.javalab.student.exception;
+
+/**
+ * 잘못된 페이지 커서 예외 (형식 오류, 다른 목록의 커서 등 - 400)
+ */
+public class InvalidCursorException extends CustomException {
+
+    public InvalidCursorException() {
+        super("잘못된 페이지 커서입니다.");
+    }
+}
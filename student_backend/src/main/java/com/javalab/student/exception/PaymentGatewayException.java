@@ -0,0 +1,13 @@
+package com.javalab.student.exception;
+
+/**
+ * 결제 대행사(포트원) 조회 실패 예외 (503)
+ * - 통신 오류, 응답 지연(제한 시간 초과), 서버 오류, 연속 실패로 조회를 잠시 중단한 경우에 발생합니다.
+ * - 결제 자체가 잘못된 경우(결제 정보 없음, 금액 불일치)는 이 예외가 아닙니다.
+ */
+public class PaymentGatewayException extends CustomException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+}
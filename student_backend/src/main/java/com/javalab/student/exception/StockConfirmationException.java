@@ -0,0 +1,21 @@
+package com.javalab.student.exception;
+
+/**
+ * 결제된 주문의 재고 예약을 확보/확정하지 못한 경우의 예외 (409)
+ * - 취소된 주문이거나, 예약 시간이 지나 돌아간 재고가 그사이 팔린 경우에 발생합니다.
+ * - 결제 대행사에서는 이미 결제가 끝난 상태일 수 있으므로, 결제 처리 쪽에서 결제 취소 등으로 보상해야 합니다.
+ */
+public class StockConfirmationException extends CustomException {
+
+    private final Long orderId;
+
+    public StockConfirmationException(Long orderId, String message) {
+        super(message);
+        this.orderId = orderId;
+    }
+
+    /** 주문 ID */
+    public Long getOrderId() {
+        return orderId;
+    }
+}
@@ -14,6 +14,15 @@ import java.util.List;
 public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByBoardId(Long boardId, Pageable pageable);
     List<Post> findByBoardId(Long boardId);
+
+    // 게시판별 커서 페이징 (ID 내림차순, cursorId보다 작은 게시글부터 limit의 페이지 크기만큼, COUNT 없음)
+    @Query("SELECT p FROM Post p WHERE p.board.id = :boardId AND (:cursorId IS NULL OR p.id < :cursorId) ORDER BY p.id DESC")
+    List<Post> findByBoardIdBefore(@Param("boardId") Long boardId,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable limit);
+
+    // 게시판별 게시글 수 (커서 페이징 건수 추정용)
+    long countByBoardId(Long boardId);
     List<Post> findAllByOrderByCreatedAtAsc();
 
     @Query("SELECT p FROM Post p WHERE " +
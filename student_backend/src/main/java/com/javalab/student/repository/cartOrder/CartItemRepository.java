@@ -26,6 +26,14 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
      */
     List<CartItem> findByCartId(Long cartId);
 
+    /**
+     * 장바구니 ID로 해당 장바구니의 모든 아이템을 상품과 함께 조회합니다. (주문 생성용, 상품 지연 로딩 없음)
+     * @param cartId 장바구니 ID
+     * @return 상품이 채워진 장바구니 아이템 리스트 (아이템 ID 순)
+     */
+    @Query("select ci from CartItem ci left join fetch ci.product where ci.cart.id = :cartId order by ci.id")
+    List<CartItem> findByCartIdWithProduct(@Param("cartId") Long cartId);
+
     /**
      * 장바구니 ID로 해당 장바구니의 상세 정보를 DTO 리스트로 조회합니다.
      * @param cartId 장바구니 ID
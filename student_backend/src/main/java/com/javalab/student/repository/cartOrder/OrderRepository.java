@@ -49,4 +49,33 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return 검색된 주문 목록 (Page)
      */
     Page<Order> findOrdersByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * 관리자 주문 목록 커서 페이징 조회 (주문일시, ID 내림차순)
+     * - 커서(cursorDate, cursorId) 다음 주문부터 limit의 페이지 크기만큼 조회합니다. (OFFSET / COUNT 없음)
+     * - 검색 조건은 null이면 적용하지 않습니다.
+     */
+    @Query("SELECT o FROM Order o WHERE " +
+            "(:memberName IS NULL OR o.member.name LIKE CONCAT('%', :memberName, '%')) " +
+            "AND (:startDate IS NULL OR o.orderDate >= :startDate) " +
+            "AND (:endDate IS NULL OR o.orderDate <= :endDate) " +
+            "AND (:cursorDate IS NULL OR o.orderDate < :cursorDate " +
+            "     OR (o.orderDate = :cursorDate AND o.id < :cursorId)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findAdminOrdersAfter(@Param("memberName") String memberName,
+                                     @Param("startDate") LocalDateTime startDate,
+                                     @Param("endDate") LocalDateTime endDate,
+                                     @Param("cursorDate") LocalDateTime cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable limit);
+
+    /**
+     * 회원 이름으로 검색한 주문 수 (커서 페이징 건수 추정용)
+     */
+    long countByMemberNameContaining(String memberName);
+
+    /**
+     * 주문일자 범위의 주문 수 (커서 페이징 건수 추정용)
+     */
+    long countByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -0,0 +1,25 @@
+package com.javalab.student.repository.cartOrder;
+
+import com.javalab.student.constant.ReservationStatus;
+import com.javalab.student.entity.cartOrder.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * 주문의 재고 예약 목록을 조회합니다.
+     * @param orderId 주문 ID
+     * @return 재고 예약 리스트
+     */
+    List<StockReservation> findByOrderId(Long orderId);
+
+    /**
+     * 상품의 특정 상태 재고 예약 수를 조회합니다.
+     * @param productId 상품 ID
+     * @param status 예약 상태
+     * @return 예약 수
+     */
+    long countByProductIdAndStatus(Long productId, ReservationStatus status);
+}
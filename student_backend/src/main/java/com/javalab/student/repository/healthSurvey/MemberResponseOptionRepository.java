@@ -1,11 +1,15 @@
 package com.javalab.student.repository.healthSurvey;
 
+import com.javalab.student.dto.healthSurvey.MemberSurveyAnswer;
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
 import com.javalab.student.entity.healthSurvey.MemberResponseOption;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -16,6 +20,48 @@ public interface MemberResponseOptionRepository extends JpaRepository<MemberResp
     @Query("SELECT mro FROM MemberResponseOption mro WHERE mro.member.id = :memberId AND mro.regTime = (SELECT MAX(m.regTime) FROM MemberResponseOption m WHERE m.member.id = :memberId)")
     List<MemberResponseOption> findLatestResponsesByMemberId(@Param("memberId") Long memberId);
 
+    /**
+     * 회원의 최신 선택 옵션 응답을 옵션/질문/서브카테고리 정보와 함께 쿼리 한 번으로 조회합니다.
+     */
+    @Query("SELECT new com.javalab.student.dto.healthSurvey.SurveyAnswer(o.id, o.optionText, q.id, q.questionText, sc.name) " +
+            "FROM MemberResponseOption mro " +
+            "JOIN mro.option o " +
+            "JOIN o.question q " +
+            "LEFT JOIN q.subCategory sc " +
+            "WHERE mro.member.id = :memberId " +
+            "AND mro.regTime = (SELECT MAX(m.regTime) FROM MemberResponseOption m WHERE m.member.id = :memberId)")
+    List<SurveyAnswer> findLatestAnswersByMemberId(@Param("memberId") Long memberId);
+
+    /**
+     * 여러 회원의 최신 선택 옵션 응답을 쿼리 한 번으로 조회합니다. (추천 일괄 재계산용)
+     */
+    @Query("SELECT new com.javalab.student.dto.healthSurvey.MemberSurveyAnswer(mro.member.id, o.id, o.optionText, q.id, q.questionText, sc.name) " +
+            "FROM MemberResponseOption mro " +
+            "JOIN mro.option o " +
+            "JOIN o.question q " +
+            "LEFT JOIN q.subCategory sc " +
+            "WHERE mro.member.id IN :memberIds " +
+            "AND mro.regTime = (SELECT MAX(m.regTime) FROM MemberResponseOption m WHERE m.member.id = mro.member.id)")
+    List<MemberSurveyAnswer> findLatestAnswersByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
+    /**
+     * 선택 옵션 응답이 있는 회원 ID를 afterMemberId 다음부터 오름차순으로 조회합니다. (키셋 페이징)
+     */
+    @Query("SELECT DISTINCT mro.member.id FROM MemberResponseOption mro WHERE mro.member.id > :afterMemberId ORDER BY mro.member.id")
+    List<Long> findRespondentIdsAfter(@Param("afterMemberId") Long afterMemberId, Pageable pageable);
+
+    /**
+     * 선택 옵션 응답이 있는 회원 수 (진행률 계산용)
+     */
+    @Query("SELECT COUNT(DISTINCT mro.member.id) FROM MemberResponseOption mro")
+    long countRespondents();
+
+    /**
+     * 여러 회원의 성별 응답(회원 ID, 옵션 ID)을 최신순으로 조회합니다.
+     */
+    @Query("SELECT mro.member.id, mro.option.id FROM MemberResponseOption mro WHERE mro.member.id IN :memberIds AND mro.question.id = 2 ORDER BY mro.regTime DESC")
+    List<Object[]> findGenderOptionIdsByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
     @Query("SELECT mro FROM MemberResponseOption mro WHERE mro.member.id = :memberId AND mro.question.id = 2 ORDER BY mro.regTime DESC")
     List<MemberResponseOption> findLatestGenderResponseByMemberId(@Param("memberId") Long memberId);
 }
\ No newline at end of file
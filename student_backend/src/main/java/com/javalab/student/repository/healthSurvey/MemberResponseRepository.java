@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,12 @@ public interface MemberResponseRepository extends JpaRepository<MemberResponse,
     @Query("SELECT mr FROM MemberResponse mr WHERE mr.member.id = :memberId AND mr.question.id IN (3, 4, 5) AND mr.regTime = (SELECT MAX(m.regTime) FROM MemberResponse m WHERE m.member.id = :memberId AND m.question.id = mr.question.id)")
     List<MemberResponse> findAgeHeightAndWeightResponses(@Param("memberId") Long memberId);
 
+    /**
+     * 여러 회원의 최신 나이/키/몸무게 응답을 (회원 ID, 질문 ID, 응답 텍스트)로 조회합니다. (추천 일괄 재계산용)
+     */
+    @Query("SELECT mr.member.id, mr.question.id, mr.responseText FROM MemberResponse mr WHERE mr.member.id IN :memberIds AND mr.question.id IN (3, 4, 5) AND mr.regTime = (SELECT MAX(m.regTime) FROM MemberResponse m WHERE m.member.id = mr.member.id AND m.question.id = mr.question.id)")
+    List<Object[]> findAgeHeightAndWeightByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
     @Query("SELECT mr FROM MemberResponse mr WHERE mr.member.id = :memberId AND mr.question.id = 1 ORDER BY mr.regTime DESC LIMIT 1")
     Optional<MemberResponse> findLatestNameResponseByMemberId(@Param("memberId") Long memberId);
 }
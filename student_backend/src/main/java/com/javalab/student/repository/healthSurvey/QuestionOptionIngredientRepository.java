@@ -2,6 +2,7 @@ package com.javalab.student.repository.healthSurvey;
 
 import com.javalab.student.entity.healthSurvey.QuestionOptionIngredient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,4 +19,19 @@ public interface QuestionOptionIngredientRepository extends JpaRepository<Questi
             "AND qo.optionText = :responseText")
     List<String> findIngredientsByQuestionIdAndResponseText(@Param("questionId") Long questionId,
                                                             @Param("responseText") String responseText);
+
+    /**
+     * 점수 규칙(weight가 있는 행)을 옵션과 함께 모두 조회합니다.
+     */
+    @Query("SELECT qoi FROM QuestionOptionIngredient qoi JOIN FETCH qoi.questionOption WHERE qoi.weight IS NOT NULL")
+    List<QuestionOptionIngredient> findAllScoreRules();
+
+    long countByWeightIsNotNull();
+
+    /**
+     * 특정 옵션의 점수 규칙을 삭제합니다. (단순 매핑 행은 유지)
+     */
+    @Modifying
+    @Query("DELETE FROM QuestionOptionIngredient qoi WHERE qoi.questionOption.id = :optionId AND qoi.weight IS NOT NULL")
+    int deleteScoreRulesByOptionId(@Param("optionId") Long optionId);
 }
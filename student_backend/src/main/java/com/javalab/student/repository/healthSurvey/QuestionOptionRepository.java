@@ -2,8 +2,17 @@ package com.javalab.student.repository.healthSurvey;
 
 import com.javalab.student.entity.healthSurvey.QuestionOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface QuestionOptionRepository extends JpaRepository<QuestionOption, Long> {
+
+    /**
+     * 모든 옵션을 질문, 서브카테고리와 함께 한 번에 조회합니다. (점수 규칙 테이블 컴파일용)
+     */
+    @Query("SELECT qo FROM QuestionOption qo JOIN FETCH qo.question q LEFT JOIN FETCH q.subCategory")
+    List<QuestionOption> findAllWithQuestionAndSubCategory();
 }
@@ -0,0 +1,24 @@
+package com.javalab.student.repository.healthSurvey;
+
+import com.javalab.student.entity.healthSurvey.QuestionOptionRiskWeight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionOptionRiskWeightRepository extends JpaRepository<QuestionOptionRiskWeight, Long> {
+
+    /**
+     * 위험도 점수 규칙을 옵션과 함께 모두 조회합니다.
+     */
+    @Query("SELECT w FROM QuestionOptionRiskWeight w JOIN FETCH w.questionOption")
+    List<QuestionOptionRiskWeight> findAllWithOption();
+
+    @Modifying
+    @Query("DELETE FROM QuestionOptionRiskWeight w WHERE w.questionOption.id = :optionId")
+    int deleteByOptionId(@Param("optionId") Long optionId);
+}
@@ -0,0 +1,12 @@
+package com.javalab.student.repository.healthSurvey;
+
+import com.javalab.student.entity.healthSurvey.RecommendationBatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RecommendationBatchJobRepository extends JpaRepository<RecommendationBatchJob, Long> {
+
+    // 가장 최근 작업을 찾는 메서드
+    Optional<RecommendationBatchJob> findTopByOrderByIdDesc();
+}
@@ -2,7 +2,10 @@ package com.javalab.student.repository.healthSurvey;
 
 import com.javalab.student.entity.healthSurvey.Recommendation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +14,9 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
 
     // 가장 최근의 Recommendation을 찾는 메서드
     Optional<Recommendation> findTopByMemberIdOrderByCreatedAtDesc(Long memberId);
+
+    // 여러 회원의 가장 최근 추천 (회원 ID, 입력 요약값)을 조회하는 메서드 (추천 일괄 재계산용)
+    @Query("SELECT r.memberId, r.inputDigest FROM Recommendation r WHERE r.id IN " +
+            "(SELECT MAX(r2.id) FROM Recommendation r2 WHERE r2.memberId IN :memberIds GROUP BY r2.memberId)")
+    List<Object[]> findLatestDigestsByMemberIds(@Param("memberIds") Collection<Long> memberIds);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.javalab.student.repository.healthSurvey;
+
+import com.javalab.student.entity.healthSurvey.ScoringRuleSeed;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScoringRuleSeedRepository extends JpaRepository<ScoringRuleSeed, String> {
+
+    /**
+     * 초기 데이터 저장 기록을 남깁니다. 이미 있으면 아무것도 하지 않습니다.
+     * - 다른 노드가 같은 기록을 아직 커밋하지 않았다면 그 트랜잭션이 끝날 때까지 기다립니다.
+     *
+     * @return 기록을 새로 남겼으면 1, 이미 있었으면 0
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scoring_rule_seed (seed_name, seeded_at) VALUES (:seedName, NOW())",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("seedName") String seedName);
+}
@@ -13,4 +13,7 @@ public interface ProductImgRepository extends JpaRepository<ProductImg, Long> {
 
     // ✅ 상세 이미지 조회 시 order 순으로 정렬하는 메소드 추가
     List<ProductImg> findByProductIdAndImageTypeOrderByOrderAsc(Long productId, String imageType);
+
+    // 같은 이미지 파일(내용 해시 URL)을 참조하는 상품 이미지 수 (파일 삭제 전 확인용)
+    long countByImageUrl(String imageUrl);
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package com.javalab.student.repository.product;
 import com.javalab.student.entity.product.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,6 +62,55 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p JOIN FETCH p.categories WHERE p.id = :id") // ✅ Fetch Join 쿼리
     Optional<Product> findProductByIdWithCategories(@Param("id") Long id);
 
+    /**
+     * 전체 상품을 영양 성분과 함께 조회 (영양 성분 역색인 생성용)
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.ingredients")
+    List<Product> findAllWithIngredients();
+
+    /**
+     * 상품 ID로 상품을 영양 성분과 함께 조회 (영양 성분 역색인 갱신용)
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.ingredients WHERE p.id = :id")
+    Optional<Product> findByIdWithIngredients(@Param("id") Long id);
+
+    /**
+     * 전체 상품을 카테고리와 함께 조회 (상품 카탈로그 캐시 생성용, findAllWithIngredients와 같은 트랜잭션에서 사용)
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.categories")
+    List<Product> findAllWithCategories();
+
+    /**
+     * 전체 상품을 이미지와 함께 조회 (상품 카탈로그 캐시 생성용, findAllWithIngredients와 같은 트랜잭션에서 사용)
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.productImgList")
+    List<Product> findAllWithImages();
+
+    /**
+     * 상품 ID 목록의 영양 성분을 한 번에 조회 (페이지 단위 DTO 변환용, 같은 트랜잭션의 상품 엔티티 컬렉션을 채움)
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    List<Product> findWithIngredientsByIdIn(Collection<Long> ids);
+
+    /**
+     * 상품 ID 목록의 카테고리를 한 번에 조회 (페이지 단위 DTO 변환용)
+     */
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findWithCategoriesByIdIn(Collection<Long> ids);
+
+    /**
+     * 상품 ID 목록의 이미지를 한 번에 조회 (페이지 단위 DTO 변환용)
+     */
+    @EntityGraph(attributePaths = "productImgList")
+    List<Product> findWithImagesByIdIn(Collection<Long> ids);
+
+    /**
+     * 커서 다음 상품 ID를 ID 오름차순으로 조회 (커서 페이징용, PK 인덱스만 읽음)
+     * - afterId가 null이면 처음부터, limit의 페이지 크기만큼 조회 (COUNT 쿼리 없음)
+     */
+    @Query("SELECT p.id FROM Product p WHERE (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id ASC")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable limit);
+
     List<Product> findByCategories_Id(Long categoryId);
 
     // 추가된 메서드 (페이징 O) - @Query 어노테이션 추가
@@ -1,16 +1,19 @@
 package com.javalab.student.service;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.LoginFormDto;
 import com.javalab.student.dto.MemberFormDto;
 import com.javalab.student.dto.MemberUpdateDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.dto.PageCursor;
 import com.javalab.student.dto.PageRequestDTO;
 import com.javalab.student.dto.PageResponseDTO;
 import com.javalab.student.util.PageRequestDTOUtil;
 import org.springframework.data.domain.Page;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -24,6 +27,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RowCountEstimator rowCountEstimator;
 
     /**
      * 회원가입 처리
@@ -173,6 +177,70 @@ public class MemberService {
         Pageable pageable = PageRequestDTOUtil.getPageable(pageRequestDTO);
 
         // 검색 조건 Specification
+        Specification<Member> spec = memberSearchSpec(pageRequestDTO);
+
+        // 회원 목록 조회 (필터링 적용)
+        Page<Member> memberPage = memberRepository.findAll(spec, pageable);
+
+        // PageResponseDTO 생성 및 반환
+        PageResponseDTO<Member> responseDTO = PageResponseDTO.<Member>builder()
+                .pageRequestDTO(pageRequestDTO)  // pageRequestDTO를 빌더에 전달
+                .dtoList(memberPage.getContent())
+                .total((int) memberPage.getTotalElements())
+                .build();
+
+        return responseDTO;
+    }
+
+    /**
+     * 회원 목록 조회 (커서 페이징, 검색, 상태 필터링)
+     * - getMemberList와 같은 조건과 정렬(ID 내림차순)로, 커서 다음 회원만 size + 1명 조회합니다. (OFFSET / COUNT 없음)
+     * - approximateCount면 전체 회원 수 추정치를 함께 반환합니다. (조건 없으면 테이블 통계, 있으면 COUNT 결과를 잠시 재사용)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<Member> getMemberListByCursor(PageRequestDTO pageRequestDTO, String cursor,
+                                                               boolean approximateCount) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(pageRequestDTO.getSize(), 100));
+
+        Specification<Member> spec = memberSearchSpec(pageRequestDTO);
+        Specification<Member> pageSpec = spec;
+        if (after != null) {
+            pageSpec = pageSpec.and((root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThan(root.get("id"), after.getId()));
+        }
+        List<Member> members = memberRepository.findBy(pageSpec, query -> query
+                .sortBy(Sort.by("id").descending())
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = members.size() > pageSize;
+        List<Member> pageMembers = hasNext ? members.subList(0, pageSize) : members;
+
+        Long approximateTotal = null;
+        if (approximateCount) {
+            boolean filtered = (pageRequestDTO.getStatus() != null && !pageRequestDTO.getStatus().isEmpty())
+                    || (pageRequestDTO.getKeyword() != null && !pageRequestDTO.getKeyword().isEmpty());
+            approximateTotal = filtered
+                    ? rowCountEstimator.estimate("member:" + pageRequestDTO.getStatus() + ":"
+                            + pageRequestDTO.getSearchType() + ":" + pageRequestDTO.getKeyword(),
+                            () -> memberRepository.count(spec))
+                    : rowCountEstimator.estimateTable("member");
+        }
+
+        return CursorPageResponseDTO.<Member>builder()
+                .size(pageSize)
+                .dtoList(pageMembers)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PageCursor.of(pageMembers.get(pageMembers.size() - 1).getId()).encode() : null)
+                .approximateTotal(approximateTotal)
+                .build();
+    }
+
+    /** 회원 목록 검색 조건 (상태, 이름/이메일 검색어) */
+    private Specification<Member> memberSearchSpec(PageRequestDTO pageRequestDTO) {
         Specification<Member> spec = Specification.where(null);
 
         // 상태(status) 필터링
@@ -195,19 +263,7 @@ public class MemberService {
                         criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), "%" + keyword.toLowerCase() + "%"));
             }
         }
-
-
-        // 회원 목록 조회 (필터링 적용)
-        Page<Member> memberPage = memberRepository.findAll(spec, pageable);
-
-        // PageResponseDTO 생성 및 반환
-        PageResponseDTO<Member> responseDTO = PageResponseDTO.<Member>builder()
-                .pageRequestDTO(pageRequestDTO)  // pageRequestDTO를 빌더에 전달
-                .dtoList(memberPage.getContent())
-                .total((int) memberPage.getTotalElements())
-                .build();
-
-        return responseDTO;
+        return spec;
     }
 
 
@@ -0,0 +1,80 @@
+package com.javalab.student.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 목록 전체 건수 추정
+ * - 커서 페이징의 approximateTotal 용도로, 페이지를 넘길 때마다 COUNT(*)를 실행하지 않도록 합니다.
+ * - 조건 없는 전체 목록은 information_schema의 InnoDB 통계 행 수(TABLE_ROWS)를 사용합니다. (오차가 있을 수 있음)
+ * - 조건이 있는 목록은 정확한 COUNT를 한 번 실행하고, 그 값을 일정 시간 재사용합니다.
+ */
+@Service
+@Slf4j
+public class RowCountEstimator {
+
+    private static final String TABLE_ROWS =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    /** 검색어별로 항목이 늘어나므로 이 수를 넘으면 비움 */
+    private static final int MAX_ENTRIES = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public RowCountEstimator(JdbcTemplate jdbcTemplate,
+                             @Value("${paging.approximate-count.ttl-seconds:60}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000;
+    }
+
+    /**
+     * 테이블 전체 행 수 추정치 (InnoDB 통계)
+     *
+     * @param table 테이블 이름
+     */
+    public long estimateTable(String table) {
+        return estimate("table:" + table, () -> {
+            Long rows = jdbcTemplate.queryForObject(TABLE_ROWS, Long.class, table);
+            return rows == null ? 0 : rows;
+        });
+    }
+
+    /**
+     * 조건이 있는 목록의 전체 건수 (정확한 COUNT 결과를 TTL 동안 재사용)
+     *
+     * @param key        목록과 검색 조건을 구분하는 키
+     * @param exactCount 캐시에 없을 때 실행할 COUNT
+     */
+    public long estimate(String key, LongSupplier exactCount) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.count;
+        }
+        long count = exactCount.getAsLong();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(count, now + ttlMillis));
+        log.debug("목록 건수 추정치 갱신. key: {}, count: {}", key, count);
+        return count;
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.javalab.student.service.board;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
+import com.javalab.student.dto.PageCursor;
 import com.javalab.student.dto.PageRequestDTO;
 import com.javalab.student.dto.PageResponseDTO;
 import com.javalab.student.dto.board.PostDto;
@@ -9,9 +11,11 @@ import com.javalab.student.entity.board.Post;
 import com.javalab.student.exception.UnauthorizedException;
 import com.javalab.student.repository.board.BoardRepository;
 import com.javalab.student.repository.board.PostRepository;
+import com.javalab.student.service.RowCountEstimator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
@@ -24,6 +28,7 @@ import java.util.stream.Collectors;
 public class PostService {
     private final PostRepository postRepository;
     private final BoardRepository boardRepository;
+    private final RowCountEstimator rowCountEstimator;
 
     public PostDto createPost(PostDto postDto) {
         Board board = boardRepository.findById(postDto.getBoardId())
@@ -86,6 +91,34 @@ public class PostService {
                 .build();
     }
 
+    /**
+     * 게시판별 게시글 목록 (커서 페이징)
+     * - getPostsByBoard와 같은 정렬(ID 내림차순)로 커서 다음 게시글만 size + 1개 조회합니다. (OFFSET / COUNT 없음)
+     * - approximateCount면 게시판의 게시글 수를 함께 반환합니다. (COUNT 결과를 잠시 재사용)
+     */
+    public CursorPageResponseDTO<PostDto> getPostsByBoardCursor(Long boardId, String cursor, int size, boolean approximateCount) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        List<Post> posts = postRepository.findByBoardIdBefore(boardId, after == null ? null : after.getId(),
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = posts.size() > pageSize;
+        List<Post> pagePosts = hasNext ? posts.subList(0, pageSize) : posts;
+        List<PostDto> dtoList = pagePosts.stream()
+                .map(PostDto::fromEntity)
+                .collect(Collectors.toList());
+
+        return CursorPageResponseDTO.<PostDto>builder()
+                .size(pageSize)
+                .dtoList(dtoList)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PageCursor.of(pagePosts.get(pagePosts.size() - 1).getId()).encode() : null)
+                .approximateTotal(approximateCount
+                        ? rowCountEstimator.estimate("post:board:" + boardId, () -> postRepository.countByBoardId(boardId))
+                        : null)
+                .build();
+    }
+
     public PageResponseDTO<PostDto> searchPosts(PageRequestDTO pageRequestDTO) {
         Pageable pageable = pageRequestDTO.getPageable("id");
 
@@ -2,29 +2,35 @@ package com.javalab.student.service.cartOrder;
 
 import com.javalab.student.dto.cartOrder.CartDetailDto;
 import com.javalab.student.dto.cartOrder.CartItemDto;
-import com.javalab.student.entity.Member;
+import com.javalab.student.dto.product.ProductResponseDTO;
 import com.javalab.student.entity.cartOrder.Cart;
 import com.javalab.student.entity.cartOrder.CartItem;
 import com.javalab.student.entity.product.Product;
 import com.javalab.student.entity.product.ProductImg;
-import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.cartOrder.CartItemRepository;
 import com.javalab.student.repository.cartOrder.CartRepository;
 import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.product.ProductCatalogCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 장바구니 관련 기능을 제공하는 서비스 클래스
  * 장바구니에 상품 추가, 목록 조회, 수정, 삭제 등의 기능을 수행한다.
+ * 장바구니 화면의 조회/수정/삭제는 Redis 장바구니(CartStore)와 상품 카탈로그 캐시만 사용하고,
+ * DB 반영은 CartStore가 모아서 처리한다. (이 메서드들은 DB 트랜잭션을 열지 않음)
  */
 @Slf4j
 @Service
@@ -33,9 +39,10 @@ import java.util.stream.Collectors;
 public class CartService {
 
     private final ProductRepository productRepository;
-    private final MemberRepository memberRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
+    private final ProductCatalogCache productCatalogCache;
 
     /**
      * 장바구니에 상품을 추가하는 메서드
@@ -45,39 +52,16 @@ public class CartService {
      * @return 추가된 장바구니 아이템의 ID
      * @throws EntityNotFoundException 상품 또는 회원을 찾을 수 없을 경우 발생
      */
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long addCart(CartItemDto cartItemDto, String email) {
         try {
-            // 상품 조회
-            Product product = productRepository.findById(cartItemDto.getProductId())
-                    .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다. ID: " + cartItemDto.getProductId()));
-
-            // 회원 조회
-            Member member = memberRepository.findByEmail(email);
-            if (member == null) {
-                throw new EntityNotFoundException("회원을 찾을 수 없습니다. Email: " + email);
+            // 상품 확인 (카탈로그 캐시)
+            if (productCatalogCache.get(cartItemDto.getProductId()) == null) {
+                throw new EntityNotFoundException("상품을 찾을 수 없습니다. ID: " + cartItemDto.getProductId());
             }
 
-            // 회원의 장바구니를 조회하거나 새로 생성
-            Cart cart = cartRepository.findByMemberId(member.getId())
-                    .orElseGet(() -> {
-                        Cart newCart = Cart.createCart(member);
-                        return cartRepository.save(newCart);
-                    });
-
-            // 장바구니에 이미 같은 상품이 있는지 확인
-            CartItem savedCartItem = cartItemRepository.findByCartIdAndProductId(cart.getId(), product.getId());
-
-            if (savedCartItem != null) {
-                // 이미 있다면 수량만 증가
-                savedCartItem.addQuantity(cartItemDto.getQuantity());
-                return savedCartItem.getId();
-            } else {
-                // 없다면 새로운 CartItem 생성
-                CartItem cartItem = CartItem.createCartItem(cart, product, cartItemDto.getQuantity());
-                cartItemRepository.save(cartItem);
-                return cartItem.getId();
-            }
+            // 이미 담긴 상품이면 수량만 증가, 없으면 새로운 CartItem 생성 (회원 장바구니가 없으면 함께 생성)
+            return cartStore.addItem(email, cartItemDto.getProductId(), cartItemDto.getQuantity());
         } catch (Exception e) {
             // 로그에 에러 메시지 출력
             log.error("장바구니에 상품을 추가하는 중 오류 발생: " + e.getMessage(), e);
@@ -86,29 +70,64 @@ public class CartService {
     }
 
     /**
-     * 장바구니 목록을 조회하는 메서드
+     * 여러 상품을 한 번에 장바구니에 담는 메서드 (추천 상품 전체 담기 등)
+     * - 요청한 상품을 IN 쿼리 한 번으로 조회해 존재 여부와 재고를 확인합니다. (같은 상품이 여러 번 있으면 수량을 합산)
+     * - 회원 장바구니는 한 번만 확인하고, 새 상품은 JDBC 배치 INSERT 한 번으로 추가합니다.
+     * - 하나라도 실패하면 아무것도 담지 않습니다.
      *
+     * @param cartItemDtos 장바구니에 추가할 상품 정보 DTO 목록
      * @param email 현재 사용자의 이메일
-     * @return 장바구니 상세 정보 DTO 리스트
+     * @return 요청 순서대로의 장바구니 아이템 ID 목록
+     * @throws EntityNotFoundException 상품 또는 회원을 찾을 수 없을 경우 발생
+     * @throws IllegalStateException 수량이 잘못되었거나 재고가 부족할 경우 발생
      */
-    @Transactional(readOnly = true)
-    public List<CartDetailDto> getCartList(String email) {
-        // Member member = memberRepository.findByEmail(email); // 불필요한 DB 조회 제거
-
-        // 이메일로 Member ID를 조회
-        // Member member = memberRepository.findByEmail(email); // 불필요한 DB 조회 <-- 삭제!
-        // Long memberId = member.getId(); // Member ID 얻기  <-- 삭제!
-
-        // Cart cart = cartRepository.findByMemberId(memberId).orElse(null); // Member ID로 Cart 조회 <-- memberId 관련 코드 삭제!
+    @Transactional
+    public List<Long> addCartItems(List<CartItemDto> cartItemDtos, String email) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItemDto cartItemDto : cartItemDtos) {
+            if (cartItemDto.getProductId() == null || cartItemDto.getQuantity() < 1) {
+                throw new IllegalStateException("상품 아이디와 1개 이상의 수량이 필요합니다.");
+            }
+            quantities.merge(cartItemDto.getProductId(), cartItemDto.getQuantity(), Integer::sum);
+        }
+        if (quantities.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        Member member = memberRepository.findByEmail(email);
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new EntityNotFoundException("상품을 찾을 수 없습니다. ID: " + productId);
+            }
+            if (product.getStock() < quantity) {
+                throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + productId);
+            }
+        });
 
-        Cart cart = cartRepository.findByMemberId(member.getId()).orElse(null);
+        Map<Long, Long> cartItemIds = cartStore.addItems(email, quantities);
+        return cartItemDtos.stream()
+                .map(cartItemDto -> cartItemIds.get(cartItemDto.getProductId()))
+                .collect(Collectors.toList());
+    }
 
-        if (cart == null) {
-            return new ArrayList<>();
+    /**
+     * 장바구니 목록을 조회하는 메서드
+     *
+     * @param email 현재 사용자의 이메일
+     * @return 장바구니 상세 정보 DTO 리스트
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CartDetailDto> getCartList(String email) {
+        List<CartDetailDto> cartDetails = new ArrayList<>();
+        for (CartStore.Item item : cartStore.load(email).getItems()) {
+            CartDetailDto cartDetail = toCartDetail(item);
+            if (cartDetail != null) {
+                cartDetails.add(cartDetail);
+            }
         }
-        return getCartDetailList(cart.getId());
+        return cartDetails;
     }
 
     /**
@@ -116,16 +135,11 @@ public class CartService {
      *
      * @param cartItemId 확인할 장바구니 아이템 ID
      * @param email 현재 사용자의 이메일
-     * @return 현재 사용자가 장바구니 아이템의 소유자인지 여부
-     * @throws EntityNotFoundException 장바구니 아이템을 찾을 수 없을 경우 발생
+     * @return 현재 사용자의 장바구니에 해당 아이템이 있는지 여부
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean validateCartItem(Long cartItemId, String email) {
-        Member curMember = memberRepository.findByEmail(email);
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다."));
-        Member savedMember = cartItem.getCart().getMember();
-        return curMember.getEmail().equals(savedMember.getEmail());
+        return cartStore.load(email).findById(cartItemId) != null;
     }
 
     /**
@@ -133,83 +147,76 @@ public class CartService {
      *
      * @param cartItemId 업데이트할 장바구니 아이템 ID
      * @param quantity 새로운 수량
+     * @param email 현재 사용자의 이메일
      * @throws EntityNotFoundException 장바구니 아이템을 찾을 수 없을 경우 발생
      */
-    @Transactional
-    public void updateCartItemCount(Long cartItemId, int quantity) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다."));
-        cartItem.updateQuantity(quantity);
-        cartItemRepository.save(cartItem);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateCartItemCount(Long cartItemId, int quantity, String email) {
+        if (!cartStore.updateQuantity(email, cartItemId, quantity)) {
+            throw new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다.");
+        }
     }
 
     /**
      * 장바구니 아이템을 삭제하는 메서드
      *
      * @param cartItemId 삭제할 장바구니 아이템 ID
+     * @param email 현재 사용자의 이메일
      * @throws EntityNotFoundException 장바구니 아이템을 찾을 수 없을 경우 발생
      */
-    public void deleteCartItem(Long cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다."));
-        cartItemRepository.delete(cartItem);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void deleteCartItem(Long cartItemId, String email) {
+        if (!cartStore.removeItem(email, cartItemId)) {
+            throw new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다.");
+        }
     }
 
     /**
      * 상품의 재고를 확인하는 메서드
+     * - 상품 카탈로그 캐시의 재고로 미리 확인합니다. (실제 재고 확보는 주문 생성 시 InventoryService에서 처리)
      *
      * @param productId 확인할 상품 ID
      * @param quantity 구매 수량
      * @return 재고가 충분한지 여부
      * @throws EntityNotFoundException 상품을 찾을 수 없을 경우 발생
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean checkStock(Long productId, int quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다. ID: " + productId));
-        return product.getStock() >= quantity;
+        ProductResponseDTO product = productCatalogCache.get(productId);
+        if (product == null) {
+            throw new EntityNotFoundException("상품을 찾을 수 없습니다. ID: " + productId);
+        }
+        return product.getStock() != null && product.getStock() >= quantity;
     }
 
     /**
      * 장바구니 아이템 ID로 상품 ID를 조회하는 메서드
      *
      * @param cartItemId 조회할 장바구니 아이템 ID
+     * @param email 현재 사용자의 이메일
      * @return 상품 ID
      * @throws EntityNotFoundException 장바구니 아이템을 찾을 수 없을 경우 발생
      */
-    @Transactional(readOnly = true)
-    public Long getItemIdByCartItemId(Long cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다."));
-        return cartItem.getProduct().getId();
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long getItemIdByCartItemId(Long cartItemId, String email) {
+        return findItem(cartItemId, email).getProductId();
     }
 
     /**
      * 장바구니 아이템의 상세 정보를 조회하는 메서드
      *
      * @param cartItemId 조회할 장바구니 아이템 ID
+     * @param email 현재 사용자의 이메일
      * @return 장바구니 상세 정보 DTO
      * @throws EntityNotFoundException 장바구니 아이템을 찾을 수 없을 경우 발생
      */
-    @Transactional(readOnly = true)
-    public CartDetailDto getCartItemDetail(Long cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다. ID: " + cartItemId));
-
-        Product product = cartItem.getProduct();
-        String imageUrl = product.getProductImgList().stream()
-                .filter(img -> "대표".equals(img.getImageType()))
-                .findFirst()
-                .map(ProductImg::getImageUrl)
-                .orElse(null);
-
-        return CartDetailDto.builder()
-                .cartItemId(cartItem.getId())
-                .name(product.getName())
-                .quantity(cartItem.getQuantity())
-                .price(product.getPrice())
-                .imageUrl(imageUrl)
-                .build();
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CartDetailDto getCartItemDetail(Long cartItemId, String email) {
+        CartDetailDto cartDetail = toCartDetail(findItem(cartItemId, email));
+        if (cartDetail == null) {
+            throw new EntityNotFoundException("상품을 찾을 수 없습니다. 장바구니 아이템 ID: " + cartItemId);
+        }
+        return cartDetail;
     }
 
 
@@ -224,6 +231,8 @@ public class CartService {
             Cart cart = optionalCart.get();
             List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
             cartItemRepository.deleteAll(cartItems);
+            // 커밋 후 Redis 장바구니를 지워 다음 조회 때 DB에서 다시 채움
+            cartStore.evictAfterCommit(cart.getMember().getEmail());
         } else {
             log.warn("clearCart - 해당 memberId {} 에 대한 장바구니가 존재하지 않습니다.", memberId);
         }
@@ -256,4 +265,28 @@ public class CartService {
                 })
                 .collect(Collectors.toList());
     }
+
+    /** 현재 사용자의 Redis 장바구니에서 아이템을 찾습니다. */
+    private CartStore.Item findItem(Long cartItemId, String email) {
+        CartStore.Item item = cartStore.load(email).findById(cartItemId);
+        if (item == null) {
+            throw new EntityNotFoundException("장바구니 아이템을 찾을 수 없습니다. ID: " + cartItemId);
+        }
+        return item;
+    }
+
+    /** 장바구니 아이템을 상세 정보 DTO로 변환 (상품 정보는 카탈로그 캐시, 삭제된 상품이면 null) */
+    private CartDetailDto toCartDetail(CartStore.Item item) {
+        ProductResponseDTO product = productCatalogCache.get(item.getProductId());
+        if (product == null) {
+            return null;
+        }
+        return CartDetailDto.builder()
+                .cartItemId(item.getCartItemId())
+                .name(product.getName())
+                .quantity(item.getQuantity())
+                .price(product.getPrice())
+                .imageUrl(product.getMainImageUrl())
+                .build();
+    }
 }
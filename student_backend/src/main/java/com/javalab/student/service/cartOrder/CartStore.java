@@ -0,0 +1,743 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.cartOrder.Cart;
+import com.javalab.student.entity.cartOrder.CartItem;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.cartOrder.CartItemRepository;
+import com.javalab.student.repository.cartOrder.CartRepository;
+import com.javalab.student.repository.product.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 장바구니 저장소 (write-behind)
+ * - 회원별 장바구니를 Redis 해시(cart:{이메일}) 하나로 보관하고, 장바구니 조회/수량 변경/삭제는 Redis만 사용합니다.
+ *   (회원 ID, 장바구니 ID, 장바구니 아이템 ID → 상품 ID / 수량, 삭제 표시)
+ * - 변경된 장바구니는 cart:dirty 집합에 표시해 두고, 스케줄러가 여러 장바구니의 변경을 모아
+ *   cart_item에 JDBC 배치 UPDATE / DELETE로 반영합니다. (같은 장바구니의 여러 번 클릭은 한 번의 쓰기로 합쳐짐)
+ * - 장바구니에 새 상품을 담을 때만 바로 INSERT 합니다. (클라이언트와 주문에서 쓰는 장바구니 아이템 ID가 필요하므로)
+ * - Redis에 장바구니가 없으면 DB에서 읽어 채웁니다. (이미 다른 요청이 채운 해시는 덮어쓰지 않음)
+ * - 변경은 회원 ID가 있는 해시에만 Lua 스크립트로 적용합니다. 확인과 쓰기 사이에 해시가 만료/축출되면
+ *   회원 ID 없는 일부 필드만 남지 않도록 쓰지 않고, DB에서 다시 채운 뒤 재시도합니다.
+ * - 주문 생성처럼 DB의 장바구니를 읽는 곳은 먼저 flush(email)로 해당 장바구니를 반영해야 합니다.
+ */
+@Service
+@Slf4j
+public class CartStore {
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String DIRTY_KEY = "cart:dirty";
+    private static final String LOCK_PREFIX = "cart:flush-lock:";
+
+    private static final String MEMBER_ID = "memberId";
+    private static final String CART_ID = "cartId";
+    /** p:{장바구니 아이템 ID} → 상품 ID */
+    private static final String PRODUCT_PREFIX = "p:";
+    /** q:{장바구니 아이템 ID} → 수량 */
+    private static final String QUANTITY_PREFIX = "q:";
+    /** d:{장바구니 아이템 ID} → 삭제되어 DB 반영을 기다리는 아이템 */
+    private static final String DELETED_PREFIX = "d:";
+
+    private static final String UPDATE_QUANTITY =
+            "UPDATE cart_item SET quantity = ?, update_time = ? WHERE cart_item_id = ? AND cart_id = ?";
+    private static final String DELETE_ITEM =
+            "DELETE FROM cart_item WHERE cart_item_id = ? AND cart_id = ?";
+    private static final String INSERT_ITEM =
+            "INSERT INTO cart_item (cart_id, product_id, quantity, reg_time, update_time, created_by, modified_by) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ITEM_IDS =
+            "SELECT cart_item_id, product_id FROM cart_item WHERE cart_id = ? AND product_id IN (%s) ORDER BY cart_item_id";
+
+    /** 해시(회원 ID)가 없을 때만 채우고(다른 요청이 먼저 채웠거나 변경한 값은 유지), TTL을 갱신 */
+    private static final DefaultRedisScript<Long> HYDRATE = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], '" + MEMBER_ID + "') == 0 then " +
+                    "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[1]) return 1", Long.class);
+
+    /**
+     * 회원 ID가 있는 해시에만 변경을 적용하고 TTL을 갱신 (없으면 0을 반환하고 아무것도 쓰지 않음)
+     * ARGV: TTL(초), 이메일, write-behind 대상 표시 여부(1/0), 이후 {명령, 필드, 값} 반복 (S: HSET, I: HINCRBY, D: HDEL)
+     */
+    private static final DefaultRedisScript<Long> MUTATE = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], '" + MEMBER_ID + "') == 0 then return 0 end " +
+                    "for i = 4, #ARGV, 3 do " +
+                    "if ARGV[i] == 'I' then redis.call('HINCRBY', KEYS[1], ARGV[i + 1], ARGV[i + 2]) " +
+                    "elseif ARGV[i] == 'D' then redis.call('HDEL', KEYS[1], ARGV[i + 1]) " +
+                    "else redis.call('HSET', KEYS[1], ARGV[i + 1], ARGV[i + 2]) end end " +
+                    "if ARGV[3] == '1' then redis.call('SADD', KEYS[2], ARGV[2]) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[1]) return 1", Long.class);
+
+    private static final String SET = "S";
+    private static final String INCREMENT = "I";
+    private static final String DELETE = "D";
+
+    /** 변경 중 해시가 사라졌을 때 DB에서 다시 채우고 재시도하는 최대 횟수 */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** 내가 잡은 잠금만 해제 */
+    private static final DefaultRedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final HashOperations<String, String, String> hashOps;
+    private final MemberRepository memberRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final Duration ttl;
+    private final int flushBatchSize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong hydrations = new AtomicLong();
+    private final AtomicLong flushedCarts = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+
+    public CartStore(StringRedisTemplate redisTemplate,
+                     MemberRepository memberRepository,
+                     CartRepository cartRepository,
+                     CartItemRepository cartItemRepository,
+                     ProductRepository productRepository,
+                     JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${cart.store.ttl-hours:72}") long ttlHours,
+                     @Value("${cart.store.flush-batch-size:200}") int flushBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.hashOps = redisTemplate.opsForHash();
+        this.memberRepository = memberRepository;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(Math.max(1, ttlHours));
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+    }
+
+    /**
+     * 회원의 장바구니를 조회합니다. Redis에 없으면(회원 ID가 없는 해시 포함) DB에서 읽어 채웁니다.
+     *
+     * @throws EntityNotFoundException 회원을 찾을 수 없을 경우
+     */
+    public CartSnapshot load(String email) {
+        Map<String, String> fields = hashOps.entries(key(email));
+        if (!fields.containsKey(MEMBER_ID)) {
+            return hydrate(email);
+        }
+        hits.incrementAndGet();
+        return CartSnapshot.from(fields);
+    }
+
+    /**
+     * 장바구니에 상품을 담습니다. 이미 담긴 상품이면 수량만 늘립니다.
+     *
+     * @return 장바구니 아이템 ID
+     */
+    public Long addItem(String email, Long productId, int quantity) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            CartSnapshot cart = load(email);
+            Item existing = cart.findByProductId(productId);
+            if (existing == null) {
+                return insertItem(email, cart, productId, quantity);
+            }
+            if (mutate(email, true, List.of(
+                    INCREMENT, QUANTITY_PREFIX + existing.getCartItemId(), String.valueOf(quantity)))) {
+                return existing.getCartItemId();
+            }
+        }
+        throw evicted(email);
+    }
+
+    /**
+     * 여러 상품을 한 번에 장바구니에 담습니다. (이미 담긴 상품은 수량만 늘림)
+     * - 새 상품은 JDBC 배치 INSERT 한 번으로 추가하고 생성된 아이템 ID를 받아 옵니다. (회원 장바구니가 없으면 먼저 생성)
+     * - 이미 담긴 상품의 수량 증가는 Redis에서 처리하고 write-behind로 반영합니다.
+     * - Redis 반영은 트랜잭션 커밋 후에 하므로, 롤백되면 Redis 장바구니도 바뀌지 않습니다.
+     *
+     * @param quantities 상품 ID → 담을 수량 (상품 존재와 재고는 호출하는 쪽에서 확인)
+     * @return 상품 ID → 장바구니 아이템 ID
+     */
+    public Map<Long, Long> addItems(String email, Map<Long, Integer> quantities) {
+        CartSnapshot cart = load(email);
+        Map<Long, Long> cartItemIds = new LinkedHashMap<>();
+        Map<Long, Integer> increments = new LinkedHashMap<>();
+        List<Long> newProductIds = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            Item existing = cart.findByProductId(productId);
+            if (existing != null) {
+                cartItemIds.put(productId, existing.getCartItemId());
+                increments.put(existing.getCartItemId(), quantity);
+            } else {
+                newProductIds.add(productId);
+            }
+        });
+
+        Long cartId = cart.getCartId();
+        Map<Long, Long> inserted = Map.of();
+        if (!newProductIds.isEmpty()) {
+            if (cartId == null) {
+                Member member = memberRepository.getReferenceById(cart.getMemberId());
+                cartId = cartRepository.save(Cart.createCart(member)).getId();
+            }
+            inserted = insertItems(cartId, newProductIds, quantities, email);
+            cartItemIds.putAll(inserted);
+        }
+
+        List<String> insertOps = new ArrayList<>();
+        if (cartId != null) {
+            insertOps.addAll(List.of(SET, CART_ID, String.valueOf(cartId)));
+        }
+        inserted.forEach((productId, cartItemId) -> {
+            insertOps.addAll(List.of(SET, PRODUCT_PREFIX + cartItemId, String.valueOf(productId)));
+            insertOps.addAll(List.of(SET, QUANTITY_PREFIX + cartItemId, String.valueOf(quantities.get(productId))));
+        });
+        List<String> incrementOps = new ArrayList<>();
+        increments.forEach((cartItemId, quantity) ->
+                incrementOps.addAll(List.of(INCREMENT, QUANTITY_PREFIX + cartItemId, String.valueOf(quantity))));
+        afterCommit(() -> {
+            try {
+                List<String> ops = new ArrayList<>(insertOps);
+                ops.addAll(incrementOps);
+                if (mutate(email, !incrementOps.isEmpty(), ops) || incrementOps.isEmpty()) {
+                    return;
+                }
+                // 그 사이 해시가 사라짐: 커밋된 새 아이템은 DB에서 다시 채울 때 들어오므로 수량 증가만 다시 적용
+                for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+                    load(email);
+                    if (mutate(email, true, incrementOps)) {
+                        return;
+                    }
+                }
+                throw evicted(email);
+            } catch (RuntimeException e) {
+                log.error("장바구니 일괄 담기 후 Redis 반영 실패. email: {}, error: {}", email, e.getMessage());
+            }
+        }, null);
+        return cartItemIds;
+    }
+
+    /**
+     * 장바구니 아이템 수량을 변경합니다. (DB 반영은 write-behind)
+     *
+     * @return 회원의 장바구니에 해당 아이템이 없으면 false
+     */
+    public boolean updateQuantity(String email, Long cartItemId, int quantity) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (load(email).findById(cartItemId) == null) {
+                return false;
+            }
+            if (mutate(email, true, List.of(SET, QUANTITY_PREFIX + cartItemId, String.valueOf(quantity)))) {
+                return true;
+            }
+        }
+        throw evicted(email);
+    }
+
+    /**
+     * 장바구니 아이템을 삭제합니다. (DB 반영은 write-behind)
+     *
+     * @return 회원의 장바구니에 해당 아이템이 없으면 false
+     */
+    public boolean removeItem(String email, Long cartItemId) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (load(email).findById(cartItemId) == null) {
+                return false;
+            }
+            if (mutate(email, true, List.of(
+                    DELETE, PRODUCT_PREFIX + cartItemId, "",
+                    DELETE, QUANTITY_PREFIX + cartItemId, "",
+                    SET, DELETED_PREFIX + cartItemId, "1"))) {
+                return true;
+            }
+        }
+        throw evicted(email);
+    }
+
+    /**
+     * 회원 장바구니의 현재 상태를 지금 DB에 반영합니다. (주문 생성 등 DB의 장바구니를 읽기 전에 호출)
+     * - 다른 노드의 스케줄러가 이 장바구니를 반영하는 중이면 끝날 때까지 기다린 뒤 현재 상태를 한 번 더 씁니다.
+     * - 트랜잭션 안에서 호출되면 같은 트랜잭션으로 반영하고, 롤백되면 다시 write-behind 대상으로 표시합니다.
+     */
+    public void flush(String email) {
+        String token = lockWithRetry(email);
+        redisTemplate.opsForSet().remove(DIRTY_KEY, email);
+        try {
+            Pending pending = collect(email);
+            if (pending == null) {
+                return;
+            }
+            write(pending.updates, pending.deletes);
+            afterCommit(() -> clearDeleted(List.of(pending)), () -> markDirty(List.of(email)));
+            flushedCarts.incrementAndGet();
+        } catch (RuntimeException e) {
+            markDirty(List.of(email));
+            throw e;
+        } finally {
+            unlock(email, token);
+        }
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤 Redis의 장바구니를 지웁니다. (결제 후 DB에서 장바구니를 비운 경우 등, 다음 조회 때 DB에서 다시 채움)
+     */
+    public void evictAfterCommit(String email) {
+        afterCommit(() -> {
+            redisTemplate.delete(key(email));
+            redisTemplate.opsForSet().remove(DIRTY_KEY, email);
+        }, null);
+    }
+
+    /**
+     * 변경된 장바구니를 모아 DB에 반영합니다. (cart.store.flush-interval-ms 간격)
+     * 여러 노드에서 실행되어도 장바구니별 잠금으로 같은 장바구니를 동시에 쓰지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:1000}")
+    public void flushDirty() {
+        List<String> emails = redisTemplate.opsForSet().pop(DIRTY_KEY, flushBatchSize);
+        if (emails == null || emails.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> locks = new LinkedHashMap<>();
+        List<String> busy = new ArrayList<>();
+        for (String email : emails) {
+            String token = tryLock(email);
+            if (token != null) {
+                locks.put(email, token);
+            } else {
+                busy.add(email);
+            }
+        }
+        if (!busy.isEmpty()) {
+            markDirty(busy);
+        }
+
+        List<String> locked = new ArrayList<>(locks.keySet());
+        try {
+            List<Pending> carts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> deletes = new ArrayList<>();
+            for (String email : locked) {
+                Pending pending = collect(email);
+                if (pending != null) {
+                    carts.add(pending);
+                    updates.addAll(pending.updates);
+                    deletes.addAll(pending.deletes);
+                }
+            }
+            if (carts.isEmpty()) {
+                return;
+            }
+            flushTransaction.executeWithoutResult(status -> write(updates, deletes));
+            clearDeleted(carts);
+            flushedCarts.addAndGet(carts.size());
+            log.debug("장바구니 write-behind 반영. 장바구니: {}개, 수량 변경: {}건, 삭제: {}건",
+                    carts.size(), updates.size(), deletes.size());
+        } catch (RuntimeException e) {
+            flushFailures.incrementAndGet();
+            markDirty(locked);
+            log.warn("장바구니 write-behind 반영 실패. 다음 주기에 다시 시도합니다. 장바구니: {}개, error: {}",
+                    locked.size(), e.getMessage());
+        } finally {
+            locks.forEach(this::unlock);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flushDirty();
+        } catch (RuntimeException e) {
+            log.warn("종료 전 장바구니 write-behind 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 장바구니 저장소 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("hydrations", hydrations.get());
+        stats.put("flushedCarts", flushedCarts.get());
+        stats.put("flushedRows", flushedRows.get());
+        stats.put("flushFailures", flushFailures.get());
+        stats.put("dirtyCarts", redisTemplate.opsForSet().size(DIRTY_KEY));
+        return stats;
+    }
+
+    /** DB에서 장바구니를 읽어 Redis에 채웁니다. */
+    private CartSnapshot hydrate(String email) {
+        Member member = memberRepository.findByEmail(email);
+        if (member == null) {
+            throw new EntityNotFoundException("회원을 찾을 수 없습니다. Email: " + email);
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(MEMBER_ID, String.valueOf(member.getId()));
+        cartRepository.findByMemberId(member.getId()).ifPresent(cart -> {
+            fields.put(CART_ID, String.valueOf(cart.getId()));
+            for (CartItem cartItem : cartItemRepository.findByCartId(cart.getId())) {
+                // 지연 로딩 프록시의 ID는 상품을 조회하지 않고 얻을 수 있음
+                fields.put(PRODUCT_PREFIX + cartItem.getId(), String.valueOf(cartItem.getProduct().getId()));
+                fields.put(QUANTITY_PREFIX + cartItem.getId(), String.valueOf(cartItem.getQuantity()));
+            }
+        });
+
+        List<String> args = new ArrayList<>(fields.size() * 2 + 1);
+        args.add(String.valueOf(ttl.getSeconds()));
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(HYDRATE, List.of(key(email)), args.toArray());
+        hydrations.incrementAndGet();
+
+        // 그 사이 다른 요청이 먼저 채우고 변경했을 수 있으므로 Redis에 남은 값을 기준으로 반환
+        Map<String, String> stored = hashOps.entries(key(email));
+        return CartSnapshot.from(stored.containsKey(MEMBER_ID) ? stored : fields);
+    }
+
+    /** 새 상품은 아이템 ID가 필요하므로 바로 INSERT 합니다. (회원 장바구니가 없으면 함께 생성) */
+    private Long insertItem(String email, CartSnapshot cart, Long productId, int quantity) {
+        Long cartId = cart.getCartId();
+        if (cartId == null) {
+            Member member = memberRepository.getReferenceById(cart.getMemberId());
+            cartId = cartRepository.save(Cart.createCart(member)).getId();
+        }
+        CartItem cartItem = cartItemRepository.save(CartItem.createCartItem(
+                cartRepository.getReferenceById(cartId), productRepository.getReferenceById(productId), quantity));
+
+        // 해시가 그 사이 사라졌으면 쓰지 않음 (다음 조회 때 DB에서 새 아이템까지 채움)
+        mutate(email, false, List.of(
+                SET, CART_ID, String.valueOf(cartId),
+                SET, PRODUCT_PREFIX + cartItem.getId(), String.valueOf(productId),
+                SET, QUANTITY_PREFIX + cartItem.getId(), String.valueOf(quantity)));
+        return cartItem.getId();
+    }
+
+    /**
+     * 회원 ID가 있는 해시에만 변경({명령, 필드, 값} 반복)을 적용합니다.
+     *
+     * @return 해시가 없어(만료/축출) 적용하지 않았으면 false
+     */
+    private boolean mutate(String email, boolean markDirty, List<String> ops) {
+        List<String> args = new ArrayList<>(ops.size() + 3);
+        args.add(String.valueOf(ttl.getSeconds()));
+        args.add(email);
+        args.add(markDirty ? "1" : "0");
+        args.addAll(ops);
+        Long applied = redisTemplate.execute(MUTATE, List.of(key(email), DIRTY_KEY), args.toArray());
+        return applied != null && applied == 1L;
+    }
+
+    private static IllegalStateException evicted(String email) {
+        return new IllegalStateException("장바구니를 Redis에 다시 채우지 못했습니다. Email: " + email);
+    }
+
+    /** Redis의 장바구니에서 DB에 반영할 행을 만듭니다. (해시가 없거나 장바구니 ID가 없으면 null) */
+    private Pending collect(String email) {
+        Map<String, String> fields = hashOps.entries(key(email));
+        String cartIdValue = fields.get(CART_ID);
+        if (cartIdValue == null) {
+            return null;
+        }
+        Long cartId = Long.valueOf(cartIdValue);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Pending pending = new Pending(email);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String name = field.getKey();
+            if (name.startsWith(QUANTITY_PREFIX)) {
+                String cartItemId = name.substring(QUANTITY_PREFIX.length());
+                if (fields.containsKey(PRODUCT_PREFIX + cartItemId)) {
+                    pending.updates.add(new Object[]{Integer.valueOf(field.getValue()), now, Long.valueOf(cartItemId), cartId});
+                } else {
+                    // 삭제와 동시에 수량을 늘려 남은 값
+                    pending.staleFields.add(name);
+                }
+            } else if (name.startsWith(DELETED_PREFIX)) {
+                pending.deletes.add(new Object[]{Long.valueOf(name.substring(DELETED_PREFIX.length())), cartId});
+                pending.staleFields.add(name);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * 새 장바구니 아이템을 JDBC 배치 INSERT 한 번으로 추가합니다.
+     * 드라이버가 배치의 생성 키를 모두 돌려주지 않으면 장바구니의 해당 상품 아이템 ID를 한 번 더 조회합니다.
+     *
+     * @return 상품 ID → 장바구니 아이템 ID
+     */
+    private Map<Long, Long> insertItems(Long cartId, List<Long> productIds, Map<Long, Integer> quantities, String email) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> keys = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ITEM, Statement.RETURN_GENERATED_KEYS)) {
+                for (Long productId : productIds) {
+                    statement.setLong(1, cartId);
+                    statement.setLong(2, productId);
+                    statement.setInt(3, quantities.get(productId));
+                    statement.setTimestamp(4, now);
+                    statement.setTimestamp(5, now);
+                    statement.setString(6, email);
+                    statement.setString(7, email);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> generated = new ArrayList<>(productIds.size());
+                try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                    while (resultSet.next()) {
+                        generated.add(resultSet.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+
+        Map<Long, Long> cartItemIds = new LinkedHashMap<>();
+        if (keys != null && keys.size() == productIds.size()) {
+            for (int i = 0; i < productIds.size(); i++) {
+                cartItemIds.put(productIds.get(i), keys.get(i));
+            }
+            return cartItemIds;
+        }
+
+        // 방금 추가한 행이 아이템 ID가 가장 크므로 상품별 마지막 행을 사용 (삭제 반영 대기 중인 이전 행 제외)
+        String placeholders = productIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        List<Object> args = new ArrayList<>(productIds.size() + 1);
+        args.add(cartId);
+        args.addAll(productIds);
+        jdbcTemplate.query(String.format(SELECT_ITEM_IDS, placeholders),
+                resultSet -> {
+                    cartItemIds.put(resultSet.getLong("product_id"), resultSet.getLong("cart_item_id"));
+                }, args.toArray());
+        return cartItemIds;
+    }
+
+    private void write(List<Object[]> updates, List<Object[]> deletes) {
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_QUANTITY, updates);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM, deletes);
+        }
+        flushedRows.addAndGet(updates.size() + deletes.size());
+    }
+
+    /** DB에 반영한 삭제 표시를 지웁니다. */
+    private void clearDeleted(List<Pending> carts) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (Pending pending : carts) {
+                if (!pending.staleFields.isEmpty()) {
+                    redis.hDel(key(pending.email), pending.staleFields.toArray(new String[0]));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void markDirty(List<String> emails) {
+        try {
+            redisTemplate.opsForSet().add(DIRTY_KEY, emails.toArray(new String[0]));
+        } catch (RuntimeException e) {
+            log.error("장바구니 write-behind 대상 표시 실패. 장바구니: {}, error: {}", emails, e.getMessage());
+        }
+    }
+
+    private String tryLock(String email) {
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + email, token, Duration.ofSeconds(30));
+        return Boolean.TRUE.equals(locked) ? token : null;
+    }
+
+    /** 다른 노드의 스케줄러가 같은 장바구니를 반영 중이면 잠시 기다립니다. (최대 약 2초, 그래도 못 잡으면 잠금 없이 진행) */
+    private String lockWithRetry(String email) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String token = tryLock(email);
+            if (token != null) {
+                return token;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.warn("장바구니 반영 잠금을 얻지 못해 잠금 없이 반영합니다. email: {}", email);
+        return null;
+    }
+
+    private void unlock(String email, String token) {
+        if (token == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_PREFIX + email), token);
+        } catch (RuntimeException e) {
+            log.warn("장바구니 반영 잠금 해제 실패 (만료 후 자동 해제). email: {}, error: {}", email, e.getMessage());
+        }
+    }
+
+    /** 트랜잭션 안이면 커밋/롤백 후에, 아니면 바로 실행 */
+    private static void afterCommit(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else if (onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private static String key(String email) {
+        return KEY_PREFIX + email;
+    }
+
+    /** 한 장바구니에서 DB에 반영할 행 */
+    private static final class Pending {
+        private final String email;
+        /** {수량, 수정 시각, 장바구니 아이템 ID, 장바구니 ID} */
+        private final List<Object[]> updates = new ArrayList<>();
+        /** {장바구니 아이템 ID, 장바구니 ID} */
+        private final List<Object[]> deletes = new ArrayList<>();
+        /** 반영 후 지울 해시 필드 (삭제 표시 등) */
+        private final List<String> staleFields = new ArrayList<>();
+
+        private Pending(String email) {
+            this.email = email;
+        }
+    }
+
+    /** Redis에서 읽은 회원 장바구니 */
+    public static final class CartSnapshot {
+        private final Long memberId;
+        private final Long cartId;
+        private final List<Item> items;
+
+        private CartSnapshot(Long memberId, Long cartId, List<Item> items) {
+            this.memberId = memberId;
+            this.cartId = cartId;
+            this.items = items;
+        }
+
+        private static CartSnapshot from(Map<String, String> fields) {
+            List<Item> items = new ArrayList<>();
+            for (Map.Entry<String, String> field : fields.entrySet()) {
+                if (!field.getKey().startsWith(PRODUCT_PREFIX)) {
+                    continue;
+                }
+                String cartItemId = field.getKey().substring(PRODUCT_PREFIX.length());
+                String quantity = fields.get(QUANTITY_PREFIX + cartItemId);
+                if (quantity != null) {
+                    items.add(new Item(Long.valueOf(cartItemId), Long.valueOf(field.getValue()), Integer.parseInt(quantity)));
+                }
+            }
+            // DB 조회와 같이 담은 순서(아이템 ID 순)로 정렬
+            items.sort(Comparator.comparing(Item::getCartItemId));
+            String memberId = fields.get(MEMBER_ID);
+            String cartId = fields.get(CART_ID);
+            return new CartSnapshot(memberId == null ? null : Long.valueOf(memberId),
+                    cartId == null ? null : Long.valueOf(cartId),
+                    Collections.unmodifiableList(items));
+        }
+
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        /** 장바구니 ID (아직 장바구니가 없으면 null) */
+        public Long getCartId() {
+            return cartId;
+        }
+
+        /** 장바구니 아이템 (아이템 ID 오름차순) */
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public Item findById(Long cartItemId) {
+            for (Item item : items) {
+                if (item.getCartItemId().equals(cartItemId)) {
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        public Item findByProductId(Long productId) {
+            for (Item item : items) {
+                if (item.getProductId().equals(productId)) {
+                    return item;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** 장바구니 아이템 */
+    public static final class Item {
+        private final Long cartItemId;
+        private final Long productId;
+        private final int quantity;
+
+        private Item(Long cartItemId, Long productId, int quantity) {
+            this.cartItemId = cartItemId;
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getCartItemId() {
+            return cartItemId;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.constant.ReservationStatus;
+import com.javalab.student.exception.StockConfirmationException;
+import com.javalab.student.service.product.ProductCatalogCache;
+import com.javalab.student.service.product.ProductCatalogChangedEvent;
+import com.javalab.student.service.product.ProductCatalogRelay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주문 재고 예약
+ * - 주문 생성 시 상품 재고를 "재고 >= 수량"일 때만 줄이는 조건부 UPDATE로 확보하고(초과 판매 방지),
+ *   stock_reservation에 예약 만료 시각과 함께 기록합니다.
+ * - 결제가 끝나면 예약을 확정합니다. (결제 대행사 조회 중 예약이 만료되었으면 확정할 때 재고를 다시 확보)
+ *   주문이 취소되거나 결제 없이 예약 시간이 지나면 재고를 되돌립니다.
+ * - 결제된 주문의 재고를 확보하지 못하면 StockConfirmationException을 던져 결제 처리 쪽이 보상(결제 취소)할 수 있게 합니다.
+ *   예약 상태는 "현재 상태일 때만" 바꾸는 조건부 UPDATE로 변경하므로, 취소와 만료 정리가 겹쳐도 재고는 한 번만 돌아갑니다.
+ * - 인기 상품 한 행에 주문이 몰리면 DB 행 잠금 대기가 길어지므로,
+ *   상품 ID별 줄무늬 잠금(striped lock)으로 노드 안의 요청을 먼저 줄 세워 행 잠금을 기다리는 트랜잭션을 노드당 하나로 줄입니다.
+ *   잠금은 트랜잭션이 끝날 때(커밋/롤백) 풀리며, 교착을 피하도록 항상 줄무늬 번호 순, 상품 ID 순으로 잡습니다.
+ * - 방금 재고 부족으로 거절된 상품은 잠시 동안 같은 수량 이상의 요청을 잠금/DB 없이 바로 거절합니다.
+ *   (재고가 돌아오거나 상품 정보가 바뀌면 즉시 해제)
+ * - 재고 확보/해제는 반드시 트랜잭션 안에서 호출해야 하며, 커밋되면 상품 카탈로그 캐시의 재고 수량에도 반영합니다.
+ */
+@Service
+@Slf4j
+public class InventoryService {
+
+    private static final String DECREMENT_STOCK =
+            "UPDATE product SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String INCREMENT_STOCK =
+            "UPDATE product SET stock = stock + ? WHERE id = ?";
+    private static final String INSERT_RESERVATION =
+            "INSERT INTO stock_reservation (order_id, product_id, quantity, status, expires_at, reg_time, update_time) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_ORDER_RESERVATIONS =
+            "SELECT reservation_id, product_id, quantity, status FROM stock_reservation WHERE order_id = ? ORDER BY product_id";
+    private static final String SELECT_EXPIRED =
+            "SELECT reservation_id, product_id, quantity, status FROM stock_reservation " +
+                    "WHERE status = 'RESERVED' AND expires_at < ? ORDER BY expires_at LIMIT ?";
+    private static final String CHANGE_STATUS =
+            "UPDATE stock_reservation SET status = ?, update_time = ? WHERE reservation_id = ? AND status = ?";
+
+    private static final RowMapper<Reservation> RESERVATION_MAPPER = (resultSet, rowNum) -> new Reservation(
+            resultSet.getLong("reservation_id"),
+            resultSet.getLong("product_id"),
+            resultSet.getInt("quantity"),
+            ReservationStatus.valueOf(resultSet.getString("status")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductCatalogRelay productCatalogRelay;
+    private final TransactionTemplate sweepTransaction;
+    private final ReentrantLock[] stripes;
+    private final Duration reservationTtl;
+    private final long lockTimeoutMillis;
+    private final long soldOutHintMillis;
+    private final int sweepBatchSize;
+
+    /** 상품 ID → 최근 재고 부족으로 거절된 기록 */
+    private final Map<Long, SoldOutHint> soldOutHints = new ConcurrentHashMap<>();
+
+    private final AtomicLong reservedItems = new AtomicLong();
+    private final AtomicLong rejectedItems = new AtomicLong();
+    private final AtomicLong fastRejects = new AtomicLong();
+    private final AtomicLong lockTimeouts = new AtomicLong();
+    private final AtomicLong confirmedItems = new AtomicLong();
+    private final AtomicLong releasedItems = new AtomicLong();
+    private final AtomicLong expiredItems = new AtomicLong();
+
+    public InventoryService(JdbcTemplate jdbcTemplate,
+                            ProductCatalogCache productCatalogCache,
+                            ProductCatalogRelay productCatalogRelay,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.reservation.ttl-minutes:15}") long ttlMinutes,
+                            @Value("${inventory.reservation.sweep-batch-size:200}") int sweepBatchSize,
+                            @Value("${inventory.lock.stripes:64}") int stripeCount,
+                            @Value("${inventory.lock.timeout-ms:3000}") long lockTimeoutMillis,
+                            @Value("${inventory.sold-out-hint-ms:1000}") long soldOutHintMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productCatalogCache = productCatalogCache;
+        this.productCatalogRelay = productCatalogRelay;
+        this.sweepTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTtl = Duration.ofMinutes(Math.max(1, ttlMinutes));
+        this.sweepBatchSize = Math.max(1, sweepBatchSize);
+        this.lockTimeoutMillis = Math.max(0, lockTimeoutMillis);
+        this.soldOutHintMillis = Math.max(0, soldOutHintMillis);
+        // 상품 ID 비트를 섞어 마스크로 고르도록 2의 거듭제곱으로 맞춤
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 주문 상품의 재고를 확보하고 예약을 기록합니다.
+     * 하나라도 재고가 부족하면 예외를 던지며, 트랜잭션이 롤백되어 앞서 줄인 재고도 모두 되돌아갑니다.
+     * 행 잠금을 짧게 잡도록 주문 저장 등 다른 작업을 마친 뒤 트랜잭션의 마지막에 호출하는 것이 좋습니다.
+     *
+     * @param orderId    주문 ID
+     * @param quantities 상품 ID → 주문 수량
+     * @throws IllegalStateException 재고가 부족하거나, 주문이 몰려 잠금을 얻지 못한 경우
+     */
+    @Transactional
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Long, Integer> item : quantities.entrySet()) {
+            if (isKnownSoldOut(item.getKey(), item.getValue())) {
+                fastRejects.incrementAndGet();
+                throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + item.getKey());
+            }
+        }
+
+        lockStripes(quantities.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTimestamp = Timestamp.valueOf(now);
+        Timestamp expiresAt = Timestamp.valueOf(now.plus(reservationTtl));
+        Map<Long, Integer> stockDeltas = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> item : new TreeMap<>(quantities).entrySet()) {
+            Long productId = item.getKey();
+            int quantity = item.getValue();
+            if (jdbcTemplate.update(DECREMENT_STOCK, quantity, productId, quantity) == 0) {
+                rememberSoldOut(productId, quantity);
+                rejectedItems.incrementAndGet();
+                throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + productId);
+            }
+            stockDeltas.put(productId, -quantity);
+            rows.add(new Object[]{orderId, productId, quantity, ReservationStatus.RESERVED.name(),
+                    expiresAt, nowTimestamp, nowTimestamp});
+        }
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION, rows);
+        reservedItems.addAndGet(rows.size());
+        applyAfterCommit(stockDeltas);
+    }
+
+    /**
+     * 결제가 끝난 주문의 재고 예약을 확정합니다.
+     * 예약 시간이 지나 재고가 이미 돌아간 상품은 다시 확보하며, 그사이 재고가 없어졌으면 예외를 던집니다.
+     * 예약 기능 도입 전에 만든 주문처럼 예약이 없으면 아무것도 하지 않습니다.
+     *
+     * @param orderId 주문 ID
+     * @throws StockConfirmationException 취소된 주문이거나, 만료된 예약을 다시 확보할 재고가 없는 경우
+     *                                    (결제는 끝난 상태이므로 호출하는 쪽에서 결제 취소 등으로 보상)
+     */
+    @Transactional
+    public void confirm(Long orderId) {
+        List<Reservation> reservations = jdbcTemplate.query(SELECT_ORDER_RESERVATIONS, RESERVATION_MAPPER, orderId);
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        lockStripes(reservations.stream().map(Reservation::getProductId).toList());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> stockDeltas = new LinkedHashMap<>();
+        for (Reservation reservation : reservations) {
+            if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+                continue;
+            }
+            if (reservation.getStatus() == ReservationStatus.RELEASED) {
+                throw new StockConfirmationException(orderId, "취소된 주문은 결제를 확정할 수 없습니다. 주문 ID: " + orderId);
+            }
+            if (reservation.getStatus() == ReservationStatus.RESERVED
+                    && changeStatus(reservation, ReservationStatus.RESERVED, ReservationStatus.CONFIRMED, now)) {
+                confirmedItems.incrementAndGet();
+                continue;
+            }
+
+            // 예약 시간이 지나 재고가 돌아간 경우 (조회 후 만료 정리와 겹친 경우 포함) 다시 확보
+            reacquire(orderId, reservation, ReservationStatus.CONFIRMED, now, stockDeltas);
+            confirmedItems.incrementAndGet();
+        }
+        applyAfterCommit(stockDeltas);
+    }
+
+    /**
+     * 취소된 주문의 재고 예약(예약/확정 상태)을 해제하고 재고를 되돌립니다.
+     * 이미 해제되었거나 만료된 예약은 건너뜁니다.
+     *
+     * @param orderId 주문 ID
+     */
+    @Transactional
+    public void release(Long orderId) {
+        List<Reservation> reservations = jdbcTemplate.query(SELECT_ORDER_RESERVATIONS, RESERVATION_MAPPER, orderId);
+        List<Reservation> held = reservations.stream()
+                .filter(reservation -> reservation.getStatus() == ReservationStatus.RESERVED
+                        || reservation.getStatus() == ReservationStatus.CONFIRMED)
+                .toList();
+        if (held.isEmpty()) {
+            return;
+        }
+
+        lockStripes(held.stream().map(Reservation::getProductId).toList());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> stockDeltas = new LinkedHashMap<>();
+        for (Reservation reservation : held) {
+            if (changeStatus(reservation, reservation.getStatus(), ReservationStatus.RELEASED, now)) {
+                jdbcTemplate.update(INCREMENT_STOCK, reservation.getQuantity(), reservation.getProductId());
+                stockDeltas.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+                releasedItems.incrementAndGet();
+            }
+        }
+        applyAfterCommit(stockDeltas);
+        log.info("주문 재고 예약 해제. 주문 ID: {}, 상품 수: {}", orderId, stockDeltas.size());
+    }
+
+    /**
+     * 결제 없이 예약 시간이 지난 재고 예약을 주기적으로 만료시키고 재고를 되돌립니다.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void expireReservations() {
+        try {
+            int expired = expireBefore(LocalDateTime.now());
+            if (expired > 0) {
+                log.info("만료된 재고 예약 {}건의 재고를 되돌렸습니다.", expired);
+            }
+        } catch (RuntimeException e) {
+            log.error("재고 예약 만료 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기준 시각 이전에 만료된 예약을 모두 정리합니다. (sweep-batch-size건씩 트랜잭션을 나눠 처리)
+     *
+     * @param cutoff 만료 기준 시각
+     * @return 만료시킨 예약 수
+     */
+    public int expireBefore(LocalDateTime cutoff) {
+        int total = 0;
+        while (true) {
+            int[] result = sweepTransaction.execute(status -> expireBatch(cutoff));
+            total += result[1];
+            if (result[0] < sweepBatchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * 상품 정보가 변경(관리자 재고 수정 등)되면 해당 상품의 재고 부족 기록을 지웁니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        if (event.getProductId() != null) {
+            soldOutHints.remove(event.getProductId());
+        }
+    }
+
+    /**
+     * 재고 예약 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("reservedItems", reservedItems.get());
+        stats.put("rejectedItems", rejectedItems.get());
+        stats.put("fastRejects", fastRejects.get());
+        stats.put("lockTimeouts", lockTimeouts.get());
+        stats.put("confirmedItems", confirmedItems.get());
+        stats.put("releasedItems", releasedItems.get());
+        stats.put("expiredItems", expiredItems.get());
+        stats.put("soldOutHints", soldOutHints.size());
+        stats.put("lockStripes", stripes.length);
+        return stats;
+    }
+
+    /** @return {조회한 예약 수, 만료시킨 예약 수} */
+    private int[] expireBatch(LocalDateTime cutoff) {
+        List<Reservation> expired = new ArrayList<>(jdbcTemplate.query(SELECT_EXPIRED, RESERVATION_MAPPER,
+                Timestamp.valueOf(cutoff), sweepBatchSize));
+        if (expired.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        expired.sort(Comparator.comparing(Reservation::getProductId));
+
+        lockStripes(expired.stream().map(Reservation::getProductId).toList());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Integer> stockDeltas = new LinkedHashMap<>();
+        int count = 0;
+        for (Reservation reservation : expired) {
+            // 그사이 결제 확정/취소된 예약은 건너뜀
+            if (changeStatus(reservation, ReservationStatus.RESERVED, ReservationStatus.EXPIRED, now)) {
+                jdbcTemplate.update(INCREMENT_STOCK, reservation.getQuantity(), reservation.getProductId());
+                stockDeltas.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+                count++;
+            }
+        }
+        expiredItems.addAndGet(count);
+        applyAfterCommit(stockDeltas);
+        return new int[]{expired.size(), count};
+    }
+
+    /**
+     * 만료되어 재고가 돌아간 예약을 to 상태로 바꾸고 재고를 다시 확보합니다. (줄무늬 잠금을 잡은 뒤 호출)
+     *
+     * @throws StockConfirmationException 그사이 예약 상태가 바뀌었거나 재고가 부족한 경우
+     */
+    private void reacquire(Long orderId, Reservation reservation, ReservationStatus to, Timestamp now,
+                           Map<Long, Integer> stockDeltas) {
+        if (!changeStatus(reservation, ReservationStatus.EXPIRED, to, now)) {
+            throw new StockConfirmationException(orderId, "재고 예약 상태가 변경되어 결제를 확정할 수 없습니다. 주문 ID: " + orderId);
+        }
+        int quantity = reservation.getQuantity();
+        if (jdbcTemplate.update(DECREMENT_STOCK, quantity, reservation.getProductId(), quantity) == 0) {
+            rememberSoldOut(reservation.getProductId(), quantity);
+            rejectedItems.incrementAndGet();
+            throw new StockConfirmationException(orderId, "예약 시간이 지나 재고가 부족합니다. 상품 ID: " + reservation.getProductId());
+        }
+        stockDeltas.merge(reservation.getProductId(), -quantity, Integer::sum);
+    }
+
+    private boolean changeStatus(Reservation reservation, ReservationStatus from, ReservationStatus to, Timestamp now) {
+        return jdbcTemplate.update(CHANGE_STATUS, to.name(), now, reservation.getId(), from.name()) == 1;
+    }
+
+    /**
+     * 상품들의 줄무늬 잠금을 번호 순으로 잡고, 트랜잭션이 끝나면(커밋/롤백) 풉니다.
+     * DB 행 잠금도 커밋/롤백 때 풀리므로, 같은 노드의 다른 요청은 그때까지 DB 대신 여기서 기다립니다.
+     */
+    private void lockStripes(Collection<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("재고 예약은 트랜잭션 안에서 처리해야 합니다.");
+        }
+        int[] indexes = productIds.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        List<ReentrantLock> acquired = new ArrayList<>(indexes.length);
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    lockTimeouts.incrementAndGet();
+                    throw new IllegalStateException("주문이 몰려 재고를 확인하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(acquired);
+            throw new IllegalStateException("재고 확인 중 요청이 중단되었습니다.");
+        } catch (RuntimeException e) {
+            unlock(acquired);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(acquired);
+            }
+        });
+    }
+
+    private static void unlock(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeIndex(Long productId) {
+        int hash = Long.hashCode(productId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    /** 커밋되면 카탈로그 캐시의 재고 수량을 바꾸고(다른 노드에도 알림), 재고가 돌아온 상품의 재고 부족 기록을 지웁니다. */
+    private void applyAfterCommit(Map<Long, Integer> stockDeltas) {
+        if (stockDeltas.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockDeltas.forEach((productId, delta) -> {
+                    if (delta > 0) {
+                        soldOutHints.remove(productId);
+                    }
+                    productCatalogCache.adjustStock(productId, delta);
+                });
+                productCatalogRelay.stockChanged(stockDeltas.keySet());
+            }
+        });
+    }
+
+    /** 최근에 이 수량 이하로 거절되었으면 재고가 그보다 적으므로 DB에 묻지 않고 거절 */
+    private boolean isKnownSoldOut(Long productId, int quantity) {
+        SoldOutHint hint = soldOutHints.get(productId);
+        if (hint == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - hint.rejectedAt > soldOutHintMillis) {
+            soldOutHints.remove(productId, hint);
+            return false;
+        }
+        return quantity >= hint.quantity;
+    }
+
+    private void rememberSoldOut(Long productId, int quantity) {
+        if (soldOutHintMillis == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        soldOutHints.merge(productId, new SoldOutHint(now, quantity), (previous, current) ->
+                now - previous.rejectedAt <= soldOutHintMillis && previous.quantity < current.quantity
+                        ? new SoldOutHint(now, previous.quantity) : current);
+    }
+
+    /** 재고 부족 거절 기록 (이 시각에 이 수량을 확보하지 못함) */
+    private static final class SoldOutHint {
+        private final long rejectedAt;
+        private final int quantity;
+
+        private SoldOutHint(long rejectedAt, int quantity) {
+            this.rejectedAt = rejectedAt;
+            this.quantity = quantity;
+        }
+    }
+
+    /** stock_reservation 행 */
+    private static final class Reservation {
+        private final Long id;
+        private final Long productId;
+        private final int quantity;
+        private final ReservationStatus status;
+
+        private Reservation(Long id, Long productId, int quantity, ReservationStatus status) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.status = status;
+        }
+
+        private Long getId() {
+            return id;
+        }
+
+        private Long getProductId() {
+            return productId;
+        }
+
+        private int getQuantity() {
+            return quantity;
+        }
+
+        private ReservationStatus getStatus() {
+            return status;
+        }
+    }
+}
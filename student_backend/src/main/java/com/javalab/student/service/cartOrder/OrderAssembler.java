@@ -0,0 +1,112 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.dto.cartOrder.PaymentRequestDto;
+import com.javalab.student.entity.cartOrder.CartItem;
+import com.javalab.student.entity.cartOrder.Order;
+import com.javalab.student.entity.cartOrder.OrderItem;
+import com.javalab.student.entity.product.Product;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 아이템으로 주문 상품을 구성합니다.
+ * - 요청의 주문 상품 정보를 장바구니 아이템 ID로 한 번 색인한 뒤, 장바구니 아이템을 한 번만 돌면서
+ *   OrderItem, 주문 총액, 상품별 주문 수량(재고 예약용)을 함께 만듭니다. (아이템 수에 비례)
+ * - 상품은 장바구니 아이템과 함께 fetch join으로 읽어 온 것을 전제로 하며, 여기서는 DB에 접근하지 않습니다.
+ */
+@Slf4j
+public final class OrderAssembler {
+
+    private OrderAssembler() {
+    }
+
+    /**
+     * 장바구니 아이템마다 OrderItem을 만들어 주문에 연결합니다.
+     * 주문 가격은 요청에 담긴 가격을 사용합니다.
+     *
+     * @param order        OrderItem이 속할 주문
+     * @param cartItems    장바구니 아이템 (상품 포함)
+     * @param requestItems 결제 요청의 주문 상품 정보
+     * @return 주문 상품, 총액, 상품별 수량
+     * @throws IllegalArgumentException 장바구니 아이템에 해당하는 요청 정보가 없을 경우
+     * @throws IllegalStateException    상품이나 가격이 없을 경우
+     */
+    public static Assembly assemble(Order order, List<CartItem> cartItems,
+                                    List<PaymentRequestDto.CartOrderItemDto> requestItems) {
+        Map<Long, PaymentRequestDto.CartOrderItemDto> requestByCartItemId = new HashMap<>(capacity(requestItems.size()));
+        for (PaymentRequestDto.CartOrderItemDto requestItem : requestItems) {
+            // 같은 장바구니 아이템이 여러 번 오면 기존 동작(첫 번째 항목 사용)과 같게 먼저 온 것을 유지
+            requestByCartItemId.putIfAbsent(requestItem.getCartItemId(), requestItem);
+        }
+
+        List<OrderItem> orderItems = new ArrayList<>(cartItems.size());
+        Map<Long, Integer> quantities = new LinkedHashMap<>(capacity(cartItems.size()));
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            PaymentRequestDto.CartOrderItemDto requestItem = requestByCartItemId.get(cartItem.getId());
+            if (requestItem == null) {
+                throw new IllegalArgumentException("CartItemDto not found for cartItemId: " + cartItem.getId());
+            }
+            Product product = cartItem.getProduct();
+            if (product == null) {
+                log.error("Product is null for cartItem: {}", cartItem);
+                throw new IllegalStateException("Product cannot be null for cart item id: " + cartItem.getId());
+            }
+            BigDecimal productPrice = requestItem.getPrice();
+            if (productPrice == null) {
+                log.error("Product price is null for product: {}", product);
+                throw new IllegalStateException("Product price cannot be null for product id: " + product.getId());
+            }
+
+            int quantity = cartItem.getQuantity();
+            orderItems.add(OrderItem.builder()
+                    .order(order)
+                    .product(product)
+                    .orderPrice(productPrice)
+                    .count(quantity)
+                    .build());
+            totalAmount = totalAmount.add(productPrice.multiply(BigDecimal.valueOf(quantity)));
+            quantities.merge(product.getId(), quantity, Integer::sum);
+        }
+        return new Assembly(orderItems, totalAmount, quantities);
+    }
+
+    private static int capacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
+    /** 주문 상품 구성 결과 */
+    public static final class Assembly {
+        private final List<OrderItem> orderItems;
+        private final BigDecimal totalAmount;
+        private final Map<Long, Integer> quantities;
+
+        private Assembly(List<OrderItem> orderItems, BigDecimal totalAmount, Map<Long, Integer> quantities) {
+            this.orderItems = orderItems;
+            this.totalAmount = totalAmount;
+            this.quantities = Collections.unmodifiableMap(quantities);
+        }
+
+        /** 주문 상품 (장바구니 아이템 순서) */
+        public List<OrderItem> getOrderItems() {
+            return orderItems;
+        }
+
+        /** 주문 총액 (요청 가격 × 수량의 합) */
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+
+        /** 상품 ID → 주문 수량 (같은 상품이 여러 아이템에 있으면 합산) */
+        public Map<Long, Integer> getQuantities() {
+            return quantities;
+        }
+    }
+}
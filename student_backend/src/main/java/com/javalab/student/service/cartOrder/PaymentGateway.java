@@ -0,0 +1,61 @@
+package com.javalab.student.service.cartOrder;
+
+import java.math.BigDecimal;
+
+/**
+ * 결제 대행사 결제 조회/취소
+ * - 운영에서는 포트원 API를 호출하는 PortOnePaymentGateway를,
+ *   로컬 개발/테스트에서는 portone.stub.enabled=true로 외부 호출 없는 StubPaymentGateway를 사용합니다.
+ */
+public interface PaymentGateway {
+
+    /**
+     * 결제 정보를 조회합니다. (외부 호출이므로 DB 트랜잭션 밖에서 호출)
+     *
+     * @param impUid 포트원 결제 고유번호
+     * @return 결제 정보 (없으면 null)
+     * @throws IllegalArgumentException 결제 대행사가 요청을 거절한 경우 (존재하지 않는 결제 등)
+     * @throws com.javalab.student.exception.PaymentGatewayException 통신 실패 또는 결제 대행사 서버 오류
+     */
+    PaidPayment findPayment(String impUid);
+
+    /**
+     * 결제를 취소(환불)합니다. (외부 호출이므로 DB 트랜잭션 밖에서 호출)
+     *
+     * @param impUid 포트원 결제 고유번호
+     * @param amount 취소할 금액
+     * @param reason 취소 사유
+     * @return 취소 후 결제 정보 (취소되지 않았으면 null)
+     * @throws IllegalArgumentException 결제 대행사가 요청을 거절한 경우 (존재하지 않거나 이미 취소된 결제 등)
+     * @throws com.javalab.student.exception.PaymentGatewayException 통신 실패 또는 결제 대행사 서버 오류
+     */
+    PaidPayment cancelPayment(String impUid, BigDecimal amount, String reason);
+
+    /** 결제 대행사에서 조회한 결제 정보 */
+    final class PaidPayment {
+        private final String impUid;
+        private final BigDecimal amount;
+        private final String status;
+
+        public PaidPayment(String impUid, BigDecimal amount, String status) {
+            this.impUid = impUid;
+            this.amount = amount;
+            this.status = status;
+        }
+
+        /** 포트원 결제 고유번호 */
+        public String getImpUid() {
+            return impUid;
+        }
+
+        /** 결제 금액 */
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        /** 결제 상태 (paid, ready, cancelled 등) */
+        public String getStatus() {
+            return status;
+        }
+    }
+}
@@ -2,21 +2,22 @@ package com.javalab.student.service.cartOrder;
 
 import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.constant.PayStatus;
-import com.javalab.student.dto.cartOrder.OrderDto;
 import com.javalab.student.dto.cartOrder.PaymentRequestDto;
 import com.javalab.student.dto.cartOrder.AdminOrderDto;
+import com.javalab.student.dto.CursorPageResponseDTO;
+import com.javalab.student.dto.PageCursor;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.subscription.Subscription;
 import com.javalab.student.entity.subscription.SubscriptionNextItem;
 import com.javalab.student.entity.cartOrder.*;
-import com.javalab.student.entity.product.Product;
 import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.SubscriptionNextItemRepository;
 import com.javalab.student.repository.SubscriptionRepository;
 import com.javalab.student.repository.cartOrder.*;
-import com.siot.IamportRestClient.IamportClient;
-import com.siot.IamportRestClient.exception.IamportResponseException;
-import com.siot.IamportRestClient.response.IamportResponse;
+import com.javalab.student.exception.InvalidCursorException;
+import com.javalab.student.exception.PaymentGatewayException;
+import com.javalab.student.exception.StockConfirmationException;
+import com.javalab.student.service.RowCountEstimator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,8 +27,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -38,7 +39,7 @@ import java.util.*;
 /**
  * 결제 서비스 (포트원 SDK 적용)
  *
- * 포트원(Iamport) SDK를 사용하여 결제 처리 및 검증을 수행하는 서비스입니다.
+ * 포트원 결제 조회(PaymentVerifier)로 결제를 검증하고 주문에 반영하는 서비스입니다.
  * 주문 생성, 결제 검증, 결제 정보 저장, 장바구니 비우기, 구독 처리 등의 기능을 제공합니다.
  */
 @Service
@@ -46,7 +47,6 @@ import java.util.*;
 @Slf4j
 public class PaymentService {
 
-    private final IamportClient iamportClient;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final CartItemRepository cartItemRepository;
@@ -54,27 +54,111 @@ public class PaymentService {
     private final MemberRepository memberRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionNextItemRepository subscriptionNextItemRepository;
+    private final RowCountEstimator rowCountEstimator;
+    private final CartStore cartStore;
+    private final InventoryService inventoryService;
+    private final PaymentVerifier paymentVerifier;
+    private final TransactionTemplate transactionTemplate;
 
 
     /**
      * 결제를 처리하고 검증합니다.
+     * - 포트원 결제 조회는 DB 트랜잭션 밖에서 PaymentVerifier의 전용 스레드 풀로 제한 시간 안에 처리하고,
+     *   검증이 끝난 뒤 주문/결제 반영만 짧은 트랜잭션으로 커밋합니다. (외부 호출 동안 DB 커넥션을 붙잡지 않음)
+     * - 포트원 조회 중에 재고 예약이 만료되었으면 주문 반영 트랜잭션에서 예약을 확정할 때 재고를 다시 확보합니다.
+     * - 결제가 확인된 뒤 재고 확보나 주문 반영에 실패하면 고객은 이미 결제한 상태이므로,
+     *   포트원 결제를 취소하고 별도 트랜잭션에서 취소(CANCEL) 또는 환불 필요(REFUND_REQUIRED) 결제 행을 남긴 뒤 예외를 던집니다.
+     * - open-in-view 상태에서는 요청 중 처음 DB에 접근할 때 잡은 커넥션을 요청이 끝날 때까지 들고 있으므로,
+     *   포트원 조회가 끝날 때까지 DB에 접근하지 않습니다. (호출하는 쪽도 이 메서드보다 먼저 DB에 접근하지 않아야 함)
      *
      * @param requestDto   결제 요청 정보 (PaymentRequestDto)
      * @param email        사용자 이메일
      * @param purchaseType 구매 유형 ('oneTime' 또는 'subscription')
      * @return 처리된 결제 정보 (Map<String, Object>)
      * @throws EntityNotFoundException 해당 이메일로 멤버를 찾을 수 없거나, 장바구니를 찾을 수 없을 경우 예외 발생
+     * @throws IllegalArgumentException 결제 정보가 없거나 결제 금액이 다를 경우
+     * @throws PaymentGatewayException 포트원 장애, 응답 지연으로 결제를 확인하지 못한 경우
+     * @throws StockConfirmationException 취소된 주문이거나, 만료된 재고 예약을 다시 확보하지 못한 경우
      */
-    @Transactional
     public Map<String, Object> processPayment(PaymentRequestDto requestDto, String email, String purchaseType) {
         log.info("🔹 결제 검증 시작: {}", requestDto);
 
+        // 1. 포트원 API를 사용하여 결제 정보 조회 및 검증 (트랜잭션 밖, 제한 시간/회로 차단 적용)
+        paymentVerifier.verify(requestDto.getImpUid(), requestDto.getPaidAmount());
+
+        // 2. 검증된 결제를 짧은 트랜잭션에서 주문에 반영 (재고 확보나 반영에 실패하면 결제 취소)
+        try {
+            return transactionTemplate.execute(status -> completePayment(requestDto, email));
+        } catch (RuntimeException e) {
+            compensate(requestDto, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 확인된 결제를 주문에 반영하지 못했을 때 포트원 결제를 취소하고, 결과를 결제 행으로 남깁니다.
+     * 같은 imp_uid의 결제 행이 이미 있으면(이미 반영된 결제의 중복 요청) 취소하지 않습니다.
+     * 보상 중 오류는 기록만 하고, 호출한 쪽은 원래 예외를 던집니다.
+     */
+    private void compensate(PaymentRequestDto requestDto, RuntimeException cause) {
+        String impUid = requestDto.getImpUid();
+        try {
+            if (paymentRepository.findByImpUid(impUid).isPresent()) {
+                log.warn("이미 반영된 결제의 중복 요청이라 취소하지 않습니다. imp_uid: {}", impUid);
+                return;
+            }
+            boolean cancelled = paymentVerifier.cancel(impUid, requestDto.getPaidAmount(),
+                    "주문 처리 실패: " + cause.getMessage());
+            transactionTemplate.executeWithoutResult(status -> recordFailedPayment(requestDto, cancelled));
+        } catch (RuntimeException e) {
+            log.error("결제 보상 처리 실패. 수동 확인 필요. imp_uid: {}, 주문 ID: {}", impUid, requestDto.getMerchantUid(), e);
+        }
+    }
+
+    /**
+     * 주문에 반영하지 못한 결제를 취소(CANCEL) 또는 환불 필요(REFUND_REQUIRED) 상태로 저장합니다. (트랜잭션 안에서 호출)
+     * 주문이 없거나 주문에 이미 결제 행이 있으면 저장할 수 없으므로 로그만 남깁니다.
+     */
+    private void recordFailedPayment(PaymentRequestDto requestDto, boolean cancelled) {
+        Order order = orderRepository.findById(Long.valueOf(requestDto.getMerchantUid())).orElse(null);
+        if (order == null || paymentRepository.findByOrderId(order.getId()).isPresent()) {
+            log.error("결제 행을 남길 수 없습니다. imp_uid: {}, 주문 ID: {}, 포트원 취소: {}",
+                    requestDto.getImpUid(), requestDto.getMerchantUid(), cancelled ? "완료" : "실패(수동 환불 필요)");
+            return;
+        }
+        com.javalab.student.entity.cartOrder.Payment payment = com.javalab.student.entity.cartOrder.Payment.builder()
+                .order(order)
+                .impUid(requestDto.getImpUid())
+                .itemNm(requestDto.getName())
+                .orderStatus(order.getOrderStatus())
+                .amount(requestDto.getPaidAmount())
+                .paymentMethod(requestDto.getSelectedPaymentMethod())
+                .buyerEmail(requestDto.getBuyerEmail())
+                .buyerName(requestDto.getBuyerName())
+                .buyerTel(requestDto.getBuyerTel())
+                .buyerAddr(requestDto.getBuyerAddr())
+                .buyerPostcode(requestDto.getBuyerPostcode())
+                .paidAt(requestDto.getPaidAt())
+                .payStatus(cancelled ? PayStatus.CANCEL : PayStatus.REFUND_REQUIRED)
+                .build();
+        paymentRepository.save(payment);
+        if (!cancelled) {
+            log.error("결제 취소 실패로 환불 필요 결제를 기록했습니다. imp_uid: {}, 주문 ID: {}", requestDto.getImpUid(), order.getId());
+        }
+    }
+
+    /**
+     * 검증된 결제를 주문에 반영합니다. (트랜잭션 안에서 호출)
+     *
+     * @throws EntityNotFoundException 주문, 멤버, 장바구니를 찾을 수 없을 경우
+     */
+    private Map<String, Object> completePayment(PaymentRequestDto requestDto, String email) {
         // 1. 주문 정보 조회 (merchantUid는 주문 ID)
         Order order = orderRepository.findById(Long.valueOf(requestDto.getMerchantUid()))
                 .orElseThrow(() -> new EntityNotFoundException("주문 ID [" + requestDto.getMerchantUid() + "]에 해당하는 주문을 찾을 수 없습니다."));
 
-        // 2. 포트원 API를 사용하여 결제 정보 조회 및 검증
-        verifyPayment(requestDto, order);
+        // 2. 주문 생성 시 잡아 둔 재고 예약 확정 (예약 시간이 지났으면 다시 확보)
+        inventoryService.confirm(order.getId());
 
         // 3. Payment 엔티티 생성 및 저장
         com.javalab.student.entity.cartOrder.Payment payment = createAndSavePayment(requestDto, order);
@@ -111,6 +195,9 @@ public class PaymentService {
      */
     @Transactional
     public Order createOrder(PaymentRequestDto requestDto, String email, String purchaseType) {
+        // 0. Redis 장바구니의 변경 사항(write-behind 대기 중인 수량 변경/삭제)을 먼저 DB에 반영
+        cartStore.flush(email);
+
         // 1. 사용자 정보 조회
         Member member = memberRepository.findByEmail(email);
         if (member == null) {
@@ -121,106 +208,28 @@ public class PaymentService {
         Cart cart = cartRepository.findByMemberId(member.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Cart not found for member id: " + member.getId()));
 
-        // 3. 장바구니 아이템 조회
-        List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
-        BigDecimal totalOrderAmount = BigDecimal.ZERO;
-
-        // 4. 주문 DTO 생성 및 총 주문 금액 계산
-        List<OrderDto.OrderItemDto> orderItemDtoList = new ArrayList<>();
-        for (CartItem cartItem : cartItems) {
-            PaymentRequestDto.CartOrderItemDto cartOrderItemDto = requestDto.getCartOrderItems().stream()
-                    .filter(itemDto -> itemDto.getCartItemId().equals(cartItem.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("CartItemDto not found for cartItemId: " + cartItem.getId()));
-            OrderDto.OrderItemDto orderItemDto = OrderDto.OrderItemDto.builder()
-                    .productId(cartItem.getProduct().getId())
-                    .productName(cartItem.getProduct().getName())
-                    .count(cartItem.getQuantity())
-                    .orderPrice(cartItem.getProduct().getPrice())
-                    .build();
-            orderItemDtoList.add(orderItemDto);
+        // 3. 장바구니 아이템과 상품을 한 번에 조회 (아이템마다 상품을 지연 로딩하지 않음)
+        List<CartItem> cartItems = cartItemRepository.findByCartIdWithProduct(cart.getId());
 
-            // 1. **productPrice를 가져오기 전에 product가 null인지 확인합니다.**
-            Product product = cartItem.getProduct();
-            if (product == null) {
-                log.error("Product is null for cartItem: {}", cartItem);
-                throw new IllegalStateException("Product cannot be null for cart item id: " + cartItem.getId());
-            }
-
-            // 2. **product가 null이 아닌 경우에만 price를 가져옵니다.**
-            BigDecimal productPrice = cartOrderItemDto.getPrice();
-            if (productPrice == null) {
-                log.error("Product price is null for product: {}", product);
-                throw new IllegalStateException("Product price cannot be null for product id: " + product.getId());
-            }
-            totalOrderAmount = totalOrderAmount.add(productPrice.multiply(BigDecimal.valueOf(cartItem.getQuantity())));
-        }
-
-        // 5. 주문 객체 생성
+        // 4. 주문 객체 생성
         Order order = Order.builder()
                 .member(member)
                 .orderDate(LocalDateTime.now())
                 .orderStatus(OrderStatus.ORDERED)
-                .amount(totalOrderAmount)
+                .amount(BigDecimal.ZERO)
                 .paymentMethod(requestDto.getPayMethod())
                 .build();
 
-        // 6. OrderItem 생성 및 Order에 추가
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (CartItem cartItem : cartItems) {
-            PaymentRequestDto.CartOrderItemDto cartOrderItemDto = requestDto.getCartOrderItems().stream()
-                    .filter(itemDto -> itemDto.getCartItemId().equals(cartItem.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("CartItemDto not found for cartItemId: " + cartItem.getId()));
-            // 1. **product를 가져오기 전에 product가 null인지 확인합니다.**
-            Product product = cartItem.getProduct();
-            if (product == null) {
-                log.error("Product is null for cartItem: {}", cartItem);
-                throw new IllegalStateException("Product cannot be null for cart item id: " + cartItem.getId());
-            }
-            // 2. **product가 null이 아닌 경우에만 price를 가져옵니다.**
-            BigDecimal productPrice = cartOrderItemDto.getPrice();
-            if (productPrice == null) {
-                log.error("Product price is null for product: {}", product);
-                throw new IllegalStateException("Product price cannot be null for product id: " + product.getId());
-            }
-            OrderItem orderItem = OrderItem.builder()
-                    .order(order)
-                    .product(product)
-                    .orderPrice(productPrice)  // 이 부분이 핵심: 가격 설정
-                    .count(cartItem.getQuantity())
-                    .build();
-            orderItems.add(orderItem);
-        }
-        order.setOrderItems(orderItems);
-
-        return orderRepository.save(order);
-    }
-
-    /**
-     * 포트원 API를 사용하여 결제 정보를 조회하고 검증합니다.
-     *
-     * @param requestDto 결제 요청 정보 (PaymentRequestDto)
-     * @param order 주문 정보 (Order)
-     * @throws IllegalArgumentException 포트원 결제 검증 실패, 결제 정보 없음, 결제 금액 불일치 시 예외 발생
-     */
-    private void verifyPayment(PaymentRequestDto requestDto, Order order) {
-        IamportResponse<com.siot.IamportRestClient.response.Payment> paymentResponse;
-        try {
-            paymentResponse = iamportClient.paymentByImpUid(requestDto.getImpUid());
-        } catch (IamportResponseException | IOException e) {
-            throw new IllegalArgumentException("❌ 포트원 결제 검증 실패: " + e.getMessage());
-        }
+        // 5. OrderItem 생성과 총 주문 금액 계산 (요청 상품 정보를 장바구니 아이템 ID로 색인해 한 번에 처리)
+        OrderAssembler.Assembly assembly = OrderAssembler.assemble(order, cartItems, requestDto.getCartOrderItems());
+        order.setOrderItems(assembly.getOrderItems());
+        order.setAmount(assembly.getTotalAmount());
+        Order savedOrder = orderRepository.save(order);
 
-        com.siot.IamportRestClient.response.Payment paymentInfo = paymentResponse.getResponse();
-        if (paymentInfo == null) {
-            throw new IllegalArgumentException("❌ 결제 정보 없음: imp_uid=" + requestDto.getImpUid());
-        }
+        // 6. 재고 예약 (행 잠금을 짧게 잡도록 마지막에 처리, 재고가 부족하면 주문 전체 롤백)
+        inventoryService.reserve(savedOrder.getId(), assembly.getQuantities());
 
-        BigDecimal paidAmount = paymentInfo.getAmount();
-        if (paidAmount.compareTo(requestDto.getPaidAmount()) != 0) {
-            throw new IllegalArgumentException("❌ 결제 금액 불일치: 요청 금액=" + requestDto.getPaidAmount() + ", 실제 결제 금액=" + paidAmount);
-        }
+        return savedOrder;
     }
 
     /**
@@ -270,6 +279,9 @@ public class PaymentService {
 
         // 4. 장바구니 아이템 삭제
         cartItemRepository.deleteAll(cartItems);
+
+        // 5. 커밋 후 Redis 장바구니를 지워 다음 조회 때 DB에서 다시 채움
+        cartStore.evictAfterCommit(email);
     }
 
     /**
@@ -351,6 +363,7 @@ public class PaymentService {
 
         // 3. 주문 취소 처리 (Order 엔티티의 cancelOrder() 메소드 호출)
         order.cancelOrder(); // Order 엔티티에 구현된 cancelOrder() 메소드 호출
+        inventoryService.release(orderId); // 예약된 재고 되돌리기
 
         // 4. 변경된 주문 상태 저장
         orderRepository.save(order); // 변경된 주문 엔티티 저장
@@ -383,10 +396,82 @@ public class PaymentService {
             ordersPage = orderRepository.findAll(pageable);
         }
 
+        List<AdminOrderDto> dtoList = toAdminOrderDtos(ordersPage.getContent());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", dtoList); // DTO 리스트 추가
+        response.put("totalElements", ordersPage.getTotalElements()); // 총 요소 수 추가
+        response.put("totalPages", ordersPage.getTotalPages()); // 총 페이지 수 추가
+        response.put("number", ordersPage.getNumber()); // 현재 페이지 번호 추가
+
+        return response; // 결과 반환
+    }
+
+    /**
+     * 관리자용 주문 목록 조회 (커서 페이징)
+     * - 주문일시, ID 내림차순으로 커서 다음 주문을 size + 1개만 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 비용입니다.
+     * - 검색 조건의 우선순위는 getAdminOrders와 같습니다. (회원 이름 > 기간)
+     * - approximateCount면 전체 주문 수 추정치를 함께 반환합니다. (조건 없으면 테이블 통계, 있으면 COUNT 결과를 잠시 재사용)
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     * @param size 페이지 크기 (주문 수 기준)
+     * @return 주문 상품별 AdminOrderDto 목록과 다음 페이지 커서
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<AdminOrderDto> getAdminOrdersByCursor(String cursor, int size, String memberName,
+                                                                      LocalDate startDate, LocalDate endDate,
+                                                                      boolean approximateCount) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null && after.getSortedAt() == null) {
+            throw new InvalidCursorException();
+        }
+        int pageSize = Math.max(1, Math.min(size, 100));
+
+        String nameFilter = (memberName != null && !memberName.trim().isEmpty()) ? memberName : null;
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        if (nameFilter == null && startDate != null && endDate != null) {
+            from = startDate.atStartOfDay();
+            to = endDate.atTime(LocalTime.MAX);
+        }
+
+        List<Order> orders = orderRepository.findAdminOrdersAfter(nameFilter, from, to,
+                after == null ? null : after.getSortedAt(), after == null ? null : after.getId(),
+                PageRequest.of(0, pageSize + 1));
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> pageOrders = hasNext ? orders.subList(0, pageSize) : orders;
+        Order last = pageOrders.isEmpty() ? null : pageOrders.get(pageOrders.size() - 1);
+
+        Long approximateTotal = null;
+        if (approximateCount) {
+            if (nameFilter != null) {
+                approximateTotal = rowCountEstimator.estimate("orders:member:" + nameFilter,
+                        () -> orderRepository.countByMemberNameContaining(nameFilter));
+            } else if (from != null) {
+                LocalDateTime countFrom = from;
+                LocalDateTime countTo = to;
+                approximateTotal = rowCountEstimator.estimate("orders:date:" + startDate + "~" + endDate,
+                        () -> orderRepository.countByOrderDateBetween(countFrom, countTo));
+            } else {
+                approximateTotal = rowCountEstimator.estimateTable("orders");
+            }
+        }
+
+        return CursorPageResponseDTO.<AdminOrderDto>builder()
+                .size(pageSize)
+                .dtoList(toAdminOrderDtos(pageOrders))
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PageCursor.of(last.getOrderDate(), last.getId()).encode() : null)
+                .approximateTotal(approximateTotal)
+                .build();
+    }
+
+    /** 주문 목록을 주문 상품별 AdminOrderDto 목록으로 변환 */
+    private List<AdminOrderDto> toAdminOrderDtos(List<Order> orders) {
         List<AdminOrderDto> dtoList = new ArrayList<>();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-        for (Order order : ordersPage.getContent()) {
+        for (Order order : orders) {
             String orderDateStr = order.getOrderDate().format(formatter);
 
             String shippingAddress = "";
@@ -417,18 +502,12 @@ public class PaymentService {
                 dtoList.add(dto);
             }
         }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("content", dtoList); // DTO 리스트 추가
-        response.put("totalElements", ordersPage.getTotalElements()); // 총 요소 수 추가
-        response.put("totalPages", ordersPage.getTotalPages()); // 총 페이지 수 추가
-        response.put("number", ordersPage.getNumber()); // 현재 페이지 번호 추가
-
-        return response; // 결과 반환
+        return dtoList;
     }
 
     /**
      * 주문 상태를 변경합니다.
+     * 취소(CANCELED)로 바꾸면 cancelOrderAdmin과 같이 주문의 재고 예약을 해제해 재고를 되돌립니다.
      *
      * @param orderId   상태를 변경할 주문의 ID
      * @param newStatus 새로운 주문 상태
@@ -443,6 +522,9 @@ public class PaymentService {
 
         // 2. 주문 상태 변경 (Order 엔티티의 메서드 호출)
         order.changeOrderStatus(newStatus);
+        if (newStatus == OrderStatus.CANCELED) {
+            inventoryService.release(orderId); // 예약된 재고 되돌리기
+        }
 
         // 3. 변경 사항 저장
         orderRepository.save(order);
@@ -0,0 +1,268 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.exception.PaymentGatewayException;
+import com.javalab.student.util.BoundedExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제 대행사 결제 검증
+ * - 결제 조회(외부 HTTP 호출)를 전용 스레드 풀에서 실행하고, 요청 스레드는 제한 시간까지만 기다립니다.
+ *   DB 트랜잭션 밖에서 호출하므로 결제 대행사가 느려져도 DB 커넥션을 붙잡지 않습니다.
+ * - 스레드 풀과 대기 큐 크기로 동시 조회 수를 제한하며, 큐가 가득 차면 기다리지 않고 바로 실패합니다.
+ *   (요청 스레드에서 대신 실행하면 동시 호출 수 제한이 없어지므로 CallerRunsPolicy를 쓰지 않음)
+ * - 통신 오류/지연이 연속으로 failure-threshold번 나면 회로를 열어 open-ms 동안 조회 없이 바로 실패하고,
+ *   그 뒤 한 건만 시험 삼아 보내 성공하면 다시 닫습니다.
+ * - 결제 정보 없음, 결제 완료(paid)가 아닌 상태, 금액 불일치는 결제 대행사가 정상 응답한 것이므로 회로 차단 실패로 세지 않습니다.
+ * - 검증 후 주문 반영에 실패하면 cancel로 결제를 취소합니다. (회로가 열려 있어도 시도)
+ */
+@Service
+@Slf4j
+public class PaymentVerifier {
+
+    private final PaymentGateway paymentGateway;
+    private final ThreadPoolExecutor workers;
+    private final long timeoutMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejectedPayments = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong queueFull = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong cancelFailures = new AtomicLong();
+
+    public PaymentVerifier(PaymentGateway paymentGateway,
+                           @Value("${portone.verify.threads:8}") int threads,
+                           @Value("${portone.verify.queue-size:16}") int queueSize,
+                           @Value("${portone.verify.timeout-ms:5000}") long timeoutMillis,
+                           @Value("${portone.verify.breaker.failure-threshold:5}") int failureThreshold,
+                           @Value("${portone.verify.breaker.open-ms:30000}") long openMillis) {
+        this.paymentGateway = paymentGateway;
+        this.timeoutMillis = Math.max(1, timeoutMillis);
+        this.circuitBreaker = new CircuitBreaker(Math.max(1, failureThreshold), Math.max(0, openMillis));
+        this.workers = BoundedExecutors.fixedPool("payment-verify", threads, queueSize,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 결제 대행사에서 결제를 조회해 결제 완료 상태와 결제 금액을 확인합니다.
+     *
+     * @param impUid         포트원 결제 고유번호
+     * @param expectedAmount 요청한 결제 금액
+     * @return 조회한 결제 정보
+     * @throws IllegalArgumentException 결제 정보가 없거나, 결제 완료 상태가 아니거나, 금액이 다르거나,
+     *                                  결제 대행사가 요청을 거절한 경우
+     * @throws PaymentGatewayException  결제 대행사 장애, 응답 지연, 요청 폭주로 확인하지 못한 경우
+     */
+    public PaymentGateway.PaidPayment verify(String impUid, BigDecimal expectedAmount) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            throw new PaymentGatewayException("결제 확인이 일시적으로 지연되고 있습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Future<PaymentGateway.PaidPayment> future;
+        try {
+            future = workers.submit(() -> paymentGateway.findPayment(impUid));
+        } catch (RejectedExecutionException e) {
+            queueFull.incrementAndGet();
+            circuitBreaker.onFailure();
+            throw new PaymentGatewayException("결제 확인 요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        PaymentGateway.PaidPayment payment;
+        try {
+            payment = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.incrementAndGet();
+            circuitBreaker.onFailure();
+            log.warn("결제 조회 시간 초과. imp_uid: {}, 제한 시간: {}ms", impUid, timeoutMillis);
+            throw new PaymentGatewayException("결제 확인 응답이 늦어 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            circuitBreaker.onCancelled();
+            throw new PaymentGatewayException("결제 확인이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException rejected) {
+                circuitBreaker.onSuccess();
+                rejectedPayments.incrementAndGet();
+                throw rejected;
+            }
+            failures.incrementAndGet();
+            circuitBreaker.onFailure();
+            log.warn("결제 조회 실패. imp_uid: {}, error: {}", impUid, cause.getMessage());
+            if (cause instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw new PaymentGatewayException("결제 확인 중 오류가 발생했습니다: " + cause.getMessage());
+        }
+        circuitBreaker.onSuccess();
+
+        if (payment == null) {
+            rejectedPayments.incrementAndGet();
+            throw new IllegalArgumentException("❌ 결제 정보 없음: imp_uid=" + impUid);
+        }
+        if (!"paid".equals(payment.getStatus())) {
+            rejectedPayments.incrementAndGet();
+            throw new IllegalArgumentException("❌ 결제 완료 상태가 아님: imp_uid=" + impUid + ", 상태=" + payment.getStatus());
+        }
+        BigDecimal paidAmount = payment.getAmount();
+        if (paidAmount == null || expectedAmount == null || paidAmount.compareTo(expectedAmount) != 0) {
+            rejectedPayments.incrementAndGet();
+            throw new IllegalArgumentException("❌ 결제 금액 불일치: 요청 금액=" + expectedAmount + ", 실제 결제 금액=" + paidAmount);
+        }
+        verified.incrementAndGet();
+        return payment;
+    }
+
+    /**
+     * 결제를 취소합니다. (결제 확인 후 주문 반영에 실패했을 때의 보상)
+     * 고객이 낸 돈을 돌려주는 호출이므로 회로가 열려 있어도 시도하며, 같은 스레드 풀에서 제한 시간까지만 기다립니다.
+     *
+     * @return 결제 대행사가 취소를 확인했으면 true (false면 수동 환불 필요)
+     */
+    public boolean cancel(String impUid, BigDecimal amount, String reason) {
+        Future<PaymentGateway.PaidPayment> future;
+        try {
+            future = workers.submit(() -> paymentGateway.cancelPayment(impUid, amount, reason));
+        } catch (RejectedExecutionException e) {
+            cancelFailures.incrementAndGet();
+            log.error("결제 취소 요청이 몰려 취소하지 못했습니다. 수동 환불 필요. imp_uid: {}", impUid);
+            return false;
+        }
+
+        try {
+            PaymentGateway.PaidPayment payment = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (payment != null && "cancelled".equals(payment.getStatus())) {
+                cancelled.incrementAndGet();
+                log.info("결제 취소 완료. imp_uid: {}, 금액: {}, 사유: {}", impUid, amount, reason);
+                return true;
+            }
+            log.error("결제 대행사가 결제를 취소하지 않았습니다. 수동 확인 필요. imp_uid: {}, 상태: {}",
+                    impUid, payment == null ? null : payment.getStatus());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.error("결제 취소 응답 시간 초과. 수동 확인 필요. imp_uid: {}, 제한 시간: {}ms", impUid, timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            log.error("결제 취소가 중단되었습니다. 수동 확인 필요. imp_uid: {}", impUid);
+        } catch (ExecutionException e) {
+            log.error("결제 취소 실패. 수동 환불 필요. imp_uid: {}, error: {}", impUid, e.getCause().getMessage());
+        }
+        cancelFailures.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 결제 검증 통계(검증/거절/시간 초과/실패/큐 초과/차단/취소 건수, 회로 상태)를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuit", circuitBreaker.getState().name());
+        stats.put("verified", verified.get());
+        stats.put("rejectedPayments", rejectedPayments.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("failures", failures.get());
+        stats.put("queueFull", queueFull.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("cancelled", cancelled.get());
+        stats.put("cancelFailures", cancelFailures.get());
+        stats.put("activeCalls", workers.getActiveCount());
+        stats.put("queuedCalls", workers.getQueue().size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /** 회로 상태 */
+    enum State {
+        CLOSED,     // 정상 (모든 조회 허용)
+        OPEN,       // 차단 (조회 없이 바로 실패)
+        HALF_OPEN   // 시험 (한 건만 허용)
+    }
+
+    /** 연속 실패 횟수 기반 회로 차단기 */
+    static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openMillis;
+
+        private State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int failureThreshold, long openMillis) {
+            this.failureThreshold = failureThreshold;
+            this.openMillis = openMillis;
+        }
+
+        /** 조회를 보내도 되는지 확인합니다. (차단 시간이 지났으면 시험 조회 한 건을 허용) */
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            if (state != State.CLOSED) {
+                log.info("결제 조회 회로를 닫습니다.");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                log.warn("결제 조회가 연속 {}번 실패하여 {}ms 동안 회로를 엽니다.", consecutiveFailures, openMillis);
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                consecutiveFailures = 0;
+                trialInFlight = false;
+            }
+        }
+
+        /** 결과 없이 끝난 조회 (시험 조회였다면 다음 요청이 다시 시험할 수 있도록 함) */
+        synchronized void onCancelled() {
+            trialInFlight = false;
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.exception.PaymentGatewayException;
+import com.siot.IamportRestClient.IamportClient;
+import com.siot.IamportRestClient.exception.IamportResponseException;
+import com.siot.IamportRestClient.request.CancelData;
+import com.siot.IamportRestClient.response.IamportResponse;
+import com.siot.IamportRestClient.response.Payment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * 포트원(Iamport) SDK로 결제 정보를 조회하고 취소합니다.
+ * - 포트원이 4xx로 거절하면 잘못된 결제 요청으로, 통신 오류나 5xx는 결제 대행사 장애로 구분합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "portone.stub.enabled", havingValue = "false", matchIfMissing = true)
+public class PortOnePaymentGateway implements PaymentGateway {
+
+    private final IamportClient iamportClient;
+
+    @Override
+    public PaidPayment findPayment(String impUid) {
+        IamportResponse<Payment> paymentResponse;
+        try {
+            paymentResponse = iamportClient.paymentByImpUid(impUid);
+        } catch (IamportResponseException e) {
+            if (e.getHttpStatusCode() >= 500) {
+                throw new PaymentGatewayException("포트원 서버 오류로 결제를 확인하지 못했습니다: " + e.getMessage());
+            }
+            throw new IllegalArgumentException("❌ 포트원 결제 검증 실패: " + e.getMessage());
+        } catch (IOException e) {
+            throw new PaymentGatewayException("포트원 통신 오류로 결제를 확인하지 못했습니다: " + e.getMessage());
+        }
+
+        Payment payment = paymentResponse == null ? null : paymentResponse.getResponse();
+        if (payment == null) {
+            return null;
+        }
+        return new PaidPayment(payment.getImpUid(), payment.getAmount(), payment.getStatus());
+    }
+
+    @Override
+    public PaidPayment cancelPayment(String impUid, BigDecimal amount, String reason) {
+        CancelData cancelData = new CancelData(impUid, true, amount);
+        cancelData.setReason(reason);
+        IamportResponse<Payment> cancelResponse;
+        try {
+            cancelResponse = iamportClient.cancelPaymentByImpUid(cancelData);
+        } catch (IamportResponseException e) {
+            if (e.getHttpStatusCode() >= 500) {
+                throw new PaymentGatewayException("포트원 서버 오류로 결제를 취소하지 못했습니다: " + e.getMessage());
+            }
+            throw new IllegalArgumentException("❌ 포트원 결제 취소 실패: " + e.getMessage());
+        } catch (IOException e) {
+            throw new PaymentGatewayException("포트원 통신 오류로 결제를 취소하지 못했습니다: " + e.getMessage());
+        }
+
+        // 이미 취소된 결제 등 포트원이 취소하지 않은 경우 response가 비어 있음
+        Payment payment = cancelResponse == null ? null : cancelResponse.getResponse();
+        if (payment == null) {
+            return null;
+        }
+        return new PaidPayment(payment.getImpUid(), payment.getAmount(), payment.getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package com.javalab.student.service.cartOrder;
+
+import com.javalab.student.exception.PaymentGatewayException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 개발/테스트용 결제 조회 (portone.stub.enabled=true)
+ * - 포트원을 호출하지 않고, register로 등록한 결제만 돌려줍니다. (상태를 지정하지 않으면 "paid")
+ *   취소하면 "cancelled" 상태로 바뀝니다.
+ * - portone.stub.delay-ms로 응답 지연을, setAvailable(false)로 결제 대행사 장애를 흉내 낼 수 있어
+ *   제한 시간과 회로 차단 동작을 외부 연동 없이 확인할 수 있습니다.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "portone.stub.enabled", havingValue = "true")
+public class StubPaymentGateway implements PaymentGateway {
+
+    /** imp_uid → 결제 정보 */
+    private final Map<String, PaidPayment> payments = new ConcurrentHashMap<>();
+
+    private volatile long delayMillis;
+    private volatile boolean available = true;
+
+    public StubPaymentGateway(@Value("${portone.stub.delay-ms:0}") long delayMillis) {
+        this.delayMillis = Math.max(0, delayMillis);
+        log.warn("포트원 결제 조회 스텁을 사용합니다. 실제 결제는 확인하지 않습니다.");
+    }
+
+    @Override
+    public PaidPayment findPayment(String impUid) {
+        simulateLatency();
+        return impUid == null ? null : payments.get(impUid);
+    }
+
+    @Override
+    public PaidPayment cancelPayment(String impUid, BigDecimal amount, String reason) {
+        simulateLatency();
+        PaidPayment payment = impUid == null ? null : payments.get(impUid);
+        if (payment == null) {
+            throw new IllegalArgumentException("❌ 결제 대행사 스텁에 없는 결제입니다: " + impUid);
+        }
+        if (!"paid".equals(payment.getStatus())) {
+            return null;
+        }
+        PaidPayment cancelled = new PaidPayment(impUid, payment.getAmount(), "cancelled");
+        payments.put(impUid, cancelled);
+        log.info("결제 대행사 스텁 결제 취소. imp_uid: {}, 사유: {}", impUid, reason);
+        return cancelled;
+    }
+
+    /** 결제 완료된 결제를 등록합니다. */
+    public void register(String impUid, BigDecimal amount) {
+        register(impUid, amount, "paid");
+    }
+
+    /** 지정한 상태(ready, cancelled 등)의 결제를 등록합니다. */
+    public void register(String impUid, BigDecimal amount, String status) {
+        payments.put(impUid, new PaidPayment(impUid, amount, status));
+    }
+
+    /** 응답 지연 시간(ms)을 바꿉니다. */
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = Math.max(0, delayMillis);
+    }
+
+    /** false면 모든 조회가 결제 대행사 장애로 실패합니다. */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    private void simulateLatency() {
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException("결제 대행사 호출이 중단되었습니다.");
+            }
+        }
+        if (!available) {
+            throw new PaymentGatewayException("결제 대행사 스텁이 장애 상태입니다.");
+        }
+    }
+
+    /** 등록한 결제를 모두 지우고 지연/장애 설정을 되돌립니다. */
+    public void reset() {
+        payments.clear();
+        delayMillis = 0;
+        available = true;
+    }
+}
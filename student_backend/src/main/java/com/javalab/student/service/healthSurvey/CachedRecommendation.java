@@ -0,0 +1,29 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추천 결과 캐시에 저장되는 계산 결과
+ * - 여러 요청이 같은 인스턴스를 공유하므로 모든 컬렉션은 수정 불가로 저장합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedRecommendation {
+
+    /** 건강 영역별 위험 수준 */
+    private final Map<String, String> riskLevels;
+
+    /** 영양 성분별 점수 (기본 성분 포함) */
+    private final Map<String, Integer> ingredientScores;
+
+    /** 추천 영양 성분 목록 (이름, 점수) */
+    private final List<Map<String, Object>> recommendedIngredients;
+
+    /** 추천 상품 목록 */
+    private final List<ProductRecommendationDTO> productRecommendations;
+}
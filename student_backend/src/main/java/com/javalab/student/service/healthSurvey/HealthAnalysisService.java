@@ -1,6 +1,7 @@
 package com.javalab.student.service.healthSurvey;
 
 import com.javalab.student.dto.healthSurvey.HealthAnalysisDTO;
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
 import com.javalab.student.entity.healthSurvey.MemberResponse;
 import com.javalab.student.entity.healthSurvey.MemberResponseOption;
 import lombok.RequiredArgsConstructor;
@@ -41,13 +42,27 @@ public class HealthAnalysisService {
                 .collect(Collectors.toList());
 
         // RiskCalculationService를 사용하여 위험도 계산
-        List<MemberResponseOption> memberResponseOptions = combinedResponses.stream()
+        List<SurveyAnswer> memberResponseOptions = combinedResponses.stream()
                 .filter(response -> response instanceof MemberResponseOption)
-                .map(response -> (MemberResponseOption) response)
+                .map(response -> SurveyAnswer.from((MemberResponseOption) response))
                 .collect(Collectors.toList());
 
         Map<String, String> riskLevels = riskCalculationService.calculateAllRisks(age, bmi, memberResponseOptions);
-        log.info("Calculated risk levels: {}", riskLevels);
+        return analyzeHealth(memberId, bmi, riskLevels, gender);
+    }
+
+    /**
+     * 이미 계산된 위험 수준으로 건강 분석 결과를 만듭니다.
+     * HealthScoreEvaluator로 위험도와 영양 성분 점수를 한 번에 계산한 경우 사용합니다.
+     *
+     * @param memberId   사용자의 ID
+     * @param bmi        사용자의 BMI
+     * @param riskLevels 각 건강 영역별 위험 수준
+     * @param gender     사용자의 성별
+     * @return HealthAnalysisDTO 객체
+     */
+    public HealthAnalysisDTO analyzeHealth(Long memberId, double bmi, Map<String, String> riskLevels, String gender) {
+        log.info("Calculated risk levels for memberId {}: {}", memberId, riskLevels);
 
         // 전반적인 건강 평가 생성
         String overallAssessment = generateOverallAssessment(bmi, riskLevels);
@@ -0,0 +1,149 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 건강 기록의 고정 폭 컬럼 인코딩
+ * - 위험 수준: RiskScoreRules.DOMAINS 순서로 영역당 1바이트 (0 없음, 1 낮음, 2 중간, 3 높음)
+ * - 추천 상품: 상품 ID를 8바이트씩 이어 붙인 배열, 같은 순서로 추천 당시 가격(원 단위 8바이트)과 이름(줄바꿈 구분)
+ * - 추천 영양 성분 점수: 쉼표로 저장된 성분 이름과 같은 순서로 2바이트씩 이어 붙인 배열
+ * JSON 직렬화 없이 저장하고, 읽을 때도 배열 인덱스만으로 복원합니다.
+ */
+public final class HealthRecordCodec {
+
+    private static final String[] LEVELS = {null, RiskScoreRules.LOW, RiskScoreRules.MEDIUM, RiskScoreRules.HIGH};
+
+    /** 추천 상품 이름 구분자 (상품 이름에 쉼표가 들어갈 수 있어 줄바꿈 사용) */
+    private static final String NAME_DELIMITER = "\n";
+
+    private HealthRecordCodec() {
+    }
+
+    /**
+     * 영역별 위험 수준을 영역당 1바이트로 인코딩합니다. 알 수 없는 영역이나 수준은 0(없음)으로 둡니다.
+     */
+    public static byte[] encodeRiskLevels(Map<String, String> riskLevels) {
+        byte[] codes = new byte[RiskScoreRules.DOMAINS.size()];
+        for (Map.Entry<String, String> entry : riskLevels.entrySet()) {
+            int index = RiskScoreRules.domainIndexOf(entry.getKey());
+            if (index >= 0) {
+                codes[index] = levelCode(entry.getValue());
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * 위험 수준 코드를 HealthAnalysisDTO.riskLevels 형식("영역:수준,영역:수준")으로 복원합니다.
+     */
+    public static String riskLevelsText(byte[] codes) {
+        StringBuilder text = new StringBuilder();
+        int length = Math.min(codes.length, RiskScoreRules.DOMAINS.size());
+        for (int i = 0; i < length; i++) {
+            int code = codes[i];
+            if (code <= 0 || code >= LEVELS.length) {
+                continue;
+            }
+            if (text.length() > 0) {
+                text.append(',');
+            }
+            text.append(RiskScoreRules.DOMAINS.get(i)).append(':').append(LEVELS[code]);
+        }
+        return text.toString();
+    }
+
+    /** 상품 ID 목록을 8바이트씩 인코딩합니다. */
+    public static byte[] encodeIds(List<Long> ids) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.size() * Long.BYTES);
+        for (Long id : ids) {
+            buffer.putLong(id);
+        }
+        return buffer.array();
+    }
+
+    /** 8바이트씩 인코딩된 상품 ID를 복원합니다. */
+    public static long[] decodeIds(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] ids = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = buffer.getLong();
+        }
+        return ids;
+    }
+
+    /** 가격을 원 단위 8바이트씩 인코딩합니다. (가격이 없으면 -1) */
+    public static byte[] encodePrices(List<BigDecimal> prices) {
+        ByteBuffer buffer = ByteBuffer.allocate(prices.size() * Long.BYTES);
+        for (BigDecimal price : prices) {
+            buffer.putLong(price == null ? -1 : price.setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+        return buffer.array();
+    }
+
+    /** 8바이트씩 인코딩된 가격을 복원합니다. (가격이 없던 자리는 null) */
+    public static BigDecimal[] decodePrices(byte[] bytes) {
+        long[] values = decodeIds(bytes);
+        BigDecimal[] prices = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            prices[i] = values[i] < 0 ? null : BigDecimal.valueOf(values[i]);
+        }
+        return prices;
+    }
+
+    /** 상품 이름을 줄바꿈으로 이어 붙입니다. (이름 안의 줄바꿈은 공백으로 바꿈) */
+    public static String encodeNames(List<String> names) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                joined.append(NAME_DELIMITER);
+            }
+            String name = names.get(i);
+            joined.append(name == null ? "" : name.replace('\n', ' ').replace('\r', ' '));
+        }
+        return joined.toString();
+    }
+
+    /** 줄바꿈으로 이어 붙인 상품 이름을 복원합니다. (비어 있던 자리는 null) */
+    public static String[] decodeNames(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(joined.split(NAME_DELIMITER, -1))
+                .map(name -> name.isEmpty() ? null : name)
+                .toArray(String[]::new);
+    }
+
+    /** 영양 성분 점수를 2바이트씩 인코딩합니다. (short 범위를 넘는 값은 범위 안으로 자름) */
+    public static byte[] encodeScores(List<Integer> scores) {
+        ByteBuffer buffer = ByteBuffer.allocate(scores.size() * Short.BYTES);
+        for (Integer score : scores) {
+            int value = score == null ? 0 : score;
+            buffer.putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value)));
+        }
+        return buffer.array();
+    }
+
+    /** 2바이트씩 인코딩된 영양 성분 점수를 복원합니다. */
+    public static int[] decodeScores(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] scores = new int[bytes.length / Short.BYTES];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = buffer.getShort();
+        }
+        return scores;
+    }
+
+    private static byte levelCode(String level) {
+        for (int code = 1; code < LEVELS.length; code++) {
+            if (LEVELS[code].equals(level)) {
+                return (byte) code;
+            }
+        }
+        return 0;
+    }
+}
@@ -3,18 +3,26 @@ package com.javalab.student.service.healthSurvey;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.javalab.student.dto.healthSurvey.HealthAnalysisDTO;
 import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
+import com.javalab.student.dto.healthSurvey.RecommendationDTO;
+import com.javalab.student.dto.healthSurvey.RecommendedIngredientDTO;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.healthSurvey.HealthRecord;
 import com.javalab.student.repository.healthSurvey.HealthRecordRepository;
+import com.javalab.student.service.healthSurvey.ProductIngredientIndex.IndexedProduct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * 건강 기록 저장 및 조회 서비스
@@ -27,38 +35,58 @@ public class HealthRecordService {
 
     private final HealthRecordRepository healthRecordRepository;
     private final ObjectMapper objectMapper;
+    private final ProductIngredientIndex productIngredientIndex;
+
+    /** 추천 영양 성분 이름 구분자 */
+    private static final String INGREDIENT_DELIMITER = ", ";
+    /** 추천 당시 이름이 저장되지 않았고 지금은 삭제된 상품의 표시 이름 */
+    private static final String DISCONTINUED_NAME = "판매 종료된 상품";
+    private static final String DISCONTINUED_DESCRIPTION = "판매가 종료된 상품입니다.";
 
     /**
      * 건강 분석 결과를 저장합니다.
+     * 위험 수준, 추천 상품, 추천 영양 성분 점수는 JSON이 아닌 HealthRecordCodec의 고정 폭 바이트 배열로 저장합니다.
+     * 추천 상품은 ID와 함께 추천 당시의 이름과 가격도 저장하여, 나중에 상품이 바뀌거나 삭제되어도 기록 그대로 보여줍니다.
      *
-     * @param member               회원 엔티티
-     * @param recommendedIngredients 추천된 영양 성분 리스트
-     * @param recommendedProducts  추천된 제품 리스트
-     * @param name                 사용자 이름
-     * @param gender               사용자 성별
-     * @param age                  사용자 나이
+     * @param member                 회원 엔티티
+     * @param healthAnalysis         건강 분석 결과 (이름, 성별, 나이, BMI, 종합 평가)
+     * @param riskLevels             영역별 위험 수준
+     * @param recommendedIngredients 추천된 영양 성분 리스트 (이름, 점수)
+     * @param recommendedProducts    추천된 제품 리스트
      */
     @Transactional
     public void saveHealthRecord(Member member, HealthAnalysisDTO healthAnalysis,
-                                 List<String> recommendedIngredients,
-                                 List<ProductRecommendationDTO> recommendedProducts,
-                                 String name, String gender, int age) {
+                                 Map<String, String> riskLevels,
+                                 List<Map<String, Object>> recommendedIngredients,
+                                 List<ProductRecommendationDTO> recommendedProducts) {
         try {
+            List<String> ingredientNames = new ArrayList<>(recommendedIngredients.size());
+            List<Integer> ingredientScores = new ArrayList<>(recommendedIngredients.size());
+            for (Map<String, Object> ingredient : recommendedIngredients) {
+                ingredientNames.add((String) ingredient.get("name"));
+                ingredientScores.add((Integer) ingredient.get("score"));
+            }
+            List<Long> productIds = recommendedProducts.stream().map(ProductRecommendationDTO::getId).toList();
+            List<BigDecimal> productPrices = recommendedProducts.stream().map(ProductRecommendationDTO::getPrice).toList();
+            List<String> productNames = recommendedProducts.stream().map(ProductRecommendationDTO::getName).toList();
+
             HealthRecord healthRecord = HealthRecord.builder()
                     .member(member)
                     .recordDate(LocalDateTime.now())
-                    .name(name)
-                    .gender(gender)
-                    .age(age)
+                    .name(healthAnalysis.getName())
+                    .gender(healthAnalysis.getGender())
+                    .age(healthAnalysis.getAge())
                     .bmi(healthAnalysis.getBmi())
-                    .riskLevels(objectMapper.writeValueAsString(healthAnalysis.getRiskLevels()))
+                    .riskCodes(HealthRecordCodec.encodeRiskLevels(riskLevels))
                     .overallAssessment(healthAnalysis.getOverallAssessment())
-                    .recommendedIngredients(String.join(", ", recommendedIngredients))
-                    .recommendedProducts(objectMapper.writeValueAsString(recommendedProducts))
+                    .recommendedIngredients(String.join(INGREDIENT_DELIMITER, ingredientNames))
+                    .ingredientScores(HealthRecordCodec.encodeScores(ingredientScores))
+                    .productIds(HealthRecordCodec.encodeIds(productIds))
+                    .productPrices(HealthRecordCodec.encodePrices(productPrices))
+                    .productNames(HealthRecordCodec.encodeNames(productNames))
                     .createdAt(LocalDateTime.now())
                     .build();
 
-            log.debug("HealthRecord 객체 생성: {}", healthRecord);
             healthRecordRepository.save(healthRecord);
             log.info("HealthRecord 저장 완료. ID: {}", healthRecord.getId());
         } catch (Exception e) {
@@ -68,40 +96,159 @@ public class HealthRecordService {
     }
 
     /**
-     * 추천된 제품 리스트를 JSON 문자열로 변환합니다.
+     * 현재 로그인한 사용자의 건강 기록 히스토리를 조회합니다.
      *
-     * @param products 추천된 제품 리스트
-     * @return JSON 문자열로 변환된 추천 제품 리스트
+     * @param memberId 회원 ID
+     * @return 현재 로그인한 사용자의 건강 기록 리스트
      */
-    private String convertToJson(List<ProductRecommendationDTO> products) {
-        try {
-            return objectMapper.writeValueAsString(products); // ObjectMapper를 사용해 JSON 변환
-        } catch (Exception e) {
-            log.error("추천 제품을 JSON으로 변환 중 오류 발생", e);
-            return "[]"; // 오류 발생 시 빈 배열 반환
-        }
+    @Transactional(readOnly = true)
+    public List<HealthRecord> getHealthHistory(Long memberId) {
+        return healthRecordRepository.findByMemberIdOrderByRecordDateDesc(memberId);
     }
 
     /**
-     * 문자열 내 특수 문자를 이스케이프 처리합니다.
+     * 건강 기록 히스토리를 화면에 표시할 RecommendationDTO 목록으로 조회합니다.
+     * - 고정 폭 컬럼으로 저장된 기록은 JSON 파싱 없이 복원합니다.
+     *   추천 상품 이름과 가격은 추천 당시 저장한 값을 쓰고, 설명과 성분은 ProductIngredientIndex에서 채웁니다.
+     *   삭제된 상품도 목록에서 빼지 않고 판매 종료로 표시합니다.
+     * - 이전 형식(JSON TEXT)으로 저장된 기록만 공유 ObjectMapper로 파싱합니다.
      *
-     * @param input 입력 문자열
-     * @return 이스케이프 처리된 문자열
+     * @param memberId 회원 ID
+     * @return 최근 기록부터 정렬된 RecommendationDTO 목록
      */
-    private String escapeJsonString(String input) {
-        if (input == null) {
-            return "";
+    @Transactional(readOnly = true)
+    public List<RecommendationDTO> getHealthHistoryDTOs(Long memberId) {
+        List<HealthRecord> healthRecords = getHealthHistory(memberId);
+        List<RecommendationDTO> result = new ArrayList<>(healthRecords.size());
+        for (HealthRecord healthRecord : healthRecords) {
+            result.add(toRecommendationDTO(memberId, healthRecord));
         }
-        return input.replace("\"", "\\\"").replace("\n", "\\n").replace("\r", "\\r");
+        return result;
+    }
+
+    private RecommendationDTO toRecommendationDTO(Long memberId, HealthRecord healthRecord) {
+        RecommendationDTO dto = new RecommendationDTO();
+        dto.setId(healthRecord.getId());
+        dto.setMemberId(memberId);
+        dto.setCreatedAt(healthRecord.getRecordDate());
+
+        HealthAnalysisDTO healthAnalysisDTO = new HealthAnalysisDTO();
+        healthAnalysisDTO.setName(healthRecord.getName());
+        healthAnalysisDTO.setGender(healthRecord.getGender());
+        healthAnalysisDTO.setAge(healthRecord.getAge());
+        healthAnalysisDTO.setBmi(healthRecord.getBmi());
+        healthAnalysisDTO.setOverallAssessment(healthRecord.getOverallAssessment());
+        healthAnalysisDTO.setRecordDate(healthRecord.getRecordDate());
+        healthAnalysisDTO.setRiskLevels(healthRecord.getRiskCodes() != null
+                ? HealthRecordCodec.riskLevelsText(healthRecord.getRiskCodes())
+                : legacyRiskLevels(healthRecord.getRiskLevels()));
+        dto.setHealthAnalysis(healthAnalysisDTO);
+
+        List<String> ingredientNames = splitIngredientNames(healthRecord.getRecommendedIngredients());
+        int[] scores = healthRecord.getIngredientScores() != null
+                ? HealthRecordCodec.decodeScores(healthRecord.getIngredientScores())
+                : new int[0];
+
+        List<RecommendedIngredientDTO> recommendedIngredients = new ArrayList<>(ingredientNames.size());
+        Map<String, Integer> scoresByName = new HashMap<>();
+        for (int i = 0; i < ingredientNames.size(); i++) {
+            int score = i < scores.length ? scores[i] : 0;
+            RecommendedIngredientDTO ingredientDTO = new RecommendedIngredientDTO();
+            ingredientDTO.setIngredientName(ingredientNames.get(i));
+            ingredientDTO.setScore(score);
+            recommendedIngredients.add(ingredientDTO);
+            scoresByName.put(ingredientNames.get(i), score);
+        }
+        dto.setRecommendedIngredients(recommendedIngredients);
+
+        dto.setProductRecommendations(healthRecord.getProductIds() != null
+                ? productRecommendations(healthRecord, ingredientNames, scoresByName)
+                : legacyProductRecommendations(healthRecord.getRecommendedProducts()));
+        return dto;
     }
 
     /**
-     * 현재 로그인한 사용자의 건강 기록 히스토리를 조회합니다.
-     *
-     * @param memberId 회원 ID
-     * @return 현재 로그인한 사용자의 건강 기록 리스트
+     * 저장된 상품 ID, 추천 당시 이름/가격과 추천 영양 성분으로 추천 상품 DTO를 복원합니다.
+     * - 이름/가격을 저장하기 전의 기록은 현재 상품 정보로 채웁니다.
+     * - 삭제된 상품은 저장된 이름(없으면 "판매 종료된 상품")과 판매 종료 설명으로 표시합니다.
      */
-    public List<HealthRecord> getHealthHistory(Long memberId) {
-        return healthRecordRepository.findByMemberIdOrderByRecordDateDesc(memberId);
+    private List<ProductRecommendationDTO> productRecommendations(HealthRecord healthRecord, List<String> ingredientNames,
+                                                                  Map<String, Integer> scoresByName) {
+        long[] productIds = HealthRecordCodec.decodeIds(healthRecord.getProductIds());
+        String[] savedNames = HealthRecordCodec.decodeNames(healthRecord.getProductNames());
+        BigDecimal[] savedPrices = healthRecord.getProductPrices() != null
+                ? HealthRecordCodec.decodePrices(healthRecord.getProductPrices())
+                : new BigDecimal[0];
+
+        BitSet recommended = productIngredientIndex.toBitSet(ingredientNames);
+        List<ProductRecommendationDTO> result = new ArrayList<>(productIds.length);
+        for (int i = 0; i < productIds.length; i++) {
+            long productId = productIds[i];
+            String savedName = i < savedNames.length ? savedNames[i] : null;
+            BigDecimal savedPrice = i < savedPrices.length ? savedPrices[i] : null;
+
+            IndexedProduct product = productIngredientIndex.find(productId);
+            if (product == null) {
+                result.add(new ProductRecommendationDTO(
+                        productId,
+                        savedName != null ? savedName : DISCONTINUED_NAME,
+                        DISCONTINUED_DESCRIPTION,
+                        savedPrice,
+                        0,
+                        "",
+                        Map.of()
+                ));
+                continue;
+            }
+            List<String> productIngredients = product.ingredientNamesIn(recommended);
+            Map<String, Integer> productIngredientScores = new LinkedHashMap<>();
+            for (String ingredientName : productIngredients) {
+                productIngredientScores.put(ingredientName, scoresByName.getOrDefault(ingredientName, 0));
+            }
+            result.add(new ProductRecommendationDTO(
+                    product.getId(),
+                    savedName != null ? savedName : product.getName(),
+                    product.getDescription(),
+                    savedPrice != null ? savedPrice : product.getPrice(),
+                    product.getScore(),
+                    String.join(INGREDIENT_DELIMITER, productIngredients),
+                    productIngredientScores
+            ));
+        }
+        return result;
+    }
+
+    private static List<String> splitIngredientNames(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(joined.split(INGREDIENT_DELIMITER));
+    }
+
+    /** 이전 형식 기록의 위험 수준 (JSON 문자열로 한 번 더 감싸 저장되어 있음) */
+    private String legacyRiskLevels(String riskLevels) {
+        if (riskLevels == null || !riskLevels.startsWith("\"")) {
+            return riskLevels;
+        }
+        try {
+            return objectMapper.readValue(riskLevels, String.class);
+        } catch (Exception e) {
+            log.error("이전 형식 위험 수준 변환 중 오류 발생", e);
+            return riskLevels;
+        }
+    }
+
+    /** 이전 형식 기록의 추천 제품 (JSON 배열) */
+    private List<ProductRecommendationDTO> legacyProductRecommendations(String recommendedProductsJson) {
+        if (recommendedProductsJson == null || recommendedProductsJson.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(recommendedProductsJson,
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, ProductRecommendationDTO.class));
+        } catch (Exception e) {
+            log.error("추천 제품 변환 중 오류 발생", e);
+            return List.of();
+        }
     }
 }
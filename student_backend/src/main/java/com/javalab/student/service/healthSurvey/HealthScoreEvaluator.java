@@ -0,0 +1,40 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 위험도 + 영양 성분 점수 통합 계산기
+ * - 응답 목록을 한 번만 순회하면서 위험도 누적 배열과 영양 성분 누적 배열을 함께 갱신합니다.
+ * - 두 규칙 테이블을 같은 스냅샷에서 가져오므로 계산 중 규칙이 교체되어도 결과의 버전이 섞이지 않습니다.
+ * - 응답에서는 옵션 ID만 읽습니다.
+ * - 옵션별 누적과 최종 점수 계산은 ScoreAccumulator가 하며, 영양 성분/위험도 단독 계산도 같은 누적기를 씁니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthScoreEvaluator {
+
+    private final ScoringRuleStore scoringRuleStore;
+
+    /**
+     * 위험도와 영양 성분 점수를 함께 계산합니다.
+     *
+     * @param answers   회원의 선택 옵션 설문 응답 목록
+     * @param age       회원의 나이
+     * @param bmi       회원의 BMI
+     * @param gender    회원의 성별
+     * @return 위험 수준과 영양 성분 점수
+     */
+    public HealthScoreResult evaluate(List<SurveyAnswer> answers, int age, double bmi, String gender) {
+        ScoringRuleSnapshot snapshot = scoringRuleStore.getSnapshot();
+        ScoreAccumulator accumulator = new ScoreAccumulator(snapshot.getNutrientTable(), snapshot.getRiskTable(),
+                answers.size(), gender);
+        for (SurveyAnswer answer : answers) {
+            accumulator.add(answer.getOptionId());
+        }
+        return new HealthScoreResult(accumulator.riskLevels(age, bmi), accumulator.ingredientScores(age, bmi));
+    }
+}
@@ -0,0 +1,20 @@
+package com.javalab.student.service.healthSurvey;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 설문 응답 한 번 순회로 계산한 위험도와 영양 성분 점수
+ */
+@Getter
+@AllArgsConstructor
+public class HealthScoreResult {
+
+    /** 건강 영역별 위험 수준 ("높음", "중간", "낮음") */
+    private final Map<String, String> riskLevels;
+
+    /** 영양 성분별 점수 (점수가 없는 영양 성분은 제외) */
+    private final Map<String, Integer> ingredientScores;
+}
@@ -0,0 +1,45 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 영양 성분 이름 ↔ 정수 인덱스 사전
+ * - 점수 계산 시 영양 성분 이름 대신 인덱스로 int[] 배열에 누적하기 위해 사용합니다.
+ * - 규칙 테이블 컴파일 시 한 번 만들어지고 이후에는 변경되지 않습니다.
+ */
+public final class IngredientVocabulary {
+
+    private final String[] names;
+    private final Map<String, Integer> indexByName;
+
+    public IngredientVocabulary(Collection<String> ingredientNames) {
+        this.names = ingredientNames.toArray(new String[0]);
+        this.indexByName = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            indexByName.put(names[i], i);
+        }
+    }
+
+    /** 사전에 등록된 영양 성분 수 */
+    public int size() {
+        return names.length;
+    }
+
+    /** 인덱스에 해당하는 영양 성분 이름 */
+    public String nameOf(int index) {
+        return names[index];
+    }
+
+    /**
+     * 영양 성분 이름의 인덱스를 반환합니다.
+     *
+     * @param ingredientName 영양 성분 이름
+     * @return 인덱스 (사전에 없으면 -1)
+     */
+    public int indexOf(String ingredientName) {
+        Integer index = indexByName.get(ingredientName);
+        return index == null ? -1 : index;
+    }
+}
@@ -51,10 +51,23 @@ public class MemberInfoService {
         return genderResponses.stream()
                 .findFirst()
                 .map(MemberResponseOption::getOption)
-                .map(option -> GENDER_MAP.getOrDefault(option.getId().intValue(), "기타"))
+                .map(option -> genderOf(option.getId()))
                 .orElse("알 수 없음");
     }
 
+    /**
+     * 성별 질문에서 선택한 옵션 ID를 성별로 변환합니다.
+     *
+     * @param genderOptionId 성별 질문의 옵션 ID (응답이 없으면 null)
+     * @return 사용자의 성별 ("여성", "남성", "기타", "알 수 없음" 중 하나)
+     */
+    public String genderOf(Long genderOptionId) {
+        if (genderOptionId == null) {
+            return "알 수 없음";
+        }
+        return GENDER_MAP.getOrDefault(genderOptionId.intValue(), "기타");
+    }
+
     /**
      * 회원 응답에서 나이를 추출합니다.
      *
@@ -65,17 +78,25 @@ public class MemberInfoService {
         return responses.stream()
                 .filter(r -> r.getQuestion().getId() == 3L)
                 .findFirst()
-                .map(r -> {
-                    try {
-                        return Integer.parseInt(r.getResponseText());
-                    } catch (NumberFormatException e) {
-                        log.warn("Invalid age format: {}", r.getResponseText());
-                        return 0;
-                    }
-                })
+                .map(r -> parseAge(r.getResponseText()))
                 .orElse(0);
     }
 
+    /**
+     * 나이 응답 텍스트를 숫자로 변환합니다.
+     *
+     * @param responseText 나이 응답 텍스트
+     * @return 나이 (형식이 잘못된 경우 0)
+     */
+    public int parseAge(String responseText) {
+        try {
+            return Integer.parseInt(responseText);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid age format: {}", responseText);
+            return 0;
+        }
+    }
+
     /**
      * 회원 응답에서 키를 추출합니다.
      *
@@ -86,14 +107,7 @@ public class MemberInfoService {
         return responses.stream()
                 .filter(r -> r.getQuestion().getId() == 4L)
                 .findFirst()
-                .map(r -> {
-                    try {
-                        return Double.parseDouble(r.getResponseText());
-                    } catch (NumberFormatException e) {
-                        log.warn("Invalid height format: {}", r.getResponseText());
-                        return 0.0;
-                    }
-                })
+                .map(r -> parseMeasurement(r.getResponseText(), "height"))
                 .orElse(0.0);
     }
 
@@ -107,14 +121,23 @@ public class MemberInfoService {
         return responses.stream()
                 .filter(r -> r.getQuestion().getId() == 5L)
                 .findFirst()
-                .map(r -> {
-                    try {
-                        return Double.parseDouble(r.getResponseText());
-                    } catch (NumberFormatException e) {
-                        log.warn("Invalid weight format: {}", r.getResponseText());
-                        return 0.0;
-                    }
-                })
+                .map(r -> parseMeasurement(r.getResponseText(), "weight"))
                 .orElse(0.0);
     }
+
+    /**
+     * 키/몸무게 응답 텍스트를 숫자로 변환합니다.
+     *
+     * @param responseText 응답 텍스트
+     * @param label        로그에 표시할 항목 이름 (height, weight)
+     * @return 변환된 값 (형식이 잘못된 경우 0.0)
+     */
+    public double parseMeasurement(String responseText, String label) {
+        try {
+            return Double.parseDouble(responseText);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} format: {}", label, responseText);
+            return 0.0;
+        }
+    }
 }
@@ -0,0 +1,278 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.constant.ScoreCondition;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * QuestionOption.id 기준으로 컴파일된 영양 성분 점수 규칙 테이블
+ * - 옵션 하나가 더하는 점수를 (영양 성분 인덱스, 점수) 배열로 미리 계산해 둡니다.
+ * - 요청 시에는 문자열 비교 없이 옵션 ID 조회와 int[] 덧셈만 수행합니다.
+ * - 불변 객체이므로 여러 요청 스레드에서 동시에 읽어도 안전합니다.
+ */
+public final class NutrientRuleTable {
+
+    private final IngredientVocabulary vocabulary;
+    private final Map<Long, OptionRule> rulesByOptionId;
+    private final Contribution[][] ageBmiRules;
+
+    public NutrientRuleTable(IngredientVocabulary vocabulary, Map<Long, OptionRule> rulesByOptionId,
+                             Contribution[][] ageBmiRules) {
+        this.vocabulary = vocabulary;
+        this.rulesByOptionId = rulesByOptionId;
+        this.ageBmiRules = ageBmiRules;
+    }
+
+    public IngredientVocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * 옵션 ID에 해당하는 규칙을 조회합니다.
+     *
+     * @param optionId QuestionOption.id
+     * @return 컴파일된 규칙 (테이블 컴파일 이후 추가된 옵션이면 null)
+     */
+    public OptionRule getRule(Long optionId) {
+        return rulesByOptionId.get(optionId);
+    }
+
+    public int getRuleCount() {
+        return rulesByOptionId.size();
+    }
+
+    /** 나이 구간과 BMI 구간에 따른 점수 조정 */
+    public Contribution getAgeBmiRule(int ageBand, int bmiBand) {
+        return ageBmiRules[ageBand][bmiBand];
+    }
+
+    /**
+     * (영양 성분 인덱스, 점수) 쌍의 묶음
+     */
+    public static final class Contribution {
+
+        public static final Contribution EMPTY = new Contribution(new int[0], new int[0]);
+
+        private final int[] ingredients;
+        private final int[] weights;
+
+        public Contribution(int[] ingredients, int[] weights) {
+            this.ingredients = ingredients;
+            this.weights = weights;
+        }
+
+        /**
+         * 영양 성분 이름 → 점수 Map을 사전 인덱스 배열로 변환합니다.
+         *
+         * @param scores     영양 성분별 점수
+         * @param vocabulary 영양 성분 사전 (scores의 모든 이름이 등록되어 있어야 함)
+         * @return 변환된 Contribution
+         */
+        public static Contribution of(Map<String, Integer> scores, IngredientVocabulary vocabulary) {
+            if (scores.isEmpty()) {
+                return EMPTY;
+            }
+            int[] ingredients = new int[scores.size()];
+            int[] weights = new int[scores.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                ingredients[i] = vocabulary.indexOf(entry.getKey());
+                weights[i] = entry.getValue();
+                i++;
+            }
+            return new Contribution(ingredients, weights);
+        }
+
+        /** 누적 배열에 점수를 더합니다. */
+        public void addTo(int[] scores) {
+            for (int i = 0; i < ingredients.length; i++) {
+                scores[ingredients[i]] += weights[i];
+            }
+        }
+
+        public boolean isEmpty() {
+            return ingredients.length == 0;
+        }
+    }
+
+    /**
+     * 옵션 하나에 대해 컴파일된 규칙
+     */
+    public static final class OptionRule {
+
+        private final Contribution always;
+        private final Contribution symptom;
+        private final int symptomIndex;
+        private final Contribution female;
+        private final Contribution male;
+        private final int enablesSymptom;
+
+        /**
+         * @param always         조건 없이 반영되는 점수
+         * @param symptom        옵션의 증상 서브카테고리가 주요 증상으로 선택된 경우에만 반영되는 점수
+         * @param symptomIndex   옵션이 속한 증상 서브카테고리 인덱스 (증상 서브카테고리가 아니면 -1)
+         * @param female         여성인 경우에만 반영되는 점수
+         * @param male           남성인 경우에만 반영되는 점수
+         * @param enablesSymptom 주요 증상 옵션인 경우 활성화하는 증상 서브카테고리 인덱스 (아니면 -1)
+         */
+        public OptionRule(Contribution always, Contribution symptom, int symptomIndex,
+                          Contribution female, Contribution male, int enablesSymptom) {
+            this.always = always;
+            this.symptom = symptomIndex >= 0 ? symptom : Contribution.EMPTY;
+            this.symptomIndex = symptomIndex;
+            this.female = female;
+            this.male = male;
+            this.enablesSymptom = enablesSymptom;
+        }
+
+        public Contribution getAlways() {
+            return always;
+        }
+
+        public Contribution getSymptom() {
+            return symptom;
+        }
+
+        public int getSymptomIndex() {
+            return symptomIndex;
+        }
+
+        public Contribution getFemale() {
+            return female;
+        }
+
+        public Contribution getMale() {
+            return male;
+        }
+
+        public int getEnablesSymptom() {
+            return enablesSymptom;
+        }
+    }
+
+    /**
+     * 규칙 테이블 컴파일러
+     * - 옵션과 점수 규칙을 하나씩 등록하면서 영양 성분 사전을 함께 만들어 갑니다.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> ingredientIndex = new LinkedHashMap<>();
+        private final Map<Long, OptionDraft> drafts = new LinkedHashMap<>();
+        private final Map<String, Integer>[][] ageBmiScores;
+
+        @SuppressWarnings("unchecked")
+        public Builder() {
+            this.ageBmiScores = new Map[NutrientScoreRules.AGE_BAND_COUNT][NutrientScoreRules.BMI_BAND_COUNT];
+            for (int a = 0; a < NutrientScoreRules.AGE_BAND_COUNT; a++) {
+                for (int b = 0; b < NutrientScoreRules.BMI_BAND_COUNT; b++) {
+                    ageBmiScores[a][b] = new LinkedHashMap<>();
+                }
+            }
+        }
+
+        /**
+         * 설문 옵션을 등록합니다. 점수 규칙이 없는 옵션도 등록해 두어야 알 수 있는 옵션으로 취급됩니다.
+         *
+         * @param optionId       QuestionOption.id
+         * @param symptomIndex   옵션이 속한 증상 서브카테고리 인덱스 (아니면 -1)
+         * @param enablesSymptom 주요 증상 옵션인 경우 활성화하는 증상 서브카테고리 인덱스 (아니면 -1)
+         */
+        public Builder option(Long optionId, int symptomIndex, int enablesSymptom) {
+            drafts.put(optionId, new OptionDraft(symptomIndex, enablesSymptom));
+            return this;
+        }
+
+        /**
+         * 옵션의 점수 규칙을 하나 등록합니다. 같은 조건, 같은 영양 성분의 점수는 합산됩니다.
+         *
+         * @param optionId   QuestionOption.id (option()으로 먼저 등록되어 있어야 함)
+         * @param condition  반영 조건 (null이면 ALWAYS)
+         * @param ingredient 영양 성분 이름
+         * @param weight     점수
+         */
+        public Builder score(Long optionId, ScoreCondition condition, String ingredient, int weight) {
+            OptionDraft draft = drafts.get(optionId);
+            if (draft == null) {
+                return this;
+            }
+            register(ingredient);
+            draft.scoresOf(condition).merge(ingredient, weight, Integer::sum);
+            return this;
+        }
+
+        /** 나이 구간 × BMI 구간별 점수 조정을 등록합니다. */
+        public Builder ageBmi(int ageBand, int bmiBand, Map<String, Integer> scores) {
+            scores.keySet().forEach(this::register);
+            ageBmiScores[ageBand][bmiBand] = scores;
+            return this;
+        }
+
+        public NutrientRuleTable build() {
+            IngredientVocabulary vocabulary = new IngredientVocabulary(ingredientIndex.keySet());
+
+            Map<Long, OptionRule> rules = new HashMap<>(drafts.size() * 2);
+            for (Map.Entry<Long, OptionDraft> entry : drafts.entrySet()) {
+                OptionDraft draft = entry.getValue();
+                rules.put(entry.getKey(), new OptionRule(
+                        Contribution.of(draft.always, vocabulary),
+                        Contribution.of(draft.symptom, vocabulary),
+                        draft.symptomIndex,
+                        Contribution.of(draft.female, vocabulary),
+                        Contribution.of(draft.male, vocabulary),
+                        draft.enablesSymptom));
+            }
+
+            Contribution[][] ageBmi = new Contribution[NutrientScoreRules.AGE_BAND_COUNT][NutrientScoreRules.BMI_BAND_COUNT];
+            for (int a = 0; a < NutrientScoreRules.AGE_BAND_COUNT; a++) {
+                for (int b = 0; b < NutrientScoreRules.BMI_BAND_COUNT; b++) {
+                    ageBmi[a][b] = Contribution.of(ageBmiScores[a][b], vocabulary);
+                }
+            }
+            return new NutrientRuleTable(vocabulary, rules, ageBmi);
+        }
+
+        private void register(String ingredientName) {
+            ingredientIndex.putIfAbsent(ingredientName, ingredientIndex.size());
+        }
+    }
+
+    /** 컴파일 중인 옵션 하나의 조건별 점수 */
+    private static final class OptionDraft {
+        private final int symptomIndex;
+        private final int enablesSymptom;
+        private final Map<String, Integer> always = new LinkedHashMap<>();
+        private final Map<String, Integer> symptom = new LinkedHashMap<>();
+        private final Map<String, Integer> female = new LinkedHashMap<>();
+        private final Map<String, Integer> male = new LinkedHashMap<>();
+
+        private OptionDraft(int symptomIndex, int enablesSymptom) {
+            this.symptomIndex = symptomIndex;
+            this.enablesSymptom = enablesSymptom;
+        }
+
+        private Map<String, Integer> scoresOf(ScoreCondition condition) {
+            if (condition == null) {
+                return always;
+            }
+            switch (condition) {
+                case MAIN_SYMPTOM:
+                    return symptom;
+                case FEMALE:
+                    return female;
+                case MALE:
+                    return male;
+                default:
+                    return always;
+            }
+        }
+    }
+
+    /** 증상 서브카테고리 이름의 인덱스 (증상 서브카테고리가 아니면 -1) */
+    public static int symptomIndexOf(String subCategory) {
+        List<String> symptoms = NutrientScoreRules.SYMPTOM_SUB_CATEGORIES;
+        return subCategory == null ? -1 : symptoms.indexOf(subCategory);
+    }
+}
@@ -0,0 +1,688 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영양 성분 점수 규칙 정의
+ * - 설문 옵션(서브카테고리, 질문, 옵션 텍스트) 하나가 어떤 영양 성분에 몇 점을 더하는지 정의합니다.
+ * - 옵션별 규칙은 question_option_ingredient 테이블에 저장되며, 여기의 옵션별 규칙은
+ *   테이블이 비어 있을 때 초기 데이터를 만드는 데에만 사용합니다. (ScoringRuleAdminService 참고)
+ * - 나이/BMI 구간별 점수 조정은 ScoringRuleStore가 스냅샷을 컴파일할 때 여기에서 가져옵니다.
+ */
+public final class NutrientScoreRules {
+
+    /** 주요 증상 선택 서브카테고리 이름 (옵션 텍스트가 아래 증상 서브카테고리 이름과 같음) */
+    public static final String MAIN_SYMPTOM_SUB_CATEGORY = "주요 증상";
+
+    /** 주요 증상으로 선택된 경우에만 점수가 반영되는 증상 서브카테고리 목록 */
+    public static final List<String> SYMPTOM_SUB_CATEGORIES = List.of(
+            "혈관·혈액순환", "소화·장", "피부", "눈", "두뇌 활동", "피로감", "뼈·관절", "면역", "모발");
+
+    public static final String WOMEN_HEALTH_SUB_CATEGORY = "여성건강";
+    public static final String MEN_HEALTH_SUB_CATEGORY = "남성건강";
+    public static final String FEMALE = "여성";
+    public static final String MALE = "남성";
+
+    /** 나이 구간: 0 = 30세 이하, 1 = 31~50세, 2 = 51세 이상 */
+    public static final int AGE_BAND_COUNT = 3;
+
+    /** BMI 구간: 0 = 18.5 미만, 1 = 18.5~25, 2 = 25 초과 */
+    public static final int BMI_BAND_COUNT = 3;
+
+    private NutrientScoreRules() {
+    }
+
+    /**
+     * 나이를 영양 성분 점수 조정용 구간으로 변환합니다.
+     *
+     * @param age 회원의 나이
+     * @return 나이 구간 (0 ~ AGE_BAND_COUNT - 1)
+     */
+    public static int ageBand(int age) {
+        if (age > 50) return 2;
+        if (age > 30) return 1;
+        return 0;
+    }
+
+    /**
+     * BMI를 영양 성분 점수 조정용 구간으로 변환합니다.
+     *
+     * @param bmi 회원의 BMI
+     * @return BMI 구간 (0 ~ BMI_BAND_COUNT - 1)
+     */
+    public static int bmiBand(double bmi) {
+        if (bmi > 25) return 2;
+        if (bmi < 18.5) return 0;
+        return 1;
+    }
+
+    /**
+     * 증상 서브카테고리 옵션에 대한 점수를 계산합니다.
+     * 해당 서브카테고리가 주요 증상으로 선택된 경우에만 반영해야 합니다.
+     *
+     * @param subCategory 옵션이 속한 서브카테고리 이름
+     * @param optionText  선택된 옵션 텍스트
+     * @param scores      영양 성분 점수 Map
+     */
+    public static void applySymptomRules(String subCategory, String optionText, Map<String, Integer> scores) {
+        switch (subCategory) {
+            case "혈관·혈액순환":
+                calculateBloodCirculationScores(optionText, scores);
+                break;
+            case "소화·장":
+                calculateDigestionScores(optionText, scores);
+                break;
+            case "피부":
+                calculateSkinScores(optionText, scores);
+                break;
+            case "눈":
+                calculateEyeScores(optionText, scores);
+                break;
+            case "두뇌 활동":
+                calculateBrainScores(optionText, scores);
+                break;
+            case "피로감":
+                calculateFatigueScores(optionText, scores);
+                break;
+            case "뼈·관절":
+                calculateBoneJointScores(optionText, scores);
+                break;
+            case "면역":
+                calculateImmuneScores(optionText, scores);
+                break;
+            case "모발":
+                calculateHairScores(optionText, scores);
+                break;
+        }
+    }
+
+    /**
+     * 추가 건강 관련 옵션(혈압, 더위, 약물 복용 등)에 대한 점수를 계산합니다.
+     * 서브카테고리와 관계없이 옵션 텍스트로만 판단합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores     영양 성분 점수 Map
+     */
+    public static void applyAdditionalHealthRules(String optionText, Map<String, Integer> scores) {
+        calculateAdditionalHealthScores(optionText, scores);
+    }
+
+    /**
+     * 생활 습관 관련 질문의 옵션에 대한 점수를 계산합니다.
+     *
+     * @param questionText 옵션이 속한 질문 텍스트
+     * @param optionText   선택된 옵션 텍스트
+     * @param scores       영양 성분 점수 Map
+     */
+    public static void applyLifestyleRules(String questionText, String optionText, Map<String, Integer> scores) {
+        switch (questionText) {
+            case "운동은 얼마나 자주 하시나요?":
+                calculateExerciseScores(optionText, scores);
+                break;
+            case "햇빛을 쬐는 야외활동을 하루에 얼마나 하나요?":
+                calculateSunExposureScores(optionText, scores);
+                break;
+            case "해당하는 식습관을 모두 선택하세요":
+                calculateDietHabitScores(optionText, scores);
+                break;
+            case "해당하는 기호식품 섭취 습관을 모두 선택하세요":
+                calculateConsumptionHabitScores(optionText, scores);
+                break;
+            case "해당하는 것을 모두 선택하세요":
+                calculateDailyHabitScores(optionText, scores);
+                break;
+            case "가족력을 모두 선택하세요":
+                calculateFamilyHistoryScores(optionText, scores);
+                break;
+        }
+    }
+
+    /**
+     * 여성건강 서브카테고리 옵션에 대한 점수를 계산합니다. 성별이 여성인 경우에만 반영해야 합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores     영양 성분 점수 Map
+     */
+    public static void applyWomenHealthRules(String optionText, Map<String, Integer> scores) {
+        calculateWomenHealthScores(optionText, scores);
+    }
+
+    /**
+     * 남성건강 서브카테고리 옵션에 대한 점수를 계산합니다. 성별이 남성인 경우에만 반영해야 합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores     영양 성분 점수 Map
+     */
+    public static void applyMenHealthRules(String optionText, Map<String, Integer> scores) {
+        calculateMenHealthScores(optionText, scores);
+    }
+
+    /**
+     * 나이 구간과 BMI 구간에 따라 영양 성분 점수를 조정합니다.
+     *
+     * @param ageBand 나이 구간 (ageBand 참고)
+     * @param bmiBand BMI 구간 (bmiBand 참고)
+     * @param scores  영양 성분 점수 Map
+     */
+    public static void applyAgeAndBmiRules(int ageBand, int bmiBand, Map<String, Integer> scores) {
+        // 나이에 따른 조정
+        if (ageBand == 2) {
+            add(scores, "칼슘", 3);
+            add(scores, "비타민D", 3);
+            add(scores, "오메가-3", 2);
+        } else if (ageBand == 1) {
+            add(scores, "칼슘", 2);
+            add(scores, "비타민D", 2);
+        }
+
+        // BMI에 따른 조정
+        if (bmiBand == 2) {
+            add(scores, "식이섬유", 3);
+            add(scores, "크롬", 2);
+        } else if (bmiBand == 0) {
+            add(scores, "단백질", 3);
+            add(scores, "비타민B군", 2);
+        }
+    }
+
+    /**
+     * 혈관·혈액순환 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateBloodCirculationScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "손발 끝이 자주 저려요":
+                add(scores, "오메가-3", 5);
+                add(scores, "비타민B군", 4);
+                break;
+            case "상처가 잘 낫지 않아요":
+                add(scores, "코엔자임Q10", 4);
+                add(scores, "비타민C", 5);
+                break;
+            case "잇몸이 붓고 피가 나요":
+                add(scores, "비타민C", 5);
+                add(scores, "비타민D", 3);
+                break;
+            case "얼굴이 자주 창백해져요":
+                add(scores, "철분", 5);
+                add(scores, "비타민B12", 4);
+                break;
+            case "선택할 것은 없지만 혈관·혈액순환이 걱정돼요":
+                add(scores, "오메가-3", 4);
+                break;
+        }
+    }
+
+    /**
+     * 소화·장 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateDigestionScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "복통이나 속 쓰림이 자주 발생해요":
+                add(scores, "글루타민", 5);
+                add(scores, "프로바이오틱스", 4);
+                break;
+            case "변비가 있어요":
+                add(scores, "프로바이오틱스", 5);
+                add(scores, "식이섬유", 5);
+                break;
+            case "변이 묽은 편이에요":
+                add(scores, "프로바이오틱스", 5);
+                break;
+            case "술을 마시면 얼굴이나 몸이 붉어지고 소화가 안 돼요":
+                add(scores, "비타민B6", 4);
+                break;
+            case "잔뇨감이 있어요":
+                add(scores, "크랜베리 추출물", 4);
+                break;
+            case "선택할 것은 없지만 소화력 개선이 필요해요":
+                add(scores, "프로바이오틱스", 4);
+                break;
+        }
+    }
+
+    /**
+     * 피부 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateSkinScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "피부가 건조하고 머리에 비듬이 많이 생겨요":
+                add(scores, "콜라겐", 5);
+                add(scores, "비오틴", 4);
+                break;
+            case "여드름이 많아서 걱정이에요":
+                add(scores, "아연", 4);
+                add(scores, "비타민A", 3);
+                break;
+            case "피부에 염증이 자주 생겨요":
+                add(scores, "비타민B군", 4);
+                add(scores, "오메가-3", 3);
+                break;
+            case "입안이 헐고 입술이 자주 갈라져요":
+                add(scores, "비타민B2", 5);
+                add(scores, "비타민C", 4);
+                break;
+            case "선택할 것은 없지만 피부건강이 걱정돼요":
+                add(scores, "콜라겐", 4);
+                break;
+        }
+    }
+
+    /**
+     * 눈 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateEyeScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "눈이 건조해 뻑뻑하고 가려워요":
+                add(scores, "루테인", 5);
+                add(scores, "오메가-3", 4);
+                break;
+            case "눈 주변이 떨려요":
+                add(scores, "마그네슘", 4);
+                break;
+            case "핸드폰, 모니터를 본 후 시야가 흐릿해요":
+                add(scores, "루테인", 5);
+                add(scores, "비타민A", 3);
+                break;
+            case "어두워지면 시력이 저하돼요":
+                add(scores, "비타민A", 5);
+                add(scores, "루테인", 4);
+                break;
+            case "선택할 것은 없지만 눈 건강이 걱정돼요":
+                add(scores, "루테인", 4);
+                break;
+        }
+    }
+
+    /**
+     * 두뇌 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateBrainScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "기억력이 떨어지는 것 같아요":
+                add(scores, "인지질(PS)", 5);
+                add(scores, "오메가-3", 4);
+                break;
+            case "두통이 자주 생겨요":
+                add(scores, "마그네슘", 5);
+                add(scores, "비타민B2", 3);
+                break;
+            case "불안이나 긴장을 자주 느껴요":
+                add(scores, "GABA", 5);
+                add(scores, "마그네슘", 4);
+                break;
+            case "우울한 감정을 자주 느껴요":
+                add(scores, "비타민D", 4);
+                add(scores, "오메가-3", 3);
+                break;
+            case "귀에서 울리는 소리가 가끔 나요":
+                add(scores, "비타민B12", 4);
+                break;
+            case "선택할 것은 없지만 두뇌 활동이 걱정돼요":
+                add(scores, "오메가-3", 4);
+                break;
+        }
+    }
+
+    /**
+     * 피로감 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateFatigueScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "무기력하고 식욕이 없어요":
+                add(scores, "비타민B군", 5);
+                add(scores, "철분", 4);
+                break;
+            case "자고 일어나도 피곤해요":
+                add(scores, "코엔자임Q10", 5);
+                add(scores, "비타민B군", 4);
+                break;
+            case "신경이 예민하고 잠을 잘 이루지 못해요":
+                add(scores, "GABA", 5);
+                add(scores, "마그네슘", 4);
+                break;
+            case "소변을 보기 위해 잠을 깨요":
+                add(scores, "쏘팔메토", 4);
+                break;
+            case "선택할 것은 없지만 피로감이 있어요":
+                add(scores, "비타민B군", 4);
+                break;
+        }
+    }
+
+    /**
+     * 뼈·관절 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateBoneJointScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "뼈가 부러진 경험이 있어요":
+                add(scores, "칼슘", 5);
+                add(scores, "비타민D", 5);
+                break;
+            case "뼈가 약하다고 느껴요":
+                add(scores, "칼슘", 5);
+                add(scores, "비타민D", 4);
+                break;
+            case "최근 1년 중 스테로이드를 섭취한 기간이 3개월 이상이에요":
+                add(scores, "칼슘", 5);
+                add(scores, "비타민D", 5);
+                break;
+            case "선택할 것은 없지만 뼈 · 관절이 걱정돼요":
+                add(scores, "칼슘", 4);
+                add(scores, "비타민D", 4);
+                break;
+        }
+    }
+
+    /**
+     * 면역 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateImmuneScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "스트레스가 매우 많아요":
+                add(scores, "비타민C", 5);
+                add(scores, "아연", 4);
+                break;
+            case "알레르기 질환이 있어요 (아토피, 비염 등)":
+                add(scores, "프로바이오틱스", 5);
+                add(scores, "비타민D", 4);
+                break;
+            case "감염성 질환에 자주 걸려요 (감기, 독감 등)":
+                add(scores, "비타민C", 5);
+                add(scores, "아연", 5);
+                break;
+            case "선택할 것은 없지만 면역이 걱정돼요":
+                add(scores, "비타민C", 4);
+                add(scores, "아연", 4);
+                break;
+        }
+    }
+
+    /**
+     * 모발 건강 관련 영양 성분 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateHairScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText.trim()) {
+            case "머리카락에 힘이 없고 잘 빠져요":
+                add(scores, "비오틴", 5);
+                add(scores, "아미노산", 4);
+                break;
+            case "머리카락이 윤기 없고 갈라지고 끊어져요":
+                add(scores, "비오틴", 5);
+                add(scores, "비타민E", 4);
+                break;
+            case "새치가 많이 나요":
+                add(scores, "구리", 4);
+                add(scores, "비타민B5", 3);
+                break;
+            case "선택할 것은 없지만 모발 건강이 걱정돼요":
+                add(scores, "비오틴", 4);
+                break;
+        }
+    }
+
+    /**
+     * 운동 빈도에 따른 점수를 계산합니다.
+     * 운동을 많이 할수록 낮은 점수를 부여합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateExerciseScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText) {
+            case "주 4회 이상 (많이 해요.)":
+                add(scores, "비타민B군", 1);
+                add(scores, "마그네슘", 1);
+                break;
+            case "주 2~3회 (적당히 해요.)":
+                add(scores, "비타민B군", 2);
+                add(scores, "마그네슘", 2);
+                break;
+            case "주 1회 이하 (거의 하지 않아요.)":
+                add(scores, "비타민B군", 4);
+                add(scores, "마그네슘", 4);
+                break;
+        }
+    }
+
+    /**
+     * 햇빛 노출 정도에 따른 점수를 계산합니다.
+     * 햇빛 노출이 적을수록 높은 점수를 부여합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateSunExposureScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText) {
+            case "4시간 이상 (많이 해요.)":
+                add(scores, "비타민D", 1);
+                break;
+            case "1~4시간 (적당히 해요.)":
+                add(scores, "비타민D", 2);
+                break;
+            case "1시간 이하 (거의 하지 않아요.)":
+                add(scores, "비타민D", 4);
+                break;
+        }
+    }
+
+    /**
+     * 식습관에 따른 점수를 계산합니다.
+     * 건강한 식습관은 낮은 점수를, 불건강한 식습관은 높은 점수를 부여합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateDietHabitScores(String optionText, Map<String, Integer> scores) {
+        if (optionText.contains("생선을 자주 먹어요")) {
+            add(scores, "오메가-3", 1);
+        }
+        if (optionText.contains("채소를 자주 먹어요")) {
+            add(scores, "식이섬유", 1);
+            add(scores, "비타민C", 1);
+        }
+        if (optionText.contains("과일을 자주 먹어요")) {
+            add(scores, "비타민C", 1);
+        }
+        if (optionText.contains("고기를 자주 먹어요")) {
+            add(scores, "철분", 1);
+            add(scores, "비타민B12", 1);
+        }
+        if (optionText.contains("단 음식을 자주 먹어요")) {
+            add(scores, "크롬", 3);
+        }
+        if (optionText.contains("식사를 자주 걸러요")) {
+            add(scores, "종합비타민", 4);
+        }
+    }
+
+    /**
+     * 기호식품 섭취 습관에 따른 점수를 계산합니다.
+     * 불건강한 습관일수록 높은 점수를 부여합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateConsumptionHabitScores(String optionText, Map<String, Integer> scores) {
+        if (optionText.contains("담배를 피워요")) {
+            add(scores, "비타민C", 5);
+            add(scores, "비타민E", 4);
+        }
+        if (optionText.contains("커피를 마셔요")) {
+            add(scores, "마그네슘", 3);
+        }
+        if (optionText.contains("물을 잘 안 마셔요")) {
+            add(scores, "전해질", 3);
+        }
+        if (optionText.contains("인스턴트 음식을 자주 먹어요")) {
+            add(scores, "종합비타민", 3);
+            add(scores, "오메가-3", 3);
+        }
+    }
+
+    /**
+     * 일상 생활 패턴에 따른 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateDailyHabitScores(String optionText, Map<String, Integer> scores) {
+        if (optionText.contains("업무, 학업 강도가 높아요")) {
+            add(scores, "비타민B군", 4);
+            add(scores, "오메가-3", 3);
+        }
+        if (optionText.contains("핸드폰, 모니터를 오래 봐요")) {
+            add(scores, "루테인", 4);
+            add(scores, "비타민A", 3);
+        }
+        if (optionText.contains("목이 자주 건조하거나 칼칼해요")) {
+            add(scores, "비타민C", 3);
+        }
+        if (optionText.contains("집중력이 필요한 시기예요")) {
+            add(scores, "오메가-3", 4);
+            add(scores, "비타민B군", 3);
+        }
+        if (optionText.contains("식사량을 줄이는 다이어트 중이에요")) {
+            add(scores, "종합비타민", 4);
+        }
+        if (optionText.contains("구내염이 자주 생겨요")) {
+            add(scores, "비타민B2", 4);
+            add(scores, "아연", 3);
+        }
+    }
+
+    /**
+     * 가족력에 따른 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateFamilyHistoryScores(String optionText, Map<String, Integer> scores) {
+        if (optionText.contains("간 질환이 있어요")) {
+            add(scores, "밀크씨슬", 4);
+        }
+        if (optionText.contains("혈관 질환이 있어요")) {
+            add(scores, "오메가-3", 4);
+            add(scores, "코엔자임Q10", 3);
+        }
+        if (optionText.contains("뼈 · 관절 질환이 있어요")) {
+            add(scores, "칼슘", 4);
+            add(scores, "비타민D", 4);
+        }
+        if (optionText.contains("당뇨가 있어요")) {
+            add(scores, "크롬", 4);
+            add(scores, "마그네슘", 3);
+        }
+    }
+
+    /**
+     * 추가 건강 관련 질문들(혈압, 더위, 약물 복용 등)에 대한 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateAdditionalHealthScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText) {
+            case "혈압이 높아요 140 / 90 이상":
+                add(scores, "오메가-3", 4);
+                add(scores, "마그네슘", 3);
+                break;
+            case "혈압이 낮아요 90 / 60 이하":
+                add(scores, "비타민B12", 3);
+                break;
+            case "평소 더위를 타고, 땀을 많이 흘려요":
+                add(scores, "전해질", 3);
+                break;
+            case "항응고제(와파린 등)와 항혈절제(아스피린 등)을 복용하고 있어요":
+                // 이 경우 특정 영양제 섭취에 주의가 필요할 수 있으므로, 점수를 부여하지 않고 별도 처리가 필요할 수 있습니다.
+                break;
+            case "꿀, 프로폴리스에 알레르기가 있어요":
+                // 이 경우도 특정 영양제 섭취에 주의가 필요하므로, 별도 처리가 필요할 수 있습니다.
+                break;
+        }
+    }
+
+    /**
+     * 여성 건강 관련 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateWomenHealthScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText) {
+            case "임신, 수유 중이에요":
+                add(scores, "엽산", 5);
+                add(scores, "철분", 4);
+                add(scores, "오메가-3", 4);
+                break;
+            case "생리전 증후군, 유방 통증이 있어요":
+                add(scores, "감마리놀렌산", 4);
+                add(scores, "비타민B6", 3);
+                break;
+            case "요로감염, 잔뇨감과 같은 비뇨기계 질환이 있거나 걱정돼요":
+                add(scores, "크랜베리 추출물", 4);
+                break;
+            case "생리 전후로 우울하거나 예민해요":
+                add(scores, "비타민B6", 4);
+                add(scores, "마그네슘", 3);
+                break;
+            case "부정 출혈이 월 1회 이상 나타나요":
+                add(scores, "철분", 4);
+                break;
+        }
+    }
+
+    /**
+     * 남성 건강 관련 점수를 계산합니다.
+     *
+     * @param optionText 선택된 옵션 텍스트
+     * @param scores 영양 성분 점수 Map
+     */
+    private static void calculateMenHealthScores(String optionText, Map<String, Integer> scores) {
+        switch (optionText) {
+            case "남성 가족 중 비뇨기계 질환이 있어요":
+                add(scores, "쏘팔메토", 4);
+                add(scores, "아연", 3);
+                break;
+            case "이유 불문 머리가 빠지고 머리숱이 적어졌어요":
+                add(scores, "비오틴", 4);
+                add(scores, "아연", 3);
+                break;
+            case "남성 불임에 대한 불안감이 있거나 2세 계획이 지연되고 있어요":
+                add(scores, "아연", 4);
+                add(scores, "코엔자임Q10", 3);
+                break;
+        }
+    }
+
+    private static void add(Map<String, Integer> scores, String ingredient, int score) {
+        scores.merge(ingredient, score, Integer::sum);
+    }
+}
@@ -0,0 +1,39 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 영양 성분 점수 계산 엔진
+ * - ScoringRuleStore의 스냅샷에 컴파일된 QuestionOption.id 기준 규칙 테이블(NutrientRuleTable)을 사용합니다.
+ * - 점수 계산은 응답 목록을 한 번 순회하면서 int[] 배열에 점수를 더하는 것으로 끝나며, DB를 조회하지 않습니다.
+ *   (누적 계산은 HealthScoreEvaluator와 같은 ScoreAccumulator 사용)
+ */
+@Service
+@RequiredArgsConstructor
+public class NutrientScoringEngine {
+
+    private final ScoringRuleStore scoringRuleStore;
+
+    /**
+     * 회원의 응답, 나이, BMI, 성별로 영양 성분 점수를 계산합니다.
+     *
+     * @param answers   회원의 선택 옵션 설문 응답 목록
+     * @param age       회원의 나이
+     * @param bmi       회원의 BMI
+     * @param gender    회원의 성별
+     * @return 영양 성분별 점수 Map (점수가 없는 영양 성분은 제외)
+     */
+    public Map<String, Integer> calculateIngredientScores(List<SurveyAnswer> answers, int age, double bmi, String gender) {
+        ScoreAccumulator accumulator = new ScoreAccumulator(scoringRuleStore.getSnapshot().getNutrientTable(), null,
+                answers.size(), gender);
+        for (SurveyAnswer answer : answers) {
+            accumulator.add(answer.getOptionId());
+        }
+        return accumulator.ingredientScores(age, bmi);
+    }
+}
@@ -0,0 +1,438 @@
+package com.javalab.student.service.healthSurvey;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추천 영양 성분을 덮는 상품 묶음(번들) 선택 엔진 (가중치 집합 덮개 문제)
+ * - 목표: (1) 덮는 추천 성분 점수 합 최대, (2) 같으면 가격 합 최소, (3) 같으면 상품 수 최소
+ * - 추천 성분 수와 후보 상품 수가 작으면 비트마스크 분기 한정 탐색으로 최적해를 구하고,
+ *   크면 "새로 덮는 점수 / 가격"이 가장 큰 상품을 고르는 탐욕 휴리스틱을 사용합니다.
+ * - 번들 크기는 maxBundleSize로 제한하며, 정확 탐색이 시간 예산을 넘으면 그때까지 찾은 최선의 해(휴리스틱 결과 이상)를 반환합니다.
+ */
+@Service
+@Slf4j
+public class ProductBundlingEngine {
+
+    /** 가격이 0 이하인 상품의 나눗셈용 최소 가격 */
+    private static final double MIN_PRICE = 0.01;
+    private static final double PRICE_EPSILON = 1e-6;
+    /** 시간 예산 확인 주기 (탐색 노드 수) */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final int maxBundleSize;
+    private final long latencyBudgetNanos;
+    private final int exactMaxIngredients;
+    private final int exactMaxProducts;
+
+    public ProductBundlingEngine(@Value("${recommendation.bundle.max-size:5}") int maxBundleSize,
+                                 @Value("${recommendation.bundle.latency-budget-ms:5}") long latencyBudgetMillis,
+                                 @Value("${recommendation.bundle.exact-max-ingredients:16}") int exactMaxIngredients,
+                                 @Value("${recommendation.bundle.exact-max-products:64}") int exactMaxProducts) {
+        this.maxBundleSize = maxBundleSize;
+        this.latencyBudgetNanos = latencyBudgetMillis * 1_000_000;
+        this.exactMaxIngredients = Math.min(exactMaxIngredients, 62);
+        this.exactMaxProducts = exactMaxProducts;
+    }
+
+    /**
+     * 추천 성분을 덮는 상품 묶음을 선택합니다.
+     *
+     * @param items   후보 상품 (재고/판매 여부는 호출하는 쪽에서 미리 걸러야 함)
+     * @param wanted  추천 성분 비트
+     * @param weights 비트 위치별 성분 점수 (배열 밖이거나 0 이하이면 1로 취급)
+     * @return 선택 결과 (덮는 점수가 큰 상품부터)
+     */
+    public Selection select(List<Item> items, BitSet wanted, int[] weights) {
+        long deadline = System.nanoTime() + latencyBudgetNanos;
+
+        // 추천 성분 비트를 0..u-1로 압축
+        int[] bitOf = wanted.stream().toArray();
+        int universe = bitOf.length;
+        int[] compactWeights = new int[universe];
+        for (int i = 0; i < universe; i++) {
+            int bit = bitOf[i];
+            compactWeights[i] = bit < weights.length && weights[bit] > 0 ? weights[bit] : 1;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Item item : items) {
+            BitSet mask = compact(item.ingredients, bitOf);
+            if (!mask.isEmpty()) {
+                candidates.add(new Candidate(item, mask));
+            }
+        }
+        if (candidates.isEmpty() || maxBundleSize <= 0) {
+            return new Selection(List.of(), true, false);
+        }
+
+        List<Candidate> greedy = greedy(candidates, compactWeights);
+
+        if (universe <= exactMaxIngredients) {
+            List<Candidate> reduced = removeDominated(candidates);
+            if (reduced.size() <= exactMaxProducts) {
+                ExactSearch search = new ExactSearch(reduced, compactWeights, deadline);
+                search.seed(greedy);
+                search.run();
+                if (search.timedOut) {
+                    log.debug("번들 정확 탐색이 시간 예산을 넘어 중간 결과를 사용합니다. 성분 수: {}, 후보 수: {}", universe, reduced.size());
+                }
+                return toSelection(search.best, compactWeights, !search.timedOut, search.timedOut);
+            }
+        }
+        return toSelection(greedy, compactWeights, false, false);
+    }
+
+    public int getMaxBundleSize() {
+        return maxBundleSize;
+    }
+
+    /**
+     * 탐욕 휴리스틱: 새로 덮는 점수 / 가격이 가장 큰 상품을 번들 크기만큼 고른 뒤, 다른 상품이 모두 덮는 상품은 뺍니다.
+     */
+    private List<Candidate> greedy(List<Candidate> candidates, int[] weights) {
+        List<Candidate> chosen = new ArrayList<>();
+        BitSet covered = new BitSet();
+
+        while (chosen.size() < maxBundleSize) {
+            Candidate best = null;
+            double bestRatio = 0;
+            int bestGain = 0;
+            for (Candidate candidate : candidates) {
+                int gain = weightOf(candidate.mask, covered, weights);
+                if (gain == 0) {
+                    continue;
+                }
+                double ratio = gain / candidate.price;
+                if (best == null || ratio > bestRatio
+                        || (ratio == bestRatio && (gain > bestGain
+                        || (gain == bestGain && candidate.item.id < best.item.id)))) {
+                    best = candidate;
+                    bestRatio = ratio;
+                    bestGain = gain;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            chosen.add(best);
+            covered.or(best.mask);
+        }
+
+        // 나중에 고른 상품이 앞서 고른 상품을 완전히 덮을 수 있으므로 중복 상품 제거
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            BitSet others = new BitSet();
+            for (int j = 0; j < chosen.size(); j++) {
+                if (j != i) {
+                    others.or(chosen.get(j).mask);
+                }
+            }
+            BitSet own = (BitSet) chosen.get(i).mask.clone();
+            own.andNot(others);
+            if (own.isEmpty()) {
+                chosen.remove(i);
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * 같은 성분 조합은 가장 싼 상품만 남기고, 더 싸거나 같은 가격에 더 많이 덮는 상품이 있는 상품은 제외합니다.
+     */
+    private List<Candidate> removeDominated(List<Candidate> candidates) {
+        Map<BitSet, Candidate> cheapestByMask = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            cheapestByMask.merge(candidate.mask, candidate,
+                    (a, b) -> cheaper(a, b) ? a : b);
+        }
+
+        List<Candidate> distinct = new ArrayList<>(cheapestByMask.values());
+        distinct.sort(Comparator.comparingDouble((Candidate c) -> c.price).thenComparingLong(c -> c.item.id));
+
+        List<Candidate> result = new ArrayList<>();
+        for (Candidate candidate : distinct) {
+            boolean dominated = false;
+            for (Candidate other : distinct) {
+                if (other != candidate && other.price <= candidate.price + PRICE_EPSILON
+                        && contains(other.mask, candidate.mask)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    private Selection toSelection(List<Candidate> chosen, int[] weights, boolean exact, boolean timedOut) {
+        List<Candidate> ordered = new ArrayList<>(chosen);
+        ordered.sort(Comparator.comparingInt((Candidate c) -> -weightOf(c.mask, null, weights))
+                .thenComparingLong(c -> c.item.id));
+        List<Item> result = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            result.add(candidate.item);
+        }
+        return new Selection(result, exact, timedOut);
+    }
+
+    private static boolean cheaper(Candidate a, Candidate b) {
+        if (Math.abs(a.price - b.price) > PRICE_EPSILON) {
+            return a.price < b.price;
+        }
+        return a.item.id < b.item.id;
+    }
+
+    private static boolean contains(BitSet superset, BitSet subset) {
+        BitSet rest = (BitSet) subset.clone();
+        rest.andNot(superset);
+        return rest.isEmpty();
+    }
+
+    /** mask 중 covered에 없는 성분의 점수 합 (covered가 null이면 전체) */
+    private static int weightOf(BitSet mask, BitSet covered, int[] weights) {
+        int sum = 0;
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            if (covered == null || !covered.get(i)) {
+                sum += weights[i];
+            }
+        }
+        return sum;
+    }
+
+    /** 64비트 이내의 BitSet을 long으로 변환 */
+    private static long toLong(BitSet bits) {
+        long[] words = bits.toLongArray();
+        return words.length == 0 ? 0 : words[0];
+    }
+
+    private static BitSet compact(BitSet ingredients, int[] bitOf) {
+        BitSet mask = new BitSet(bitOf.length);
+        for (int i = 0; i < bitOf.length; i++) {
+            if (ingredients.get(bitOf[i])) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 비트마스크 분기 한정 탐색
+     * - 아직 덮이지 않은 가장 낮은 성분을 골라 "그 성분을 덮는 상품 하나를 넣는다" 또는 "그 성분을 포기한다"로 분기합니다.
+     * - 남은 성분을 모두 덮어도 최선보다 점수가 낮거나, 점수가 같은데 가격이 이미 비싸면 더 내려가지 않습니다.
+     */
+    private final class ExactSearch {
+
+        private final long[] masks;
+        private final double[] prices;
+        private final Candidate[] candidates;
+        private final int[] weights;
+        /** 성분별로 그 성분을 덮는 후보 인덱스 (가격 오름차순) */
+        private final int[][] coverers;
+        private final long target;
+        private final long deadline;
+
+        private final int[] stack;
+        private int nodes;
+        private boolean timedOut;
+
+        private List<Candidate> best = List.of();
+        private int bestWeight = -1;
+        private double bestPrice = Double.MAX_VALUE;
+        private int bestCount = Integer.MAX_VALUE;
+
+        private ExactSearch(List<Candidate> reduced, int[] weights, long deadline) {
+            int n = reduced.size();
+            this.candidates = reduced.toArray(new Candidate[0]);
+            this.masks = new long[n];
+            this.prices = new double[n];
+            long all = 0;
+            for (int i = 0; i < n; i++) {
+                masks[i] = toLong(candidates[i].mask);
+                prices[i] = candidates[i].price;
+                all |= masks[i];
+            }
+            this.target = all;
+            this.weights = weights;
+            this.deadline = deadline;
+            this.stack = new int[maxBundleSize];
+
+            this.coverers = new int[weights.length][];
+            for (int e = 0; e < weights.length; e++) {
+                List<Integer> list = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    if ((masks[i] & (1L << e)) != 0) {
+                        list.add(i);
+                    }
+                }
+                list.sort(Comparator.comparingDouble(i -> prices[i]));
+                coverers[e] = list.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        private void seed(List<Candidate> initial) {
+            long covered = 0;
+            double price = 0;
+            for (Candidate candidate : initial) {
+                covered |= toLong(candidate.mask);
+                price += candidate.price;
+            }
+            best = initial;
+            bestWeight = weightOf(covered);
+            bestPrice = price;
+            bestCount = initial.size();
+        }
+
+        private void run() {
+            search(0, 0, 0, 0);
+        }
+
+        private void search(long covered, long skipped, int count, double price) {
+            if (timedOut) {
+                return;
+            }
+            if (++nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+
+            int weight = weightOf(covered);
+            if (isBetter(weight, price, count)) {
+                record(weight, price, count);
+            }
+            if (count == maxBundleSize) {
+                return;
+            }
+
+            long remaining = target & ~covered & ~skipped;
+            if (remaining == 0) {
+                return;
+            }
+            int upperBound = weight + weightOf(remaining);
+            if (upperBound < bestWeight) {
+                return;
+            }
+
+            int element = Long.numberOfTrailingZeros(remaining);
+            for (int i : coverers[element]) {
+                double nextPrice = price + prices[i];
+                // 점수를 더 올릴 수 없다면 가격이 최선보다 싸야 의미가 있음 (가격 오름차순이므로 이후 후보도 불가)
+                if (upperBound == bestWeight && nextPrice > bestPrice + PRICE_EPSILON) {
+                    break;
+                }
+                stack[count] = i;
+                search(covered | masks[i], skipped, count + 1, nextPrice);
+            }
+
+            // 이 성분은 덮지 않는 경우 (번들 크기 제한 때문에 모두 덮을 수 없을 때 필요)
+            search(covered, skipped | (1L << element), count, price);
+        }
+
+        private boolean isBetter(int weight, double price, int count) {
+            if (weight != bestWeight) {
+                return weight > bestWeight;
+            }
+            if (Math.abs(price - bestPrice) > PRICE_EPSILON) {
+                return price < bestPrice;
+            }
+            return count < bestCount;
+        }
+
+        private void record(int weight, double price, int count) {
+            List<Candidate> chosen = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                chosen.add(candidates[stack[i]]);
+            }
+            best = chosen;
+            bestWeight = weight;
+            bestPrice = price;
+            bestCount = count;
+        }
+
+        private int weightOf(long mask) {
+            int sum = 0;
+            while (mask != 0) {
+                int e = Long.numberOfTrailingZeros(mask);
+                sum += weights[e];
+                mask &= mask - 1;
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * 번들 후보 상품
+     */
+    public static final class Item {
+        private final long id;
+        private final double price;
+        private final BitSet ingredients;
+
+        /**
+         * @param id          상품 ID
+         * @param price       상품 가격
+         * @param ingredients 상품에 포함된 성분 비트 (wanted와 같은 비트 위치 체계)
+         */
+        public Item(long id, double price, BitSet ingredients) {
+            this.id = id;
+            this.price = price;
+            this.ingredients = ingredients;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    /**
+     * 번들 선택 결과
+     */
+    public static final class Selection {
+        private final List<Item> items;
+        private final boolean exact;
+        private final boolean timedOut;
+
+        private Selection(List<Item> items, boolean exact, boolean timedOut) {
+            this.items = items;
+            this.exact = exact;
+            this.timedOut = timedOut;
+        }
+
+        /** 선택된 상품 (덮는 점수가 큰 순) */
+        public List<Item> getItems() {
+            return items;
+        }
+
+        /** 정확 탐색으로 최적해를 구했는지 여부 */
+        public boolean isExact() {
+            return exact;
+        }
+
+        /** 정확 탐색이 시간 예산을 넘었는지 여부 */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+
+    /** 압축된 성분 마스크를 가진 후보 */
+    private static final class Candidate {
+        private final Item item;
+        private final BitSet mask;
+        private final double price;
+
+        private Candidate(Item item, BitSet mask) {
+            this.item = item;
+            this.mask = mask;
+            this.price = Math.max(item.price, MIN_PRICE);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.entity.product.Product;
+import com.javalab.student.entity.product.ProductIngredient;
+import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.product.ProductCatalogChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 영양 성분 → 상품 역색인
+ * - 영양 성분 이름마다 그 성분을 포함하는 상품 ID 목록(posting)을 유지하고,
+ *   상품마다 포함 성분을 BitSet으로 들고 있어 추천 성분과의 교집합을 비트 연산으로 구합니다.
+ * - 처음 사용할 때 전체 상품을 한 번 읽고, 이후에는 ProductCatalogChangedEvent가 커밋되면 해당 상품만 다시 읽어 갱신합니다.
+ * - 추천 결과 캐시보다 먼저 갱신되어야 하므로 이벤트 리스너 순서를 가장 앞으로 둡니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIngredientIndex {
+
+    private final ProductRepository productRepository;
+
+    /** 영양 성분 이름 → 비트 위치 (한 번 부여된 위치는 바뀌지 않음) */
+    private final Map<String, Integer> ingredientBits = new ConcurrentHashMap<>();
+    /** 상품 ID → 색인된 상품 */
+    private final Map<Long, IndexedProduct> products = new ConcurrentHashMap<>();
+    /** 영양 성분 이름 → 포함 상품 ID */
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * 영양 성분 중 하나라도 포함하는 상품을 ID 순으로 반환합니다.
+     *
+     * @param ingredientNames 영양 성분 이름 목록
+     * @return 색인된 상품 목록
+     */
+    public List<IndexedProduct> findProductsWithAny(Collection<String> ingredientNames) {
+        ensureLoaded();
+        Set<Long> productIds = new HashSet<>();
+        for (String ingredientName : ingredientNames) {
+            Set<Long> posting = postings.get(ingredientName);
+            if (posting != null) {
+                productIds.addAll(posting);
+            }
+        }
+
+        List<IndexedProduct> result = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            IndexedProduct product = products.get(productId);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        result.sort(Comparator.comparing(IndexedProduct::getId));
+        return result;
+    }
+
+    /**
+     * 영양 성분 이름 목록을 색인의 비트 위치로 변환합니다. 어떤 상품에도 없는 성분은 무시됩니다.
+     */
+    public BitSet toBitSet(Collection<String> ingredientNames) {
+        ensureLoaded();
+        BitSet bits = new BitSet();
+        for (String ingredientName : ingredientNames) {
+            Integer bit = ingredientBits.get(ingredientName);
+            if (bit != null) {
+                bits.set(bit);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 영양 성분 이름의 비트 위치를 반환합니다.
+     *
+     * @return 비트 위치 (어떤 상품에도 없는 성분이면 -1)
+     */
+    public int bitOf(String ingredientName) {
+        ensureLoaded();
+        Integer bit = ingredientBits.get(ingredientName);
+        return bit == null ? -1 : bit;
+    }
+
+    /**
+     * 상품 ID로 색인된 상품을 조회합니다.
+     *
+     * @return 색인된 상품 (없으면 null)
+     */
+    public IndexedProduct find(Long productId) {
+        ensureLoaded();
+        return productId == null ? null : products.get(productId);
+    }
+
+    /** 색인된 상품 수 */
+    public int size() {
+        ensureLoaded();
+        return products.size();
+    }
+
+    /**
+     * 상품 카탈로그 변경이 커밋되면 해당 상품만 다시 읽어 색인을 갱신합니다.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 하나를 다시 읽어 색인을 갱신합니다. 상품이 없어졌으면 색인에서 제거합니다.
+     * 아직 전체 색인을 만들기 전이면 아무것도 하지 않습니다. (처음 사용할 때 최신 상태로 만들어짐)
+     *
+     * @param productId 상품 ID
+     */
+    public synchronized void refresh(Long productId) {
+        if (!loaded || productId == null) {
+            return;
+        }
+        productRepository.findByIdWithIngredients(productId)
+                .ifPresentOrElse(this::upsert, () -> remove(productId));
+        log.debug("영양 성분 역색인 갱신. productId: {}", productId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            List<Product> allProducts = productRepository.findAllWithIngredients();
+            allProducts.forEach(this::upsert);
+            loaded = true;
+            log.info("영양 성분 역색인 생성 완료. 상품 수: {}, 영양 성분 수: {}", products.size(), ingredientBits.size());
+        }
+    }
+
+    private void upsert(Product product) {
+        remove(product.getId());
+
+        List<ProductIngredient> ingredients = product.getIngredients() != null ? product.getIngredients() : List.of();
+        String[] names = new String[ingredients.size()];
+        int[] bits = new int[ingredients.size()];
+        BitSet bitSet = new BitSet();
+        for (int i = 0; i < names.length; i++) {
+            names[i] = ingredients.get(i).getIngredientName();
+            bits[i] = ingredientBits.computeIfAbsent(names[i], name -> ingredientBits.size());
+            bitSet.set(bits[i]);
+        }
+
+        IndexedProduct indexed = new IndexedProduct(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getScore(), product.getStock(), product.isActive(), names, bits, bitSet);
+        products.put(indexed.getId(), indexed);
+        for (String name : names) {
+            postings.computeIfAbsent(name, key -> new ConcurrentSkipListSet<>()).add(indexed.getId());
+        }
+    }
+
+    private void remove(Long productId) {
+        IndexedProduct previous = products.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String name : previous.ingredientNames) {
+            Set<Long> posting = postings.get(name);
+            if (posting != null) {
+                posting.remove(productId);
+            }
+        }
+    }
+
+    /**
+     * 색인에 저장된 상품 정보 (추천 결과를 만드는 데 필요한 값만 보관하는 불변 객체)
+     */
+    public static final class IndexedProduct {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final BigDecimal price;
+        private final int score;
+        private final int stock;
+        private final boolean active;
+        private final String[] ingredientNames;
+        private final int[] ingredientBits;
+        private final BitSet ingredients;
+
+        private IndexedProduct(Long id, String name, String description, BigDecimal price, int score, int stock,
+                               boolean active, String[] ingredientNames, int[] ingredientBits, BitSet ingredients) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.price = price;
+            this.score = score;
+            this.stock = stock;
+            this.active = active;
+            this.ingredientNames = ingredientNames;
+            this.ingredientBits = ingredientBits;
+            this.ingredients = ingredients;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getStock() {
+            return stock;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        /** 상품의 포함 성분 중 query에도 있는 성분의 비트 (새 BitSet) */
+        public BitSet matching(BitSet query) {
+            BitSet matched = (BitSet) ingredients.clone();
+            matched.and(query);
+            return matched;
+        }
+
+        /**
+         * 상품의 포함 성분 중 bits에 있는 성분 이름을 상품에 등록된 순서대로 반환합니다.
+         */
+        public List<String> ingredientNamesIn(BitSet bits) {
+            List<String> result = new ArrayList<>();
+            for (int i = 0; i < ingredientNames.length; i++) {
+                if (bits.get(ingredientBits[i])) {
+                    result.add(ingredientNames[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
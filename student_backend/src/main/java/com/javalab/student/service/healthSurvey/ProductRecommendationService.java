@@ -1,89 +1,94 @@
 package com.javalab.student.service.healthSurvey;
 
 import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
-import com.javalab.student.entity.product.Product;
-import com.javalab.student.entity.product.ProductIngredient;
-import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.healthSurvey.ProductIngredientIndex.IndexedProduct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 추천된 영양 성분을 기반으로 제품을 추천하는 서비스 클래스
+ * - 전체 상품을 조회하지 않고 ProductIngredientIndex에서 추천 성분을 포함하는 상품만 가져옵니다.
+ * - 어떤 상품을 묶어 추천할지는 ProductBundlingEngine이 결정합니다.
  */
 @Service
 public class ProductRecommendationService {
 
     @Autowired
-    private ProductRepository productRepository;
+    private ProductIngredientIndex productIngredientIndex;
+
+    @Autowired
+    private ProductBundlingEngine productBundlingEngine;
 
     /**
      * 추천된 영양 성분 목록에 따라 제품을 추천합니다.
-     * 이 메소드는 필수 영양 성분과 추가 영양 성분을 모두 고려하여 제품을 추천하고,
-     * 각 제품이 얼마나 많은 추천 영양 성분을 포함하는지에 따라 정렬합니다.
+     * 판매 중이고 재고가 있는 상품 중에서, 추천 영양 성분 점수를 가장 많이 덮으면서 가격 합이 가장 낮은 묶음을
+     * ProductBundlingEngine으로 고릅니다. (묶음 크기는 recommendation.bundle.max-size로 제한)
      *
      * @param recommendedIngredients 추천된 영양 성분 이름 목록 (필수 및 추가 영양 성분 포함)
      * @param ingredientScores       영양 성분별 점수 맵
-     * @return 추천 제품 목록 (각 영양 성분별로 그룹화되지 않음)
+     * @return 추천 제품 목록 (덮는 영양 성분 점수가 큰 제품부터)
      */
     public List<ProductRecommendationDTO> recommendProductsByIngredients(List<String> recommendedIngredients, Map<String, Integer> ingredientScores) {
-        List<Product> allProducts = productRepository.findAll();
-
-        // 모든 제품에 대해 추천 영양 성분 포함 여부를 확인하고 DTO로 변환
-        List<ProductRecommendationDTO> recommendedProducts = allProducts.stream()
-                .map(product -> convertToDTO(product, recommendedIngredients, ingredientScores))
-                .filter(dto -> !dto.getRecommendedIngredients().isEmpty()) // 추천 영양 성분을 포함한 제품만 필터링
-                .sorted(Comparator.comparingInt(dto -> -dto.getRecommendedIngredients().size())) // 추천 영양 성분 개수 내림차순 정렬
-                .collect(Collectors.toList());
-
-        // 중복 영양 성분을 처리하면서 최종 추천 목록 생성
-        List<ProductRecommendationDTO> finalRecommendations = new ArrayList<>();
-        Set<String> coveredIngredients = new HashSet<>();
-
-        for (ProductRecommendationDTO product : recommendedProducts) {
-            List<String> productIngredients = product.getRecommendedIngredients();
+        BitSet wanted = productIngredientIndex.toBitSet(recommendedIngredients);
+        if (wanted.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            // 아직 커버되지 않은 새로운 영양 성분이 있는 경우에만 추가
-            if (productIngredients.stream().anyMatch(ingredient -> !coveredIngredients.contains(ingredient))) {
-                finalRecommendations.add(product);
-                coveredIngredients.addAll(productIngredients);
+        // 비트 위치별 영양 성분 점수
+        int[] weights = new int[wanted.length()];
+        for (String ingredientName : recommendedIngredients) {
+            int bit = productIngredientIndex.bitOf(ingredientName);
+            if (bit >= 0) {
+                weights[bit] = ingredientScores.getOrDefault(ingredientName, 0);
             }
+        }
 
-            // 모든 추천 영양 성분이 커버되면 종료
-            if (coveredIngredients.containsAll(recommendedIngredients)) {
-                break;
+        // 추천 영양 성분을 하나 이상 포함하고 구매 가능한 제품만 후보로 사용
+        Map<Long, Candidate> candidatesById = new HashMap<>();
+        List<ProductBundlingEngine.Item> items = new ArrayList<>();
+        for (IndexedProduct product : productIngredientIndex.findProductsWithAny(recommendedIngredients)) {
+            if (!product.isActive() || product.getStock() <= 0) {
+                continue;
+            }
+            BitSet matched = product.matching(wanted);
+            if (matched.isEmpty()) {
+                continue;
             }
+            candidatesById.put(product.getId(), new Candidate(product, matched));
+            double price = product.getPrice() != null ? product.getPrice().doubleValue() : 0;
+            items.add(new ProductBundlingEngine.Item(product.getId(), price, matched));
         }
 
+        ProductBundlingEngine.Selection selection = productBundlingEngine.select(items, wanted, weights);
+
+        List<ProductRecommendationDTO> finalRecommendations = new ArrayList<>();
+        for (ProductBundlingEngine.Item item : selection.getItems()) {
+            finalRecommendations.add(convertToDTO(candidatesById.get(item.getId()), ingredientScores));
+        }
         return finalRecommendations;
     }
 
     /**
-     * Product 엔티티를 ProductRecommendationDTO로 변환합니다.
-     * 이 메소드는 제품에 포함된 영양 성분 중 추천된 영양 성분만 필터링하고,
-     * 해당 영양 성분의 점수를 함께 저장합니다.
+     * 색인된 상품을 ProductRecommendationDTO로 변환합니다.
+     * 제품에 포함된 영양 성분 중 추천된 영양 성분만 남기고, 해당 영양 성분의 점수를 함께 저장합니다.
      *
-     * @param product               변환할 Product 엔티티
-     * @param recommendedIngredients 추천된 영양 성분 목록
-     * @param ingredientScores      영양 성분 점수 맵
+     * @param candidate        변환할 후보 상품
+     * @param ingredientScores 영양 성분 점수 맵
      * @return 변환된 ProductRecommendationDTO
      */
-    private ProductRecommendationDTO convertToDTO(Product product, List<String> recommendedIngredients, Map<String, Integer> ingredientScores) {
+    private ProductRecommendationDTO convertToDTO(Candidate candidate, Map<String, Integer> ingredientScores) {
+        IndexedProduct product = candidate.product;
+
         // 제품에 포함된 추천 영양 성분 추출
-        List<String> productRecommendedIngredients = product.getIngredients().stream()
-                .map(ProductIngredient::getIngredientName)
-                .filter(recommendedIngredients::contains)
-                .collect(Collectors.toList());
+        List<String> productRecommendedIngredients = product.ingredientNamesIn(candidate.matched);
 
         // 제품에 포함된 각 영양 성분의 점수를 매핑합니다.
-        Map<String, Integer> productIngredientScores = product.getIngredients().stream()
-                .filter(ingredient -> recommendedIngredients.contains(ingredient.getIngredientName())) // 추천된 영양 성분만 필터링
-                .collect(Collectors.toMap(
-                        ProductIngredient::getIngredientName,
-                        ingredient -> ingredientScores.getOrDefault(ingredient.getIngredientName(), 0)
-                ));
+        Map<String, Integer> productIngredientScores = new LinkedHashMap<>();
+        for (String ingredientName : productRecommendedIngredients) {
+            productIngredientScores.put(ingredientName, ingredientScores.getOrDefault(ingredientName, 0));
+        }
 
         return new ProductRecommendationDTO(
                 product.getId(),
@@ -95,4 +100,15 @@ public class ProductRecommendationService {
                 productIngredientScores
         );
     }
+
+    /** 추천 후보 상품과 포함된 추천 영양 성분 비트 */
+    private static final class Candidate {
+        private final IndexedProduct product;
+        private final BitSet matched;
+
+        private Candidate(IndexedProduct product, BitSet matched) {
+            this.product = product;
+            this.matched = matched;
+        }
+    }
 }
@@ -0,0 +1,472 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.constant.BatchJobStatus;
+import com.javalab.student.dto.healthSurvey.MemberSurveyAnswer;
+import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
+import com.javalab.student.entity.healthSurvey.RecommendationBatchJob;
+import com.javalab.student.repository.healthSurvey.MemberResponseOptionRepository;
+import com.javalab.student.repository.healthSurvey.MemberResponseRepository;
+import com.javalab.student.repository.healthSurvey.RecommendationBatchJobRepository;
+import com.javalab.student.repository.healthSurvey.RecommendationRepository;
+import com.javalab.student.util.BoundedExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 전체 회원 추천 일괄 재계산 작업
+ * - 점수 규칙이나 상품 카탈로그가 바뀐 뒤 저장된 추천(Recommendation)을 다시 만들 때 사용합니다.
+ * - 설문 응답이 있는 회원을 ID 오름차순 키셋 페이징으로 청크 단위로 읽고,
+ *   청크의 응답/나이/키/몸무게/성별/최근 추천 요약값을 IN 쿼리 몇 번으로 한꺼번에 조회합니다.
+ * - 점수 계산은 DB를 쓰지 않으므로 고정 크기 워커 풀에서 병렬로 수행하고,
+ *   저장은 조정 스레드 하나가 JDBC 배치 INSERT로 처리합니다. 작업 전체가 동시에 쓰는 커넥션은 하나뿐이라
+ *   Hikari 풀(최대 10개)을 일반 요청과 나눠 쓰더라도 고갈시키지 않습니다.
+ * - 최근 추천과 입력/결과가 같은 회원은 저장하지 않습니다. (saveRecommendationSnapshot과 같은 요약값 사용)
+ * - 청크 저장과 체크포인트(RecommendationBatchJob) 갱신은 같은 트랜잭션이므로, 중지/실패 후 이어서 실행해도
+ *   중복 저장되거나 빠지는 회원이 없습니다.
+ */
+@Service
+@Slf4j
+public class RecommendationBatchService {
+
+    private static final String INSERT_RECOMMENDATION =
+            "INSERT INTO recommendation (member_id, created_at, input_digest) VALUES (?, ?, ?)";
+    private static final String SELECT_RECOMMENDATION_IDS =
+            "SELECT id, member_id, input_digest FROM recommendation WHERE created_at = :createdAt AND member_id IN (:memberIds)";
+    private static final String INSERT_INGREDIENT =
+            "INSERT INTO recommended_ingredient (recommendation_id, ingredient_name, score) VALUES (?, ?, ?)";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO recommended_product (recommendation_id, product_id, reason) VALUES (?, ?, ?)";
+    private static final String SELECT_PRODUCT_IDS =
+            "SELECT id, recommendation_id, product_id FROM recommended_product WHERE recommendation_id IN (:recommendationIds)";
+    private static final String INSERT_PRODUCT_INGREDIENT =
+            "INSERT INTO recommended_product_ingredients (recommended_product_id, ingredient_name) VALUES (?, ?)";
+
+    private final RecommendationService recommendationService;
+    private final MemberInfoService memberInfoService;
+    private final BmiCalculator bmiCalculator;
+    private final ScoringRuleStore scoringRuleStore;
+    private final ProductIngredientIndex productIngredientIndex;
+    private final MemberResponseOptionRepository memberResponseOptionRepository;
+    private final MemberResponseRepository memberResponseRepository;
+    private final RecommendationRepository recommendationRepository;
+    private final RecommendationBatchJobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int workerThreads;
+    private final ExecutorService coordinator;
+    private final ThreadPoolExecutor workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopRequested;
+    /** 이번 실행의 시작 시각과 시작 시점 처리 건수 (처리 속도 계산용) */
+    private volatile long runStartedNanos;
+    private volatile long processedAtRunStart;
+
+    public RecommendationBatchService(RecommendationService recommendationService,
+                                      MemberInfoService memberInfoService,
+                                      BmiCalculator bmiCalculator,
+                                      ScoringRuleStore scoringRuleStore,
+                                      ProductIngredientIndex productIngredientIndex,
+                                      MemberResponseOptionRepository memberResponseOptionRepository,
+                                      MemberResponseRepository memberResponseRepository,
+                                      RecommendationRepository recommendationRepository,
+                                      RecommendationBatchJobRepository jobRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${recommendation.batch.chunk-size:500}") int chunkSize,
+                                      @Value("${recommendation.batch.worker-threads:4}") int workerThreads) {
+        this.recommendationService = recommendationService;
+        this.memberInfoService = memberInfoService;
+        this.bmiCalculator = bmiCalculator;
+        this.scoringRuleStore = scoringRuleStore;
+        this.productIngredientIndex = productIngredientIndex;
+        this.memberResponseOptionRepository = memberResponseOptionRepository;
+        this.memberResponseRepository = memberResponseRepository;
+        this.recommendationRepository = recommendationRepository;
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.workerThreads = Math.max(1, workerThreads);
+
+        this.coordinator = Executors.newSingleThreadExecutor(BoundedExecutors.daemonThreads("recommendation-batch"));
+        // 청크마다 워커 수만큼만 작업을 넣으므로 큐는 워커 수로 충분합니다.
+        this.workers = BoundedExecutors.fixedPool("recommendation-batch-worker", this.workerThreads, this.workerThreads,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 재계산 작업을 시작합니다. 작업은 백그라운드에서 실행되며 즉시 반환합니다.
+     *
+     * @param resume true면 가장 최근의 미완료(중지/실패/비정상 종료) 작업을 이어서 실행하고, 없으면 새로 시작합니다.
+     * @return 시작한 작업의 진행 상태
+     */
+    public Map<String, Object> start(boolean resume) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("이미 실행 중인 추천 재계산 작업이 있습니다.");
+        }
+        try {
+            RecommendationBatchJob job = resume
+                    ? jobRepository.findTopByOrderByIdDesc()
+                            .filter(latest -> latest.getStatus() != BatchJobStatus.COMPLETED)
+                            .orElse(null)
+                    : null;
+
+            if (job == null) {
+                job = new RecommendationBatchJob();
+                job.setTotalMembers(memberResponseOptionRepository.countRespondents());
+                job.setStartedAt(LocalDateTime.now());
+            } else {
+                log.info("추천 재계산 작업을 이어서 실행합니다. jobId: {}, lastMemberId: {}", job.getId(), job.getLastMemberId());
+            }
+            job.setStatus(BatchJobStatus.RUNNING);
+            job.setFinishedAt(null);
+            job.setErrorMessage(null);
+            job.setUpdatedAt(LocalDateTime.now());
+            RecommendationBatchJob saved = jobRepository.save(job);
+
+            stopRequested = false;
+            runStartedNanos = System.nanoTime();
+            processedAtRunStart = saved.getProcessedCount();
+            coordinator.submit(() -> run(saved));
+            return toProgress(saved);
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 실행 중인 작업에 중지를 요청합니다. 처리 중인 청크를 저장한 뒤 STOPPED 상태로 멈춥니다.
+     */
+    public void stop() {
+        if (running.get()) {
+            stopRequested = true;
+            log.info("추천 재계산 작업 중지 요청");
+        }
+    }
+
+    /**
+     * 가장 최근 작업의 진행 상태를 반환합니다.
+     */
+    public Map<String, Object> getProgress() {
+        return jobRepository.findTopByOrderByIdDesc()
+                .map(this::toProgress)
+                .orElseGet(() -> {
+                    Map<String, Object> progress = new LinkedHashMap<>();
+                    progress.put("running", running.get());
+                    return progress;
+                });
+    }
+
+    /**
+     * 설정된 일정에 따라 미완료 작업을 이어서 실행하거나 새 작업을 시작합니다.
+     * (recommendation.batch.cron 기본값 "-"는 비활성)
+     */
+    @Scheduled(cron = "${recommendation.batch.cron:-}")
+    public void runScheduled() {
+        if (running.get()) {
+            log.info("추천 재계산 작업이 이미 실행 중이라 예약 실행을 건너뜁니다.");
+            return;
+        }
+        start(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        coordinator.shutdown();
+        workers.shutdown();
+    }
+
+    /**
+     * 조정 스레드에서 실행되는 작업 본체
+     */
+    private void run(RecommendationBatchJob job) {
+        try {
+            // 점수 규칙 스냅샷과 상품 역색인은 처음 사용할 때 DB에서 읽으므로 워커에 넘기기 전에 미리 읽어 둡니다.
+            scoringRuleStore.getSnapshot();
+            productIngredientIndex.size();
+
+            while (!stopRequested) {
+                List<Long> memberIds = memberResponseOptionRepository.findRespondentIdsAfter(
+                        job.getLastMemberId(), PageRequest.of(0, chunkSize));
+                if (memberIds.isEmpty()) {
+                    job.setStatus(BatchJobStatus.COMPLETED);
+                    job.setFinishedAt(LocalDateTime.now());
+                    break;
+                }
+
+                ChunkResult result = scoreChunk(memberIds);
+
+                job.setLastMemberId(memberIds.get(memberIds.size() - 1));
+                job.setProcessedCount(job.getProcessedCount() + memberIds.size());
+                job.setWrittenCount(job.getWrittenCount() + result.rows.size());
+                job.setUnchangedCount(job.getUnchangedCount() + result.unchanged);
+                job.setFailedCount(job.getFailedCount() + result.failed);
+                job.setUpdatedAt(LocalDateTime.now());
+                job = writeChunk(result.rows, job);
+
+                log.info("추천 재계산 진행: {}/{} (저장 {}, 변경 없음 {}, 실패 {}), 마지막 회원 ID: {}",
+                        job.getProcessedCount(), job.getTotalMembers(), job.getWrittenCount(),
+                        job.getUnchangedCount(), job.getFailedCount(), job.getLastMemberId());
+            }
+
+            if (job.getStatus() == BatchJobStatus.RUNNING) {
+                job.setStatus(BatchJobStatus.STOPPED);
+            }
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.info("추천 재계산 작업 종료. jobId: {}, 상태: {}", job.getId(), job.getStatus());
+
+        } catch (Exception e) {
+            log.error("추천 재계산 작업 실행 중 오류 발생. jobId: {}", job.getId(), e);
+            markFailed(job.getId(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 청크의 입력을 한꺼번에 읽고 워커 풀에서 병렬로 추천을 계산합니다.
+     */
+    private ChunkResult scoreChunk(List<Long> memberIds) throws Exception {
+        Map<Long, List<SurveyAnswer>> answersByMember = new HashMap<>();
+        for (MemberSurveyAnswer row : memberResponseOptionRepository.findLatestAnswersByMemberIds(memberIds)) {
+            answersByMember.computeIfAbsent(row.getMemberId(), id -> new ArrayList<>()).add(row.getAnswer());
+        }
+
+        // 성별은 최신 응답 하나만 사용 (regTime 내림차순으로 조회됨)
+        Map<Long, String> genders = new HashMap<>();
+        for (Object[] row : memberResponseOptionRepository.findGenderOptionIdsByMemberIds(memberIds)) {
+            genders.putIfAbsent((Long) row[0], memberInfoService.genderOf((Long) row[1]));
+        }
+
+        Map<Long, BodyInfo> bodies = new HashMap<>();
+        for (Object[] row : memberResponseRepository.findAgeHeightAndWeightByMemberIds(memberIds)) {
+            BodyInfo body = bodies.computeIfAbsent((Long) row[0], id -> new BodyInfo());
+            long questionId = (Long) row[1];
+            String text = (String) row[2];
+            if (questionId == 3L) {
+                body.age = memberInfoService.parseAge(text);
+            } else if (questionId == 4L) {
+                body.height = memberInfoService.parseMeasurement(text, "height");
+            } else if (questionId == 5L) {
+                body.weight = memberInfoService.parseMeasurement(text, "weight");
+            }
+        }
+
+        Map<Long, String> latestDigests = new HashMap<>();
+        for (Object[] row : recommendationRepository.findLatestDigestsByMemberIds(memberIds)) {
+            latestDigests.put((Long) row[0], (String) row[1]);
+        }
+
+        // 워커 수만큼 나눠 병렬 계산 (계산 중에는 DB를 쓰지 않음)
+        List<Callable<ChunkResult>> tasks = new ArrayList<>(workerThreads);
+        int sliceSize = (memberIds.size() + workerThreads - 1) / workerThreads;
+        for (int from = 0; from < memberIds.size(); from += sliceSize) {
+            List<Long> slice = memberIds.subList(from, Math.min(from + sliceSize, memberIds.size()));
+            tasks.add(() -> scoreSlice(slice, answersByMember, genders, bodies, latestDigests));
+        }
+
+        ChunkResult total = new ChunkResult();
+        for (Future<ChunkResult> future : workers.invokeAll(tasks)) {
+            ChunkResult slice = future.get();
+            total.rows.addAll(slice.rows);
+            total.unchanged += slice.unchanged;
+            total.failed += slice.failed;
+        }
+        return total;
+    }
+
+    private ChunkResult scoreSlice(List<Long> memberIds, Map<Long, List<SurveyAnswer>> answersByMember,
+                                   Map<Long, String> genders, Map<Long, BodyInfo> bodies,
+                                   Map<Long, String> latestDigests) {
+        ChunkResult result = new ChunkResult();
+        for (Long memberId : memberIds) {
+            try {
+                List<SurveyAnswer> answers = answersByMember.getOrDefault(memberId, List.of());
+                BodyInfo body = bodies.getOrDefault(memberId, new BodyInfo());
+                String gender = genders.getOrDefault(memberId, "알 수 없음");
+                double bmi = bmiCalculator.calculateBMI(body.height, body.weight);
+
+                SurveyFingerprint fingerprint = recommendationService.fingerprintOf(answers, body.age, bmi, gender);
+                CachedRecommendation cached = recommendationService.recommend(fingerprint, answers, body.age, bmi, gender);
+                String digest = RecommendationService.snapshotDigest(fingerprint, cached);
+
+                if (digest.equals(latestDigests.get(memberId))) {
+                    result.unchanged++;
+                } else {
+                    result.rows.add(new MemberRecommendation(memberId, digest, cached));
+                }
+            } catch (Exception e) {
+                log.warn("회원 추천 재계산 실패. memberId: {}", memberId, e);
+                result.failed++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 청크의 새 추천을 JDBC 배치 INSERT로 저장하고, 같은 트랜잭션에서 체크포인트를 갱신합니다.
+     * 생성된 ID는 (created_at, member_id, input_digest) / (recommendation_id, product_id)로 다시 읽어 자식 행에 연결합니다.
+     * (드라이버마다 배치 INSERT의 생성 키 반환 지원이 달라서 다시 읽는 방식을 사용)
+     */
+    private RecommendationBatchJob writeChunk(List<MemberRecommendation> rows, RecommendationBatchJob job) {
+        return transactionTemplate.execute(status -> {
+            if (!rows.isEmpty()) {
+                // 컬럼 정밀도와 관계없이 다시 읽을 수 있도록 초 단위로 자름
+                Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+                Map<Long, String> digests = new HashMap<>();
+                rows.forEach(row -> digests.put(row.memberId, row.digest));
+
+                jdbcTemplate.batchUpdate(INSERT_RECOMMENDATION, rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.memberId);
+                    ps.setTimestamp(2, createdAt);
+                    ps.setString(3, row.digest);
+                });
+
+                Map<Long, Long> recommendationIds = new HashMap<>();
+                namedJdbcTemplate.query(SELECT_RECOMMENDATION_IDS,
+                        new MapSqlParameterSource("createdAt", createdAt)
+                                .addValue("memberIds", rows.stream().map(row -> row.memberId).toList()),
+                        rs -> {
+                            // 같은 시각에 회원이 직접 저장한 추천과 섞이지 않도록 요약값까지 확인
+                            long memberId = rs.getLong("member_id");
+                            if (rs.getString("input_digest").equals(digests.get(memberId))) {
+                                recommendationIds.put(memberId, rs.getLong("id"));
+                            }
+                        });
+
+                List<Object[]> ingredientArgs = new ArrayList<>();
+                List<Object[]> productArgs = new ArrayList<>();
+                Map<String, List<String>> productIngredients = new HashMap<>();
+                for (MemberRecommendation row : rows) {
+                    Long recommendationId = recommendationIds.get(row.memberId);
+                    for (Map<String, Object> ingredient : row.cached.getRecommendedIngredients()) {
+                        ingredientArgs.add(new Object[]{recommendationId, ingredient.get("name"), ingredient.get("score")});
+                    }
+                    for (ProductRecommendationDTO product : row.cached.getProductRecommendations()) {
+                        productArgs.add(new Object[]{recommendationId, product.getId(), product.getDescription()});
+                        productIngredients.put(recommendationId + ":" + product.getId(), product.getRecommendedIngredients());
+                    }
+                }
+                jdbcTemplate.batchUpdate(INSERT_INGREDIENT, ingredientArgs);
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT, productArgs);
+
+                if (!productArgs.isEmpty()) {
+                    List<Object[]> productIngredientArgs = new ArrayList<>();
+                    namedJdbcTemplate.query(SELECT_PRODUCT_IDS,
+                            new MapSqlParameterSource("recommendationIds", recommendationIds.values()),
+                            rs -> {
+                                String key = rs.getLong("recommendation_id") + ":" + rs.getLong("product_id");
+                                for (String ingredientName : productIngredients.getOrDefault(key, List.of())) {
+                                    productIngredientArgs.add(new Object[]{rs.getLong("id"), ingredientName});
+                                }
+                            });
+                    jdbcTemplate.batchUpdate(INSERT_PRODUCT_INGREDIENT, productIngredientArgs);
+                }
+            }
+            return jobRepository.save(job);
+        });
+    }
+
+    private void markFailed(Long jobId, Exception e) {
+        try {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(BatchJobStatus.FAILED);
+                job.setUpdatedAt(LocalDateTime.now());
+                String message = String.valueOf(e.getMessage());
+                job.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+                jobRepository.save(job);
+            });
+        } catch (Exception saveError) {
+            log.error("추천 재계산 작업 실패 상태 저장 중 오류 발생. jobId: {}", jobId, saveError);
+        }
+    }
+
+    private Map<String, Object> toProgress(RecommendationBatchJob job) {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("jobId", job.getId());
+        progress.put("status", job.getStatus());
+        progress.put("running", running.get());
+        progress.put("lastMemberId", job.getLastMemberId());
+        progress.put("totalMembers", job.getTotalMembers());
+        progress.put("processedCount", job.getProcessedCount());
+        progress.put("writtenCount", job.getWrittenCount());
+        progress.put("unchangedCount", job.getUnchangedCount());
+        progress.put("failedCount", job.getFailedCount());
+        progress.put("percent", job.getTotalMembers() == 0 ? 0.0
+                : Math.min(100.0, job.getProcessedCount() * 100.0 / job.getTotalMembers()));
+
+        if (running.get()) {
+            double seconds = Duration.ofNanos(System.nanoTime() - runStartedNanos).toMillis() / 1000.0;
+            double rate = seconds > 0 ? (job.getProcessedCount() - processedAtRunStart) / seconds : 0;
+            progress.put("membersPerSecond", rate);
+            long remaining = Math.max(0, job.getTotalMembers() - job.getProcessedCount());
+            progress.put("estimatedSecondsLeft", rate > 0 ? (long) (remaining / rate) : null);
+        }
+        progress.put("startedAt", job.getStartedAt());
+        progress.put("updatedAt", job.getUpdatedAt());
+        progress.put("finishedAt", job.getFinishedAt());
+        progress.put("errorMessage", job.getErrorMessage());
+        return progress;
+    }
+
+    /** 회원의 나이/키/몸무게 응답 */
+    private static final class BodyInfo {
+        private int age;
+        private double height;
+        private double weight;
+    }
+
+    /** 저장할 회원 추천 한 건 */
+    private static final class MemberRecommendation {
+        private final Long memberId;
+        private final String digest;
+        private final CachedRecommendation cached;
+
+        private MemberRecommendation(Long memberId, String digest, CachedRecommendation cached) {
+            this.memberId = memberId;
+            this.digest = digest;
+            this.cached = cached;
+        }
+    }
+
+    /** 청크(또는 청크 일부)의 계산 결과 */
+    private static final class ChunkResult {
+        private final List<MemberRecommendation> rows = new ArrayList<>();
+        private int unchanged;
+        private int failed;
+    }
+}
@@ -0,0 +1,135 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.service.product.ProductCatalogChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 설문 지문(SurveyFingerprint) 기준 추천 결과 캐시
+ * - 최대 항목 수를 넘으면 가장 오래 사용되지 않은 항목부터 제거하고(LRU), 유효 시간이 지난 항목은 조회 시 제거합니다.
+ * - 점수 규칙이 바뀌면 키의 규칙 버전이 달라지므로 이전 결과는 더 이상 조회되지 않습니다.
+ * - 상품 카탈로그가 바뀌면(ProductCatalogChangedEvent) 커밋 후 전체를 비웁니다.
+ */
+@Service
+@Slf4j
+public class RecommendationCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<SurveyFingerprint, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /** 카탈로그 변경마다 증가. 계산 중에 변경된 결과는 저장하지 않기 위해 사용합니다. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public RecommendationCache(@Value("${recommendation.cache.max-size:1000}") int maxSize,
+                               @Value("${recommendation.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SurveyFingerprint, Entry> eldest) {
+                if (size() > RecommendationCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 결과를 반환하고, 없으면 계산해서 저장합니다.
+     * 같은 키를 동시에 계산하는 경우 중복 계산될 수 있지만 결과는 같습니다.
+     *
+     * @param key    설문 지문
+     * @param loader 캐시에 없을 때 결과를 계산하는 함수
+     * @return 추천 결과
+     */
+    public CachedRecommendation get(SurveyFingerprint key, Supplier<CachedRecommendation> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        long startGeneration = generation.get();
+        CachedRecommendation value = loader.get();
+        synchronized (entries) {
+            if (startGeneration == generation.get()) {
+                entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 캐시를 모두 비웁니다.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * 상품 카탈로그 변경이 커밋되면 캐시를 비웁니다. (추천 상품 목록이 바뀔 수 있음)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        log.debug("상품 카탈로그 변경으로 추천 결과 캐시를 비웁니다. productId: {}", event.getProductId());
+        invalidateAll();
+    }
+
+    /**
+     * 캐시 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private static final class Entry {
+        private final CachedRecommendation value;
+        private final long expiresAt;
+
+        private Entry(CachedRecommendation value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.javalab.student.dto.healthSurvey.HealthAnalysisDTO;
 import com.javalab.student.dto.healthSurvey.ProductRecommendationDTO;
 import com.javalab.student.dto.healthSurvey.RecommendationDTO;
 import com.javalab.student.dto.healthSurvey.RecommendedIngredientDTO;
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.product.Product;
 import com.javalab.student.entity.healthSurvey.*;
@@ -14,11 +15,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +39,9 @@ public class RecommendationService {
     private final MemberInfoService memberInfoService;
     private final BmiCalculator bmiCalculator;
     private final HealthAnalysisService healthAnalysisService;
+    private final HealthScoreEvaluator healthScoreEvaluator;
+    private final ScoringRuleStore scoringRuleStore;
+    private final RecommendationCache recommendationCache;
 
     private final RecommendationRepository recommendationRepository;
     private final RecommendedIngredientRepository recommendedIngredientRepository;
@@ -43,106 +53,93 @@ public class RecommendationService {
 
     /**
      * 현재 로그인한 사용자의 건강 분석 및 추천 정보를 제공합니다.
+     * - 조회 전용입니다. 추천 결과를 저장하려면 saveRecommendationSnapshot()을 호출합니다.
      *
      * @return 건강 분석 및 추천 정보를 포함한 Map
      */
-//    @Transactional
+    @Transactional(readOnly = true)
     public Map<String, Object> getHealthAnalysisAndRecommendations() {
         log.info("getHealthAnalysisAndRecommendations 메서드 시작");
 
         try {
-            // 1. 현재 인증된 사용자 정보 가져오기
-            Member member = authenticationService.getAuthenticatedMember();
-            log.info("1. 인증된 사용자 ID: {}", member.getId());
-
-            // 2. 사용자 응답 데이터 조회
-            List<MemberResponse> textResponses = memberResponseRepository.findAgeHeightAndWeightResponses(member.getId());
-            List<MemberResponseOption> optionResponses = memberResponseOptionRepository.findLatestResponsesByMemberId(member.getId());
-            log.info("2. 사용자 응답 데이터 조회 완료. 응답 수: {}", textResponses.size());
-
-            // 3. 사용자 정보 가져오기 (나이, 키, 몸무게 등)
-            List<MemberResponse> responses = memberResponseRepository.findAgeHeightAndWeightResponses(member.getId());
-            log.info("3. 사용자 정보 계산 시작");
-
-            String name = memberInfoService.getName(member.getId());
-            String gender = memberInfoService.getGender(member.getId());
-            int age = memberInfoService.getAge(responses);
-            double height = memberInfoService.getHeight(responses);
-            double weight = memberInfoService.getWeight(responses);
+            AnalysisResult analysis = analyzeAuthenticatedMember();
 
-            // BMI 계산
-            double bmi = bmiCalculator.calculateBMI(height, weight);
-            log.info("3. 사용자 정보 계산 완료. 사용자 정보: [이름: {}, 성별: {}, 나이: {}, 키: {}, 몸무게: {}, BMI: {:.2f}]",
-                    name, gender, age, height, weight, bmi);
-
-            // 4. 건강 분석 수행
-            log.info("4. 건강 분석 시작");
-            HealthAnalysisDTO healthAnalysis = healthAnalysisService.analyzeHealth(member.getId(), age, bmi, textResponses, optionResponses, gender);
-
-            // 건강 분석 결과에 사용자 정보 추가
-            healthAnalysis.setName(name);
-            healthAnalysis.setAge(age);
-            healthAnalysis.setGender(gender);
-            healthAnalysis.setBmi(bmi);
-
-            log.info("4. 건강 분석 완료: {}", healthAnalysis);
+            Map<String, Object> result = new HashMap<>();
+            result.put("healthAnalysis", analysis.healthAnalysis);
+            result.put("recommendedIngredients", toIngredientDTOs(analysis.cached.getRecommendedIngredients()));
+            result.put("recommendations", analysis.cached.getProductRecommendations());
 
-            // 5. 추천 영양 성분 점수 계산
-            log.info("5. 추천 영양 성분 점수 계산 시작");
-            Map<String, Integer> ingredientScores = nutrientScoreService.calculateIngredientScores(optionResponses, age, bmi, gender);
+            log.info("건강 분석 및 추천 정보 구성 완료");
 
-            log.info("5. 추천 영양 성분 점수 계산 완료. 점수 수: {}", ingredientScores.size());
+            return result;
 
-            // 6. 추천 영양 성분 목록 가져오기
-            log.info("6. 추천 영양 성분 목록 가져오기 시작");
-            List<Map<String, Object>> recommendedIngredientsList = nutrientScoreService.getRecommendedIngredients(optionResponses, ingredientScores, age, bmi);
+        } catch (Exception e) {
+            log.error("getHealthAnalysisAndRecommendations 메서드 실행 중 오류 발생", e);
+            throw new RuntimeException("건강 분석 및 추천 생성 중 오류가 발생했습니다.", e);
+        }
+    }
 
-            log.info("6. 추천 영양 성분 목록 가져오기 완료. 추천 성분 수: {}", recommendedIngredientsList.size());
+    /**
+     * 현재 로그인한 사용자의 추천 결과를 저장합니다.
+     * - 가장 최근에 저장된 추천과 입력(설문 응답, 나이/BMI 구간, 성별)과 결과가 모두 같으면 새로 저장하지 않고 기존 추천을 반환합니다.
+     * - 새로 저장할 때 건강 기록 히스토리(HealthRecord)도 함께 남깁니다.
+     *
+     * @return 저장된(또는 재사용된) 추천 ID와 새로 저장되었는지 여부를 포함한 Map
+     */
+    @Transactional
+    public Map<String, Object> saveRecommendationSnapshot() {
+        log.info("saveRecommendationSnapshot 메서드 시작");
 
-            // 7. 추천 엔티티 생성 및 저장
-            log.info("7. 추천 엔티티 생성 시작");
+        try {
+            AnalysisResult analysis = analyzeAuthenticatedMember();
+            Long memberId = analysis.member.getId();
+            String inputDigest = snapshotDigest(analysis.fingerprint, analysis.cached);
+
+            // 1. 최근 추천과 입력이 같으면 저장하지 않음
+            Optional<Recommendation> latest = recommendationRepository.findTopByMemberIdOrderByCreatedAtDesc(memberId);
+            if (latest.isPresent() && inputDigest.equals(latest.get().getInputDigest())) {
+                log.info("1. 최근 추천과 입력이 같아 저장을 생략합니다. 추천 ID: {}", latest.get().getId());
+                return snapshotResult(latest.get(), false);
+            }
 
+            // 2. 추천 엔티티 생성 및 저장
             Recommendation recommendation = new Recommendation();
-
-            recommendation.setMemberId(member.getId());
+            recommendation.setMemberId(memberId);
             recommendation.setCreatedAt(LocalDateTime.now());
-
-            // recommendation 저장 후 ID를 가져옵니다.
+            recommendation.setInputDigest(inputDigest);
             recommendation = recommendationRepository.saveAndFlush(recommendation);
 
-            log.info("7. 추천 엔티티 저장 완료. ID: {}", recommendation.getId());
-
-            // 8. 추천 영양 성분 저장
-            log.info("8. 추천 영양 성분 저장 시작");
+            log.info("2. 추천 엔티티 저장 완료. ID: {}", recommendation.getId());
 
+            // 3. 추천 영양 성분 저장
             List<RecommendedIngredient> recommendedIngredients = new ArrayList<>();
 
-            for (Map<String, Object> ingredientMap : recommendedIngredientsList) {
-                String ingredientName = (String) ingredientMap.get("name");
-                Integer score = (Integer) ingredientMap.get("score");
-
+            for (Map<String, Object> ingredientMap : analysis.cached.getRecommendedIngredients()) {
                 RecommendedIngredient ingredient = new RecommendedIngredient();
                 ingredient.setRecommendation(recommendation);
-                ingredient.setIngredientName(ingredientName);
-                ingredient.setScore(score); // 점수 설정
+                ingredient.setIngredientName((String) ingredientMap.get("name"));
+                ingredient.setScore((Integer) ingredientMap.get("score")); // 점수 설정
 
                 recommendedIngredients.add(ingredient);
             }
 
             recommendedIngredientRepository.saveAll(recommendedIngredients); // 일괄 저장
-            log.info("8. 추천 영양 성분 저장 완료.");
-
-            // 9. 추천 제품 생성 및 저장
-            log.info("9. 추천 제품 생성 시작");
+            log.info("3. 추천 영양 성분 저장 완료. 수: {}", recommendedIngredients.size());
 
-            List<ProductRecommendationDTO> productRecommendations = productRecommendationService.recommendProductsByIngredients(
-                    new ArrayList<>(ingredientScores.keySet()), ingredientScores);
+            // 4. 추천 제품 저장 (상품은 한 번의 IN 쿼리로 조회)
+            List<ProductRecommendationDTO> productRecommendations = analysis.cached.getProductRecommendations();
+            Map<Long, Product> products = productRepository.findAllById(
+                            productRecommendations.stream().map(ProductRecommendationDTO::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Product::getId, product -> product));
 
             List<RecommendedProduct> recommendedProducts = new ArrayList<>();
 
             for (ProductRecommendationDTO productDTO : productRecommendations) {
-                Product product = productRepository.findById(productDTO.getId())
-                        .orElseThrow(() -> new RuntimeException("상품을 찾을 수 없습니다. ID: " + productDTO.getId()));
+                Product product = products.get(productDTO.getId());
+                if (product == null) {
+                    throw new RuntimeException("상품을 찾을 수 없습니다. ID: " + productDTO.getId());
+                }
 
                 RecommendedProduct recommendedProduct = RecommendedProduct.builder()
                         .reason(productDTO.getDescription())
@@ -157,24 +154,169 @@ public class RecommendationService {
             }
 
             recommendedProductRepository.saveAll(recommendedProducts); // 일괄 저장
-            log.info("9. 추천 제품 저장 완료.");
+            log.info("4. 추천 제품 저장 완료. 수: {}", recommendedProducts.size());
 
-            // 10. 결과 반환 데이터 구성
-            Map<String, Object> result = new HashMap<>();
-            result.put("healthAnalysis", healthAnalysis);
-            result.put("recommendedIngredients", recommendedIngredients);
-            result.put("recommendations", recommendedProducts);
-
-            log.info("10. 결과 데이터 구성 완료");
+            // 5. 건강 기록 히스토리 저장 (고정 폭 컬럼)
+            healthRecordService.saveHealthRecord(analysis.member, analysis.healthAnalysis, analysis.cached.getRiskLevels(),
+                    analysis.cached.getRecommendedIngredients(), productRecommendations);
+            log.info("5. 건강 기록 저장 완료");
 
-            return result;
+            return snapshotResult(recommendation, true);
 
         } catch (Exception e) {
-            log.error("getHealthAnalysisAndRecommendations 메서드 실행 중 오류 발생", e);
-            throw new RuntimeException("건강 분석 및 추천 생성 중 오류가 발생했습니다.", e);
+            log.error("saveRecommendationSnapshot 메서드 실행 중 오류 발생", e);
+            throw new RuntimeException("추천 결과 저장 중 오류가 발생했습니다.", e);
         }
     }
 
+    /**
+     * 현재 로그인한 사용자의 설문 응답으로 건강 분석과 추천 결과를 계산합니다. (DB에 쓰지 않음)
+     */
+    private AnalysisResult analyzeAuthenticatedMember() {
+        // 1. 현재 인증된 사용자 정보 가져오기
+        Member member = authenticationService.getAuthenticatedMember();
+        log.info("1. 인증된 사용자 ID: {}", member.getId());
+
+        // 2. 사용자 응답 데이터 조회 (선택 옵션 응답은 옵션/질문/서브카테고리까지 쿼리 한 번으로 조회)
+        List<MemberResponse> responses = memberResponseRepository.findAgeHeightAndWeightResponses(member.getId());
+        List<SurveyAnswer> optionResponses = memberResponseOptionRepository.findLatestAnswersByMemberId(member.getId());
+        log.info("2. 사용자 응답 데이터 조회 완료. 응답 수: {}", responses.size() + optionResponses.size());
+
+        // 3. 사용자 정보 가져오기 (나이, 키, 몸무게 등)
+        String name = memberInfoService.getName(member.getId());
+        String gender = memberInfoService.getGender(member.getId());
+        int age = memberInfoService.getAge(responses);
+        double height = memberInfoService.getHeight(responses);
+        double weight = memberInfoService.getWeight(responses);
+
+        // BMI 계산
+        double bmi = bmiCalculator.calculateBMI(height, weight);
+        log.info("3. 사용자 정보 계산 완료. 사용자 정보: [이름: {}, 성별: {}, 나이: {}, 키: {}, 몸무게: {}, BMI: {}]",
+                name, gender, age, height, weight, String.format("%.2f", bmi));
+
+        // 4. 건강 분석 수행 (같은 설문 지문의 결과가 캐시에 있으면 재사용)
+        SurveyFingerprint fingerprint = fingerprintOf(optionResponses, age, bmi, gender);
+        CachedRecommendation cached = recommend(fingerprint, optionResponses, age, bmi, gender);
+        HealthAnalysisDTO healthAnalysis = healthAnalysisService.analyzeHealth(member.getId(), bmi, cached.getRiskLevels(), gender);
+
+        // 건강 분석 결과에 사용자 정보 추가
+        healthAnalysis.setName(name);
+        healthAnalysis.setAge(age);
+        healthAnalysis.setGender(gender);
+        healthAnalysis.setBmi(bmi);
+
+        log.info("4. 건강 분석 완료. 추천 성분 수: {}, 추천 상품 수: {}",
+                cached.getRecommendedIngredients().size(), cached.getProductRecommendations().size());
+
+        return new AnalysisResult(member, healthAnalysis, fingerprint, cached);
+    }
+
+    /**
+     * 설문 응답과 회원 정보로 추천 결과 캐시 키를 만듭니다. (현재 점수 규칙 버전 포함)
+     */
+    SurveyFingerprint fingerprintOf(List<SurveyAnswer> answers, int age, double bmi, String gender) {
+        return SurveyFingerprint.of(answers, age, bmi, gender, scoringRuleStore.getSnapshot().getVersion());
+    }
+
+    /**
+     * 추천 결과를 캐시에서 가져오거나 계산합니다. (DB에 쓰지 않음, 여러 스레드에서 동시에 호출 가능)
+     *
+     * @param fingerprint fingerprintOf()로 만든 캐시 키
+     * @param answers     사용자의 선택 옵션 설문 응답 목록
+     * @param age         사용자의 나이
+     * @param bmi         사용자의 BMI
+     * @param gender      사용자의 성별
+     * @return 수정 불가 추천 결과
+     */
+    CachedRecommendation recommend(SurveyFingerprint fingerprint, List<SurveyAnswer> answers, int age, double bmi,
+                                   String gender) {
+        return recommendationCache.get(fingerprint, () -> computeRecommendation(answers, age, bmi, gender));
+    }
+
+    /**
+     * 저장된 추천과 비교하기 위한 입력 요약값(SHA-256)을 만듭니다.
+     * - 점수 규칙 버전은 재시작 시 초기화되므로 넣지 않고, 대신 계산 결과(추천 성분과 점수, 추천 상품 ID)를 함께 넣습니다.
+     *   규칙이나 카탈로그가 바뀌어 결과가 달라지면 요약값도 달라집니다.
+     */
+    static String snapshotDigest(SurveyFingerprint fingerprint, CachedRecommendation cached) {
+        StringBuilder sb = new StringBuilder(fingerprint.inputKey()).append('|');
+        for (Map<String, Object> ingredient : cached.getRecommendedIngredients()) {
+            sb.append(ingredient.get("name")).append(':').append(ingredient.get("score")).append(',');
+        }
+        sb.append('|');
+        for (ProductRecommendationDTO product : cached.getProductRecommendations()) {
+            sb.append(product.getId()).append(',');
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private Map<String, Object> snapshotResult(Recommendation recommendation, boolean created) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("recommendationId", recommendation.getId());
+        result.put("createdAt", recommendation.getCreatedAt());
+        result.put("created", created);
+        return result;
+    }
+
+    private List<RecommendedIngredientDTO> toIngredientDTOs(List<Map<String, Object>> recommendedIngredients) {
+        return recommendedIngredients.stream()
+                .map(ingredientMap -> {
+                    RecommendedIngredientDTO dto = new RecommendedIngredientDTO();
+                    dto.setIngredientName((String) ingredientMap.get("name"));
+                    dto.setScore((Integer) ingredientMap.get("score"));
+                    return dto;
+                })
+                .toList();
+    }
+
+    /** 한 번의 분석 결과 (조회와 저장에서 함께 사용) */
+    private static final class AnalysisResult {
+        private final Member member;
+        private final HealthAnalysisDTO healthAnalysis;
+        private final SurveyFingerprint fingerprint;
+        private final CachedRecommendation cached;
+
+        private AnalysisResult(Member member, HealthAnalysisDTO healthAnalysis, SurveyFingerprint fingerprint,
+                               CachedRecommendation cached) {
+            this.member = member;
+            this.healthAnalysis = healthAnalysis;
+            this.fingerprint = fingerprint;
+            this.cached = cached;
+        }
+    }
+
+    /**
+     * 위험도, 영양 성분 점수, 추천 영양 성분, 추천 상품을 계산합니다. (추천 결과 캐시 미스 시 호출)
+     *
+     * @param answers 사용자의 선택 옵션 설문 응답 목록
+     * @param age     사용자의 나이
+     * @param bmi     사용자의 BMI
+     * @param gender  사용자의 성별
+     * @return 캐시에 저장할 수정 불가 계산 결과
+     */
+    private CachedRecommendation computeRecommendation(List<SurveyAnswer> answers, int age, double bmi, String gender) {
+        // 위험도와 영양 성분 점수를 응답 한 번 순회로 함께 계산
+        HealthScoreResult scoreResult = healthScoreEvaluator.evaluate(answers, age, bmi, gender);
+
+        // 추천 영양 성분 결정 (기본 성분이 점수 Map에 추가됨)
+        Map<String, Integer> ingredientScores = new HashMap<>(scoreResult.getIngredientScores());
+        List<Map<String, Object>> recommendedIngredients = nutrientScoreService.getRecommendedIngredients(ingredientScores);
+
+        List<ProductRecommendationDTO> productRecommendations = productRecommendationService.recommendProductsByIngredients(
+                new ArrayList<>(ingredientScores.keySet()), ingredientScores);
+
+        return new CachedRecommendation(
+                Collections.unmodifiableMap(new HashMap<>(scoreResult.getRiskLevels())),
+                Collections.unmodifiableMap(ingredientScores),
+                recommendedIngredients.stream().map(Collections::unmodifiableMap).toList(),
+                List.copyOf(productRecommendations));
+    }
 
     /**
      * 현재 로그인한 사용자의 건강 기록 히스토리를 조회합니다.
@@ -0,0 +1,73 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * QuestionOption.id 기준으로 컴파일된 건강 위험도 점수 규칙 테이블
+ * - 옵션 하나가 더하는 위험 점수를 (영역 인덱스, 점수) 배열로 미리 계산해 둡니다.
+ * - 영역 인덱스는 RiskScoreRules.DOMAINS의 순서를 따릅니다.
+ * - 불변 객체이므로 여러 요청 스레드에서 동시에 읽어도 안전합니다.
+ */
+public final class RiskRuleTable {
+
+    private final Map<Long, NutrientRuleTable.Contribution> rulesByOptionId;
+
+    public RiskRuleTable(Map<Long, NutrientRuleTable.Contribution> rulesByOptionId) {
+        this.rulesByOptionId = rulesByOptionId;
+    }
+
+    /**
+     * 옵션 ID에 해당하는 위험 점수 규칙을 조회합니다.
+     *
+     * @param optionId QuestionOption.id
+     * @return 컴파일된 규칙 (규칙이 없는 옵션이면 null)
+     */
+    public NutrientRuleTable.Contribution getRule(Long optionId) {
+        return rulesByOptionId.get(optionId);
+    }
+
+    public int getRuleCount() {
+        return rulesByOptionId.size();
+    }
+
+    /**
+     * 위험도 규칙 테이블 컴파일러
+     */
+    public static final class Builder {
+
+        private final Map<Long, Map<String, Integer>> weights = new LinkedHashMap<>();
+
+        /**
+         * 옵션의 위험 점수 규칙을 하나 등록합니다. 알 수 없는 영역은 무시합니다.
+         *
+         * @param optionId QuestionOption.id
+         * @param domain   위험도 영역 이름
+         * @param weight   점수
+         */
+        public Builder weight(Long optionId, String domain, int weight) {
+            if (RiskScoreRules.domainIndexOf(domain) >= 0) {
+                weights.computeIfAbsent(optionId, k -> new LinkedHashMap<>()).merge(domain, weight, Integer::sum);
+            }
+            return this;
+        }
+
+        public RiskRuleTable build() {
+            Map<Long, NutrientRuleTable.Contribution> rules = new HashMap<>(weights.size() * 2);
+            for (Map.Entry<Long, Map<String, Integer>> entry : weights.entrySet()) {
+                Map<String, Integer> domainWeights = entry.getValue();
+                int[] domains = new int[domainWeights.size()];
+                int[] values = new int[domainWeights.size()];
+                int i = 0;
+                for (Map.Entry<String, Integer> weight : domainWeights.entrySet()) {
+                    domains[i] = RiskScoreRules.domainIndexOf(weight.getKey());
+                    values[i] = weight.getValue();
+                    i++;
+                }
+                rules.put(entry.getKey(), new NutrientRuleTable.Contribution(domains, values));
+            }
+            return new RiskRuleTable(rules);
+        }
+    }
+}
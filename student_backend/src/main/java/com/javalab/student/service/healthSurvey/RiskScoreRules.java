@@ -0,0 +1,192 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 건강 위험도 점수 규칙 정의
+ * - 영역별 나이/BMI 기본 점수와 위험 수준 기준은 여기에서 정의합니다.
+ * - 옵션별 영역 점수는 question_option_risk_weight 테이블에 저장되며,
+ *   applyOptionRules()는 테이블이 비어 있을 때 초기 데이터를 만드는 데에만 사용합니다.
+ */
+public final class RiskScoreRules {
+
+    /** 위험도 영역 (결과 Map의 키) */
+    public static final List<String> DOMAINS = List.of(
+            "혈관·혈액순환", "소화·장", "피부", "눈", "두뇌", "피로감", "뼈·관절", "면역", "모발");
+
+    /** 영역별 설문 서브카테고리 이름 (DOMAINS와 같은 순서) */
+    public static final List<String> DOMAIN_SUB_CATEGORIES = List.of(
+            "혈관·혈액순환", "소화·장", "피부", "눈", "두뇌 활동", "피로감", "뼈·관절", "면역", "모발");
+
+    public static final String HIGH = "높음";
+    public static final String MEDIUM = "중간";
+    public static final String LOW = "낮음";
+
+    /** 영역별 "높음" 기준 점수 (DOMAINS와 같은 순서) */
+    private static final int[] HIGH_THRESHOLDS = {5, 4, 4, 4, 4, 4, 4, 3, 3};
+    /** 영역별 "중간" 기준 점수 (DOMAINS와 같은 순서) */
+    private static final int[] MEDIUM_THRESHOLDS = {3, 2, 2, 2, 2, 2, 2, 2, 2};
+
+    private RiskScoreRules() {
+    }
+
+    /** 위험도 영역의 인덱스 (없으면 -1) */
+    public static int domainIndexOf(String domain) {
+        return domain == null ? -1 : DOMAINS.indexOf(domain);
+    }
+
+    /**
+     * 나이와 BMI에 따른 영역별 기본 위험 점수를 계산합니다.
+     *
+     * @param domainIndex 위험도 영역 인덱스
+     * @param age         사용자의 나이
+     * @param bmi         사용자의 BMI
+     * @return 기본 위험 점수
+     */
+    public static int baseScore(int domainIndex, int age, double bmi) {
+        int score = 0;
+        switch (domainIndex) {
+            case 0: // 혈관·혈액순환
+                if (age > 50) score += 2;
+                if (bmi > 25) score += 2;
+                break;
+            case 3: // 눈
+                if (age > 40) score += 1;
+                if (age > 60) score += 1;
+                break;
+            case 4: // 두뇌
+                if (age > 50) score += 1;
+                if (age > 70) score += 1;
+                break;
+            case 6: // 뼈·관절
+                if (age > 50) score += 1;
+                if (age > 65) score += 1;
+                if (bmi > 25) score += 1;
+                break;
+            case 8: // 모발
+                if (age > 40) score += 1;
+                break;
+            default:
+                break;
+        }
+        return score;
+    }
+
+    /**
+     * 위험 점수를 위험 수준으로 변환합니다.
+     *
+     * @param domainIndex 위험도 영역 인덱스
+     * @param riskScore   위험 점수
+     * @return 위험도 ("높음", "중간", "낮음" 중 하나)
+     */
+    public static String riskLevel(int domainIndex, int riskScore) {
+        if (riskScore >= HIGH_THRESHOLDS[domainIndex]) return HIGH;
+        if (riskScore >= MEDIUM_THRESHOLDS[domainIndex]) return MEDIUM;
+        return LOW;
+    }
+
+    /**
+     * 옵션 하나가 각 위험도 영역에 더하는 점수를 계산합니다. (초기 데이터 생성용)
+     *
+     * @param subCategory 옵션이 속한 서브카테고리 이름
+     * @param optionText  옵션 텍스트
+     * @param weights     위험도 영역 → 점수 Map (결과가 더해짐)
+     */
+    public static void applyOptionRules(String subCategory, String optionText, Map<String, Integer> weights) {
+        int domainIndex = subCategory == null ? -1 : DOMAIN_SUB_CATEGORIES.indexOf(subCategory);
+        if (domainIndex < 0 || optionText == null) {
+            return;
+        }
+        int weight = optionWeight(domainIndex, optionText);
+        if (weight > 0) {
+            weights.merge(DOMAINS.get(domainIndex), weight, Integer::sum);
+        }
+    }
+
+    private static int optionWeight(int domainIndex, String optionText) {
+        switch (domainIndex) {
+            case 0: // 혈관·혈액순환
+                switch (optionText) {
+                    case "상처가 잘 낫지 않아요": return 1;
+                    case "손발 끝이 자주 저려요": return 2;
+                    case "잇몸이 붓고 피가 나요": return 1;
+                    case "얼굴이 자주 창백해져요": return 2;
+                    case "선택할 것은 없지만 혈관·혈액순환이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 1: // 소화·장
+                switch (optionText) {
+                    case "복통이나 속 쓰림이 자주 발생해요": return 2;
+                    case "변비가 있어요": return 2;
+                    case "변이 묽은 편이에요": return 1;
+                    case "술을 마시면 얼굴이나 몸이 붉어지고 소화가 안 돼요": return 1;
+                    case "잔뇨감이 있어요": return 1;
+                    case "선택할 것은 없지만 소화력 개선이 필요해요": return 1;
+                    default: return 0;
+                }
+            case 2: // 피부
+                switch (optionText) {
+                    case "피부가 건조하고 머리에 비듬이 많이 생겨요": return 2;
+                    case "여드름이 많아서 걱정이에요": return 2;
+                    case "피부에 염증이 자주 생겨요": return 2;
+                    case "입안이 헐고 입술이 자주 갈라져요": return 1;
+                    case "선택할 것은 없지만 피부건강이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 3: // 눈
+                switch (optionText) {
+                    case "눈이 건조해 뻑뻑하고 가려워요": return 2;
+                    case "눈 주변이 떨려요": return 1;
+                    case "핸드폰, 모니터를 본 후 시야가 흐릿해요": return 2;
+                    case "어두워지면 시력이 저하돼요": return 2;
+                    case "선택할 것은 없지만 눈 건강이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 4: // 두뇌
+                switch (optionText) {
+                    case "기억력이 떨어지는 것 같아요": return 2;
+                    case "두통이 자주 생겨요": return 1;
+                    case "불안이나 긴장을 자주 느껴요": return 2;
+                    case "우울한 감정을 자주 느껴요": return 2;
+                    case "귀에서 울리는 소리가 가끔 나요": return 1;
+                    case "선택할 것은 없지만 두뇌 활동이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 5: // 피로감
+                switch (optionText) {
+                    case "무기력하고 식욕이 없어요": return 2;
+                    case "자고 일어나도 피곤해요": return 2;
+                    case "신경이 예민하고 잠을 잘 이루지 못해요": return 2;
+                    case "소변을 보기 위해 잠을 깨요": return 1;
+                    case "선택할 것은 없지만 피로감이 있어요": return 1;
+                    default: return 0;
+                }
+            case 6: // 뼈·관절
+                switch (optionText) {
+                    case "뼈가 부러진 경험이 있어요": return 2;
+                    case "뼈가 약하다고 느껴요": return 2;
+                    case "최근 1년 중 스테로이드를 섭취한 기간이 3개월 이상이에요": return 2;
+                    case "선택할 것은 없지만 뼈·관절이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 7: // 면역
+                switch (optionText) {
+                    case "스트레스가 매우 많아요": return 2;
+                    case "감염성 질환에 자주 걸려요": return 2;
+                    case "선택할 것은 없지만 면역이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            case 8: // 모발
+                switch (optionText) {
+                    case "머리카락에 힘이 없고 잘 빠져요": return 2;
+                    case "머리카락이 윤기 없고 갈라지고 끊어져요": return 2;
+                    case "새치가 많이 나요": return 1;
+                    case "선택할 것은 없지만 모발 건강이 걱정돼요": return 1;
+                    default: return 0;
+                }
+            default:
+                return 0;
+        }
+    }
+}
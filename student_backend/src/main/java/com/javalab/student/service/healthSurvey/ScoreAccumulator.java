@@ -0,0 +1,108 @@
+package com.javalab.student.service.healthSurvey;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 설문 응답 점수 누적기
+ * - 옵션 하나를 더하는 단계(add)와 마지막에 주요 증상 조건/나이·BMI 규칙을 반영하는 단계를 한곳에 모아,
+ *   통합 계산기(HealthScoreEvaluator)와 영양 성분/위험도 단독 계산(NutrientScoringEngine, RiskCalculationService)이
+ *   같은 계산을 쓰도록 합니다.
+ * - 규칙 테이블 중 하나가 null이면 그 점수는 누적하지 않습니다.
+ * - 스냅샷에 없는 옵션(스냅샷 로딩 이후 추가된 옵션)은 점수 규칙이 없는 것으로 보고 건너뜁니다.
+ * - 계산 한 번에 하나씩 만들어 쓰며 스레드 안전하지 않습니다.
+ */
+final class ScoreAccumulator {
+
+    private final NutrientRuleTable nutrientTable;
+    private final RiskRuleTable riskTable;
+    private final int[] ingredientScores;
+    private final int[] riskScores;
+    private final boolean female;
+    private final boolean male;
+
+    /** 주요 증상 조건이 붙은 규칙은 모든 응답을 본 뒤에 판단해야 하므로 따로 모아 둡니다. */
+    private final NutrientRuleTable.OptionRule[] deferred;
+    private int deferredCount;
+    private int enabledSymptoms;
+
+    /**
+     * @param nutrientTable 영양 성분 규칙 (null이면 영양 성분 점수를 계산하지 않음)
+     * @param riskTable     위험도 규칙 (null이면 위험도를 계산하지 않음)
+     * @param answerCount   더할 응답 수 (주요 증상 조건 규칙을 모아 둘 배열 크기)
+     * @param gender        회원의 성별
+     */
+    ScoreAccumulator(NutrientRuleTable nutrientTable, RiskRuleTable riskTable, int answerCount, String gender) {
+        this.nutrientTable = nutrientTable;
+        this.riskTable = riskTable;
+        this.ingredientScores = nutrientTable == null ? new int[0] : new int[nutrientTable.getVocabulary().size()];
+        this.riskScores = riskTable == null ? new int[0] : new int[RiskScoreRules.DOMAINS.size()];
+        this.female = NutrientScoreRules.FEMALE.equals(gender);
+        this.male = NutrientScoreRules.MALE.equals(gender);
+        this.deferred = new NutrientRuleTable.OptionRule[nutrientTable == null ? 0 : answerCount];
+    }
+
+    /** 선택한 옵션 하나의 점수를 더합니다. */
+    void add(Long optionId) {
+        if (riskTable != null) {
+            NutrientRuleTable.Contribution riskRule = riskTable.getRule(optionId);
+            if (riskRule != null) {
+                riskRule.addTo(riskScores);
+            }
+        }
+        if (nutrientTable == null) {
+            return;
+        }
+        NutrientRuleTable.OptionRule rule = nutrientTable.getRule(optionId);
+        if (rule == null) {
+            return;
+        }
+        rule.getAlways().addTo(ingredientScores);
+        if (female) rule.getFemale().addTo(ingredientScores);
+        if (male) rule.getMale().addTo(ingredientScores);
+        if (rule.getEnablesSymptom() >= 0) {
+            enabledSymptoms |= 1 << rule.getEnablesSymptom();
+        }
+        if (!rule.getSymptom().isEmpty()) {
+            deferred[deferredCount++] = rule;
+        }
+    }
+
+    /**
+     * 주요 증상 조건 규칙과 나이/BMI 규칙까지 반영한 영양 성분 점수를 반환합니다. (모든 응답을 더한 뒤 한 번만 호출)
+     *
+     * @return 영양 성분 이름 → 점수 (점수가 없는 영양 성분은 제외)
+     */
+    Map<String, Integer> ingredientScores(int age, double bmi) {
+        for (int i = 0; i < deferredCount; i++) {
+            NutrientRuleTable.OptionRule rule = deferred[i];
+            if ((enabledSymptoms & (1 << rule.getSymptomIndex())) != 0) {
+                rule.getSymptom().addTo(ingredientScores);
+            }
+        }
+        nutrientTable.getAgeBmiRule(NutrientScoreRules.ageBand(age), NutrientScoreRules.bmiBand(bmi)).addTo(ingredientScores);
+
+        IngredientVocabulary vocabulary = nutrientTable.getVocabulary();
+        Map<String, Integer> scores = new HashMap<>();
+        for (int i = 0; i < ingredientScores.length; i++) {
+            if (ingredientScores[i] != 0) {
+                scores.put(vocabulary.nameOf(i), ingredientScores[i]);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 나이/BMI 기본 점수를 더해 건강 영역별 위험 수준을 반환합니다.
+     *
+     * @return 건강 영역 → 위험 수준
+     */
+    Map<String, String> riskLevels(int age, double bmi) {
+        Map<String, String> riskLevels = new HashMap<>();
+        for (int i = 0; i < riskScores.length; i++) {
+            int riskScore = riskScores[i] + RiskScoreRules.baseScore(i, age, bmi);
+            riskLevels.put(RiskScoreRules.DOMAINS.get(i), RiskScoreRules.riskLevel(i, riskScore));
+        }
+        return riskLevels;
+    }
+}
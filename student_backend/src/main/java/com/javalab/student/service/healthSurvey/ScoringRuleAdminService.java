@@ -0,0 +1,213 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.constant.ScoreCondition;
+import com.javalab.student.dto.healthSurvey.OptionIngredientWeightDTO;
+import com.javalab.student.dto.healthSurvey.OptionRiskWeightDTO;
+import com.javalab.student.entity.healthSurvey.QuestionOption;
+import com.javalab.student.entity.healthSurvey.QuestionOptionIngredient;
+import com.javalab.student.entity.healthSurvey.QuestionOptionRiskWeight;
+import com.javalab.student.entity.healthSurvey.ScoringRuleSeed;
+import com.javalab.student.repository.healthSurvey.QuestionOptionIngredientRepository;
+import com.javalab.student.repository.healthSurvey.QuestionOptionRepository;
+import com.javalab.student.repository.healthSurvey.QuestionOptionRiskWeightRepository;
+import com.javalab.student.repository.healthSurvey.ScoringRuleSeedRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 점수 규칙 관리 서비스
+ * - 관리자가 옵션별 점수 규칙을 변경하면 트랜잭션 커밋 후 ScoringRuleStore의 스냅샷을 교체하고 다른 노드에도 알립니다.
+ * - 규칙 테이블이 비어 있으면 기동 시 NutrientScoreRules / RiskScoreRules의 기존 규칙으로 채웁니다.
+ *   여러 노드가 동시에 기동해도 scoring_rule_seed 기록을 먼저 남긴 한 노드만 채웁니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScoringRuleAdminService {
+
+    private final QuestionOptionRepository questionOptionRepository;
+    private final QuestionOptionIngredientRepository questionOptionIngredientRepository;
+    private final QuestionOptionRiskWeightRepository questionOptionRiskWeightRepository;
+    private final ScoringRuleSeedRepository scoringRuleSeedRepository;
+    private final ScoringRuleStore scoringRuleStore;
+
+    /**
+     * 애플리케이션 기동 완료 시 비어 있는 규칙 테이블을 채우고 스냅샷을 로딩합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeRules() {
+        boolean seedIngredients = questionOptionIngredientRepository.countByWeightIsNotNull() == 0
+                && scoringRuleSeedRepository.insertIfAbsent(ScoringRuleSeed.INGREDIENT) == 1;
+        boolean seedRisks = questionOptionRiskWeightRepository.count() == 0
+                && scoringRuleSeedRepository.insertIfAbsent(ScoringRuleSeed.RISK) == 1;
+        if (seedIngredients || seedRisks) {
+            List<QuestionOption> options = questionOptionRepository.findAllWithQuestionAndSubCategory();
+            if (seedIngredients) {
+                List<QuestionOptionIngredient> rows = createIngredientRules(options);
+                questionOptionIngredientRepository.saveAll(rows);
+                log.info("영양 성분 점수 규칙 초기 데이터 저장 완료. 규칙 수: {}", rows.size());
+            }
+            if (seedRisks) {
+                List<QuestionOptionRiskWeight> rows = createRiskRules(options);
+                questionOptionRiskWeightRepository.saveAll(rows);
+                log.info("위험도 점수 규칙 초기 데이터 저장 완료. 규칙 수: {}", rows.size());
+            }
+        }
+        // 다른 노드가 초기 데이터를 저장하는 중이었다면 그 커밋을 볼 수 있도록 이 트랜잭션이 끝난 뒤 로딩
+        reloadAfterCommit(seedIngredients || seedRisks);
+    }
+
+    /**
+     * 옵션의 영양 성분 점수 규칙을 전달받은 목록으로 교체합니다.
+     *
+     * @param optionId 설문 옵션 ID
+     * @param weights  새 점수 규칙 목록
+     */
+    @Transactional
+    public void replaceIngredientWeights(Long optionId, List<OptionIngredientWeightDTO> weights) {
+        QuestionOption option = questionOptionRepository.findById(optionId)
+                .orElseThrow(() -> new EntityNotFoundException("설문 옵션을 찾을 수 없습니다. ID: " + optionId));
+
+        List<QuestionOptionIngredient> rows = new ArrayList<>();
+        for (OptionIngredientWeightDTO dto : weights) {
+            if (dto.getIngredientName() == null || dto.getIngredientName().isBlank() || dto.getWeight() == null) {
+                throw new IllegalArgumentException("영양 성분 이름과 점수는 필수입니다.");
+            }
+            rows.add(ingredientRule(option, dto.getIngredientName(), dto.getWeight(),
+                    dto.getScoreCondition() != null ? dto.getScoreCondition() : ScoreCondition.ALWAYS));
+        }
+
+        questionOptionIngredientRepository.deleteScoreRulesByOptionId(optionId);
+        questionOptionIngredientRepository.saveAll(rows);
+        log.info("영양 성분 점수 규칙 변경. 옵션 ID: {}, 규칙 수: {}", optionId, rows.size());
+        reloadAfterCommit(true);
+    }
+
+    /**
+     * 옵션의 위험도 점수 규칙을 전달받은 목록으로 교체합니다.
+     *
+     * @param optionId 설문 옵션 ID
+     * @param weights  새 점수 규칙 목록
+     */
+    @Transactional
+    public void replaceRiskWeights(Long optionId, List<OptionRiskWeightDTO> weights) {
+        QuestionOption option = questionOptionRepository.findById(optionId)
+                .orElseThrow(() -> new EntityNotFoundException("설문 옵션을 찾을 수 없습니다. ID: " + optionId));
+
+        List<QuestionOptionRiskWeight> rows = new ArrayList<>();
+        for (OptionRiskWeightDTO dto : weights) {
+            if (RiskScoreRules.domainIndexOf(dto.getRiskDomain()) < 0) {
+                throw new IllegalArgumentException("알 수 없는 위험도 영역입니다: " + dto.getRiskDomain());
+            }
+            if (dto.getWeight() == null) {
+                throw new IllegalArgumentException("위험도 점수는 필수입니다.");
+            }
+            rows.add(riskRule(option, dto.getRiskDomain(), dto.getWeight()));
+        }
+
+        questionOptionRiskWeightRepository.deleteByOptionId(optionId);
+        questionOptionRiskWeightRepository.saveAll(rows);
+        log.info("위험도 점수 규칙 변경. 옵션 ID: {}, 규칙 수: {}", optionId, rows.size());
+        reloadAfterCommit(true);
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 스냅샷을 다시 로딩합니다. (롤백되면 기존 스냅샷 유지)
+     *
+     * @param broadcast 규칙이 바뀌었으면 true (다른 노드에도 다시 로딩하도록 알림)
+     */
+    private void reloadAfterCommit(boolean broadcast) {
+        Runnable reload = broadcast ? scoringRuleStore::reloadAndBroadcast : scoringRuleStore::reload;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload.run();
+            }
+        });
+    }
+
+    /**
+     * 기존 코드 규칙(NutrientScoreRules)으로 옵션별 영양 성분 점수 규칙 행을 만듭니다.
+     */
+    private List<QuestionOptionIngredient> createIngredientRules(List<QuestionOption> options) {
+        List<QuestionOptionIngredient> rows = new ArrayList<>();
+        for (QuestionOption option : options) {
+            String subCategory = ScoringRuleStore.subCategoryOf(option);
+            String questionText = option.getQuestion() != null ? option.getQuestion().getQuestionText() : null;
+            String optionText = option.getOptionText();
+
+            Map<String, Integer> always = new LinkedHashMap<>();
+            NutrientScoreRules.applyAdditionalHealthRules(optionText, always);
+            if (questionText != null) {
+                NutrientScoreRules.applyLifestyleRules(questionText, optionText, always);
+            }
+            addIngredientRules(rows, option, always, ScoreCondition.ALWAYS);
+
+            Map<String, Integer> gated = new LinkedHashMap<>();
+            if (NutrientRuleTable.symptomIndexOf(subCategory) >= 0) {
+                NutrientScoreRules.applySymptomRules(subCategory, optionText, gated);
+                addIngredientRules(rows, option, gated, ScoreCondition.MAIN_SYMPTOM);
+            } else if (NutrientScoreRules.WOMEN_HEALTH_SUB_CATEGORY.equals(subCategory)) {
+                NutrientScoreRules.applyWomenHealthRules(optionText, gated);
+                addIngredientRules(rows, option, gated, ScoreCondition.FEMALE);
+            } else if (NutrientScoreRules.MEN_HEALTH_SUB_CATEGORY.equals(subCategory)) {
+                NutrientScoreRules.applyMenHealthRules(optionText, gated);
+                addIngredientRules(rows, option, gated, ScoreCondition.MALE);
+            }
+        }
+        return rows;
+    }
+
+    private void addIngredientRules(List<QuestionOptionIngredient> rows, QuestionOption option,
+                                    Map<String, Integer> scores, ScoreCondition condition) {
+        scores.forEach((ingredient, weight) -> rows.add(ingredientRule(option, ingredient, weight, condition)));
+    }
+
+    /**
+     * 기존 코드 규칙(RiskScoreRules)으로 옵션별 위험도 점수 규칙 행을 만듭니다.
+     */
+    private List<QuestionOptionRiskWeight> createRiskRules(List<QuestionOption> options) {
+        List<QuestionOptionRiskWeight> rows = new ArrayList<>();
+        for (QuestionOption option : options) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            RiskScoreRules.applyOptionRules(ScoringRuleStore.subCategoryOf(option), option.getOptionText(), weights);
+            weights.forEach((domain, weight) -> rows.add(riskRule(option, domain, weight)));
+        }
+        return rows;
+    }
+
+    private QuestionOptionIngredient ingredientRule(QuestionOption option, String ingredient, int weight,
+                                                    ScoreCondition condition) {
+        QuestionOptionIngredient row = new QuestionOptionIngredient();
+        row.setQuestionOption(option);
+        row.setIngredientName(ingredient);
+        row.setWeight(weight);
+        row.setScoreCondition(condition);
+        return row;
+    }
+
+    private QuestionOptionRiskWeight riskRule(QuestionOption option, String domain, int weight) {
+        QuestionOptionRiskWeight row = new QuestionOptionRiskWeight();
+        row.setQuestionOption(option);
+        row.setRiskDomain(domain);
+        row.setWeight(weight);
+        return row;
+    }
+}
@@ -0,0 +1,25 @@
+package com.javalab.student.service.healthSurvey;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 특정 시점의 점수 규칙 전체를 담는 불변 스냅샷
+ * - 영양 성분 규칙과 위험도 규칙이 항상 같은 버전으로 함께 교체됩니다.
+ */
+@Getter
+@AllArgsConstructor
+public final class ScoringRuleSnapshot {
+
+    /** 로딩할 때마다 1씩 증가하는 버전 */
+    private final long version;
+
+    /** 로딩 시각 */
+    private final LocalDateTime loadedAt;
+
+    private final NutrientRuleTable nutrientTable;
+
+    private final RiskRuleTable riskTable;
+}
@@ -0,0 +1,145 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.config.redis.CacheNames;
+import com.javalab.student.config.redis.LayeredCacheManager;
+import com.javalab.student.entity.healthSurvey.QuestionOption;
+import com.javalab.student.entity.healthSurvey.QuestionOptionIngredient;
+import com.javalab.student.entity.healthSurvey.QuestionOptionRiskWeight;
+import com.javalab.student.entity.healthSurvey.SurveyQuestion;
+import com.javalab.student.repository.healthSurvey.QuestionOptionIngredientRepository;
+import com.javalab.student.repository.healthSurvey.QuestionOptionRepository;
+import com.javalab.student.repository.healthSurvey.QuestionOptionRiskWeightRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 점수 규칙 저장소
+ * - question_option_ingredient(weight가 있는 행)와 question_option_risk_weight 테이블의 규칙을
+ *   불변 스냅샷(ScoringRuleSnapshot)으로 컴파일해 메모리에 보관합니다.
+ * - 점수 계산은 스냅샷만 읽으므로 DB를 조회하지 않습니다.
+ * - reload()는 새 스냅샷을 완성한 뒤 참조 하나만 바꾸므로, 계산 중인 요청은 이전 스냅샷을 끝까지 사용합니다.
+ * - 규칙이 바뀌면 reloadAndBroadcast()로 Redis 무효화 채널에 알려 다른 노드도 스냅샷을 다시 읽게 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScoringRuleStore {
+
+    private final QuestionOptionRepository questionOptionRepository;
+    private final QuestionOptionIngredientRepository questionOptionIngredientRepository;
+    private final QuestionOptionRiskWeightRepository questionOptionRiskWeightRepository;
+    private final LayeredCacheManager cacheManager;
+
+    private final AtomicReference<ScoringRuleSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 다른 노드가 규칙을 바꾸면 이 노드의 스냅샷도 다시 읽도록 무효화 리스너를 등록합니다.
+     */
+    @PostConstruct
+    void subscribeRemoteReload() {
+        cacheManager.addLocalInvalidationListener(CacheNames.SCORING_RULES, key -> {
+            log.info("다른 노드의 점수 규칙 변경 알림 수신");
+            reload();
+        });
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다. 아직 로딩되지 않았다면 로딩합니다.
+     */
+    public ScoringRuleSnapshot getSnapshot() {
+        ScoringRuleSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 규칙 테이블을 다시 읽어 새 스냅샷으로 교체합니다.
+     *
+     * @return 새로 적용된 스냅샷
+     */
+    public synchronized ScoringRuleSnapshot reload() {
+        List<QuestionOption> options = questionOptionRepository.findAllWithQuestionAndSubCategory();
+        List<QuestionOptionIngredient> ingredientRules = questionOptionIngredientRepository.findAllScoreRules();
+        List<QuestionOptionRiskWeight> riskRules = questionOptionRiskWeightRepository.findAllWithOption();
+
+        ScoringRuleSnapshot previous = snapshot.get();
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+        ScoringRuleSnapshot compiled = compile(version, options, ingredientRules, riskRules);
+        snapshot.set(compiled);
+
+        log.info("점수 규칙 스냅샷 교체 완료. 버전: {}, 옵션 수: {}, 영양 성분 수: {}, 위험도 규칙 수: {}",
+                version, compiled.getNutrientTable().getRuleCount(),
+                compiled.getNutrientTable().getVocabulary().size(), compiled.getRiskTable().getRuleCount());
+        return compiled;
+    }
+
+    /**
+     * 스냅샷을 다시 읽고 다른 노드에도 다시 읽도록 알립니다. (규칙 변경 트랜잭션 커밋 후 호출)
+     *
+     * @return 새로 적용된 스냅샷
+     */
+    public ScoringRuleSnapshot reloadAndBroadcast() {
+        ScoringRuleSnapshot reloaded = reload();
+        cacheManager.publishLocalInvalidation(CacheNames.SCORING_RULES, null);
+        return reloaded;
+    }
+
+    /**
+     * 설문 옵션과 규칙 행으로 스냅샷을 컴파일합니다.
+     *
+     * @param version         스냅샷 버전
+     * @param options         질문과 서브카테고리가 함께 로딩된 설문 옵션 목록
+     * @param ingredientRules 영양 성분 점수 규칙 행
+     * @param riskRules       위험도 점수 규칙 행
+     * @return 컴파일된 스냅샷
+     */
+    static ScoringRuleSnapshot compile(long version, List<QuestionOption> options,
+                                       List<QuestionOptionIngredient> ingredientRules,
+                                       List<QuestionOptionRiskWeight> riskRules) {
+        NutrientRuleTable.Builder nutrient = new NutrientRuleTable.Builder();
+        for (QuestionOption option : options) {
+            String subCategory = subCategoryOf(option);
+            int enablesSymptom = NutrientScoreRules.MAIN_SYMPTOM_SUB_CATEGORY.equals(subCategory)
+                    ? NutrientRuleTable.symptomIndexOf(option.getOptionText()) : -1;
+            nutrient.option(option.getId(), NutrientRuleTable.symptomIndexOf(subCategory), enablesSymptom);
+        }
+        for (QuestionOptionIngredient rule : ingredientRules) {
+            nutrient.score(rule.getQuestionOption().getId(), rule.getScoreCondition(),
+                    rule.getIngredientName(), rule.getWeight());
+        }
+        for (int ageBand = 0; ageBand < NutrientScoreRules.AGE_BAND_COUNT; ageBand++) {
+            for (int bmiBand = 0; bmiBand < NutrientScoreRules.BMI_BAND_COUNT; bmiBand++) {
+                Map<String, Integer> scores = new LinkedHashMap<>();
+                NutrientScoreRules.applyAgeAndBmiRules(ageBand, bmiBand, scores);
+                nutrient.ageBmi(ageBand, bmiBand, scores);
+            }
+        }
+
+        RiskRuleTable.Builder risk = new RiskRuleTable.Builder();
+        for (QuestionOptionRiskWeight rule : riskRules) {
+            risk.weight(rule.getQuestionOption().getId(), rule.getRiskDomain(), rule.getWeight());
+        }
+
+        return new ScoringRuleSnapshot(version, LocalDateTime.now(), nutrient.build(), risk.build());
+    }
+
+    static String subCategoryOf(QuestionOption option) {
+        SurveyQuestion question = option.getQuestion();
+        return question != null && question.getSubCategory() != null ? question.getSubCategory().getName() : "";
+    }
+}
@@ -0,0 +1,105 @@
+package com.javalab.student.service.healthSurvey;
+
+import com.javalab.student.dto.healthSurvey.SurveyAnswer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 추천 결과 캐시 키
+ * - (정렬된 옵션 ID, 나이 구간, BMI 구간, 성별, 점수 규칙 버전)이 같으면 점수와 추천 결과가 같습니다.
+ * - 나이/BMI 구간은 NutrientScoreRules와 RiskScoreRules가 사용하는 모든 경계값으로 나눕니다.
+ *   규칙에 새 경계값이 추가되면 여기에도 추가해야 합니다.
+ * - 옵션 ID 배열 전체를 비교하므로 해시 충돌로 다른 사용자의 결과가 반환되지 않습니다.
+ */
+public final class SurveyFingerprint {
+
+    /** 나이 경계값 (나이 > 경계값 조건으로 사용됨) */
+    private static final int[] AGE_THRESHOLDS = {30, 40, 50, 60, 65, 70};
+
+    private final long[] optionIds;
+    private final int ageBand;
+    private final int bmiBand;
+    private final String gender;
+    private final long ruleVersion;
+    private final int hash;
+
+    private SurveyFingerprint(long[] optionIds, int ageBand, int bmiBand, String gender, long ruleVersion) {
+        this.optionIds = optionIds;
+        this.ageBand = ageBand;
+        this.bmiBand = bmiBand;
+        this.gender = gender;
+        this.ruleVersion = ruleVersion;
+        this.hash = 31 * (31 * (31 * (31 * Arrays.hashCode(optionIds) + ageBand) + bmiBand)
+                + Objects.hashCode(gender)) + Long.hashCode(ruleVersion);
+    }
+
+    /**
+     * 설문 응답과 회원 정보로 캐시 키를 만듭니다.
+     *
+     * @param answers     회원의 선택 옵션 설문 응답 목록
+     * @param age         회원의 나이
+     * @param bmi         회원의 BMI
+     * @param gender      회원의 성별
+     * @param ruleVersion 점수 규칙 스냅샷 버전
+     * @return 캐시 키
+     */
+    public static SurveyFingerprint of(List<SurveyAnswer> answers, int age, double bmi, String gender, long ruleVersion) {
+        long[] ids = new long[answers.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = answers.get(i).getOptionId();
+        }
+        Arrays.sort(ids);
+        // 같은 옵션이 중복 저장된 경우에도 점수는 응답 수만큼 더해지므로 중복은 제거하지 않습니다.
+        return new SurveyFingerprint(ids, ageBand(age), bmiBand(bmi), gender, ruleVersion);
+    }
+
+    static int ageBand(int age) {
+        int band = 0;
+        for (int threshold : AGE_THRESHOLDS) {
+            if (age > threshold) {
+                band++;
+            }
+        }
+        return band;
+    }
+
+    static int bmiBand(double bmi) {
+        if (bmi < 18.5) return 0;
+        if (bmi > 25) return 2;
+        return 1;
+    }
+
+    /**
+     * 점수 규칙 버전을 제외한 입력을 문자열로 만듭니다.
+     * 규칙 버전은 애플리케이션 재시작 시 초기화되므로 저장된 추천과 비교할 때는 이 값을 사용합니다.
+     */
+    public String inputKey() {
+        return Arrays.toString(optionIds) + "|" + ageBand + "|" + bmiBand + "|" + gender;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SurveyFingerprint)) return false;
+        SurveyFingerprint that = (SurveyFingerprint) o;
+        return hash == that.hash
+                && ageBand == that.ageBand
+                && bmiBand == that.bmiBand
+                && ruleVersion == that.ruleVersion
+                && Objects.equals(gender, that.gender)
+                && Arrays.equals(optionIds, that.optionIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "SurveyFingerprint{options=" + optionIds.length + ", ageBand=" + ageBand + ", bmiBand=" + bmiBand
+                + ", gender=" + gender + ", ruleVersion=" + ruleVersion + "}";
+    }
+}
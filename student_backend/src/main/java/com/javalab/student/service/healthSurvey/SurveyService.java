@@ -1,5 +1,6 @@
 package com.javalab.student.service.healthSurvey;
 
+import com.javalab.student.config.redis.CacheNames;
 import com.javalab.student.dto.healthSurvey.SurveyResponseDto;
 import com.javalab.student.dto.healthSurvey.SurveySubmissionDto;
 import com.javalab.student.entity.*;
@@ -10,6 +11,7 @@ import com.javalab.student.entity.healthSurvey.SurveyQuestion;
 import com.javalab.student.repository.healthSurvey.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
@@ -31,9 +33,10 @@ public class SurveyService {
     private final MemberResponseOptionRepository memberResponseOptionRepository;
 
     /**
-     * 모든 설문 카테고리와 서브카테고리를 조회합니다.
+     * 모든 설문 카테고리와 서브카테고리를 조회합니다. (2단계 캐시)
      * @return 카테고리 및 서브카테고리 목록
      */
+    @Cacheable(CacheNames.SURVEY_CATEGORIES)
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllCategoriesWithSubCategories() {
         return categoryRepository.findAll().stream()
@@ -0,0 +1,151 @@
+package com.javalab.student.service.product;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 상품 검색용 한국어 텍스트 분석기
+ * - 정규화: NFKC + 소문자
+ * - 단어 분리: 글자/숫자가 아닌 문자 기준
+ * - 자모 분해: 한글 음절을 초성/중성/종성 호환 자모로 풀고, 겹모음·겹받침도 낱자로 풉니다.
+ *   (입력 중인 "빝"이 "비타민"의 접두어로 매칭되도록 하기 위함)
+ * - 초성: 한글 음절의 초성만 모은 문자열 ("ㅂㅌㅁ" 검색용)
+ * - n-gram: 단어의 1-gram, 2-gram (띄어쓰기 없는 복합어의 중간 일치 검색용)
+ */
+public final class KoreanTextAnalyzer {
+
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ",
+            "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    /** 겹모음/겹받침 호환 자모 → 낱자 (단독으로 입력된 자모용) */
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+    private static final String[] COMPOUND_JAMO_SPLIT = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+
+    private KoreanTextAnalyzer() {
+    }
+
+    /**
+     * NFKC 정규화 후 소문자로 변환합니다.
+     * 단독 자모(ㄱ~ㅣ)는 NFKC가 조합형 자모로 바꿔 버리므로 정규화하지 않고 그대로 둡니다. (초성 검색용)
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isCompatibilityJamo(text.charAt(i))) {
+                normalized.append(Normalizer.normalize(text.substring(start, i), Normalizer.Form.NFKC)).append(text.charAt(i));
+                start = i + 1;
+            }
+        }
+        normalized.append(Normalizer.normalize(text.substring(start), Normalizer.Form.NFKC));
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /** 정규화한 텍스트를 단어로 나눕니다. (중복 제거, 등장 순서 유지) */
+    public static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /** 단어를 자모 단위로 분해합니다. 한글 음절이 아닌 문자는 그대로 둡니다. */
+    public static String decompose(String word) {
+        StringBuilder jamo = new StringBuilder(word.length() * 3);
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int index = c - HANGUL_BASE;
+                jamo.append(CHO[index / 588]).append(JUNG[(index % 588) / 28]).append(JONG[index % 28]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) {
+                    jamo.append(COMPOUND_JAMO_SPLIT[compound]);
+                } else {
+                    jamo.append(c);
+                }
+            }
+        }
+        return jamo.toString();
+    }
+
+    /** 단어의 초성 문자열을 만듭니다. 한글 음절이 아닌 문자는 그대로 둡니다. */
+    public static String chosung(String word) {
+        StringBuilder chosung = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                chosung.append(CHO[(c - HANGUL_BASE) / 588]);
+            } else {
+                chosung.append(c);
+            }
+        }
+        return chosung.toString();
+    }
+
+    /** 단어가 초성(자음 호환 자모)으로만 이루어졌는지 확인합니다. */
+    public static boolean isChosungOnly(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'ㄱ' || c > 'ㅎ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCompatibilityJamo(char c) {
+        return c >= 'ㄱ' && c <= 'ㅣ';
+    }
+
+    /** 단어의 1-gram과 2-gram을 반환합니다. */
+    public static Set<String> grams(String word) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < word.length(); i++) {
+            grams.add(word.substring(i, i + 1));
+            if (i + 2 <= word.length()) {
+                grams.add(word.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색어 단어의 중간 일치 후보를 찾을 때 사용할 gram 목록 (한 글자면 1-gram, 아니면 2-gram 전부)
+     */
+    public static List<String> queryGrams(String word) {
+        List<String> grams = new ArrayList<>();
+        if (word.length() == 1) {
+            grams.add(word);
+            return grams;
+        }
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            grams.add(word.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
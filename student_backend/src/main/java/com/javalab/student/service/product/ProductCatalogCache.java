@@ -0,0 +1,343 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.dto.product.ProductResponseDTO;
+import com.javalab.student.entity.product.Product;
+import com.javalab.student.entity.product.ProductCategory;
+import com.javalab.student.entity.product.ProductIngredient;
+import com.javalab.student.repository.product.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 카탈로그 캐시 (읽기 관통)
+ * - 상품마다 카테고리, 영양 성분, 이미지까지 채운 ProductResponseDTO를 보관하고,
+ *   카테고리 ID / 영양 성분 ID별 상품 ID 목록을 함께 유지합니다.
+ * - 처음 사용할 때 전체 상품을 세 번의 fetch join 쿼리로 읽고, 이후에는 ProductCatalogChangedEvent가 커밋되면 해당 상품만 다시 읽습니다.
+ *   다른 노드에서 바뀐 상품도 ProductCatalogRelay가 같은 이벤트로 전달합니다.
+ * - 갱신할 때는 항목을 한 번에 교체하므로, 갱신 중에도 조회가 상품을 놓치지 않습니다.
+ * - 반환하는 DTO는 호출자가 수정해도 캐시에 영향이 없도록 매번 복사합니다.
+ */
+@Service
+@Slf4j
+public class ProductCatalogCache {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readTransaction;
+
+    /** 상품 ID → 캐시 항목 */
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    /** 카테고리 ID → 상품 ID (오름차순) */
+    private final Map<Long, Set<Long>> categoryPostings = new ConcurrentHashMap<>();
+    /** 영양 성분 ID → 상품 ID (오름차순) */
+    private final Map<Long, Set<Long>> ingredientPostings = new ConcurrentHashMap<>();
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private volatile boolean loaded;
+
+    public ProductCatalogCache(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // 커밋 후 이벤트 리스너에서도 호출되므로 항상 새 트랜잭션에서 읽음
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** 전체 상품 (ID 순) */
+    public List<ProductResponseDTO> getAll() {
+        ensureLoaded();
+        return toDTOs(entries.keySet().stream().sorted().toList());
+    }
+
+    /**
+     * 상품 하나를 반환합니다.
+     *
+     * @return 상품 DTO 복사본 (없으면 null)
+     */
+    public ProductResponseDTO get(Long productId) {
+        ensureLoaded();
+        Entry entry = productId == null ? null : entries.get(productId);
+        return entry == null ? null : copyOf(entry.dto);
+    }
+
+    /**
+     * 상품이 속한 카테고리 ID 목록을 반환합니다.
+     *
+     * @return 카테고리 ID 목록 (상품이 없으면 빈 목록)
+     */
+    public List<Long> getCategoryIds(Long productId) {
+        ensureLoaded();
+        Entry entry = productId == null ? null : entries.get(productId);
+        return entry == null ? List.of() : entry.categoryIds;
+    }
+
+    /**
+     * 상품에 포함된 영양 성분 ID 목록을 반환합니다.
+     *
+     * @return 영양 성분 ID 목록 (상품이 없으면 빈 목록)
+     */
+    public List<Long> getIngredientIds(Long productId) {
+        ensureLoaded();
+        Entry entry = productId == null ? null : entries.get(productId);
+        return entry == null ? List.of() : entry.ingredientIds;
+    }
+
+    /** 카테고리에 속한 상품 (ID 순) */
+    public List<ProductResponseDTO> getByCategory(Long categoryId) {
+        ensureLoaded();
+        return toDTOs(categoryPostings.getOrDefault(categoryId, Set.of()));
+    }
+
+    /**
+     * 영양 성분을 포함하고 카테고리가 하나 이상 있는 상품을 카테고리 이름 순으로 반환합니다.
+     * (상품이 여러 카테고리에 속하면 가장 앞선 카테고리 이름 기준, 같으면 ID 순)
+     */
+    public List<ProductResponseDTO> getByIngredientOrderByCategory(Long ingredientId) {
+        ensureLoaded();
+        List<Entry> matched = new ArrayList<>();
+        for (Long productId : ingredientPostings.getOrDefault(ingredientId, Set.of())) {
+            Entry entry = entries.get(productId);
+            if (entry != null && entry.firstCategoryName != null) {
+                matched.add(entry);
+            }
+        }
+        matched.sort(Comparator.comparing((Entry entry) -> entry.firstCategoryName)
+                .thenComparing(entry -> entry.dto.getId()));
+        reads.incrementAndGet();
+        return matched.stream().map(entry -> copyOf(entry.dto)).collect(Collectors.toList());
+    }
+
+    /**
+     * 상품 카탈로그 변경이 커밋되면 해당 상품만 다시 읽어 캐시를 갱신합니다.
+     * (이 캐시를 원본으로 쓰는 ProductSearchIndex, ProductFacetIndex보다 먼저 실행되도록 리스너 순서를 가장 앞으로 둡니다.)
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 하나를 다시 읽어 캐시를 갱신합니다. 상품이 없어졌으면 캐시에서 제거합니다.
+     * 아직 전체 캐시를 만들기 전이면 아무것도 하지 않습니다. (처음 사용할 때 최신 상태로 만들어짐)
+     *
+     * @param productId 상품 ID
+     */
+    public synchronized void refresh(Long productId) {
+        if (!loaded || productId == null) {
+            return;
+        }
+        Optional<Entry> entry = readTransaction.execute(status -> productRepository.findByIdWithIngredients(productId)
+                .map(product -> {
+                    Hibernate.initialize(product.getCategories());
+                    Hibernate.initialize(product.getProductImgList());
+                    return Entry.of(product);
+                }));
+        replace(productId, entry.orElse(null));
+        refreshes.incrementAndGet();
+        log.debug("상품 카탈로그 캐시 갱신. productId: {}", productId);
+    }
+
+    /**
+     * 캐시된 상품의 재고 수량만 바꿉니다. (주문 재고 예약/해제가 커밋된 뒤 InventoryService가 호출)
+     * 재고는 주문마다 바뀌므로 상품을 다시 읽지 않고 변경량만 반영합니다.
+     * 화면 표시와 장바구니 사전 확인용 값이며, 실제 재고 확보는 DB에서 조건부로 처리합니다.
+     *
+     * @param productId 상품 ID
+     * @param delta     재고 변경량 (예약은 음수, 해제는 양수)
+     */
+    public synchronized void adjustStock(Long productId, int delta) {
+        Entry entry = productId == null ? null : entries.get(productId);
+        if (entry == null || delta == 0) {
+            return;
+        }
+        int stock = entry.dto.getStock() == null ? 0 : entry.dto.getStock();
+        entries.put(productId, entry.withStock(Math.max(0, stock + delta)));
+    }
+
+    /**
+     * 캐시된 상품의 재고 수량을 DB 값으로 다시 읽습니다. (다른 노드에서 재고가 바뀌었을 때 ProductCatalogRelay가 호출)
+     * 변경량은 노드마다 누적되면 어긋날 수 있으므로 현재 값을 읽어 맞춥니다.
+     *
+     * @param productId 상품 ID
+     */
+    public synchronized void refreshStock(Long productId) {
+        if (productId == null || !entries.containsKey(productId)) {
+            return;
+        }
+        Optional<Integer> stock = readTransaction.execute(status -> productRepository.findById(productId).map(Product::getStock));
+        Entry entry = entries.get(productId);
+        if (entry != null && stock.isPresent()) {
+            entries.put(productId, entry.withStock(stock.get()));
+        }
+    }
+
+    /**
+     * 캐시를 비웁니다. 다음 조회 때 전체 상품을 다시 읽습니다.
+     */
+    public synchronized void invalidateAll() {
+        loaded = false;
+        entries.clear();
+        categoryPostings.clear();
+        ingredientPostings.clear();
+    }
+
+    /**
+     * 캐시 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("products", entries.size());
+        stats.put("categories", categoryPostings.size());
+        stats.put("ingredients", ingredientPostings.size());
+        stats.put("reads", reads.get());
+        stats.put("fullLoads", loads.get());
+        stats.put("refreshes", refreshes.get());
+        return stats;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            List<Entry> loadedEntries = readTransaction.execute(status -> {
+                // 같은 영속성 컨텍스트에서 컬렉션을 하나씩 fetch join으로 채움 (여러 bag을 한 번에 fetch할 수 없음)
+                List<Product> products = productRepository.findAllWithIngredients();
+                productRepository.findAllWithCategories();
+                productRepository.findAllWithImages();
+                return products.stream().map(Entry::of).toList();
+            });
+            loadedEntries.forEach(entry -> replace(entry.dto.getId(), entry));
+            loaded = true;
+            loads.incrementAndGet();
+            log.info("상품 카탈로그 캐시 생성 완료. 상품 수: {}, 카테고리 수: {}", entries.size(), categoryPostings.size());
+        }
+    }
+
+    private List<ProductResponseDTO> toDTOs(Collection<Long> productIds) {
+        reads.incrementAndGet();
+        List<ProductResponseDTO> result = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Entry entry = entries.get(productId);
+            if (entry != null) {
+                result.add(copyOf(entry.dto));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 상품 항목을 한 번에 교체하고, 이전 항목과 달라진 카테고리/영양 성분만 색인에 반영합니다.
+     * (먼저 지우고 다시 넣으면 그 사이에 조회한 요청이 상품을 찾지 못함)
+     *
+     * @param next 새 항목 (상품이 없어졌으면 null)
+     */
+    private void replace(Long productId, Entry next) {
+        Entry previous = next != null ? entries.put(productId, next) : entries.remove(productId);
+        updatePostings(categoryPostings, productId,
+                previous != null ? previous.categoryIds : List.of(), next != null ? next.categoryIds : List.of());
+        updatePostings(ingredientPostings, productId,
+                previous != null ? previous.ingredientIds : List.of(), next != null ? next.ingredientIds : List.of());
+    }
+
+    private static void updatePostings(Map<Long, Set<Long>> postings, Long productId,
+                                       List<Long> previousKeys, List<Long> nextKeys) {
+        for (Long key : nextKeys) {
+            if (!previousKeys.contains(key)) {
+                postings.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(productId);
+            }
+        }
+        for (Long key : previousKeys) {
+            if (!nextKeys.contains(key)) {
+                Set<Long> posting = postings.get(key);
+                if (posting != null) {
+                    posting.remove(productId);
+                }
+            }
+        }
+    }
+
+    private static ProductResponseDTO copyOf(ProductResponseDTO dto) {
+        return ProductResponseDTO.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .price(dto.getPrice())
+                .stock(dto.getStock())
+                .active(dto.getActive())
+                .mainImageUrl(dto.getMainImageUrl())
+                .categories(dto.getCategories())
+                .ingredients(dto.getIngredients())
+                .description(dto.getDescription())
+                .productImgList(dto.getProductImgList())
+                .build();
+    }
+
+    /** 캐시 항목 (DTO 스냅샷과 색인용 ID) */
+    private static final class Entry {
+        private final ProductResponseDTO dto;
+        private final List<Long> categoryIds;
+        private final List<Long> ingredientIds;
+        /** 카테고리 이름 중 가장 앞선 이름 (카테고리가 없으면 null) */
+        private final String firstCategoryName;
+
+        private Entry(ProductResponseDTO dto, List<Long> categoryIds, List<Long> ingredientIds, String firstCategoryName) {
+            this.dto = dto;
+            this.categoryIds = categoryIds;
+            this.ingredientIds = ingredientIds;
+            this.firstCategoryName = firstCategoryName;
+        }
+
+        /** 재고 수량만 바꾼 항목 */
+        private Entry withStock(int stock) {
+            ProductResponseDTO copy = copyOf(dto);
+            copy.setStock(stock);
+            return new Entry(copy, categoryIds, ingredientIds, firstCategoryName);
+        }
+
+        /** 컬렉션이 모두 로딩된 상품으로 항목을 만듭니다. (트랜잭션 안에서 호출) */
+        private static Entry of(Product product) {
+            ProductResponseDTO dto = ProductResponseDTO.fromEntity(product);
+            dto.setCategories(Collections.unmodifiableList(dto.getCategories()));
+            dto.setIngredients(Collections.unmodifiableList(dto.getIngredients()));
+            if (dto.getProductImgList() != null) {
+                dto.setProductImgList(Collections.unmodifiableList(dto.getProductImgList()));
+            }
+
+            List<ProductCategory> categories = product.getCategories() != null ? product.getCategories() : List.of();
+            List<ProductIngredient> ingredients = product.getIngredients() != null ? product.getIngredients() : List.of();
+            return new Entry(dto,
+                    categories.stream().map(ProductCategory::getId).distinct().toList(),
+                    ingredients.stream().map(ProductIngredient::getId).distinct().toList(),
+                    categories.stream().map(ProductCategory::getName).filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.javalab.student.service.product;
+
+import lombok.Getter;
+
+/**
+ * 상품 카탈로그(상품 정보, 영양 성분, 카테고리, 이미지, 활성 상태)가 변경되었음을 알리는 이벤트
+ * - 상품 정보를 캐시하는 컴포넌트는 @TransactionalEventListener로 받아 커밋 후 캐시를 비웁니다.
+ * - 다른 노드에서 바뀐 상품은 ProductCatalogRelay가 remote 이벤트로 다시 발행합니다.
+ */
+@Getter
+public class ProductCatalogChangedEvent {
+
+    /** 변경된 상품 ID */
+    private final Long productId;
+
+    /** 다른 노드에서 전달받은 변경이면 true (다시 전달하지 않음) */
+    private final boolean remote;
+
+    public ProductCatalogChangedEvent(Long productId) {
+        this(productId, false);
+    }
+
+    public ProductCatalogChangedEvent(Long productId, boolean remote) {
+        this.productId = productId;
+        this.remote = remote;
+    }
+}
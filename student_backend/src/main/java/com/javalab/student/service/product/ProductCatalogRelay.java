@@ -0,0 +1,79 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.config.redis.CacheNames;
+import com.javalab.student.config.redis.LayeredCacheManager;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+
+/**
+ * 상품 카탈로그 변경을 다른 노드에 전달합니다.
+ * - ProductCatalogCache, ProductIngredientIndex, ProductSearchIndex, ProductFacetIndex는 노드별 메모리에 있으므로,
+ *   이 노드에서 커밋된 ProductCatalogChangedEvent를 Redis 무효화 채널(LayeredCacheManager)로 보내고
+ *   다른 노드가 보낸 변경은 remote 이벤트로 다시 발행해 같은 리스너들이 갱신하게 합니다.
+ * - 주문 재고 변경은 상품 정보 변경보다 훨씬 잦으므로 따로 보내고, 받는 노드는 카탈로그 캐시의 재고만 다시 읽습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogRelay {
+
+    private final LayeredCacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCatalogCache productCatalogCache;
+
+    @PostConstruct
+    void subscribe() {
+        cacheManager.addLocalInvalidationListener(CacheNames.PRODUCT_CATALOG, key -> {
+            Long productId = parseId(key);
+            if (productId != null) {
+                eventPublisher.publishEvent(new ProductCatalogChangedEvent(productId, true));
+            }
+        });
+        cacheManager.addLocalInvalidationListener(CacheNames.PRODUCT_STOCK, key -> {
+            Long productId = parseId(key);
+            if (productId != null) {
+                productCatalogCache.refreshStock(productId);
+            }
+        });
+    }
+
+    /**
+     * 이 노드에서 커밋된 상품 변경을 다른 노드에 알립니다. (이 노드의 캐시 갱신이 끝난 뒤 실행)
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        if (event.isRemote() || event.getProductId() == null) {
+            return;
+        }
+        cacheManager.publishLocalInvalidation(CacheNames.PRODUCT_CATALOG, String.valueOf(event.getProductId()));
+    }
+
+    /**
+     * 재고가 바뀐 상품을 다른 노드에 알립니다. (재고 변경 커밋 후 InventoryService가 호출)
+     *
+     * @param productIds 재고가 바뀐 상품 ID
+     */
+    public void stockChanged(Collection<Long> productIds) {
+        for (Long productId : productIds) {
+            cacheManager.publishLocalInvalidation(CacheNames.PRODUCT_STOCK, String.valueOf(productId));
+        }
+    }
+
+    private static Long parseId(String key) {
+        try {
+            return key == null ? null : Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            log.warn("상품 변경 메시지의 상품 ID가 올바르지 않습니다: {}", key);
+            return null;
+        }
+    }
+}
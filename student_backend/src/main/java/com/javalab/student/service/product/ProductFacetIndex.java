@@ -0,0 +1,257 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.dto.product.ProductResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 패싯 색인 (메모리)
+ * - 상품마다 0부터 시작하는 문서 번호를 붙이고, 카테고리 ID / 영양 성분 ID별로 해당 상품의 문서 번호를 BitSet에 담습니다.
+ * - "카테고리 A ∧ 영양 성분 B ∧ 판매 중" 같은 조건은 BitSet AND 몇 번으로 계산하고,
+ *   같은 결과 BitSet으로 다른 모든 카테고리/영양 성분의 상품 수까지 한 번에 셉니다. (DB 집계 쿼리 없음)
+ * - 상품 정보는 ProductCatalogCache에서 가져오고, ProductCatalogChangedEvent가 커밋되면 해당 상품만 다시 색인합니다.
+ *   (카탈로그 캐시가 먼저 갱신되어야 하므로 리스너 순서를 카탈로그 캐시 다음으로 둡니다.)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetIndex {
+
+    private final ProductCatalogCache productCatalogCache;
+
+    /** 조회는 동시에, 색인 변경은 단독으로 (BitSet은 스레드 안전하지 않음) */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 상품 ID → 문서 번호 */
+    private final Map<Long, Integer> docByProduct = new HashMap<>();
+    /** 문서 번호 → 상품 ID (삭제된 번호는 null) */
+    private final List<Long> productByDoc = new ArrayList<>();
+    /** 삭제되어 다시 쓸 수 있는 문서 번호 */
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+
+    /** 색인된 상품 */
+    private final BitSet live = new BitSet();
+    /** 판매 중인 상품 */
+    private final BitSet active = new BitSet();
+    /** 카테고리 ID → 상품 */
+    private final Map<Long, BitSet> categoryBits = new HashMap<>();
+    /** 영양 성분 ID → 상품 */
+    private final Map<Long, BitSet> ingredientBits = new HashMap<>();
+
+    private boolean loaded;
+
+    /**
+     * 선택한 카테고리와 영양 성분을 모두 만족하는 상품과, 각 카테고리/영양 성분을 조건에 더했을 때의 상품 수를 계산합니다.
+     *
+     * @param categoryIds   모두 속해야 하는 카테고리 ID (없으면 조건 없음)
+     * @param ingredientIds 모두 포함해야 하는 영양 성분 ID (없으면 조건 없음)
+     * @param activeOnly    판매 중인 상품만 대상으로 할지 여부
+     * @return 일치한 상품 ID(오름차순)와 패싯 값별 상품 수 (0인 값은 포함하지 않음)
+     */
+    public FacetResult query(Collection<Long> categoryIds, Collection<Long> ingredientIds, boolean activeOnly) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet matched = (BitSet) (activeOnly ? active : live).clone();
+            if (categoryIds != null) {
+                for (Long categoryId : categoryIds) {
+                    and(matched, categoryBits.get(categoryId));
+                }
+            }
+            if (ingredientIds != null) {
+                for (Long ingredientId : ingredientIds) {
+                    and(matched, ingredientBits.get(ingredientId));
+                }
+            }
+
+            List<Long> productIds = new ArrayList<>(matched.cardinality());
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                productIds.add(productByDoc.get(doc));
+            }
+            Collections.sort(productIds);
+
+            BitSet scratch = new BitSet(matched.length());
+            return new FacetResult(productIds,
+                    countFacets(matched, categoryBits, scratch),
+                    countFacets(matched, ingredientBits, scratch));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인된 상품 수 */
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return docByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 카탈로그 변경이 커밋되면 해당 상품만 다시 색인합니다. (ProductCatalogCache 갱신 후 실행)
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 하나를 다시 색인합니다. 상품이 없어졌으면 색인에서 제거합니다.
+     * 아직 전체 색인을 만들기 전이면 아무것도 하지 않습니다.
+     */
+    public void refresh(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            remove(productId);
+            ProductResponseDTO product = productCatalogCache.get(productId);
+            if (product != null) {
+                add(product);
+            }
+            log.debug("상품 패싯 색인 갱신. productId: {}", productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            productCatalogCache.getAll().forEach(this::add);
+            loaded = true;
+            log.info("상품 패싯 색인 생성 완료. 상품 수: {}, 카테고리 수: {}, 영양 성분 수: {}",
+                    docByProduct.size(), categoryBits.size(), ingredientBits.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(ProductResponseDTO product) {
+        Long productId = product.getId();
+        int doc = freeDocs.isEmpty() ? productByDoc.size() : freeDocs.pop();
+        if (doc == productByDoc.size()) {
+            productByDoc.add(productId);
+        } else {
+            productByDoc.set(doc, productId);
+        }
+        docByProduct.put(productId, doc);
+        live.set(doc);
+        active.set(doc, Boolean.TRUE.equals(product.getActive()));
+        for (Long categoryId : productCatalogCache.getCategoryIds(productId)) {
+            categoryBits.computeIfAbsent(categoryId, key -> new BitSet()).set(doc);
+        }
+        for (Long ingredientId : productCatalogCache.getIngredientIds(productId)) {
+            ingredientBits.computeIfAbsent(ingredientId, key -> new BitSet()).set(doc);
+        }
+    }
+
+    private void remove(Long productId) {
+        Integer doc = docByProduct.remove(productId);
+        if (doc == null) {
+            return;
+        }
+        live.clear(doc);
+        active.clear(doc);
+        clearDoc(categoryBits, doc);
+        clearDoc(ingredientBits, doc);
+        productByDoc.set(doc, null);
+        freeDocs.push(doc);
+    }
+
+    private static void clearDoc(Map<Long, BitSet> facetBits, int doc) {
+        facetBits.values().removeIf(bits -> {
+            bits.clear(doc);
+            return bits.isEmpty();
+        });
+    }
+
+    /** 조건 BitSet이 없으면(해당 값을 가진 상품이 없으면) 결과는 비어 있음 */
+    private static void and(BitSet matched, BitSet condition) {
+        if (condition == null) {
+            matched.clear();
+        } else {
+            matched.and(condition);
+        }
+    }
+
+    /** 결과 BitSet과 패싯 값별 BitSet의 교집합 크기 (scratch를 재사용해 값마다 BitSet을 새로 만들지 않음) */
+    private static Map<Long, Integer> countFacets(BitSet matched, Map<Long, BitSet> facetBits, BitSet scratch) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (matched.isEmpty()) {
+            return counts;
+        }
+        for (Map.Entry<Long, BitSet> facet : facetBits.entrySet()) {
+            if (!matched.intersects(facet.getValue())) {
+                continue;
+            }
+            scratch.clear();
+            scratch.or(matched);
+            scratch.and(facet.getValue());
+            counts.put(facet.getKey(), scratch.cardinality());
+        }
+        return counts;
+    }
+
+    /** 패싯 조회 결과 */
+    public static final class FacetResult {
+        private final List<Long> productIds;
+        private final Map<Long, Integer> categoryCounts;
+        private final Map<Long, Integer> ingredientCounts;
+
+        private FacetResult(List<Long> productIds, Map<Long, Integer> categoryCounts, Map<Long, Integer> ingredientCounts) {
+            this.productIds = productIds;
+            this.categoryCounts = categoryCounts;
+            this.ingredientCounts = ingredientCounts;
+        }
+
+        /** 조건을 만족하는 상품 ID (오름차순) */
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        /** 카테고리 ID → 조건에 그 카테고리를 더했을 때의 상품 수 */
+        public Map<Long, Integer> getCategoryCounts() {
+            return categoryCounts;
+        }
+
+        /** 영양 성분 ID → 조건에 그 영양 성분을 더했을 때의 상품 수 */
+        public Map<Long, Integer> getIngredientCounts() {
+            return ingredientCounts;
+        }
+    }
+}
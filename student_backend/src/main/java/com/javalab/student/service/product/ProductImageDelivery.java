@@ -0,0 +1,249 @@
+package com.javalab.student.service.product;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 이미지 HTTP 응답 처리
+ * - ETag / Last-Modified 조건부 요청(If-None-Match, If-Modified-Since)에는 본문 없이 304로 응답합니다.
+ * - Range 요청(단일 구간, If-Range 포함)에는 206으로 해당 구간만 보냅니다. (여러 구간 요청은 전체를 보냄)
+ * - 본문은 Tomcat sendfile을 쓸 수 있으면 커넥터에 맡기고, 아니면 FileChannel.transferTo로 보내
+ *   파일 내용을 힙 버퍼로 읽어 들이지 않습니다.
+ * - 내용 해시 이름의 파일은 URL의 내용이 바뀌지 않으므로 1년 immutable 캐시를 허용합니다.
+ *   단, 요청한 축소본이 아직 없어 원본을 대신 보낼 때는 곧 축소본으로 바뀌므로 짧게만 캐시합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImageDelivery {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String PENDING_VARIANT = "public, max-age=60";
+    private static final String REVALIDATE = "public, max-age=86400, must-revalidate";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ProductImageStorage productImageStorage;
+
+    private final AtomicLong fullResponses = new AtomicLong();
+    private final AtomicLong partialResponses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong sendfileResponses = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    /**
+     * 이미지 파일을 응답으로 보냅니다.
+     *
+     * @param filename URL의 파일명 부분
+     * @param variant  요청한 축소본 (thumb / list / detail, 없으면 원본)
+     */
+    public void serve(String filename, String variant, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ProductImageStorage.ImageFile image = productImageStorage.open(filename, variant);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Image not found");
+            return;
+        }
+
+        boolean variantPending = ProductImageStorage.Variant.from(variant) != null && image.getVariant() == null;
+        response.setHeader(HttpHeaders.ETAG, image.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, image.getLastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                !image.isContentAddressed() ? REVALIDATE : variantPending ? PENDING_VARIANT : IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, image)) {
+            notModified.incrementAndGet();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = image.getLength();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, image)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(image.getContentType());
+        response.setContentLengthLong(count);
+        if (response.getStatus() == HttpServletResponse.SC_PARTIAL_CONTENT) {
+            partialResponses.incrementAndGet();
+        } else {
+            fullResponses.incrementAndGet();
+        }
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 커밋 후 Tomcat 커넥터가 커널 sendfile로 파일을 직접 소켓에 씀
+            request.setAttribute(SENDFILE_FILENAME, image.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfileResponses.incrementAndGet();
+        } else {
+            transfer(image, start, count, response);
+        }
+        bytesSent.addAndGet(count);
+    }
+
+    /**
+     * 이미지 응답 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("fullResponses", fullResponses.get());
+        stats.put("partialResponses", partialResponses.get());
+        stats.put("notModified", notModified.get());
+        stats.put("sendfileResponses", sendfileResponses.get());
+        stats.put("bytesSent", bytesSent.get());
+        stats.put("storage", productImageStorage.getStats());
+        return stats;
+    }
+
+    private static void transfer(ProductImageStorage.ImageFile image, long start, long count, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel file = FileChannel.open(image.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = file.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    /** If-None-Match가 있으면 그것만, 없으면 If-Modified-Since로 판단 (RFC 9110 13.2.2) */
+    private static boolean isNotModified(HttpServletRequest request, ProductImageStorage.ImageFile image) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return etagMatches(ifNoneMatch, image.getEtag(), true);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP 날짜는 초 단위이므로 밀리초는 버리고 비교
+        return ifModifiedSince >= 0 && image.getLastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /** If-Range가 없거나 현재 파일과 같을 때만 Range를 적용 */
+    private static boolean ifRangeMatches(HttpServletRequest request, ProductImageStorage.ImageFile image) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etagMatches(ifRange, image.getEtag(), false);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && image.getLastModified() / 1000 == date / 1000;
+    }
+
+    /**
+     * ETag 목록 헤더에 현재 ETag가 있는지 확인합니다.
+     *
+     * @param weak true면 약한 비교(W/ 접두어 무시, If-None-Match), false면 강한 비교(If-Range)
+     */
+    private static boolean etagMatches(String header, String etag, boolean weak) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Range 헤더를 해석합니다.
+     *
+     * @return {시작, 끝} (끝 포함), 적용하지 않을 Range(여러 구간, 잘못된 형식)면 빈 배열, 만족할 수 없는 구간이면 null
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 마지막 n바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+                if (end < start) {
+                    // 끝이 시작보다 앞이면 형식 오류이므로 Range를 무시
+                    return new long[0];
+                }
+                end = Math.min(end, length - 1);
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.repository.product.ProductImgRepository;
+import com.javalab.student.util.BoundedExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 상품 이미지 일괄 저장
+ * - 대표/상세 이미지 파일을 제한된 스레드 풀에서 동시에 저장하고,
+ *   product_img 행은 JDBC 배치 INSERT 한 번으로 추가합니다.
+ * - 파일 하나라도 저장에 실패하면 나머지 저장이 끝나기를 기다린 뒤, 이번에 새로 만든 파일을 지우고 예외를 던집니다.
+ * - 트랜잭션 안에서 호출되면 롤백 시에도 이번에 새로 만든 파일을 지웁니다.
+ *   (같은 내용의 기존 파일을 재사용한 경우와, 그 사이 다른 상품 이미지가 참조하게 된 파일은 지우지 않음)
+ * - 저장한 해시는 트랜잭션이 끝날 때까지 ProductImageStorage에 붙잡아 두어, 아직 커밋되지 않은 다른 업로드가
+ *   같은 파일을 재사용하는 동안 참조 수가 0으로 보여도 지우지 않습니다. (확인과 삭제는 해시별 잠금 안에서)
+ * - 교체/삭제된 이미지 파일은 커밋 후에 지워서, 롤백되어 DB에 남은 행이 없는 파일을 가리키지 않도록 합니다.
+ */
+@Service
+@Slf4j
+public class ProductImageIngestor {
+
+    private static final String INSERT_PRODUCT_IMG =
+            "INSERT INTO product_img (product_id, image_url, image_type, `order`, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    /** 대표 이미지 유형 */
+    public static final String MAIN = "대표";
+    /** 상세 이미지 유형 */
+    public static final String DETAIL = "상세";
+
+    private final ProductImageStorage productImageStorage;
+    private final ProductImgRepository productImgRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate cleanupTransaction;
+    private final ThreadPoolExecutor workers;
+
+    public ProductImageIngestor(ProductImageStorage productImageStorage,
+                                ProductImgRepository productImgRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${image.ingest.worker-threads:4}") int workerThreads,
+                                @Value("${image.ingest.queue-size:64}") int queueSize) {
+        this.productImageStorage = productImageStorage;
+        this.productImgRepository = productImgRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cleanupTransaction = new TransactionTemplate(transactionManager);
+        this.cleanupTransaction.setReadOnly(true);
+        // 롤백 후 콜백(afterCompletion)에서도 호출되므로 항상 새 트랜잭션에서 참조 수를 확인
+        this.cleanupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // 큐가 가득 차면 요청 스레드가 직접 저장
+        this.workers = BoundedExecutors.fixedPool("image-ingest", workerThreads, queueSize,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 대표 이미지(order 0)와 상세 이미지(order 1부터)를 저장하고 product_img 행을 추가합니다.
+     * 비어 있는 파일은 건너뜁니다.
+     *
+     * @param productId   상품 ID (이미 INSERT된 상품)
+     * @param mainImage   대표 이미지 (없으면 null)
+     * @param detailImages 상세 이미지 (없으면 null)
+     * @return 추가한 product_img 행 수
+     */
+    public int ingest(Long productId, MultipartFile mainImage, List<MultipartFile> detailImages) {
+        List<Upload> uploads = new ArrayList<>();
+        if (mainImage != null && !mainImage.isEmpty()) {
+            uploads.add(new Upload(mainImage, MAIN, 0));
+        }
+        if (detailImages != null) {
+            for (int order = 1; order <= detailImages.size(); order++) {
+                MultipartFile detailImage = detailImages.get(order - 1);
+                if (detailImage != null && !detailImage.isEmpty()) {
+                    uploads.add(new Upload(detailImage, DETAIL, order));
+                }
+            }
+        }
+        if (uploads.isEmpty()) {
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        List<ProductImageStorage.StoredImage> stored = storeAll(uploads);
+        List<String> storedUrls = stored.stream()
+                .map(ProductImageStorage.StoredImage::getUrl)
+                .toList();
+        List<String> createdUrls = stored.stream()
+                .filter(ProductImageStorage.StoredImage::isCreated)
+                .map(ProductImageStorage.StoredImage::getUrl)
+                .toList();
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            releaseOnCompletion(storedUrls, createdUrls);
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(uploads.size());
+        for (int i = 0; i < uploads.size(); i++) {
+            Upload upload = uploads.get(i);
+            rows.add(new Object[]{productId, stored.get(i).getUrl(), upload.imageType, upload.order, createdAt});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_IMG, rows);
+        } catch (RuntimeException e) {
+            if (!inTransaction) {
+                release(storedUrls);
+                deleteUnreferenced(createdUrls);
+            }
+            throw e;
+        }
+        if (!inTransaction) {
+            release(storedUrls);
+        }
+        log.info("상품 이미지 {}개 저장 완료. productId: {}, 새 파일: {}개, {}ms",
+                uploads.size(), productId, createdUrls.size(), (System.nanoTime() - started) / 1_000_000);
+        return rows.size();
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤 이미지 파일을 지웁니다. 그때까지 다른 상품 이미지가 같은 URL을 참조하고 있으면 남겨 둡니다.
+     * 롤백되면 DB 행이 그대로 남으므로 파일도 지우지 않습니다. (트랜잭션 밖에서 호출하면 바로 확인 후 삭제)
+     */
+    public void deleteAfterCommit(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteUnreferenced(List.of(imageUrl));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteUnreferenced(List.of(imageUrl));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /** 파일을 동시에 저장합니다. 하나라도 실패하면 모두 끝난 뒤 새로 만든 파일을 지우고 첫 번째 예외를 던집니다. */
+    private List<ProductImageStorage.StoredImage> storeAll(List<Upload> uploads) {
+        List<CompletableFuture<ProductImageStorage.StoredImage>> futures = new ArrayList<>(uploads.size());
+        for (Upload upload : uploads) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return productImageStorage.storeImage(upload.file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, workers));
+        }
+
+        List<ProductImageStorage.StoredImage> stored = new ArrayList<>(uploads.size());
+        RuntimeException failure = null;
+        for (CompletableFuture<ProductImageStorage.StoredImage> future : futures) {
+            try {
+                stored.add(future.join());
+            } catch (CompletionException e) {
+                stored.add(null);
+                if (failure == null) {
+                    failure = unwrap(e);
+                }
+            }
+        }
+        if (failure != null) {
+            release(stored.stream()
+                    .filter(image -> image != null)
+                    .map(ProductImageStorage.StoredImage::getUrl)
+                    .toList());
+            deleteUnreferenced(stored.stream()
+                    .filter(image -> image != null && image.isCreated())
+                    .map(ProductImageStorage.StoredImage::getUrl)
+                    .toList());
+            throw failure;
+        }
+        return stored;
+    }
+
+    /** 트랜잭션이 끝나면 붙잡아 둔 해시를 놓고, 롤백이면 이번에 새로 만든 파일을 지웁니다. */
+    private void releaseOnCompletion(List<String> storedUrls, List<String> createdUrls) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(storedUrls);
+                if (status != STATUS_COMMITTED) {
+                    deleteUnreferenced(createdUrls);
+                }
+            }
+        });
+    }
+
+    private void release(List<String> urls) {
+        urls.forEach(productImageStorage::release);
+    }
+
+    /** 다른 상품 이미지가 참조하지 않고, 커밋되지 않은 다른 업로드도 붙잡고 있지 않은 파일만 지웁니다. */
+    private void deleteUnreferenced(List<String> urls) {
+        for (String url : urls) {
+            try {
+                boolean deleted = productImageStorage.deleteIfUnreferenced(url, () -> {
+                    Long references = cleanupTransaction.execute(status -> productImgRepository.countByImageUrl(url));
+                    return references == null || references > 0;
+                });
+                if (deleted) {
+                    log.info("참조하는 상품 이미지가 없어 파일을 삭제했습니다. url: {}", url);
+                }
+            } catch (RuntimeException e) {
+                log.warn("상품 이미지 파일 정리 실패. url: {}, error: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException io) {
+            return new RuntimeException("상품 이미지 저장에 실패했습니다.", io.getCause());
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new RuntimeException("상품 이미지 저장에 실패했습니다.", cause);
+    }
+
+    private static final class Upload {
+        private final MultipartFile file;
+        private final String imageType;
+        private final int order;
+
+        private Upload(MultipartFile file, String imageType, int order) {
+            this.file = file;
+            this.imageType = imageType;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,780 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.exception.ImageUploadException;
+import com.javalab.student.util.BoundedExecutors;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 이미지 저장소 (내용 주소 방식)
+ * - 원본은 SHA-256 해시로 이름을 붙여 {itemImgLocation}/{해시 앞 2자리}/{해시}.{확장자} 에 저장합니다.
+ *   같은 내용의 파일은 한 번만 저장되고 같은 URL을 돌려받습니다.
+ * - 같은 해시의 저장(존재 확인 → 생성)과 삭제(참조 확인 → 삭제)는 해시별 잠금으로 직렬화합니다.
+ *   저장한 쪽은 DB 행이 커밋되거나 롤백될 때까지 해시를 붙잡아 두고(release), 붙잡힌 해시의 파일은 지우지 않습니다.
+ *   (아직 커밋되지 않은 다른 업로드가 재사용한 파일을 롤백 정리가 지우지 않도록)
+ * - 업로드 파일은 getBytes()로 힙에 올리지 않고 64KB 버퍼로 채널에서 임시 파일로 흘려 쓰면서 해시를 계산합니다.
+ *   앞부분의 시그니처로 형식(JPEG, PNG, GIF, WebP, BMP)을 판별하고 확장자도 그 형식으로 정하며,
+ *   누적 크기가 image.upload.max-bytes를 넘는 순간 중단합니다.
+ * - 파일 크기가 작아도 헤더에 아주 큰 해상도를 적은 이미지는 디코딩할 때 메모리를 크게 쓰므로,
+ *   저장 전에 헤더의 가로/세로만 읽어 image.upload.max-pixels를 넘으면 거절합니다.
+ * - 저장 후 백그라운드 스레드에서 목록/상세용 축소본(thumb, list, detail)을 만들어
+ *   {itemImgLocation}/variants/{변형}/{해시 앞 2자리}/{해시}.jpg (투명 배경이면 .png) 에 저장합니다.
+ *   (JDK ImageIO에는 WebP 인코더가 없어 JPEG/PNG로 만듭니다.)
+ *   원본은 필요한 크기 근처까지 건너뛰며(subsampling) 디코딩하여 전체 해상도로 메모리에 올리지 않습니다.
+ * - 이미지 URL은 /api/products/images/{해시}.{확장자} 이고, ?variant=list 처럼 요청하면 축소본을 제공합니다.
+ *   축소본이 아직 없거나 만들 수 없는 형식이면 원본을 제공합니다.
+ * - 예전 방식(UUID_원래이름)으로 저장된 파일은 {itemImgLocation}/{파일명} 에서 그대로 제공합니다.
+ * - 제공할 파일의 MIME 타입, 크기, ETag는 파일별로 캐시하고, 크기나 수정 시각이 바뀌었을 때만 다시 계산합니다.
+ */
+@Service
+@Slf4j
+public class ProductImageStorage {
+
+    /** 이미지 제공 URL 접두어 (ProductController.serveImage) */
+    public static final String URL_PREFIX = "/api/products/images/";
+
+    /** 축소본 종류 (가로 최대 픽셀, 원본보다 크게 늘리지 않음) */
+    public enum Variant {
+        THUMB(160), LIST(480), DETAIL(1080);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /** 요청 파라미터 값으로 축소본 종류를 찾습니다. (모르는 값이면 null) */
+        public static Variant from(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (Variant variant : values()) {
+                if (variant.key().equalsIgnoreCase(value.trim())) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final Pattern CONTENT_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,5})");
+    /** 형식 판별에 필요한 앞부분 바이트 수 (WebP: RIFF????WEBP) */
+    private static final int SIGNATURE_BYTES = 12;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final float JPEG_QUALITY = 0.82f;
+    /** 파일 정보 캐시 최대 항목 수 */
+    private static final int MAX_FILE_INFOS = 10_000;
+    /** 축소본을 만들 때 디코딩하는 최대 픽셀 수 (약 8백만 화소, ARGB 기준 32MB) */
+    private static final long DECODE_PIXEL_BUDGET = 8_000_000L;
+    /** 해시별 잠금 개수 (해시 앞부분으로 나눔) */
+    private static final int HASH_LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final long maxUploadBytes;
+    private final long maxPixels;
+    private final Path tempDir;
+    private final ThreadPoolExecutor variantWorkers;
+    /** 같은 해시의 축소본을 동시에 두 번 만들지 않도록 작업 중인 해시를 기록 */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    /** 같은 해시의 저장과 삭제를 직렬화하는 잠금 */
+    private final Object[] hashLocks = new Object[HASH_LOCK_STRIPES];
+    /** 해시 → 아직 커밋/롤백되지 않은 저장 수 (release로 0이 되면 제거) */
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+    /** 파일 경로 → 제공용 파일 정보 (접근 순서 LRU) */
+    private final Map<Path, ImageFile> fileInfos = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, ImageFile> eldest) {
+            return size() > MAX_FILE_INFOS;
+        }
+    };
+
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong variantsGenerated = new AtomicLong();
+    private final AtomicLong variantFailures = new AtomicLong();
+
+    public ProductImageStorage(@Value("${itemImgLocation}") String itemImgLocation,
+                               @Value("${image.variant.worker-threads:2}") int workerThreads,
+                               @Value("${image.variant.queue-size:200}") int queueSize,
+                               @Value("${image.upload.max-bytes:20971520}") long maxUploadBytes,
+                               @Value("${image.upload.max-pixels:40000000}") long maxPixels) {
+        this.root = Paths.get(itemImgLocation).toAbsolutePath().normalize();
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxPixels = Math.max(1, maxPixels);
+        this.tempDir = root.resolve("tmp");
+        for (int i = 0; i < hashLocks.length; i++) {
+            hashLocks[i] = new Object();
+        }
+        // 큐가 가득 차면 업로드 요청 스레드가 직접 축소본을 만들어 작업이 밀리지 않도록 함
+        this.variantWorkers = BoundedExecutors.fixedPool("image-variant", workerThreads, queueSize,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 업로드된 이미지를 해시 이름으로 저장하고, 축소본 생성을 예약합니다.
+     * 이미 같은 내용의 파일이 있으면 새로 쓰지 않고 기존 URL을 반환합니다.
+     *
+     * @return 이미지 URL (/api/products/images/{해시}.{확장자})
+     * @throws ImageUploadException 크기/해상도 제한을 넘거나 지원하지 않는 형식인 경우
+     */
+    public String store(MultipartFile imageFile) throws IOException {
+        String url = storeImage(imageFile).getUrl();
+        release(url);
+        return url;
+    }
+
+    /**
+     * store()와 같지만, 이번 호출로 파일이 새로 만들어졌는지도 함께 반환합니다.
+     * (저장 실패 시 정리할 때 다른 상품과 공유하는 기존 파일을 지우지 않기 위함)
+     * 반환한 해시는 붙잡아 두므로, 호출하는 쪽은 이 URL을 참조하는 DB 행이 커밋되거나 롤백된 뒤 release()를 호출해야 합니다.
+     */
+    public StoredImage storeImage(MultipartFile imageFile) throws IOException {
+        if (imageFile.getSize() > maxUploadBytes) {
+            throw tooLarge();
+        }
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            String extension;
+            try (InputStream in = imageFile.getInputStream()) {
+                extension = copy(in, temp, digest);
+            }
+            checkDimensions(temp);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path original = originalPath(hash, extension);
+
+            boolean created;
+            synchronized (hashLock(hash)) {
+                created = !Files.exists(original);
+                if (created) {
+                    Files.createDirectories(original.getParent());
+                    moveIntoPlace(temp, original);
+                }
+                pins.merge(hash, 1, Integer::sum);
+            }
+            if (created) {
+                stored.incrementAndGet();
+            } else {
+                deduplicated.incrementAndGet();
+                log.debug("같은 내용의 이미지가 이미 있어 재사용합니다. hash: {}", hash);
+            }
+            scheduleVariants(hash, original);
+            return new StoredImage(URL_PREFIX + hash + "." + extension, created);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 업로드 스트림을 임시 파일로 옮겨 쓰면서 해시를 갱신하고 형식과 크기를 검사합니다.
+     *
+     * @return 시그니처로 판별한 확장자
+     */
+    private String copy(InputStream source, Path target, MessageDigest digest) throws IOException {
+        String extension = null;
+        long total = 0;
+        try (ReadableByteChannel in = Channels.newChannel(source);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+            boolean eof = false;
+            while (!eof) {
+                eof = in.read(buffer) < 0;
+                if (extension == null && !eof && buffer.position() < SIGNATURE_BYTES) {
+                    continue; // 형식 판별에 필요한 앞부분을 먼저 모음
+                }
+                buffer.flip();
+                if (extension == null) {
+                    extension = sniffExtension(buffer);
+                    if (extension == null) {
+                        throw new ImageUploadException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                                "지원하지 않는 이미지 형식입니다. (JPEG, PNG, GIF, WebP, BMP만 가능)");
+                    }
+                }
+                total += buffer.remaining();
+                if (total > maxUploadBytes) {
+                    throw tooLarge();
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return extension;
+    }
+
+    /** 파일 앞부분의 시그니처로 이미지 형식을 판별합니다. (모르는 형식이면 null, buffer 위치는 바꾸지 않음) */
+    private static String sniffExtension(ByteBuffer buffer) {
+        int p = buffer.position();
+        int n = buffer.remaining();
+        if (n >= 3 && (buffer.get(p) & 0xFF) == 0xFF && (buffer.get(p + 1) & 0xFF) == 0xD8 && (buffer.get(p + 2) & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (n >= 8 && startsWith(buffer, p, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})) {
+            return "png";
+        }
+        if (n >= 6 && (startsWith(buffer, p, "GIF87a".getBytes(StandardCharsets.US_ASCII))
+                || startsWith(buffer, p, "GIF89a".getBytes(StandardCharsets.US_ASCII)))) {
+            return "gif";
+        }
+        if (n >= 12 && startsWith(buffer, p, "RIFF".getBytes(StandardCharsets.US_ASCII))
+                && startsWith(buffer, p + 8, "WEBP".getBytes(StandardCharsets.US_ASCII))) {
+            return "webp";
+        }
+        if (n >= 2 && buffer.get(p) == 'B' && buffer.get(p + 1) == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int offset, byte[] signature) {
+        for (int i = 0; i < signature.length; i++) {
+            if (buffer.get(offset + i) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 이미지 헤더의 가로/세로로 해상도 제한을 검사합니다. (픽셀 데이터는 디코딩하지 않음)
+     * ImageIO가 읽지 못하는 형식(WebP)은 축소본을 만들지 않으므로 검사하지 않습니다.
+     */
+    private void checkDimensions(Path image) {
+        int[] size;
+        try {
+            size = readDimensions(image);
+        } catch (IOException e) {
+            throw new ImageUploadException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "이미지 파일을 읽을 수 없습니다.");
+        }
+        if (size != null && (long) size[0] * size[1] > maxPixels) {
+            throw new ImageUploadException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    String.format("이미지 해상도는 %,d화소를 넘을 수 없습니다. (업로드한 이미지: %d x %d)", maxPixels, size[0], size[1]));
+        }
+    }
+
+    /**
+     * 이미지 헤더에서 가로/세로 픽셀 수를 읽습니다.
+     *
+     * @return {가로, 세로} (ImageIO가 읽지 못하는 형식이면 null)
+     */
+    private static int[] readDimensions(Path image) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(image.toFile())) {
+            ImageReader reader = readerFor(in);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(in, true, true);
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader readerFor(ImageInputStream in) {
+        if (in == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    private ImageUploadException tooLarge() {
+        return new ImageUploadException(HttpStatus.PAYLOAD_TOO_LARGE,
+                String.format("이미지 파일 크기는 %.1fMB를 넘을 수 없습니다.", maxUploadBytes / (1024.0 * 1024.0)));
+    }
+
+    /**
+     * 이미지 파일명(과 축소본 종류)에 해당하는 실제 파일 경로를 찾습니다.
+     * 요청한 축소본이 없으면 원본 경로를 반환합니다.
+     *
+     * @param filename URL의 파일명 부분
+     * @param variant  thumb / list / detail (없거나 모르는 값이면 원본)
+     * @return 파일 경로 (저장소 밖을 가리키는 파일명이면 null)
+     */
+    public Path resolve(String filename, String variant) {
+        Matcher matcher = CONTENT_NAME.matcher(filename);
+        if (!matcher.matches()) {
+            Path legacy = root.resolve(filename).normalize();
+            return legacy.startsWith(root) ? legacy : null;
+        }
+        String hash = matcher.group(1);
+        Variant requested = Variant.from(variant);
+        if (requested != null) {
+            for (String format : new String[]{"jpg", "png"}) {
+                Path variantPath = variantPath(hash, requested, format);
+                if (Files.exists(variantPath)) {
+                    return variantPath;
+                }
+            }
+        }
+        return originalPath(hash, matcher.group(2));
+    }
+
+    /**
+     * 이미지 파일명(과 축소본 종류)에 해당하는 파일의 제공용 정보를 반환합니다.
+     * ETag는 내용 주소 파일이면 해시(축소본은 해시-변형)로, 예전 방식 파일이면 내용의 SHA-256으로 만듭니다.
+     *
+     * @return 파일 정보 (파일이 없으면 null)
+     */
+    public ImageFile open(String filename, String variant) throws IOException {
+        Path path = resolve(filename, variant);
+        if (path == null) {
+            return null;
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (fileInfos) {
+            ImageFile cached = fileInfos.get(path);
+            if (cached != null && cached.length == attributes.size() && cached.lastModified == lastModified) {
+                return cached;
+            }
+        }
+
+        Matcher matcher = CONTENT_NAME.matcher(filename);
+        boolean contentAddressed = matcher.matches();
+        Variant served = contentAddressed ? servedVariant(path) : null;
+        String etag = contentAddressed
+                ? matcher.group(1) + (served != null ? "-" + served.key() : "")
+                : contentHash(path).substring(0, 32);
+        String contentType = Files.probeContentType(path);
+        ImageFile info = new ImageFile(path, contentType != null ? contentType : "application/octet-stream",
+                attributes.size(), lastModified, "\"" + etag + "\"", contentAddressed, served);
+        synchronized (fileInfos) {
+            fileInfos.put(path, info);
+        }
+        return info;
+    }
+
+    /**
+     * storeImage()가 붙잡아 둔 해시를 놓습니다. (URL을 참조하는 DB 행이 커밋되거나 롤백된 뒤 호출)
+     */
+    public void release(String imageUrl) {
+        String hash = hashOf(imageUrl);
+        if (hash != null) {
+            pins.computeIfPresent(hash, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * 아직 커밋되지 않은 저장이 붙잡고 있지 않고, referenced가 false를 반환하면 이미지 파일을 삭제합니다.
+     * 확인과 삭제는 해시별 잠금 안에서 하므로 그 사이 같은 내용의 업로드가 끼어들지 않습니다.
+     *
+     * @param referenced DB에서 이 URL을 참조하는 행이 있는지 확인
+     * @return 삭제했으면 true
+     */
+    public boolean deleteIfUnreferenced(String imageUrl, BooleanSupplier referenced) {
+        String hash = hashOf(imageUrl);
+        if (hash == null) {
+            // 예전 방식(UUID_원래이름) 파일은 재사용되지 않음
+            if (imageUrl == null || imageUrl.isEmpty() || referenced.getAsBoolean()) {
+                return false;
+            }
+            delete(imageUrl);
+            return true;
+        }
+        synchronized (hashLock(hash)) {
+            if (pins.containsKey(hash) || referenced.getAsBoolean()) {
+                return false;
+            }
+            delete(imageUrl);
+            return true;
+        }
+    }
+
+    /**
+     * 이미지 URL의 원본과 축소본 파일을 삭제합니다.
+     * (같은 내용을 다른 상품이 쓰고 있는지는 호출하는 쪽에서 확인해야 함, 가능하면 deleteIfUnreferenced 사용)
+     */
+    public void delete(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return;
+        }
+        String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        try {
+            Matcher matcher = CONTENT_NAME.matcher(filename);
+            if (matcher.matches()) {
+                String hash = matcher.group(1);
+                synchronized (hashLock(hash)) {
+                    Files.deleteIfExists(originalPath(hash, matcher.group(2)));
+                    for (Variant variant : Variant.values()) {
+                        Files.deleteIfExists(variantPath(hash, variant, "jpg"));
+                        Files.deleteIfExists(variantPath(hash, variant, "png"));
+                    }
+                }
+            } else {
+                Path legacy = resolve(filename, null);
+                if (legacy != null) {
+                    Files.deleteIfExists(legacy);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error deleting image file: " + imageUrl, e);
+        }
+        synchronized (fileInfos) {
+            fileInfos.keySet().removeIf(path -> path.getFileName().toString().startsWith(stripExtension(filename)));
+        }
+    }
+
+    /**
+     * 저장소 통계를 반환합니다.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stored", stored.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("pinnedHashes", pins.size());
+        stats.put("variantsGenerated", variantsGenerated.get());
+        stats.put("variantFailures", variantFailures.get());
+        stats.put("variantQueue", variantWorkers.getQueue().size());
+        stats.put("variantActive", variantWorkers.getActiveCount());
+        synchronized (fileInfos) {
+            stats.put("cachedFileInfos", fileInfos.size());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantWorkers.shutdown();
+    }
+
+    private void scheduleVariants(String hash, Path original) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            variantWorkers.execute(() -> {
+                try {
+                    generateVariants(hash, original);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 종료 중이라 작업을 받지 못하는 경우: 축소본 없이 원본을 제공함
+            pending.remove(hash);
+            log.warn("이미지 축소본 생성 예약 실패. hash: {}, error: {}", hash, e.getMessage());
+        }
+    }
+
+    private void generateVariants(String hash, Path original) {
+        try {
+            BufferedImage source = null;
+            for (Variant variant : Variant.values()) {
+                if (Files.exists(variantPath(hash, variant, "jpg")) || Files.exists(variantPath(hash, variant, "png"))) {
+                    continue;
+                }
+                if (source == null) {
+                    source = decodeForVariants(original);
+                    if (source == null) {
+                        return;
+                    }
+                }
+                boolean alpha = source.getColorModel().hasAlpha();
+                Path target = variantPath(hash, variant, alpha ? "png" : "jpg");
+                Files.createDirectories(target.getParent());
+                Path temp = Files.createTempFile(tempDir, "variant-", ".tmp");
+                try {
+                    write(resize(source, variant.maxWidth, alpha), alpha, temp);
+                    moveIntoPlace(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                variantsGenerated.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            variantFailures.incrementAndGet();
+            log.warn("이미지 축소본 생성 실패. hash: {}, error: {}", hash, e.getMessage());
+        }
+    }
+
+    /**
+     * 축소본 원본으로 쓸 이미지를 디코딩합니다.
+     * 가장 큰 축소본 가로의 2배 근처, 그리고 DECODE_PIXEL_BUDGET 이하가 되도록 행/열을 건너뛰며 읽습니다.
+     *
+     * @return 디코딩한 이미지 (읽지 못하는 형식이거나 해상도 제한을 넘으면 null, 원본만 제공)
+     */
+    private BufferedImage decodeForVariants(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = readerFor(in);
+            if (reader == null) {
+                // ImageIO가 읽지 못하는 형식(WebP 등)은 원본만 제공
+                log.debug("축소본을 만들 수 없는 이미지 형식입니다. file: {}", original.getFileName());
+                return null;
+            }
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels > maxPixels) {
+                    // 제한이 생기기 전에 저장된 파일
+                    log.warn("해상도 제한을 넘는 이미지라 축소본을 만들지 않습니다. file: {}, size: {}x{}",
+                            original.getFileName(), width, height);
+                    return null;
+                }
+                int step = Math.max(1, width / (Variant.DETAIL.maxWidth * 2));
+                step = Math.max(step, (int) Math.ceil(Math.sqrt((double) pixels / DECODE_PIXEL_BUDGET)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 가로가 maxWidth 이하가 되도록 비율을 유지해 줄입니다.
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 여러 번 줄입니다.
+     */
+    private static BufferedImage resize(BufferedImage source, int maxWidth, boolean alpha) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private static void write(BufferedImage image, boolean alpha, Path target) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", target.toFile());
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /** 경로가 축소본 디렉터리 아래에 있으면 그 축소본 종류 */
+    private Variant servedVariant(Path path) {
+        Path variants = root.resolve("variants");
+        if (!path.startsWith(variants)) {
+            return null;
+        }
+        return Variant.from(variants.relativize(path).getName(0).toString());
+    }
+
+    /** 파일 내용의 SHA-256 (예전 방식 파일의 ETag용, 파일 정보 캐시에 보관하므로 파일이 바뀔 때만 다시 계산) */
+    private static String contentHash(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String stripExtension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? filename : filename.substring(0, dot);
+    }
+
+    /** 내용 주소 URL이면 해시, 아니면 null */
+    private static String hashOf(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = CONTENT_NAME.matcher(imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private Object hashLock(String hash) {
+        return hashLocks[Integer.parseInt(hash.substring(0, 2), 16) % HASH_LOCK_STRIPES];
+    }
+
+    private Path originalPath(String hash, String extension) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    private Path variantPath(String hash, Variant variant, String format) {
+        return root.resolve("variants").resolve(variant.key()).resolve(hash.substring(0, 2)).resolve(hash + "." + format);
+    }
+
+    /** 임시 파일을 최종 위치로 옮깁니다. (읽는 쪽에서 쓰다 만 파일을 보지 않도록 가능하면 원자적으로) */
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 저장 결과 */
+    public static final class StoredImage {
+        private final String url;
+        private final boolean created;
+
+        private StoredImage(String url, boolean created) {
+            this.url = url;
+            this.created = created;
+        }
+
+        /** 이미지 URL */
+        public String getUrl() {
+            return url;
+        }
+
+        /** 이번 저장으로 파일이 새로 만들어졌는지 (false면 같은 내용의 기존 파일을 재사용) */
+        public boolean isCreated() {
+            return created;
+        }
+    }
+
+    /** 제공용 이미지 파일 정보 */
+    public static final class ImageFile {
+        private final Path path;
+        private final String contentType;
+        private final long length;
+        private final long lastModified;
+        private final String etag;
+        private final boolean contentAddressed;
+        private final Variant variant;
+
+        private ImageFile(Path path, String contentType, long length, long lastModified, String etag,
+                          boolean contentAddressed, Variant variant) {
+            this.path = path;
+            this.contentType = contentType;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.contentAddressed = contentAddressed;
+            this.variant = variant;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /** 강한 ETag (따옴표 포함) */
+        public String getEtag() {
+            return etag;
+        }
+
+        /** 내용 해시 이름의 파일인지 (같은 URL의 내용이 바뀌지 않음) */
+        public boolean isContentAddressed() {
+            return contentAddressed;
+        }
+
+        /** 제공하는 축소본 종류 (원본이면 null) */
+        public Variant getVariant() {
+            return variant;
+        }
+    }
+}
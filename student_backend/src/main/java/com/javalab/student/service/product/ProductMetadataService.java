@@ -0,0 +1,44 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.config.redis.CacheNames;
+import com.javalab.student.dto.product.ProductCategoryDto;
+import com.javalab.student.dto.product.ProductIngredientDto;
+import com.javalab.student.repository.product.ProductCategoryRepository;
+import com.javalab.student.repository.product.ProductIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 카테고리 / 영양 성분 목록 조회 서비스
+ * - 거의 바뀌지 않는 목록이므로 2단계 캐시(L1 힙 + L2 Redis)에 보관합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductMetadataService {
+
+    private final ProductCategoryRepository categoryRepository;
+    private final ProductIngredientRepository ingredientRepository;
+
+    /** 전체 카테고리 목록 (ID 순) */
+    @Cacheable(CacheNames.PRODUCT_CATEGORIES)
+    @Transactional(readOnly = true)
+    public List<ProductCategoryDto> getCategories() {
+        return categoryRepository.findAllByOrderByIdAsc().stream()
+                .map(ProductCategoryDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /** 전체 영양 성분 목록 */
+    @Cacheable(CacheNames.PRODUCT_INGREDIENTS)
+    @Transactional(readOnly = true)
+    public List<ProductIngredientDto> getIngredients() {
+        return ingredientRepository.findAll().stream()
+                .map(ProductIngredientDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+}
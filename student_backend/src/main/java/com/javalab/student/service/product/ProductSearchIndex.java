@@ -0,0 +1,346 @@
+package com.javalab.student.service.product;
+
+import com.javalab.student.dto.product.ProductResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 상품 전문 검색 색인 (메모리)
+ * - 상품명, 카테고리, 영양 성분, 설명을 KoreanTextAnalyzer로 분석해 세 가지 사전에 넣습니다.
+ *   자모 분해 단어(접두어 검색), 초성 단어(초성 검색), 1·2-gram(단어 중간 일치 검색)
+ * - 검색어의 모든 단어가 일치하는 상품만 반환하며, 일치한 필드와 일치 방식(완전 > 접두어 > 중간)으로 점수를 매깁니다.
+ * - 상품 정보는 ProductCatalogCache에서 가져오고, ProductCatalogChangedEvent가 커밋되면 해당 상품만 다시 색인합니다.
+ *   (카탈로그 캐시가 먼저 갱신되어야 하므로 리스너 순서를 카탈로그 캐시 바로 다음으로 둡니다.)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    /** 검색 대상 필드 */
+    public enum SearchField {
+        ALL, NAME, CATEGORY, INGREDIENT
+    }
+
+    /** 필드별 가중치 (Field 순서: 상품명, 카테고리, 영양 성분, 설명) */
+    private static final int[] FIELD_WEIGHTS = {4, 2, 2, 1};
+    private static final int NAME = 0;
+    private static final int CATEGORY = 1;
+    private static final int INGREDIENT = 2;
+    private static final int DESCRIPTION = 3;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+
+    private final ProductCatalogCache productCatalogCache;
+
+    /** 자모 분해 단어 → 상품 ID */
+    private final ConcurrentSkipListMap<String, Set<Long>> jamoWords = new ConcurrentSkipListMap<>();
+    /** 초성 단어 → 상품 ID */
+    private final ConcurrentSkipListMap<String, Set<Long>> chosungWords = new ConcurrentSkipListMap<>();
+    /** 1·2-gram → 상품 ID */
+    private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+    /** 상품 ID → 색인 문서 */
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * 검색어와 일치하는 상품 ID를 관련도 순으로 반환합니다.
+     *
+     * @param query 검색어 (공백으로 구분된 단어는 모두 일치해야 함)
+     * @param field 검색 대상 필드 (ALL이면 설명까지 포함)
+     * @return 상품 ID 목록 (점수 내림차순, 같으면 상품명이 짧은 순, ID 순)
+     */
+    public List<Long> search(String query, SearchField field) {
+        ensureLoaded();
+        List<Hit> hits = rank(KoreanTextAnalyzer.words(query), field);
+        List<Long> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(hit.doc.id);
+        }
+        return result;
+    }
+
+    /**
+     * 자동 완성: 입력 중인 검색어와 일치하는 판매 중 상품을 관련도 순으로 최대 limit개 반환합니다.
+     *
+     * @return 상품 ID와 상품명 목록
+     */
+    public List<Map<String, Object>> suggest(String query, int limit) {
+        ensureLoaded();
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Hit hit : rank(KoreanTextAnalyzer.words(query), SearchField.ALL)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!hit.doc.active) {
+                continue;
+            }
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put("id", hit.doc.id);
+            suggestion.put("name", hit.doc.name);
+            result.add(suggestion);
+        }
+        return result;
+    }
+
+    /** 색인된 상품 수 */
+    public int size() {
+        ensureLoaded();
+        return docs.size();
+    }
+
+    /**
+     * 상품 카탈로그 변경이 커밋되면 해당 상품만 다시 색인합니다. (ProductCatalogCache 갱신 후 실행)
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCatalogChanged(ProductCatalogChangedEvent event) {
+        refresh(event.getProductId());
+    }
+
+    /**
+     * 상품 하나를 다시 색인합니다. 상품이 없어졌으면 색인에서 제거합니다.
+     * 아직 전체 색인을 만들기 전이면 아무것도 하지 않습니다.
+     */
+    public synchronized void refresh(Long productId) {
+        if (!loaded || productId == null) {
+            return;
+        }
+        remove(productId);
+        ProductResponseDTO product = productCatalogCache.get(productId);
+        if (product != null) {
+            add(product);
+        }
+        log.debug("상품 검색 색인 갱신. productId: {}", productId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            productCatalogCache.getAll().forEach(this::add);
+            loaded = true;
+            log.info("상품 검색 색인 생성 완료. 상품 수: {}, 단어 수: {}, gram 수: {}", docs.size(), jamoWords.size(), grams.size());
+        }
+    }
+
+    private List<Hit> rank(List<String> queryWords, SearchField field) {
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        // 후보: 검색어 단어마다 일치 가능한 상품의 교집합
+        Set<Long> candidates = null;
+        for (String queryWord : queryWords) {
+            Set<Long> matched = candidatesFor(queryWord);
+            if (candidates == null) {
+                candidates = matched;
+            } else {
+                candidates.retainAll(matched);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        // 점수 계산 (gram 교집합은 실제로 이어진 문자열이 아닐 수 있으므로 여기서 다시 확인)
+        List<Hit> hits = new ArrayList<>();
+        for (Long productId : candidates) {
+            Doc doc = docs.get(productId);
+            if (doc == null) {
+                continue;
+            }
+            int total = 0;
+            for (String queryWord : queryWords) {
+                int score = doc.score(queryWord, field);
+                if (score == 0) {
+                    total = 0;
+                    break;
+                }
+                total += score;
+            }
+            if (total > 0) {
+                hits.add(new Hit(doc, total));
+            }
+        }
+        hits.sort(Comparator.comparingInt((Hit hit) -> -hit.score)
+                .thenComparingInt(hit -> hit.doc.name.length())
+                .thenComparing(hit -> hit.doc.id));
+        return hits;
+    }
+
+    private Set<Long> candidatesFor(String queryWord) {
+        Set<Long> result = new HashSet<>();
+        if (KoreanTextAnalyzer.isChosungOnly(queryWord)) {
+            addPrefixMatches(chosungWords, queryWord, result);
+        }
+        addPrefixMatches(jamoWords, KoreanTextAnalyzer.decompose(queryWord), result);
+
+        Set<Long> infix = null;
+        for (String gram : KoreanTextAnalyzer.queryGrams(queryWord)) {
+            Set<Long> posting = grams.get(gram);
+            if (posting == null) {
+                infix = null;
+                break;
+            }
+            if (infix == null) {
+                infix = new HashSet<>(posting);
+            } else {
+                infix.retainAll(posting);
+            }
+        }
+        if (infix != null) {
+            result.addAll(infix);
+        }
+        return result;
+    }
+
+    private static void addPrefixMatches(ConcurrentSkipListMap<String, Set<Long>> dictionary, String prefix, Set<Long> result) {
+        NavigableMap<String, Set<Long>> range = dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Set<Long> posting : range.values()) {
+            result.addAll(posting);
+        }
+    }
+
+    private void add(ProductResponseDTO product) {
+        Doc doc = new Doc(product);
+        docs.put(doc.id, doc);
+        for (String word : doc.allWords()) {
+            jamoWords.computeIfAbsent(KoreanTextAnalyzer.decompose(word), key -> new ConcurrentSkipListSet<>()).add(doc.id);
+            chosungWords.computeIfAbsent(KoreanTextAnalyzer.chosung(word), key -> new ConcurrentSkipListSet<>()).add(doc.id);
+            for (String gram : KoreanTextAnalyzer.grams(word)) {
+                grams.computeIfAbsent(gram, key -> new ConcurrentSkipListSet<>()).add(doc.id);
+            }
+        }
+    }
+
+    private void remove(Long productId) {
+        Doc previous = docs.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String word : previous.allWords()) {
+            removePosting(jamoWords, KoreanTextAnalyzer.decompose(word), productId);
+            removePosting(chosungWords, KoreanTextAnalyzer.chosung(word), productId);
+            for (String gram : KoreanTextAnalyzer.grams(word)) {
+                removePosting(grams, gram, productId);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Long>> dictionary, String term, Long productId) {
+        dictionary.computeIfPresent(term, (key, posting) -> {
+            posting.remove(productId);
+            return posting.isEmpty() ? null : posting;
+        });
+    }
+
+    /** 색인 문서 (필드별 정규화 텍스트와 단어) */
+    private static final class Doc {
+        private final Long id;
+        private final String name;
+        private final boolean active;
+        private final String[] texts = new String[FIELD_WEIGHTS.length];
+        private final List<List<String>> words = new ArrayList<>(FIELD_WEIGHTS.length);
+        private final List<List<String>> jamo = new ArrayList<>(FIELD_WEIGHTS.length);
+        private final List<List<String>> chosung = new ArrayList<>(FIELD_WEIGHTS.length);
+
+        private Doc(ProductResponseDTO product) {
+            this.id = product.getId();
+            this.name = product.getName() != null ? product.getName() : "";
+            this.active = Boolean.TRUE.equals(product.getActive());
+            setField(NAME, name);
+            setField(CATEGORY, product.getCategories() != null ? String.join(" ", product.getCategories()) : "");
+            setField(INGREDIENT, product.getIngredients() != null ? String.join(" ", product.getIngredients()) : "");
+            setField(DESCRIPTION, product.getDescription());
+        }
+
+        private void setField(int field, String text) {
+            texts[field] = KoreanTextAnalyzer.normalize(text);
+            List<String> fieldWords = KoreanTextAnalyzer.words(text);
+            words.add(fieldWords);
+            jamo.add(fieldWords.stream().map(KoreanTextAnalyzer::decompose).toList());
+            chosung.add(fieldWords.stream().map(KoreanTextAnalyzer::chosung).toList());
+        }
+
+        private Collection<String> allWords() {
+            Set<String> all = new HashSet<>();
+            words.forEach(all::addAll);
+            return all;
+        }
+
+        /** 검색어 단어 하나의 점수 (필드 가중치 × 일치 방식 중 가장 큰 값, 일치하지 않으면 0) */
+        private int score(String queryWord, SearchField field) {
+            String queryJamo = KoreanTextAnalyzer.decompose(queryWord);
+            boolean chosungOnly = KoreanTextAnalyzer.isChosungOnly(queryWord);
+            int best = 0;
+            for (int f = 0; f < FIELD_WEIGHTS.length; f++) {
+                if (!searchable(f, field)) {
+                    continue;
+                }
+                int match = 0;
+                if (words.get(f).contains(queryWord)) {
+                    match = EXACT;
+                } else if (startsWithAny(jamo.get(f), queryJamo) || (chosungOnly && startsWithAny(chosung.get(f), queryWord))) {
+                    match = PREFIX;
+                } else if (texts[f].contains(queryWord)) {
+                    match = INFIX;
+                }
+                best = Math.max(best, match * FIELD_WEIGHTS[f]);
+            }
+            return best;
+        }
+
+        private static boolean searchable(int field, SearchField searchField) {
+            return switch (searchField) {
+                case ALL -> true;
+                case NAME -> field == NAME;
+                case CATEGORY -> field == CATEGORY;
+                case INGREDIENT -> field == INGREDIENT;
+            };
+        }
+
+        private static boolean startsWithAny(List<String> values, String prefix) {
+            for (String value : values) {
+                if (value.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Hit {
+        private final Doc doc;
+        private final int score;
+
+        private Hit(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.javalab.student.service.product;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
 import com.javalab.student.dto.product.ProductDto;
+import com.javalab.student.dto.product.ProductFacetResponseDto;
 import com.javalab.student.dto.product.ProductFormDto;
 import com.javalab.student.dto.product.ProductResponseDTO;
 import org.springframework.data.domain.Page;
@@ -8,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface ProductService {
@@ -32,9 +35,24 @@ public interface ProductService {
 
     List<ProductResponseDTO> getProductsByCategory(Long categoryId);
 
+    /** 전체 상품 목록 조회 (페이징) */
+    Page<ProductResponseDTO> getProductsPaged(Pageable pageable);
+
+    /** 전체 상품 목록 조회 (커서 페이징, COUNT 없음) */
+    CursorPageResponseDTO<ProductResponseDTO> getProductsByCursor(String cursor, int size, boolean approximateCount);
+
+    /** 카테고리별 상품 조회 (페이징) */
+    Page<ProductResponseDTO> getProductsByCategoryPaged(Long categoryId, Pageable pageable);
+
     /** 검색 메서드 추가 */
     Page<ProductResponseDTO> searchProducts(String field, String query, Pageable pageable);
 
+    /** 검색어 자동 완성 */
+    List<Map<String, Object>> suggestProducts(String query, int limit);
+
+    /** 카테고리 / 영양 성분 패싯 검색 (일치 상품 + 패싯 값별 상품 수) */
+    ProductFacetResponseDto getProductFacets(List<Long> categoryIds, List<Long> ingredientIds, boolean activeOnly);
+
     /** 상품 이미지 삭제 */
     void deleteProductImage(Long productId, String imageType, Integer imageIndex);
 }
@@ -1,9 +1,12 @@
 package com.javalab.student.service.product;
 
+import com.javalab.student.dto.CursorPageResponseDTO;
+import com.javalab.student.dto.PageCursor;
 import com.javalab.student.dto.product.ProductFormDto;
 import com.javalab.student.entity.product.ProductImg;
 import com.javalab.student.repository.product.ProductImgRepository;
 import com.javalab.student.dto.product.ProductDto;
+import com.javalab.student.dto.product.ProductFacetResponseDto;
 import com.javalab.student.dto.product.ProductResponseDTO;
 import com.javalab.student.entity.product.Product;
 import com.javalab.student.entity.product.ProductCategory;
@@ -14,22 +17,17 @@ import com.javalab.student.repository.product.ProductIngredientRepository;
 import com.javalab.student.repository.product.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,23 +40,37 @@ public class ProductServiceImpl implements ProductService {
     private final ProductIngredientRepository ingredientRepository;
     private final ProductIngredientCategoryRepository ingredientCategoryRepository;
     private final ModelMapper modelMapper;
-
-
-    @Value("${itemImgLocation}")
-    private String itemImgLocation;
+    private final ApplicationEventPublisher eventPublisher; // 상품 변경 이벤트 발행 (캐시 무효화용)
+    private final ProductCatalogCache productCatalogCache; // 상품 목록 조회용 카탈로그 캐시
+    private final ProductSearchIndex productSearchIndex; // 상품 전문 검색 색인
+    private final ProductFacetIndex productFacetIndex; // 카테고리 / 영양 성분 패싯 색인
+    private final ProductMetadataService productMetadataService; // 패싯 이름 조회용 (2단계 캐시)
+    private final ProductImageIngestor productImageIngestor; // 상품 이미지 병렬 저장 + 배치 INSERT
 
     public ProductServiceImpl(ProductRepository productRepository,
                               ProductImgRepository productImgRepository,
                               ProductCategoryRepository categoryRepository,
                               ProductIngredientRepository ingredientRepository,
                               ProductIngredientCategoryRepository ingredientCategoryRepository,
-                              ModelMapper modelMapper) {
+                              ModelMapper modelMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              ProductCatalogCache productCatalogCache,
+                              ProductSearchIndex productSearchIndex,
+                              ProductFacetIndex productFacetIndex,
+                              ProductMetadataService productMetadataService,
+                              ProductImageIngestor productImageIngestor) {
         this.productRepository = productRepository;
         this.productImgRepository = productImgRepository;
         this.categoryRepository = categoryRepository;
         this.ingredientRepository = ingredientRepository;
         this.ingredientCategoryRepository = ingredientCategoryRepository;
         this.modelMapper = modelMapper;
+        this.eventPublisher = eventPublisher;
+        this.productCatalogCache = productCatalogCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.productMetadataService = productMetadataService;
+        this.productImageIngestor = productImageIngestor;
     }
 
     /** 상품 생성 */
@@ -94,42 +106,10 @@ public class ProductServiceImpl implements ProductService {
         // ✅ 상품 저장
         Product savedProduct = productRepository.save(product);
 
-        // ✅ 대표 이미지 저장
-        if (productFormDto.getMainImageFile() != null) {
-            MultipartFile mainImageFile = productFormDto.getMainImageFile();
-            try {
-                String imageUrl = saveImage(mainImageFile);
-                ProductImg productImg = ProductImg.builder()
-                        .product(savedProduct)
-                        .imageUrl(imageUrl)
-                        .imageType("대표")
-                        .order(0)
-                        .build();
-                productImgRepository.save(productImg);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to save main image", e);
-            }
-        }
+        // ✅ 대표 / 상세 이미지 저장 (파일은 병렬로 쓰고 product_img 행은 JDBC 배치 한 번으로 추가)
+        productImageIngestor.ingest(savedProduct.getId(), productFormDto.getMainImageFile(), productFormDto.getDetailImageFiles());
 
-        // ✅ 상세 이미지 저장
-        if (productFormDto.getDetailImageFiles() != null && !productFormDto.getDetailImageFiles().isEmpty()) {
-            List<MultipartFile> detailImageFiles = productFormDto.getDetailImageFiles();
-            for (int order = 1; order <= detailImageFiles.size(); order++) {
-                MultipartFile detailImageFile = detailImageFiles.get(order - 1);
-                try {
-                    String imageUrl = saveImage(detailImageFile);
-                    ProductImg productImg = ProductImg.builder()
-                            .product(savedProduct)
-                            .imageUrl(imageUrl)
-                            .imageType("상세")
-                            .order(order)
-                            .build();
-                    productImgRepository.save(productImg);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to save detail image", e);
-                }
-            }
-        }
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(savedProduct.getId()));
 
         // ✅ DTO 반환
         return new ProductDto(savedProduct.getId(), savedProduct.getName(), savedProduct.getDescription(),
@@ -167,49 +147,19 @@ public class ProductServiceImpl implements ProductService {
         Product updatedProduct = productRepository.save(existingProduct);
 
         // ✅ 대표 이미지 처리 (새로운 이미지가 제공된 경우만 업데이트)
-        if (productFormDto.getMainImageFile() != null) {
+        if (productFormDto.getMainImageFile() != null && !productFormDto.getMainImageFile().isEmpty()) {
             // 기존 대표 이미지 삭제
             ProductImg existingMainImage = productImgRepository.findFirstByProductIdAndImageTypeOrderByOrderAsc(id, "대표");
             if (existingMainImage != null) {
                 deleteImageFile(existingMainImage.getImageUrl()); // 파일 시스템에서 삭제
                 productImgRepository.delete(existingMainImage); // DB에서 삭제
             }
-
-            // 새로운 대표 이미지 저장
-            MultipartFile mainImageFile = productFormDto.getMainImageFile();
-            try {
-                String imageUrl = saveImage(mainImageFile);
-                ProductImg productImg = ProductImg.builder()
-                        .product(updatedProduct)
-                        .imageUrl(imageUrl)
-                        .imageType("대표")
-                        .order(0)
-                        .build();
-                productImgRepository.save(productImg);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to save main image", e);
-            }
         }
 
-        // ✅ 상세 이미지 처리 (기존 상세 이미지는 유지하고 새로운 상세 이미지만 추가)
-        if (productFormDto.getDetailImageFiles() != null && !productFormDto.getDetailImageFiles().isEmpty()) {
-            List<MultipartFile> detailImageFiles = productFormDto.getDetailImageFiles();
-            for (int order = 1; order <= detailImageFiles.size(); order++) {
-                MultipartFile detailImageFile = detailImageFiles.get(order - 1);
-                try {
-                    String imageUrl = saveImage(detailImageFile);
-                    ProductImg productImg = ProductImg.builder()
-                            .product(updatedProduct)
-                            .imageUrl(imageUrl)
-                            .imageType("상세")
-                            .order(order)
-                            .build();
-                    productImgRepository.save(productImg);
-                } catch (IOException e) {
-                    throw new RuntimeException("Failed to save detail image", e);
-                }
-            }
-        }
+        // ✅ 새 대표 이미지와 상세 이미지 저장 (기존 상세 이미지는 유지하고 새로운 상세 이미지만 추가)
+        productImageIngestor.ingest(updatedProduct.getId(), productFormDto.getMainImageFile(), productFormDto.getDetailImageFiles());
+
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(updatedProduct.getId()));
 
         // ✅ 직접 DTO 반환
         return new ProductDto(updatedProduct.getId(), updatedProduct.getName(), updatedProduct.getDescription(),
@@ -244,80 +194,177 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setActive(!product.isActive());
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(id));
     }
 
-    /** 전체 상품 목록 조회 */
+    /** 전체 상품 목록 조회 (카탈로그 캐시) */
     @Override
     public List<ProductResponseDTO> getProductList() {
-        List<Product> products = productRepository.findAll();
-        return products.stream()
-                .map(product -> ProductResponseDTO.fromEntity(product)) // ProductResponseDTO.fromEntity 사용
-                .collect(Collectors.toList());
+        return productCatalogCache.getAll();
     }
 
-    /** 영양 성분과 카테고리 기준으로 정렬된 상품 조회 */
+    /** 영양 성분과 카테고리 기준으로 정렬된 상품 조회 (카탈로그 캐시) */
     @Override
     public List<ProductResponseDTO> getProductsSortedByIngredientAndCategory(Long ingredientId) {
-        List<Product> products = productRepository.findProductsByIngredientAndCategory(ingredientId);
-        return products.stream()
-                .map(product -> ProductResponseDTO.fromEntity(product)) // ProductResponseDTO.fromEntity 사용
-                .collect(Collectors.toList());
+        return productCatalogCache.getByIngredientOrderByCategory(ingredientId);
     }
 
+    /** 카테고리별 상품 조회 (카탈로그 캐시) */
     @Override
     public List<ProductResponseDTO> getProductsByCategory(Long categoryId) {
-        List<Product> products = productRepository.findByCategories_Id(categoryId);
-        return products.stream()
-                .map(product -> ProductResponseDTO.fromEntity(product)) // ProductResponseDTO.fromEntity 사용
-                .collect(Collectors.toList());
+        return productCatalogCache.getByCategory(categoryId);
     }
 
-    // 검색 기능 구현
+    /** 전체 상품 목록 조회 (페이징) */
     @Override
     @Transactional(readOnly = true)
-    public Page<ProductResponseDTO> searchProducts(String field, String query, Pageable pageable) {
-        Page<Product> productPage;
+    public Page<ProductResponseDTO> getProductsPaged(Pageable pageable) {
+        return toResponsePage(productRepository.findAll(pageable));
+    }
+
+    /**
+     * 전체 상품 목록 조회 (커서 페이징)
+     * - 커서 다음 상품 ID만 PK 순서로 size + 1개 읽어 다음 페이지 여부를 판단하고, 상품 정보는 카탈로그 캐시에서 채웁니다.
+     * - approximateCount면 패싯 색인의 상품 수를 함께 반환합니다. (COUNT 쿼리 없음)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<ProductResponseDTO> getProductsByCursor(String cursor, int size, boolean approximateCount) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        List<Long> ids = productRepository.findIdsAfter(after == null ? null : after.getId(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        List<ProductResponseDTO> content = new ArrayList<>(pageIds.size());
+        for (Long productId : pageIds) {
+            ProductResponseDTO product = productCatalogCache.get(productId);
+            if (product != null) {
+                content.add(product);
+            }
+        }
+
+        return CursorPageResponseDTO.<ProductResponseDTO>builder()
+                .size(pageSize)
+                .dtoList(content)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? PageCursor.of(pageIds.get(pageIds.size() - 1)).encode() : null)
+                .approximateTotal(approximateCount ? (long) productFacetIndex.size() : null)
+                .build();
+    }
 
+    /** 카테고리별 상품 조회 (페이징) */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDTO> getProductsByCategoryPaged(Long categoryId, Pageable pageable) {
+        return toResponsePage(productRepository.findByCategories_Id(categoryId, pageable));
+    }
+
+    /**
+     * 상품 검색 (ProductSearchIndex, 관련도 순)
+     * - field: 상품명 / 카테고리 / 영양성분 / 전체(설명까지 모든 필드)
+     * - 그 외 field 값이거나 검색어가 비어 있으면 기존처럼 전체 상품 페이지를 반환합니다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponseDTO> searchProducts(String field, String query, Pageable pageable) {
+        ProductSearchIndex.SearchField searchField;
         if ("상품명".equals(field)) {
-            productPage = productRepository.findByNameContaining(query, pageable);
+            searchField = ProductSearchIndex.SearchField.NAME;
         } else if ("카테고리".equals(field)) {
-            productPage = productRepository.findByCategories_NameContaining(query, pageable);
+            searchField = ProductSearchIndex.SearchField.CATEGORY;
         } else if ("영양성분".equals(field)) {
-            productPage = productRepository.findByIngredients_IngredientNameContaining(query, pageable);
-        }  else {
+            searchField = ProductSearchIndex.SearchField.INGREDIENT;
+        } else if ("전체".equals(field)) {
+            searchField = ProductSearchIndex.SearchField.ALL;
+        } else {
             // 기본값: 전체 상품 조회
-            productPage = productRepository.findAll(pageable);
+            searchField = null;
+        }
+        if (searchField == null || query == null || query.isBlank()) {
+            return toResponsePage(productRepository.findAll(pageable));
+        }
+
+        List<Long> productIds = productSearchIndex.search(query, searchField);
+        int from = (int) Math.min(pageable.getOffset(), productIds.size());
+        int to = Math.min(from + pageable.getPageSize(), productIds.size());
+        List<ProductResponseDTO> content = new ArrayList<>(to - from);
+        for (Long productId : productIds.subList(from, to)) {
+            ProductResponseDTO product = productCatalogCache.get(productId);
+            if (product != null) {
+                content.add(product);
+            }
         }
-        List<ProductResponseDTO> dtoList = productPage.getContent().stream()
-                .map(product -> ProductResponseDTO.fromEntity(product)) // ProductResponseDTO.fromEntity 사용
+        return new PageImpl<>(content, pageable, productIds.size());
+    }
+
+    /** 검색어 자동 완성 (판매 중 상품) */
+    @Override
+    public List<Map<String, Object>> suggestProducts(String query, int limit) {
+        return productSearchIndex.suggest(query, limit);
+    }
+
+    /**
+     * 패싯 검색: 선택한 카테고리/영양 성분을 모두 만족하는 상품과 필터 사이드바용 상품 수를 한 번에 반환합니다.
+     * 상품 수는 ProductFacetIndex의 BitSet으로 계산하고, 이름은 2단계 캐시의 카테고리/영양 성분 목록에서 채웁니다.
+     */
+    @Override
+    public ProductFacetResponseDto getProductFacets(List<Long> categoryIds, List<Long> ingredientIds, boolean activeOnly) {
+        List<Long> selectedCategories = categoryIds != null ? categoryIds : List.of();
+        List<Long> selectedIngredients = ingredientIds != null ? ingredientIds : List.of();
+        ProductFacetIndex.FacetResult result = productFacetIndex.query(selectedCategories, selectedIngredients, activeOnly);
+
+        List<ProductResponseDTO> products = new ArrayList<>(result.getProductIds().size());
+        for (Long productId : result.getProductIds()) {
+            ProductResponseDTO product = productCatalogCache.get(productId);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+
+        List<ProductFacetResponseDto.FacetCount> categories = productMetadataService.getCategories().stream()
+                .map(category -> ProductFacetResponseDto.FacetCount.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .count(result.getCategoryCounts().getOrDefault(category.getId(), 0))
+                        .selected(selectedCategories.contains(category.getId()))
+                        .build())
+                .collect(Collectors.toList());
+        List<ProductFacetResponseDto.FacetCount> ingredients = productMetadataService.getIngredients().stream()
+                .map(ingredient -> ProductFacetResponseDto.FacetCount.builder()
+                        .id(ingredient.getId())
+                        .name(ingredient.getIngredientName())
+                        .count(result.getIngredientCounts().getOrDefault(ingredient.getId(), 0))
+                        .selected(selectedIngredients.contains(ingredient.getId()))
+                        .build())
                 .collect(Collectors.toList());
 
-        return new PageImpl<>(dtoList, pageable, productPage.getTotalElements());
+        return ProductFacetResponseDto.builder()
+                .totalCount(products.size())
+                .products(products)
+                .categories(categories)
+                .ingredients(ingredients)
+                .build();
     }
 
-    // 이미지 저장 로직 (재사용 가능하도록 별도 메소드 추출)
-    private String saveImage(MultipartFile imageFile) throws IOException {
-        String fileName = UUID.randomUUID().toString() + "_" + imageFile.getOriginalFilename();
-        Path filePath = Paths.get(itemImgLocation, fileName);
-        File directory = new File(itemImgLocation);
-        if (!directory.exists()) {
-            directory.mkdirs(); // 디렉토리 없으면 생성
+    /**
+     * 상품 페이지를 ProductResponseDTO 페이지로 변환합니다.
+     * 상품마다 카테고리/영양 성분/이미지를 지연 로딩하지 않도록, 페이지의 상품 ID로 컬렉션별 조회를 한 번씩 먼저 실행합니다.
+     * (페이지 크기와 관계없이 count + 상품 + 컬렉션 3개 = 쿼리 5개, 호출하는 쪽에 트랜잭션이 있어야 함)
+     */
+    private Page<ProductResponseDTO> toResponsePage(Page<Product> productPage) {
+        List<Long> productIds = productPage.getContent().stream().map(Product::getId).toList();
+        if (!productIds.isEmpty()) {
+            productRepository.findWithIngredientsByIdIn(productIds);
+            productRepository.findWithCategoriesByIdIn(productIds);
+            productRepository.findWithImagesByIdIn(productIds);
         }
-        Files.write(filePath, imageFile.getBytes());
-        return "/api/products/images/" + fileName; // 이미지 URL 반환
+        return productPage.map(ProductResponseDTO::fromEntity);
     }
 
-    // 이미지 파일 삭제 로직
+    // 이미지 파일 삭제 로직 (커밋 후 삭제, 같은 내용의 이미지를 다른 상품 이미지가 쓰고 있으면 파일은 남겨 둠)
     private void deleteImageFile(String imageUrl) {
-        if (imageUrl != null && !imageUrl.isEmpty()) {
-            try {
-                String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1); // URL에서 파일명 추출
-                Path filePath = Paths.get(itemImgLocation, filename);
-                Files.deleteIfExists(filePath); // 파일 삭제
-            } catch (IOException e) {
-                log.error("Error deleting image file: " + imageUrl, e);
-            }
-        }
+        productImageIngestor.deleteAfterCommit(imageUrl);
     }
 
     // Product 엔티티를 ProductDto 로 변환하면서 대표 이미지 URL 설정
@@ -360,5 +407,6 @@ public class ProductServiceImpl implements ProductService {
                 productImgRepository.delete(detailImage); // DB에서 삭제
             }
         }
+        eventPublisher.publishEvent(new ProductCatalogChangedEvent(productId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.javalab.student.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서비스 전용 스레드 풀 유틸리티
+ * - 스레드 수와 대기 큐 크기를 고정해, 작업이 몰려도 스레드와 대기 작업이 끝없이 늘지 않도록 합니다.
+ *   큐가 가득 찼을 때의 동작(호출 스레드에서 실행, 바로 실패 등)은 사용하는 쪽에서 정합니다.
+ * - 스레드는 데몬 스레드로 만들어 종료 시 애플리케이션을 붙잡지 않으며, "{접두어}-{번호}" 이름을 붙입니다.
+ */
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * 스레드 수와 대기 큐 크기가 고정된 스레드 풀을 만듭니다.
+     *
+     * @param threadPrefix 스레드 이름 접두어
+     * @param threads      스레드 수 (1 미만이면 1)
+     * @param queueSize    대기 큐 크기 (1 미만이면 1)
+     * @param rejection    큐가 가득 찼을 때의 처리
+     */
+    public static ThreadPoolExecutor fixedPool(String threadPrefix, int threads, int queueSize,
+                                               RejectedExecutionHandler rejection) {
+        int poolSize = Math.max(1, threads);
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), daemonThreads(threadPrefix), rejection);
+    }
+
+    /**
+     * "{접두어}-{번호}" 이름의 데몬 스레드를 만드는 ThreadFactory를 반환합니다.
+     */
+    public static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
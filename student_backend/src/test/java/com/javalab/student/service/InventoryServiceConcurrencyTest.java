@@ -0,0 +1,219 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.constant.ReservationStatus;
+import com.javalab.student.entity.cartOrder.Order;
+import com.javalab.student.entity.product.Product;
+import com.javalab.student.exception.StockConfirmationException;
+import com.javalab.student.repository.cartOrder.OrderRepository;
+import com.javalab.student.repository.cartOrder.StockReservationRepository;
+import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.cartOrder.InventoryService;
+import com.javalab.student.service.cartOrder.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 재고 예약 동시성 테스트
+ * - 여러 스레드가 같은 상품을 동시에 주문해도 재고보다 많이 예약되지 않는지 확인합니다.
+ * - 취소와 만료 정리가 겹쳐도 재고가 한 번만 돌아가는지 확인합니다.
+ * (스레드마다 커밋해야 하므로 테스트 트랜잭션 없이 실제 DB를 사용하고, 만든 데이터는 끝난 뒤 지웁니다.)
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // 실제 DB 사용
+class InventoryServiceConcurrencyTest {
+
+    private static final int STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ORDERS = 200;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long productId;
+    /** 테스트용 주문 ID (실제 주문과 겹치지 않도록 큰 값에서 시작) */
+    private final AtomicLong orderIds = new AtomicLong(Long.MAX_VALUE / 2 + System.nanoTime() % 1_000_000_000L);
+    /** 테스트에서 실제로 저장한 주문 ID (끝난 뒤 삭제) */
+    private final List<Long> orderIdsToDelete = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        productId = productRepository.save(Product.builder()
+                .name("재고예약테스트-" + UUID.randomUUID().toString().substring(0, 8))
+                .description("재고 예약 동시성 테스트 상품")
+                .price(BigDecimal.valueOf(10_000))
+                .stock(STOCK)
+                .active(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM stock_reservation WHERE product_id = ?", productId);
+        orderRepository.deleteAllById(orderIdsToDelete);
+        productRepository.deleteById(productId);
+    }
+
+    @Test
+    @DisplayName("동시에 주문이 몰려도 재고 수량만큼만 예약된다")
+    void concurrentReservationsNeverOversell() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    try {
+                        transaction.executeWithoutResult(status ->
+                                inventoryService.reserve(orderIds.incrementAndGet(), Map.of(productId, 1)));
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(STOCK, succeeded.get());
+        assertEquals(ORDERS - STOCK, rejected.get());
+        assertEquals(0, currentStock());
+        assertEquals(STOCK, stockReservationRepository.countByProductIdAndStatus(productId, ReservationStatus.RESERVED));
+    }
+
+    @Test
+    @DisplayName("재고보다 많은 수량은 예약되지 않고 재고도 줄지 않는다")
+    void reservationBeyondStockIsRejected() {
+        long orderId = orderIds.incrementAndGet();
+
+        assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status ->
+                inventoryService.reserve(orderId, Map.of(productId, STOCK + 1))));
+
+        assertEquals(STOCK, currentStock());
+        assertEquals(0, stockReservationRepository.findByOrderId(orderId).size());
+    }
+
+    @Test
+    @DisplayName("취소와 만료 정리가 겹쳐도 재고는 한 번만 돌아간다")
+    void releaseAndExpiryRestoreStockOnce() {
+        long canceledOrder = orderIds.incrementAndGet();
+        long abandonedOrder = orderIds.incrementAndGet();
+        transaction.executeWithoutResult(status -> inventoryService.reserve(canceledOrder, Map.of(productId, 10)));
+        transaction.executeWithoutResult(status -> inventoryService.reserve(abandonedOrder, Map.of(productId, 5)));
+        assertEquals(STOCK - 15, currentStock());
+
+        // 두 예약 모두 만료 시각이 지난 상태로 만든 뒤, 하나는 취소하고 만료 정리를 실행
+        jdbcTemplate.update("UPDATE stock_reservation SET expires_at = NOW() - INTERVAL 1 MINUTE WHERE product_id = ?", productId);
+        transaction.executeWithoutResult(status -> inventoryService.release(canceledOrder));
+        inventoryService.expireBefore(LocalDateTime.now());
+        transaction.executeWithoutResult(status -> inventoryService.release(canceledOrder));
+        transaction.executeWithoutResult(status -> inventoryService.release(abandonedOrder));
+
+        assertEquals(STOCK, currentStock());
+        assertEquals(ReservationStatus.RELEASED, stockReservationRepository.findByOrderId(canceledOrder).get(0).getStatus());
+        assertEquals(ReservationStatus.EXPIRED, stockReservationRepository.findByOrderId(abandonedOrder).get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("만료된 예약은 결제 확정 시 재고를 다시 확보하고, 재고가 없으면 확정하지 않는다")
+    void confirmReacquiresExpiredReservation() {
+        long paidOrder = orderIds.incrementAndGet();
+        long lateOrder = orderIds.incrementAndGet();
+        transaction.executeWithoutResult(status -> inventoryService.reserve(paidOrder, Map.of(productId, 20)));
+        transaction.executeWithoutResult(status -> inventoryService.reserve(lateOrder, Map.of(productId, 30)));
+        jdbcTemplate.update("UPDATE stock_reservation SET expires_at = NOW() - INTERVAL 1 MINUTE WHERE product_id = ?", productId);
+        inventoryService.expireBefore(LocalDateTime.now());
+        assertEquals(STOCK, currentStock());
+
+        // 만료 후 다른 주문이 재고를 가져가 40개 남음
+        transaction.executeWithoutResult(status -> inventoryService.reserve(orderIds.incrementAndGet(), Map.of(productId, 10)));
+        transaction.executeWithoutResult(status -> inventoryService.confirm(paidOrder));
+        assertEquals(STOCK - 30, currentStock());
+        assertEquals(ReservationStatus.CONFIRMED, stockReservationRepository.findByOrderId(paidOrder).get(0).getStatus());
+
+        assertThrows(StockConfirmationException.class, () ->
+                transaction.executeWithoutResult(status -> inventoryService.confirm(lateOrder)));
+        assertEquals(STOCK - 30, currentStock());
+        assertEquals(ReservationStatus.EXPIRED, stockReservationRepository.findByOrderId(lateOrder).get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("주문 상태를 취소로 바꾸면 예약된 재고가 돌아간다")
+    void cancelingThroughStatusChangeReleasesStock() {
+        Order order = orderRepository.save(Order.builder()
+                .orderDate(LocalDateTime.now())
+                .orderStatus(OrderStatus.ORDERED)
+                .amount(BigDecimal.valueOf(100_000))
+                .build());
+        orderIdsToDelete.add(order.getId());
+        transaction.executeWithoutResult(status -> inventoryService.reserve(order.getId(), Map.of(productId, 10)));
+        assertEquals(STOCK - 10, currentStock());
+
+        paymentService.updateOrderStatus(order.getId(), OrderStatus.CANCELED);
+
+        assertEquals(STOCK, currentStock());
+        assertEquals(ReservationStatus.RELEASED, stockReservationRepository.findByOrderId(order.getId()).get(0).getStatus());
+    }
+
+    private int currentStock() {
+        Integer stock = jdbcTemplate.queryForObject("SELECT stock FROM product WHERE id = ?", Integer.class, productId);
+        assertTrue(stock != null);
+        return stock;
+    }
+}
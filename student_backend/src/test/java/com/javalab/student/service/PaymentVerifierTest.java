@@ -0,0 +1,165 @@
+package com.javalab.student.service;
+
+import com.javalab.student.exception.PaymentGatewayException;
+import com.javalab.student.service.cartOrder.PaymentGateway;
+import com.javalab.student.service.cartOrder.PaymentVerifier;
+import com.javalab.student.service.cartOrder.StubPaymentGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 포트원 결제 검증 테스트 (외부 호출 없이 스텁 사용)
+ * - 결제 완료 상태와 금액을 확인하는지, 결제 취소가 결제 상태를 바꾸는지,
+ *   제한 시간을 넘기면 기다리지 않고 실패하는지, 연속 실패 시 회로가 열려 결제 대행사를 호출하지 않는지,
+ *   동시 조회 수가 스레드 풀/큐 크기로 제한되는지 확인합니다.
+ */
+class PaymentVerifierTest {
+
+    private static final long TIMEOUT_MS = 200;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long OPEN_MS = 300;
+
+    private StubPaymentGateway stub;
+    private PaymentVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        stub = new StubPaymentGateway(0);
+        stub.register("imp_paid", BigDecimal.valueOf(30_000));
+        stub.register("imp_ready", BigDecimal.valueOf(30_000), "ready");
+        verifier = new PaymentVerifier(stub, 2, 2, TIMEOUT_MS, FAILURE_THRESHOLD, OPEN_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("결제 완료 상태이고 금액이 같으면 검증에 성공하고, 상태나 금액이 다르거나 결제가 없으면 거절한다")
+    void verifiesStatusAndAmount() {
+        PaymentGateway.PaidPayment payment = verifier.verify("imp_paid", new BigDecimal("30000.00"));
+        assertEquals("paid", payment.getStatus());
+
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(1_000)));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify("imp_unknown", BigDecimal.valueOf(30_000)));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify("imp_ready", BigDecimal.valueOf(30_000)));
+        assertEquals(3L, verifier.getStats().get("rejectedPayments"));
+        // 결제 대행사는 정상 응답했으므로 회로는 닫힌 상태
+        assertEquals("CLOSED", verifier.getStats().get("circuit"));
+    }
+
+    @Test
+    @DisplayName("결제를 취소하면 이후 검증에서 거절되고, 취소할 수 없는 결제는 실패로 센다")
+    void cancelsPayment() {
+        assertTrue(verifier.cancel("imp_paid", BigDecimal.valueOf(30_000), "재고 부족"));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(30_000)));
+
+        // 이미 취소된 결제, 없는 결제
+        assertFalse(verifier.cancel("imp_paid", BigDecimal.valueOf(30_000), "재고 부족"));
+        assertFalse(verifier.cancel("imp_unknown", BigDecimal.valueOf(30_000), "재고 부족"));
+        assertEquals(1L, verifier.getStats().get("cancelled"));
+        assertEquals(2L, verifier.getStats().get("cancelFailures"));
+    }
+
+    @Test
+    @DisplayName("응답이 늦으면 제한 시간에 실패하고, 연속 실패하면 회로를 열어 호출하지 않는다")
+    void timeoutsOpenCircuit() throws Exception {
+        stub.setDelayMillis(TIMEOUT_MS * 5);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            long started = System.nanoTime();
+            assertThrows(PaymentGatewayException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(30_000)));
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            assertTrue(elapsedMs < TIMEOUT_MS * 3, "제한 시간을 넘겨 기다림: " + elapsedMs + "ms");
+        }
+        assertEquals("OPEN", verifier.getStats().get("circuit"));
+
+        // 회로가 열려 있는 동안은 결제 대행사가 회복되어도 바로 실패
+        stub.setDelayMillis(0);
+        assertThrows(PaymentGatewayException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(30_000)));
+        assertEquals(1L, verifier.getStats().get("shortCircuited"));
+
+        // 차단 시간이 지나면 시험 조회가 성공하면서 회로를 닫음
+        Thread.sleep(OPEN_MS + 50);
+        verifier.verify("imp_paid", BigDecimal.valueOf(30_000));
+        assertEquals("CLOSED", verifier.getStats().get("circuit"));
+    }
+
+    @Test
+    @DisplayName("시험 조회가 실패하면 회로를 다시 연다")
+    void failedTrialReopensCircuit() throws Exception {
+        stub.setAvailable(false);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThrows(PaymentGatewayException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(30_000)));
+        }
+        assertEquals("OPEN", verifier.getStats().get("circuit"));
+
+        Thread.sleep(OPEN_MS + 50);
+        assertThrows(PaymentGatewayException.class, () -> verifier.verify("imp_paid", BigDecimal.valueOf(30_000)));
+        assertEquals("OPEN", verifier.getStats().get("circuit"));
+        assertEquals((long) FAILURE_THRESHOLD + 1, verifier.getStats().get("failures"));
+    }
+
+    @Test
+    @DisplayName("동시 조회가 스레드 풀과 큐를 넘으면 기다리지 않고 바로 실패한다")
+    void boundedConcurrency() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        PaymentGateway blocking = new PaymentGateway() {
+            @Override
+            public PaidPayment findPayment(String impUid) {
+                calls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new PaidPayment(impUid, BigDecimal.TEN, "paid");
+            }
+
+            @Override
+            public PaidPayment cancelPayment(String impUid, BigDecimal amount, String reason) {
+                return new PaidPayment(impUid, amount, "cancelled");
+            }
+        };
+        PaymentVerifier bounded = new PaymentVerifier(blocking, 1, 1, 2_000, 100, OPEN_MS);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // 스레드 1개는 조회 중, 큐 1칸은 대기 중
+            Future<PaymentGateway.PaidPayment> running = callers.submit(() -> bounded.verify("imp_1", BigDecimal.TEN));
+            Future<PaymentGateway.PaidPayment> queued = callers.submit(() -> bounded.verify("imp_2", BigDecimal.TEN));
+            while (calls.get() < 1 || (Integer) bounded.getStats().get("queuedCalls") < 1) {
+                Thread.sleep(10);
+            }
+
+            long started = System.nanoTime();
+            assertThrows(PaymentGatewayException.class, () -> bounded.verify("imp_3", BigDecimal.TEN));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 500);
+            assertEquals(1L, bounded.getStats().get("queueFull"));
+
+            release.countDown();
+            assertEquals("imp_1", running.get(5, TimeUnit.SECONDS).getImpUid());
+            assertEquals("imp_2", queued.get(5, TimeUnit.SECONDS).getImpUid());
+            assertEquals(2, calls.get());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            bounded.shutdown();
+        }
+    }
+}
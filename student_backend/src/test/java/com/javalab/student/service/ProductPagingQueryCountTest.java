@@ -0,0 +1,182 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.product.ProductResponseDTO;
+import com.javalab.student.entity.product.Product;
+import com.javalab.student.entity.product.ProductCategory;
+import com.javalab.student.entity.product.ProductImg;
+import com.javalab.student.entity.product.ProductIngredient;
+import com.javalab.student.repository.product.ProductCategoryRepository;
+import com.javalab.student.repository.product.ProductImgRepository;
+import com.javalab.student.repository.product.ProductIngredientRepository;
+import com.javalab.student.repository.product.ProductRepository;
+import com.javalab.student.service.product.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 페이징 조회 쿼리 수 회귀 테스트
+ * - ProductResponseDTO 변환 시 상품마다 카테고리/영양 성분/이미지를 지연 로딩(N+1)하지 않는지 확인합니다.
+ * - 페이지 크기와 관계없이 실행되는 SQL 문 수가 같아야 합니다.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE) // 실제 DB 사용
+@Transactional
+class ProductPagingQueryCountTest {
+
+    private static final int PRODUCT_COUNT = 30;
+    /** count + 상품 페이지 + 영양 성분 + 카테고리 + 이미지 */
+    private static final int MAX_STATEMENTS = 5;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductIngredientRepository ingredientRepository;
+
+    @Autowired
+    private ProductImgRepository productImgRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ProductCategory category;
+    private String namePrefix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        namePrefix = "쿼리수테스트-" + suffix + "-";
+
+        category = categoryRepository.save(new ProductCategory(null, "테스트 카테고리A-" + suffix));
+        ProductCategory otherCategory = categoryRepository.save(new ProductCategory(null, "테스트 카테고리B-" + suffix));
+        ProductIngredient ingredient = ingredientRepository.save(ProductIngredient.builder().ingredientName("테스트 성분A-" + suffix).build());
+        ProductIngredient otherIngredient = ingredientRepository.save(ProductIngredient.builder().ingredientName("테스트 성분B-" + suffix).build());
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name(namePrefix + i)
+                    .description("N+1 회귀 테스트 상품")
+                    .price(BigDecimal.valueOf(10_000 + i))
+                    .stock(10)
+                    .active(true)
+                    .categories(new ArrayList<>(List.of(category, otherCategory)))
+                    .ingredients(new ArrayList<>(List.of(ingredient, otherIngredient)))
+                    .build());
+            productImgRepository.save(ProductImg.builder().product(product).imageUrl("/api/products/images/main-" + i).imageType("대표").order(0).build());
+            productImgRepository.save(ProductImg.builder().product(product).imageUrl("/api/products/images/detail-" + i).imageType("상세").order(1).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("카테고리별 페이징 조회는 페이지 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void categoryPageUsesConstantStatements() {
+        long smallPage = countStatements(() -> productService.getProductsByCategoryPaged(category.getId(), PageRequest.of(0, 5)));
+        long fullPage = countStatements(() -> productService.getProductsByCategoryPaged(category.getId(), PageRequest.of(0, PRODUCT_COUNT)));
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= MAX_STATEMENTS, "실행된 SQL 문 수: " + fullPage);
+    }
+
+    @Test
+    @DisplayName("전체 상품 페이징 조회는 페이지 크기와 관계없이 같은 수의 쿼리를 실행하고 연관 정보를 모두 채운다")
+    void allProductsPageUsesConstantStatements() {
+        long smallPage = countStatements(() -> productService.getProductsPaged(PageRequest.of(0, 5)));
+        long fullPage = countStatements(() -> productService.getProductsPaged(PageRequest.of(0, PRODUCT_COUNT)));
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= MAX_STATEMENTS, "실행된 SQL 문 수: " + fullPage);
+
+        entityManager.clear();
+        Page<ProductResponseDTO> page = productService.getProductsByCategoryPaged(category.getId(), PageRequest.of(0, PRODUCT_COUNT));
+        assertEquals(PRODUCT_COUNT, page.getContent().size());
+        for (ProductResponseDTO dto : page.getContent()) {
+            assertTrue(dto.getName().startsWith(namePrefix));
+            assertEquals(2, dto.getCategories().size());
+            assertEquals(2, dto.getIngredients().size());
+            assertEquals(2, dto.getProductImgList().size());
+            assertTrue(dto.getMainImageUrl().startsWith("/api/products/images/main-"));
+        }
+    }
+
+    @Test
+    @DisplayName("알 수 없는 검색 필드는 기존처럼 전체 상품 페이지를 반환하고, 페이지 크기와 관계없이 같은 수의 쿼리를 실행한다")
+    void searchWithUnknownFieldFallsBackToAllProducts() {
+        long smallPage = countStatements(() -> productService.searchProducts("제조사", namePrefix, PageRequest.of(0, 5)));
+        long fullPage = countStatements(() -> productService.searchProducts("제조사", namePrefix, PageRequest.of(0, PRODUCT_COUNT)));
+
+        assertEquals(smallPage, fullPage);
+        assertTrue(fullPage <= MAX_STATEMENTS, "실행된 SQL 문 수: " + fullPage);
+
+        entityManager.clear();
+        Page<ProductResponseDTO> page = productService.searchProducts("제조사", namePrefix, PageRequest.of(0, 5));
+        assertEquals(productRepository.count(), page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("커서 페이징은 페이지마다 쿼리 한 번으로 모든 상품을 중복 없이 ID 순서대로 반환한다")
+    void cursorPagesWalkAllProductsWithOneStatementEach() {
+        List<Long> expected = productRepository.findAll().stream()
+                .map(Product::getId)
+                .sorted()
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        Long afterId = null;
+        while (true) {
+            entityManager.clear();
+            statistics.clear();
+            List<Long> ids = productRepository.findIdsAfter(afterId, PageRequest.of(0, 8));
+            assertEquals(1, statistics.getPrepareStatementCount());
+            if (ids.isEmpty()) {
+                break;
+            }
+            walked.addAll(ids);
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    private long countStatements(Supplier<Page<ProductResponseDTO>> query) {
+        entityManager.clear();
+        statistics.clear();
+        query.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
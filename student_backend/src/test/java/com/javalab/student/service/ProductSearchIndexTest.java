@@ -0,0 +1,163 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.product.ProductResponseDTO;
+import com.javalab.student.service.product.KoreanTextAnalyzer;
+import com.javalab.student.service.product.ProductCatalogCache;
+import com.javalab.student.service.product.ProductSearchIndex;
+import com.javalab.student.service.product.ProductSearchIndex.SearchField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 상품 검색 색인 테스트 (DB 없이 카탈로그 캐시 스텁 사용)
+ * - 자모 분해, 입력 중인 음절 접두어("빝"), 초성("ㅂㅌㅁ"), 단어 중간 일치, 필드별 검색, 관련도 순서,
+ *   상품 변경/삭제 시 색인 갱신을 확인합니다.
+ */
+class ProductSearchIndexTest {
+
+    private StubCatalog catalog;
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new StubCatalog();
+        catalog.put(product(1L, "비타민C 1000", List.of("면역"), List.of("비타민C"), "상큼한 맛", true));
+        catalog.put(product(2L, "멀티비타민", List.of("종합"), List.of("비타민B", "아연"), "하루 한 알", true));
+        catalog.put(product(3L, "루테인 플러스", List.of("눈 건강"), List.of("루테인"), "비타민A 함유", true));
+        catalog.put(product(4L, "오메가3", List.of("혈행"), List.of("EPA"), "판매 중지 상품", false));
+        index = new ProductSearchIndex(catalog);
+    }
+
+    @Test
+    @DisplayName("한글 음절을 자모로 분해하고 겹모음·겹받침도 낱자로 푼다")
+    void decomposesJamo() {
+        assertEquals("ㅂㅣㅌ", KoreanTextAnalyzer.decompose("빝"));
+        assertEquals("ㄱㅗㅏ", KoreanTextAnalyzer.decompose("과"));
+        assertEquals("ㄷㅏㄹㄱ", KoreanTextAnalyzer.decompose("닭"));
+        assertEquals("ㅗㅏ", KoreanTextAnalyzer.decompose("ㅘ"));
+        assertTrue(KoreanTextAnalyzer.decompose("비타민").startsWith(KoreanTextAnalyzer.decompose("빝")));
+
+        assertEquals("ㅂㅌㅁc", KoreanTextAnalyzer.chosung("비타민c"));
+        assertTrue(KoreanTextAnalyzer.isChosungOnly("ㅂㅌㅁ"));
+        assertFalse(KoreanTextAnalyzer.isChosungOnly("비ㅌ"));
+
+        // 단독 자모는 NFKC로 바뀌지 않고, 전각 문자는 정규화 후 소문자로 바뀜
+        assertEquals("ㅂㅌㅁ", KoreanTextAnalyzer.normalize("ㅂㅌㅁ"));
+        assertEquals(List.of("비타민c", "1000mg"), KoreanTextAnalyzer.words("비타민Ｃ, 1000mg 비타민C"));
+    }
+
+    @Test
+    @DisplayName("입력 중인 음절은 자모 접두어로 일치한다")
+    void partialSyllablePrefix() {
+        assertEquals(List.of(1L), index.search("빝", SearchField.NAME));
+        assertEquals(List.of(1L, 2L), index.search("비타", SearchField.NAME));
+    }
+
+    @Test
+    @DisplayName("초성 검색은 필드 가중치 순서로 정렬된다 (상품명 > 영양 성분 > 설명)")
+    void chosungRankedByField() {
+        assertEquals(List.of(1L), index.search("ㅂㅌㅁ", SearchField.NAME));
+        assertEquals(List.of(1L, 2L, 3L), index.search("ㅂㅌㅁ", SearchField.ALL));
+    }
+
+    @Test
+    @DisplayName("띄어쓰기 없는 복합어는 단어 중간 일치로 찾고, 접두어 일치보다 뒤에 둔다")
+    void infixRankedAfterPrefix() {
+        assertEquals(List.of(1L, 2L), index.search("비타민", SearchField.NAME));
+        assertEquals(List.of(2L), index.search("티비", SearchField.NAME));
+        assertEquals(List.of(1L, 2L, 3L), index.search("비타민", SearchField.ALL));
+    }
+
+    @Test
+    @DisplayName("검색 필드를 지정하면 그 필드만 검색하고, 모든 검색어 단어가 일치해야 한다")
+    void perFieldFilteringAndAllWordsMatch() {
+        assertEquals(List.of(1L), index.search("면역", SearchField.CATEGORY));
+        assertEquals(List.of(), index.search("면역", SearchField.NAME));
+        assertEquals(List.of(2L), index.search("아연", SearchField.INGREDIENT));
+        assertEquals(List.of(), index.search("아연", SearchField.CATEGORY));
+        assertEquals(List.of(), index.search("함유", SearchField.NAME));
+        assertEquals(List.of(3L), index.search("함유", SearchField.ALL));
+
+        assertEquals(List.of(2L), index.search("비타민 아연", SearchField.ALL));
+        assertEquals(List.of(), index.search("비타민 오메가", SearchField.ALL));
+    }
+
+    @Test
+    @DisplayName("자동 완성은 판매 중인 상품만 반환한다")
+    void suggestSkipsInactiveProducts() {
+        assertEquals(List.of(4L), index.search("오메가", SearchField.NAME));
+        assertTrue(index.suggest("오메가", 10).isEmpty());
+        assertEquals(2L, index.suggest("멀티", 10).get(0).get("id"));
+    }
+
+    @Test
+    @DisplayName("상품이 바뀌거나 삭제되면 해당 상품만 다시 색인한다")
+    void refreshAndRemove() {
+        assertEquals(4, index.size());
+
+        catalog.put(product(2L, "아연 플러스", List.of("종합"), List.of("아연"), "하루 한 알", true));
+        index.refresh(2L);
+        assertEquals(List.of(), index.search("멀티", SearchField.NAME));
+        assertEquals(List.of(2L), index.search("아연", SearchField.NAME));
+        // 점수가 같으면 상품명이 짧은 순
+        assertEquals(List.of(2L, 3L), index.search("플러스", SearchField.NAME));
+
+        catalog.remove(3L);
+        index.refresh(3L);
+        assertEquals(3, index.size());
+        assertEquals(List.of(), index.search("루테인", SearchField.ALL));
+        assertEquals(List.of(2L), index.search("플러스", SearchField.NAME));
+    }
+
+    private static ProductResponseDTO product(Long id, String name, List<String> categories, List<String> ingredients,
+                                              String description, boolean active) {
+        return ProductResponseDTO.builder()
+                .id(id)
+                .name(name)
+                .price(BigDecimal.valueOf(10_000))
+                .stock(10)
+                .active(active)
+                .categories(categories)
+                .ingredients(ingredients)
+                .description(description)
+                .build();
+    }
+
+    /** DB 대신 메모리 목록을 돌려주는 카탈로그 캐시 */
+    private static final class StubCatalog extends ProductCatalogCache {
+        private final Map<Long, ProductResponseDTO> products = new LinkedHashMap<>();
+
+        private StubCatalog() {
+            super(null, null);
+        }
+
+        private void put(ProductResponseDTO product) {
+            products.put(product.getId(), product);
+        }
+
+        private void remove(Long productId) {
+            products.remove(productId);
+        }
+
+        @Override
+        public List<ProductResponseDTO> getAll() {
+            return new ArrayList<>(products.values());
+        }
+
+        @Override
+        public ProductResponseDTO get(Long productId) {
+            return products.get(productId);
+        }
+    }
+}
@@ -14,7 +14,7 @@ const RecommendationProductCard = ({ product }) => {
     const getProductImageUrl = (imageUrl) => {
         if (imageUrl) {
             const baseUrl = import.meta.env.VITE_PUBLIC_URL || "http://localhost:8080";
-            return `${baseUrl}${imageUrl.startsWith("/") ? imageUrl : "/" + imageUrl}`;
+            return `${baseUrl}${imageUrl.startsWith("/") ? imageUrl : "/" + imageUrl}?variant=list`; // 목록용 축소본
         }
         return "https://dummyimage.com/200x200/cccccc/ffffff&text=No+Image"; // 기본 이미지
     };
@@ -220,7 +220,7 @@ export default function ProductListPage() {
                 component="img"
                 height="200"
 //                 image={`http://43.202.198.161:8080${product.mainImageUrl}`}
-                image={`${import.meta.env.VITE_PUBLIC_URL}${product.mainImageUrl}`}
+                image={`${import.meta.env.VITE_PUBLIC_URL}${product.mainImageUrl}?variant=list`} // 목록용 축소본
                 alt={product.name}
                 sx={{ objectFit: "cover" }}
               />
@@ -4,6 +4,7 @@ import { Container, Typography, CircularProgress, Box, Paper, Snackbar, Button }
 import { ShoppingCart } from '@mui/icons-material';
 import {
     fetchHealthAnalysis,
+    saveRecommendationSnapshot,
     fetchRecommendedIngredients,
     fetchRecommendedProducts,
     addRecommendationsToCart,
@@ -71,6 +72,7 @@ const RecommendationPage = () => {
                     await fetchHealthRecordData(recordId);
                 } else {
                     await dispatch(fetchHealthAnalysis());
+                    await dispatch(saveRecommendationSnapshot());
                     await dispatch(fetchRecommendedIngredients());
                     await dispatch(fetchRecommendedProducts());
                 }
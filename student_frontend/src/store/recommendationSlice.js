@@ -27,6 +27,31 @@ export const fetchHealthAnalysis = createAsyncThunk(
     }
 );
 
+/**
+ * 현재 추천 결과를 저장하는 비동기 액션 생성자
+ * (최근 저장된 추천과 입력이 같으면 서버에서 새로 저장하지 않음)
+ */
+export const saveRecommendationSnapshot = createAsyncThunk(
+    'recommendations/saveRecommendationSnapshot',
+    async (_, { rejectWithValue }) => {
+        try {
+            const response = await fetchWithAuth(`${API_URL}recommendation/snapshot`, {
+                method: 'POST',
+                credentials: 'include'
+            });
+            const data = await response.json();
+
+            if (response.ok) {
+                return data;
+            } else {
+                return rejectWithValue(data.error || '추천 결과를 저장하는데 실패했습니다.');
+            }
+        } catch (error) {
+            return rejectWithValue(error.message);
+        }
+    }
+);
+
 /**
  * 추천 영양 성분을 가져오는 비동기 액션 생성자
  */